@@ -0,0 +1,269 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Asynchronous writer of text to a file, with a background writer thread and a bounded queue.
+ * <p>
+ * The producers submit chunks of text; each chunk is encoded in UTF-8 by the producer and put in the queue.
+ * A dedicated writer thread takes the chunks from the queue in order and writes them to the file through a
+ * file channel. When the queue is full, the producers wait for the writer thread (back-pressure), so that the
+ * memory used is bounded by the queue capacity times the chunk size.
+ * <p>
+ * The writer is closed by {@link #finish()}, which returns a future completed when all the chunks are written
+ * and the file is closed, or by {@link #close()}, which waits for that future. If the writing fails, the future
+ * completes exceptionally with the {@link IOException}, the remaining chunks are discarded and the following
+ * submissions throw the exception. The writing can be abandoned by {@link #cancel()}.
+ * <p>
+ * The chunks are submitted by {@link #submit(CharSequence)} or by the {@link Appendable} methods. Each call
+ * creates one chunk; to export many small pieces of text, wrap the writer in a {@link CsvStreamWriter}, which
+ * submits chunks of its buffer size. The submissions are thread-safe; the chunks of different threads are
+ * written in the order in which they enter the queue.
+ *
+ * @author Marc Henrard
+ */
+public final class AsyncExportWriter implements Appendable, Closeable {
+
+  /** The default capacity of the queue, in chunks. */
+  public static final int DEFAULT_QUEUE_CAPACITY = 64;
+  /** The marker of the end of the chunks. */
+  private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+  /** The file. */
+  private final Path file;
+  /** The channel. */
+  private final FileChannel channel;
+  /** The queue of the chunks to write. */
+  private final BlockingQueue<ByteBuffer> queue;
+  /** The completion, with the number of bytes written. */
+  private final CompletableFuture<Long> completion = new CompletableFuture<>();
+  /** The writer thread. */
+  private final Thread thread;
+  /** Whether the end marker has been submitted. */
+  private boolean finished;
+  /** The exception of the writer thread, null if none. */
+  private volatile IOException failure;
+
+  /**
+   * Opens a writer with the default queue capacity. The file is created or truncated.
+   *
+   * @param file  the file
+   * @return the writer
+   * @throws IOException
+   */
+  public static AsyncExportWriter open(Path file) throws IOException {
+    return open(file, DEFAULT_QUEUE_CAPACITY);
+  }
+
+  /**
+   * Opens a writer with a given queue capacity. The file is created or truncated.
+   *
+   * @param file  the file
+   * @param queueCapacity  the maximal number of chunks waiting to be written
+   * @return the writer
+   * @throws IOException
+   */
+  public static AsyncExportWriter open(Path file, int queueCapacity) throws IOException {
+    ArgChecker.notNull(file, "file");
+    ArgChecker.notNegativeOrZero(queueCapacity, "queueCapacity");
+    FileChannel channel = FileChannel.open(file,
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    return of(file, channel, queueCapacity);
+  }
+
+  // creates a writer on an open channel and starts the writer thread
+  static AsyncExportWriter of(Path file, FileChannel channel, int queueCapacity) {
+    AsyncExportWriter writer = new AsyncExportWriter(file, channel, queueCapacity);
+    writer.thread.start();
+    return writer;
+  }
+
+  // private constructor
+  private AsyncExportWriter(Path file, FileChannel channel, int queueCapacity) {
+    this.file = file;
+    this.channel = channel;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.thread = new Thread(this::run, "AsyncExportWriter-" + file.getFileName());
+    this.thread.setDaemon(true);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Submits a chunk of text to be written.
+   * <p>
+   * The method waits if the queue is full.
+   *
+   * @param chunk  the text
+   * @return this writer
+   * @throws IOException if the writer is finished, if the writing failed or if the thread is interrupted
+   */
+  public AsyncExportWriter submit(CharSequence chunk) throws IOException {
+    if (chunk.length() > 0) {
+      enqueue(StandardCharsets.UTF_8.encode(CharBuffer.wrap(chunk)));
+    }
+    return this;
+  }
+
+  @Override
+  public AsyncExportWriter append(CharSequence csq) throws IOException {
+    return submit(csq == null ? "null" : csq);
+  }
+
+  @Override
+  public AsyncExportWriter append(CharSequence csq, int start, int end) throws IOException {
+    return submit((csq == null ? "null" : csq).subSequence(start, end));
+  }
+
+  @Override
+  public AsyncExportWriter append(char c) throws IOException {
+    return submit(String.valueOf(c));
+  }
+
+  /**
+   * Signals that no more chunks will be submitted and returns the completion.
+   * <p>
+   * The future is completed with the number of bytes written when all the chunks are written and the file
+   * is closed. It is completed exceptionally with the {@link IOException} if the writing failed.
+   * The method waits if the queue is full; if it is interrupted while waiting, the end is not signaled
+   * and the method can be called again. If the writing has failed or was cancelled, the writer thread has
+   * stopped and the end is not signaled. Calling it several times returns the same future.
+   *
+   * @return the completion
+   * @throws IOException if the thread is interrupted
+   */
+  public CompletableFuture<Long> finish() throws IOException {
+    synchronized (this) {
+      if (!finished) {
+        if (failure == null) {
+          put(END);
+        }
+        finished = true;
+      }
+    }
+    return completion;
+  }
+
+  /**
+   * Abandons the writing.
+   * <p>
+   * The chunks not yet written are discarded, the file is closed and the completion, if not already completed,
+   * completes exceptionally. The following submissions throw an exception.
+   */
+  public void cancel() {
+    fail(new IOException("writing to " + file + " cancelled"));
+    thread.interrupt();
+    queue.clear();
+  }
+
+  /**
+   * Returns the completion, without signaling the end of the chunks.
+   *
+   * @return the completion
+   */
+  public CompletableFuture<Long> getCompletion() {
+    return completion;
+  }
+
+  /**
+   * Signals that no more chunks will be submitted and waits for all the chunks to be written.
+   * <p>
+   * If the end cannot be signaled because the thread is interrupted, the writing is cancelled.
+   *
+   * @throws IOException if the writing failed or the thread is interrupted
+   */
+  @Override
+  public void close() throws IOException {
+    CompletableFuture<Long> finishing;
+    try {
+      finishing = finish();
+    } catch (IOException e) {
+      cancel();
+      throw e;
+    }
+    try {
+      finishing.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while waiting for " + file);
+    } catch (ExecutionException e) {
+      throw (e.getCause() instanceof IOException) ? (IOException) e.getCause() : new IOException(e.getCause());
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // puts a chunk in the queue, checking the state; the lock keeps the chunks before the end marker
+  private void enqueue(ByteBuffer chunk) throws IOException {
+    synchronized (this) {
+      if (finished) {
+        throw new IOException("writer for " + file + " is finished");
+      }
+      IOException exception = failure;
+      if (exception != null) {
+        throw new IOException("writing to " + file + " failed", exception);
+      }
+      put(chunk);
+    }
+  }
+
+  // puts in the queue, waiting if full
+  private void put(ByteBuffer chunk) throws IOException {
+    try {
+      queue.put(chunk);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while submitting to " + file);
+    }
+  }
+
+  // the writer thread: writes the chunks until the end marker or a failure
+  // on exit, the queue is cleared to release a producer waiting on a full queue; the following ones see the failure
+  private void run() {
+    long written = 0;
+    try {
+      for (ByteBuffer chunk = queue.take(); chunk != END && failure == null; chunk = queue.take()) {
+        while (chunk.hasRemaining()) {
+          written += channel.write(chunk);
+        }
+      }
+    } catch (IOException e) {
+      fail(e);
+    } catch (RuntimeException e) {
+      fail(new IOException(e));
+    } catch (InterruptedException e) {
+      fail(new InterruptedIOException("writer thread interrupted for " + file));
+    }
+    queue.clear();
+    try {
+      channel.close();
+    } catch (IOException e) {
+      fail(e);
+    }
+    completion.complete(written); // no effect if failed
+  }
+
+  // records the first failure and completes the completion exceptionally
+  private void fail(IOException exception) {
+    if (failure == null) {
+      failure = exception;
+    }
+    completion.completeExceptionally(exception);
+  }
+
+}
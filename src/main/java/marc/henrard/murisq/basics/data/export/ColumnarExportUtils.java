@@ -0,0 +1,268 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.export;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+
+import marc.henrard.murisq.basics.data.timeseries.AlignedTimeSeries;
+
+/**
+ * Utilities to export arrays and time series in the columnar binary format described in {@link ColumnarFormat}.
+ * <p>
+ * The binary export is the counterpart of the csv-like exports of {@link ExportUtils}, for data read back
+ * by programs. The files are written through a file channel with a direct buffer, one column at a time.
+ *
+ * @author Marc Henrard
+ */
+public final class ColumnarExportUtils {
+
+  /** The size of the write buffer, in bytes. */
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  // private constructor
+  private ColumnarExportUtils() {
+  }
+
+  /**
+   * Exports a set of values in a list of DoubleArray, one DoubleArray by column.
+   * <p>
+   * All the columns should have the same length.
+   * 
+   * @param headers  the header of each column
+   * @param values  the values of each column
+   * @param file  the file
+   * @throws IOException
+   */
+  public static void exportArray(List<String> headers, List<DoubleArray> values, Path file) throws IOException {
+    int nbColumns = headers.size();
+    ArgChecker.isTrue(values.size() == nbColumns, "number of columns should be equal to the number of headers");
+    int nbRows = (nbColumns == 0) ? 0 : values.get(0).size();
+    byte[] types = new byte[nbColumns];
+    for (int loopcol = 0; loopcol < nbColumns; loopcol++) {
+      ArgChecker.isTrue(values.get(loopcol).size() == nbRows, "all the columns should have the same length");
+      types[loopcol] = ColumnarFormat.TYPE_DOUBLE;
+    }
+    write(file, headers, types, nbRows, index -> values.get(index).toArrayUnsafe());
+  }
+
+  /**
+   * Exports a set of values in an array, one array by row.
+   * 
+   * @param headers  the header of each column
+   * @param values  the values, by row
+   * @param file  the file
+   * @throws IOException
+   */
+  public static void exportArray(String[] headers, double[][] values, Path file) throws IOException {
+    int nbColumns = headers.length;
+    int nbRows = values.length;
+    byte[] types = new byte[nbColumns];
+    for (int loopcol = 0; loopcol < nbColumns; loopcol++) {
+      types[loopcol] = ColumnarFormat.TYPE_DOUBLE;
+    }
+    for (double[] row : values) {
+      ArgChecker.isTrue(row.length == nbColumns,
+          "number of values in each row should be equal to the number of headers");
+    }
+    write(file, ImmutableList.copyOf(headers), types, nbRows, index -> {
+      double[] column = new double[nbRows];
+      for (int looprow = 0; looprow < nbRows; looprow++) {
+        column[looprow] = values[looprow][index];
+      }
+      return column;
+    });
+  }
+
+  /**
+   * Exports a set of values in a list of DoubleArray with a date associated to each row.
+   * <p>
+   * The first column is named "Date" and contains the local dates of the date-times.
+   * 
+   * @param dates  the dates corresponding to each row
+   * @param headers  the header of each value column
+   * @param values  the values of each column
+   * @param file  the file
+   * @throws IOException
+   */
+  public static void exportArrayDates(
+      List<ZonedDateTime> dates,
+      List<String> headers,
+      List<DoubleArray> values,
+      Path file) throws IOException {
+
+    int nbColumns = headers.size();
+    ArgChecker.isTrue(values.size() == nbColumns, "number of columns should be equal to the number of headers");
+    int nbRows = dates.size();
+    byte[] types = new byte[nbColumns + 1];
+    types[0] = ColumnarFormat.TYPE_EPOCH_DAY;
+    for (int loopcol = 0; loopcol < nbColumns; loopcol++) {
+      ArgChecker.isTrue(values.get(loopcol).size() == nbRows,
+          "all the columns should have the same length as the dates");
+      types[loopcol + 1] = ColumnarFormat.TYPE_DOUBLE;
+    }
+    List<String> names = ImmutableList.<String>builder().add("Date").addAll(headers).build();
+    write(file, names, types, nbRows, index -> {
+      if (index > 0) {
+        return values.get(index - 1).toArrayUnsafe();
+      }
+      int[] days = new int[nbRows];
+      for (int looprow = 0; looprow < nbRows; looprow++) {
+        days[looprow] = (int) dates.get(looprow).toLocalDate().toEpochDay();
+      }
+      return days;
+    });
+  }
+
+  /**
+   * Exports a time series. The columns are "Date" and the name.
+   * 
+   * @param name  the name of the time series
+   * @param values  the time series
+   * @param file  the file
+   * @throws IOException
+   */
+  public static void exportTimeSeries(String name, LocalDateDoubleTimeSeries values, Path file) throws IOException {
+    int nbRows = values.size();
+    int[] days = new int[nbRows];
+    double[] points = new double[nbRows];
+    int[] position = new int[1];
+    values.forEach((date, value) -> {
+      days[position[0]] = (int) date.toEpochDay();
+      points[position[0]] = value;
+      position[0]++;
+    });
+    byte[] types = {ColumnarFormat.TYPE_EPOCH_DAY, ColumnarFormat.TYPE_DOUBLE};
+    write(file, ImmutableList.of("Date", name), types, nbRows, index -> (index == 0) ? days : points);
+  }
+
+  /**
+   * Exports aligned time series. The columns are "Date" and the names. The missing values are NaN.
+   * <p>
+   * Use {@link marc.henrard.murisq.basics.data.timeseries.TimeSeriesAlignment} to align time series with
+   * different dates.
+   * 
+   * @param names  the names of the time series
+   * @param alignedTimeSeries  the aligned time series
+   * @param file  the file
+   * @throws IOException
+   */
+  public static void exportTimeSeries(
+      List<String> names,
+      AlignedTimeSeries alignedTimeSeries,
+      Path file) throws IOException {
+
+    int nbSeries = names.size();
+    ArgChecker.isTrue(nbSeries == alignedTimeSeries.getSeriesCount(), "Names and time series must have the same size");
+    int nbRows = alignedTimeSeries.size();
+    byte[] types = new byte[nbSeries + 1];
+    types[0] = ColumnarFormat.TYPE_EPOCH_DAY;
+    for (int loopcol = 1; loopcol <= nbSeries; loopcol++) {
+      types[loopcol] = ColumnarFormat.TYPE_DOUBLE;
+    }
+    List<String> columnNames = ImmutableList.<String>builder().add("Date").addAll(names).build();
+    write(file, columnNames, types, nbRows, index -> {
+      if (index > 0) {
+        return alignedTimeSeries.getValues(index - 1).toArrayUnsafe();
+      }
+      int[] days = new int[nbRows];
+      for (int looprow = 0; looprow < nbRows; looprow++) {
+        days[looprow] = alignedTimeSeries.getEpochDay(looprow);
+      }
+      return days;
+    });
+  }
+
+  //-------------------------------------------------------------------------
+  // writes the header and the columns; each column is an int[] or a double[] obtained when written
+  private static void write(
+      Path file,
+      List<String> names,
+      byte[] types,
+      int nbRows,
+      IntFunction<Object> columns) throws IOException {
+
+    ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    try (FileChannel channel = FileChannel.open(file,
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      // header
+      buffer.putInt(ColumnarFormat.MAGIC).putInt(ColumnarFormat.VERSION).putInt(names.size()).putInt(nbRows);
+      int headerLength = 16;
+      for (int loopcol = 0; loopcol < names.size(); loopcol++) {
+        byte[] name = names.get(loopcol).getBytes(StandardCharsets.UTF_8);
+        ArgChecker.isTrue(name.length <= Short.MAX_VALUE, "column name too long");
+        if (buffer.remaining() < 3 + name.length) {
+          drain(buffer, channel);
+        }
+        buffer.put(types[loopcol]).putShort((short) name.length).put(name);
+        headerLength += 3 + name.length;
+      }
+      pad(buffer, channel, headerLength);
+      // columns
+      for (int loopcol = 0; loopcol < names.size(); loopcol++) {
+        Object column = columns.apply(loopcol);
+        if (types[loopcol] == ColumnarFormat.TYPE_EPOCH_DAY) {
+          int[] days = (int[]) column;
+          for (int start = 0; start < nbRows; ) {
+            if (buffer.remaining() < Integer.BYTES) {
+              drain(buffer, channel);
+            }
+            int length = Math.min(nbRows - start, buffer.remaining() / Integer.BYTES);
+            buffer.asIntBuffer().put(days, start, length);
+            ((Buffer) buffer).position(buffer.position() + length * Integer.BYTES);
+            start += length;
+          }
+        } else {
+          double[] values = (double[]) column;
+          for (int start = 0; start < nbRows; ) {
+            if (buffer.remaining() < Double.BYTES) {
+              drain(buffer, channel);
+            }
+            int length = Math.min(nbRows - start, buffer.remaining() / Double.BYTES);
+            buffer.asDoubleBuffer().put(values, start, length);
+            ((Buffer) buffer).position(buffer.position() + length * Double.BYTES);
+            start += length;
+          }
+        }
+        pad(buffer, channel, (long) ColumnarFormat.valueSize(types[loopcol]) * nbRows);
+      }
+      drain(buffer, channel);
+    }
+  }
+
+  // pads with zeros to the alignment
+  private static void pad(ByteBuffer buffer, FileChannel channel, long length) throws IOException {
+    int padding = (int) (ColumnarFormat.padded(length) - length);
+    if (buffer.remaining() < padding) {
+      drain(buffer, channel);
+    }
+    for (int loopp = 0; loopp < padding; loopp++) {
+      buffer.put((byte) 0);
+    }
+  }
+
+  // writes the buffer content; the Buffer casts keep the Java 8 signatures when compiled with a later JDK
+  private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+    ((Buffer) buffer).flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    ((Buffer) buffer).clear();
+  }
+
+}
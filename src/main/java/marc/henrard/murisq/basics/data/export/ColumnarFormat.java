@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.export;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Description of the columnar binary export format.
+ * <p>
+ * The file is little-endian and contains a header followed by the columns:
+ * <ul>
+ * <li>magic number, int 0x4D434246 ("MCBF")
+ * <li>version, int
+ * <li>number of columns, int
+ * <li>number of rows, int
+ * <li>for each column: type, byte; name length in bytes, short; name, UTF-8 bytes
+ * <li>padding to a multiple of 8 bytes
+ * <li>for each column: the values, padded to a multiple of 8 bytes
+ * </ul>
+ * The column types are {@link #TYPE_EPOCH_DAY}, dates as int epoch days, and {@link #TYPE_DOUBLE}, doubles.
+ * The columns are stored one after the other and each column starts at an offset multiple of 8, so that
+ * a reader can map each column directly as an int or double buffer.
+ * <p>
+ * The format is written by {@link ColumnarExportUtils} and read by
+ * {@link marc.henrard.murisq.basics.data.load.MappedColumnarFile}.
+ *
+ * @author Marc Henrard
+ */
+public final class ColumnarFormat {
+
+  /** The magic number at the start of the file. */
+  public static final int MAGIC = 0x4D434246;
+  /** The version of the format. */
+  public static final int VERSION = 1;
+  /** The type of a date column, stored as int epoch days. */
+  public static final byte TYPE_EPOCH_DAY = 0;
+  /** The type of a double column. */
+  public static final byte TYPE_DOUBLE = 1;
+  /** The alignment of the columns, in bytes. */
+  public static final int ALIGNMENT = 8;
+
+  // private constructor
+  private ColumnarFormat() {
+  }
+
+  /**
+   * Returns the size in bytes of one value of a column type.
+   *
+   * @param type  the column type
+   * @return the size
+   */
+  public static int valueSize(byte type) {
+    ArgChecker.isTrue(type == TYPE_EPOCH_DAY || type == TYPE_DOUBLE, "unknown column type {}", type);
+    return (type == TYPE_EPOCH_DAY) ? Integer.BYTES : Double.BYTES;
+  }
+
+  /**
+   * Returns the size in bytes of a column, including the padding.
+   *
+   * @param type  the column type
+   * @param nbRows  the number of rows
+   * @return the size
+   */
+  public static long columnLength(byte type, int nbRows) {
+    return padded((long) valueSize(type) * nbRows);
+  }
+
+  /**
+   * Returns a length rounded up to the alignment.
+   *
+   * @param length  the length
+   * @return the padded length
+   */
+  public static long padded(long length) {
+    return (length + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+  }
+
+}
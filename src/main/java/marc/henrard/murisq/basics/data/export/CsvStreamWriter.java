@@ -0,0 +1,208 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.export;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Streaming writer for csv-like exports, with a fixed-size buffer.
+ * <p>
+ * The text is written in a char buffer which is appended to the destination each time it is full and when
+ * {@link #flush()} is called. The memory used is the buffer, independently of the size of the export.
+ * <p>
+ * The doubles are formatted as {@link Double#toString(double)} and the dates as
+ * {@link DateTimeFormatter#ISO_DATE}, directly in the buffer without intermediary strings in most cases.
+ * <p>
+ * The {@link #flush()} method appends the buffer to the destination but does not flush the destination.
+ * The object is mutable and not thread-safe.
+ *
+ * @author Marc Henrard
+ */
+public final class CsvStreamWriter implements Appendable, Flushable {
+
+  /** The default buffer size, in chars. */
+  public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+  /** The minimal buffer size, in chars. */
+  private static final int MIN_BUFFER_SIZE = 64;
+
+  /** The destination. */
+  private final Appendable destination;
+  /** The destination as a writer, null if it is not a writer. */
+  private final Writer writer;
+  /** The buffer. */
+  private final char[] buffer;
+  /** The buffer as a char sequence, for the destinations which are not writers. */
+  private final CharBuffer bufferSequence;
+  /** The number of chars in the buffer. */
+  private int count;
+
+  /**
+   * Creates a writer with the default buffer size.
+   *
+   * @param destination  the destination
+   * @return the writer
+   */
+  public static CsvStreamWriter of(Appendable destination) {
+    return of(destination, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Creates a writer with a given buffer size.
+   *
+   * @param destination  the destination
+   * @param bufferSize  the buffer size, in chars, at least 64
+   * @return the writer
+   */
+  public static CsvStreamWriter of(Appendable destination, int bufferSize) {
+    ArgChecker.notNull(destination, "destination");
+    ArgChecker.isTrue(bufferSize >= MIN_BUFFER_SIZE, "bufferSize must be at least {}", MIN_BUFFER_SIZE);
+    return new CsvStreamWriter(destination, bufferSize);
+  }
+
+  // private constructor
+  private CsvStreamWriter(Appendable destination, int bufferSize) {
+    this.destination = destination;
+    this.writer = (destination instanceof Writer) ? (Writer) destination : null;
+    this.buffer = new char[bufferSize];
+    this.bufferSequence = CharBuffer.wrap(buffer);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public CsvStreamWriter append(CharSequence csq) throws IOException {
+    CharSequence sequence = (csq == null) ? "null" : csq;
+    return append(sequence, 0, sequence.length());
+  }
+
+  @Override
+  public CsvStreamWriter append(CharSequence csq, int start, int end) throws IOException {
+    CharSequence sequence = (csq == null) ? "null" : csq;
+    int position = start;
+    while (position < end) {
+      if (count == buffer.length) {
+        flushBuffer();
+      }
+      int length = Math.min(end - position, buffer.length - count);
+      if (sequence instanceof String) {
+        ((String) sequence).getChars(position, position + length, buffer, count);
+      } else {
+        for (int loopc = 0; loopc < length; loopc++) {
+          buffer[count + loopc] = sequence.charAt(position + loopc);
+        }
+      }
+      count += length;
+      position += length;
+    }
+    return this;
+  }
+
+  @Override
+  public CsvStreamWriter append(char c) throws IOException {
+    if (count == buffer.length) {
+      flushBuffer();
+    }
+    buffer[count++] = c;
+    return this;
+  }
+
+  /**
+   * Appends a double, formatted as {@link Double#toString(double)}.
+   *
+   * @param value  the value
+   * @return this writer
+   * @throws IOException if the destination fails
+   */
+  public CsvStreamWriter appendDouble(double value) throws IOException {
+    ensureAvailable(DoubleFormatter.MAX_LENGTH);
+    int end = DoubleFormatter.format(value, buffer, count);
+    if (end < 0) {
+      return append(Double.toString(value));
+    }
+    count = end;
+    return this;
+  }
+
+  /**
+   * Appends a date, formatted as {@link DateTimeFormatter#ISO_DATE}.
+   *
+   * @param date  the date
+   * @return this writer
+   * @throws IOException if the destination fails
+   */
+  public CsvStreamWriter appendDate(LocalDate date) throws IOException {
+    int year = date.getYear();
+    if (year < 0 || year > 9999) {
+      return append(date.format(DateTimeFormatter.ISO_DATE));
+    }
+    ensureAvailable(10);
+    appendTwoDigits(year / 100);
+    appendTwoDigits(year % 100);
+    buffer[count++] = '-';
+    appendTwoDigits(date.getMonthValue());
+    buffer[count++] = '-';
+    appendTwoDigits(date.getDayOfMonth());
+    return this;
+  }
+
+  /**
+   * Appends a long, formatted as {@link Long#toString(long)}.
+   *
+   * @param value  the value
+   * @return this writer
+   * @throws IOException if the destination fails
+   */
+  public CsvStreamWriter appendLong(long value) throws IOException {
+    if (value == Long.MIN_VALUE) {
+      return append(Long.toString(value));
+    }
+    ensureAvailable(20);
+    if (value < 0) {
+      buffer[count++] = '-';
+    }
+    count = DoubleFormatter.writeDigits(Math.abs(value), buffer, count);
+    return this;
+  }
+
+  /**
+   * Appends the buffer to the destination. The destination itself is not flushed.
+   *
+   * @throws IOException if the destination fails
+   */
+  @Override
+  public void flush() throws IOException {
+    flushBuffer();
+  }
+
+  //-------------------------------------------------------------------------
+  private void appendTwoDigits(int value) {
+    buffer[count++] = (char) ('0' + value / 10);
+    buffer[count++] = (char) ('0' + value % 10);
+  }
+
+  private void ensureAvailable(int length) throws IOException {
+    if (buffer.length - count < length) {
+      flushBuffer();
+    }
+  }
+
+  private void flushBuffer() throws IOException {
+    if (count == 0) {
+      return;
+    }
+    if (writer != null) {
+      writer.write(buffer, 0, count);
+    } else {
+      destination.append(bufferSequence, 0, count);
+    }
+    count = 0;
+  }
+
+}
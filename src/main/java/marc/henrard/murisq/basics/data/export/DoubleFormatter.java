@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.export;
+
+/**
+ * Allocation-free formatting of doubles, identical to {@link Double#toString(double)}.
+ * <p>
+ * The values in the plain notation range of {@code Double.toString}, i.e. between 10^-3 and 10^7 in absolute
+ * value, with a shortest round-trip representation of at most 15 significant digits are formatted directly
+ * in a char array. For those values the shortest representation is unique and is the one produced by
+ * {@code Double.toString}. The shortest representation is found as the smallest number of fraction digits f
+ * for which the integer m closest to v*10^f satisfies m/10^f == v; the division of two exact doubles being
+ * correctly rounded, the test is exact.
+ * <p>
+ * The other values (more digits, scientific notation, zero with sign, NaN and infinities) are not handled
+ * and the caller should use {@code Double.toString}.
+ *
+ * @author Marc Henrard
+ */
+final class DoubleFormatter {
+
+  /** The maximal length of a formatted value. */
+  static final int MAX_LENGTH = 32;
+  /** The maximal mantissa, 15 digits. */
+  private static final double MAX_MANTISSA = 1.0E15;
+  /** The maximal number of fraction digits: 15 significant digits from 10^-3. */
+  private static final int MAX_FRACTION_DIGITS = 18;
+  /** The powers of 10, exact as doubles. */
+  private static final double[] POWERS = new double[MAX_FRACTION_DIGITS + 1];
+  /** The powers of 10 as longs. */
+  private static final long[] POWERS_LONG = new long[MAX_FRACTION_DIGITS + 1];
+  static {
+    POWERS[0] = 1.0d;
+    POWERS_LONG[0] = 1L;
+    for (int loopp = 1; loopp <= MAX_FRACTION_DIGITS; loopp++) {
+      POWERS[loopp] = POWERS[loopp - 1] * 10.0d;
+      POWERS_LONG[loopp] = POWERS_LONG[loopp - 1] * 10L;
+    }
+  }
+
+  // private constructor
+  private DoubleFormatter() {
+  }
+
+  /**
+   * Formats a double in a char array.
+   * <p>
+   * The array should have at least {@link #MAX_LENGTH} chars available from the position.
+   *
+   * @param value  the value
+   * @param buffer  the destination
+   * @param position  the position of the first char in the destination
+   * @return the position after the last char written, -1 if the value is not handled
+   */
+  static int format(double value, char[] buffer, int position) {
+    double abs = Math.abs(value);
+    if (!(abs >= 1.0E-3 && abs < 1.0E7)) { // also excludes NaN
+      return -1;
+    }
+    for (int loopf = 1; loopf <= MAX_FRACTION_DIGITS; loopf++) {
+      double scaled = abs * POWERS[loopf];
+      if (scaled >= MAX_MANTISSA) {
+        return -1;
+      }
+      long mantissa = Math.round(scaled);
+      if (mantissa / POWERS[loopf] == abs) {
+        return write(value < 0, mantissa, loopf, buffer, position);
+      }
+    }
+    return -1;
+  }
+
+  // writes mantissa * 10^-fractionDigits
+  private static int write(boolean negative, long mantissa, int fractionDigits, char[] buffer, int position) {
+    int pos = position;
+    if (negative) {
+      buffer[pos++] = '-';
+    }
+    long integerPart = mantissa / POWERS_LONG[fractionDigits];
+    long fractionPart = mantissa - integerPart * POWERS_LONG[fractionDigits];
+    pos = writeDigits(integerPart, buffer, pos);
+    buffer[pos++] = '.';
+    for (int loopd = fractionDigits - 1; loopd >= 0; loopd--) {
+      buffer[pos + loopd] = (char) ('0' + fractionPart % 10);
+      fractionPart /= 10;
+    }
+    return pos + fractionDigits;
+  }
+
+  /**
+   * Writes the decimal digits of a non-negative long.
+   *
+   * @param value  the value, not negative
+   * @param buffer  the destination
+   * @param position  the position of the first char in the destination
+   * @return the position after the last char written
+   */
+  static int writeDigits(long value, char[] buffer, int position) {
+    int nbDigits = 1;
+    for (long loopv = value / 10; loopv > 0; loopv /= 10) {
+      nbDigits++;
+    }
+    long remaining = value;
+    for (int loopd = nbDigits - 1; loopd >= 0; loopd--) {
+      buffer[position + loopd] = (char) ('0' + remaining % 10);
+      remaining /= 10;
+    }
+    return position + nbDigits;
+  }
+
+}
@@ -0,0 +1,20 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.export;
+
+/**
+ * The dates exported for multiple time series in one table.
+ *
+ * @author Marc Henrard
+ */
+public enum ExportDatePolicy {
+
+  /** The dates of the first time series. */
+  FIRST,
+  /** The dates present in at least one time series. */
+  UNION,
+  /** The dates present in all the time series. */
+  INTERSECTION;
+
+}
@@ -3,15 +3,26 @@
  */
 package marc.henrard.murisq.basics.data.export;
 
+import java.io.CharArrayWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.OptionalDouble;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.collect.ArgChecker;
@@ -25,10 +36,19 @@ import com.opengamma.strata.market.param.ParameterMetadata;
 
 /**
  * Utilities to export objects (typically in csv files or in the console).
+ * <p>
+ * The csv-like exports are streamed to the destination through a {@link CsvStreamWriter}, with a fixed-size
+ * buffer; the destination receives the text by chunks. If an export fails on an invalid row or column, the text
+ * formatted before the failure is still appended to the destination.
  * 
  * @author Marc Henrard
  */
 public class ExportUtils {
+
+  /** The target number of chars by chunk in the parallel exports. */
+  private static final int PARALLEL_CHUNK_CHARS = 1 << 16;
+  /** The estimated number of chars by exported value, used to size the chunks. */
+  private static final int CHARS_BY_VALUE = 20;
   
   /**
    * Append a map of market quotes to a csv-like destination in the standard Strata format.
@@ -44,19 +64,25 @@ public class ExportUtils {
       Appendable destination,
       boolean exportHeader) throws IOException {
     
+    CsvStreamWriter writer = CsvStreamWriter.of(destination);
     if (exportHeader) {
-      String header = "Valuation Date, Symbology, Ticker, Field Name, Value\n";
-      destination.append(header);
+      writer.append("Valuation Date, Symbology, Ticker, Field Name, Value\n");
     }
     String dateStr = date.toString();
     for (Entry<QuoteId, Double> entry : quotes.entrySet()) {
-      String row = dateStr + ", ";
-      row = row + entry.getKey().getStandardId().getScheme() + ", ";
-      row = row + entry.getKey().getStandardId().getValue() + ", ";
-      row = row + entry.getKey().getFieldName().toString() + ", ";
-      row = row + entry.getValue() + "\n";
-      destination.append(row);
+      writer.append(dateStr).append(", ");
+      writer.append(entry.getKey().getStandardId().getScheme()).append(", ");
+      writer.append(entry.getKey().getStandardId().getValue()).append(", ");
+      writer.append(entry.getKey().getFieldName().toString()).append(", ");
+      Double value = entry.getValue();
+      if (value == null) {
+        writer.append("null");
+      } else {
+        writer.appendDouble(value);
+      }
+      writer.append('\n');
     }
+    writer.flush();
   }
 
   /**
@@ -72,15 +98,15 @@ public class ExportUtils {
       LocalDateDoubleTimeSeries values,
       Appendable destination) throws IOException {
 
-    String header = "Reference, Date, Value\n";
-    destination.append(header);
-    StringBuilder builder = new StringBuilder();
-    values.stream()
-        .forEach(p -> {
-          String row = name + "," + p.getDate().format(DateTimeFormatter.ISO_DATE) + "," + p.getValue() + "\n";
-          builder.append(row);
-        });
-    destination.append(builder.toString());
+    CsvStreamWriter writer = CsvStreamWriter.of(destination);
+    writer.append("Reference, Date, Value\n");
+    Iterator<LocalDate> dates = values.dates().iterator();
+    PrimitiveIterator.OfDouble iterator = values.values().iterator();
+    while (dates.hasNext()) {
+      writer.append(name).append(',').appendDate(dates.next()).append(',').appendDouble(iterator.nextDouble())
+          .append('\n');
+    }
+    writer.flush();
   }
 
   /**
@@ -98,31 +124,150 @@ public class ExportUtils {
       List<LocalDateDoubleTimeSeries> values,
       Appendable destination) throws IOException {
 
+    exportTimeSeries(names, values, ExportDatePolicy.FIRST, "0.0", destination);
+  }
+
+  /**
+   * Append the csv-like representation of multiple time series at the end of an appendable.
+   * <p>
+   * The exported dates are selected by the policy. If a value is not present in a time series at an exported
+   * date, the missing value token is exported.
+   * <p>
+   * The time series are merged with one cursor by series, in one pass on all the points; there is no lookup
+   * by date. The rows are streamed to the destination.
+   * 
+   * @param names  the names of the time series exported
+   * @param values  the values
+   * @param policy  the policy for the dates exported
+   * @param missingValue  the token exported for a missing value, e.g. an empty string
+   * @param destination  the destination to which the csv-like string is appended
+   * @throws IOException
+   */
+  public static void exportTimeSeries(
+      List<String> names,
+      List<LocalDateDoubleTimeSeries> values,
+      ExportDatePolicy policy,
+      String missingValue,
+      Appendable destination) throws IOException {
+
     int nbSeries = names.size();
     ArgChecker.isTrue(nbSeries == values.size(), "Names and time series must have the same size");
-    StringBuilder builderHeader = new StringBuilder("Date");
+    ArgChecker.notEmpty(values, "values");
+    ArgChecker.notNull(policy, "policy");
+    ArgChecker.notNull(missingValue, "missingValue");
+    CsvStreamWriter writer = CsvStreamWriter.of(destination);
+    writer.append("Date");
     for (int i = 0; i < nbSeries; i++) {
-      builderHeader.append(',');
-      builderHeader.append(names.get(i));
+      writer.append(',').append(names.get(i));
     }
-    builderHeader.append('\n');
-    destination.append(builderHeader.toString());
-    StringBuilder builderValues = new StringBuilder();
-      values.get(0).stream()
-      .forEach(p -> {
-        builderValues.append(p.getDate().format(DateTimeFormatter.ISO_DATE));
+    writer.append('\n');
+    // one cursor by series: current date, as epoch day and date, and current value
+    List<Iterator<LocalDate>> dates = new ArrayList<>(nbSeries);
+    List<PrimitiveIterator.OfDouble> iterators = new ArrayList<>(nbSeries);
+    int[] currentDays = new int[nbSeries];
+    LocalDate[] currentDates = new LocalDate[nbSeries];
+    double[] currentValues = new double[nbSeries];
+    for (int i = 0; i < nbSeries; i++) {
+      dates.add(values.get(i).dates().iterator());
+      iterators.add(values.get(i).values().iterator());
+      advance(i, dates, iterators, currentDays, currentDates, currentValues);
+    }
+    while (true) {
+      int day = nextDay(policy, dates, iterators, currentDays, currentDates, currentValues);
+      if (day == Integer.MAX_VALUE) {
+        break;
+      }
+      boolean dateWritten = false;
+      for (int i = 0; i < nbSeries; i++) {
+        if (currentDays[i] == day) {
+          if (!dateWritten) {
+            writer.appendDate(currentDates[i]);
+            for (int j = 0; j < i; j++) {
+              writer.append(',').append(missingValue);
+            }
+            dateWritten = true;
+          }
+          writer.append(',').appendDouble(currentValues[i]);
+          advance(i, dates, iterators, currentDays, currentDates, currentValues);
+        } else if (dateWritten) {
+          writer.append(',').append(missingValue);
+        }
+      }
+      writer.append('\n');
+    }
+    writer.flush();
+  }
+
+  // moves the cursor of a series to its next point; Integer.MAX_VALUE when exhausted
+  private static void advance(
+      int series,
+      List<Iterator<LocalDate>> dates,
+      List<PrimitiveIterator.OfDouble> iterators,
+      int[] currentDays,
+      LocalDate[] currentDates,
+      double[] currentValues) {
+
+    Iterator<LocalDate> seriesDates = dates.get(series);
+    if (seriesDates.hasNext()) {
+      currentDates[series] = seriesDates.next();
+      currentDays[series] = (int) currentDates[series].toEpochDay();
+      currentValues[series] = iterators.get(series).nextDouble();
+    } else {
+      currentDays[series] = Integer.MAX_VALUE;
+    }
+  }
+
+  // the next day to export, Integer.MAX_VALUE when finished
+  // the cursors are moved past the points which are not exported
+  private static int nextDay(
+      ExportDatePolicy policy,
+      List<Iterator<LocalDate>> dates,
+      List<PrimitiveIterator.OfDouble> iterators,
+      int[] currentDays,
+      LocalDate[] currentDates,
+      double[] currentValues) {
+
+    int nbSeries = currentDays.length;
+    switch (policy) {
+      case FIRST: {
+        int day = currentDays[0];
+        for (int i = 1; i < nbSeries; i++) {
+          while (currentDays[i] < day) {
+            advance(i, dates, iterators, currentDays, currentDates, currentValues);
+          }
+        }
+        return day;
+      }
+      case UNION: {
+        int day = Integer.MAX_VALUE;
         for (int i = 0; i < nbSeries; i++) {
-          builderValues.append(',');
-            OptionalDouble value = values.get(i).get(p.getDate());
-            if (value.isPresent()) {
-              builderValues.append(value.getAsDouble());
-            } else {
-              builderValues.append(0.0d);
+          day = Math.min(day, currentDays[i]);
+        }
+        return day;
+      }
+      case INTERSECTION: {
+        int day = currentDays[0];
+        boolean aligned = false;
+        while (!aligned && day != Integer.MAX_VALUE) {
+          aligned = true;
+          for (int i = 0; i < nbSeries; i++) {
+            while (currentDays[i] < day) {
+              advance(i, dates, iterators, currentDays, currentDates, currentValues);
+            }
+            if (currentDays[i] > day) {
+              day = currentDays[i];
+              if (day == Integer.MAX_VALUE) {
+                return day;
+              }
+              aligned = false;
             }
           }
-        builderValues.append('\n');
-      });
-    destination.append(builderValues.toString());
+        }
+        return day;
+      }
+      default:
+        throw new IllegalArgumentException("Unknown date policy " + policy);
+    }
   }
 
   /**
@@ -140,19 +285,16 @@ public class ExportUtils {
     
     int nbColumns = headers.length;
     int nbRows = values.length;
-    destination.append(headers[0]);
-    for (int c = 1; c < nbColumns; c++) {
-      destination.append(", " + headers[c]);
-    }
-    destination.append("\n");
-    for (int r = 0; r < nbRows; r++) {
-      ArgChecker.isTrue(values[r].length == nbColumns, 
-          "number of values in each row should be equal to the number of headers");
-      destination.append("" + values[r][0]);
-      for (int c = 1; c < values[r].length; c++) {
-        destination.append("," + values[r][c]);
+    CsvStreamWriter writer = CsvStreamWriter.of(destination);
+    try {
+      writeHeaders(ImmutableList.copyOf(headers), writer);
+      for (int r = 0; r < nbRows; r++) {
+        ArgChecker.isTrue(values[r].length == nbColumns,
+            "number of values in each row should be equal to the number of headers");
+        writeRow(values[r], writer);
       }
-      destination.append("\n");
+    } finally {
+      writer.flush();
     }
   }
 
@@ -175,19 +317,114 @@ public class ExportUtils {
     int nbColumns = headers.size();
     ArgChecker.isTrue(values.size() == nbColumns, 
         "number of columns should be equal to the number of headers");
-    destination.append(headers.get(0));
-    for (int c = 1; c < nbColumns; c++) {
-      destination.append(", " + headers.get(c));
+    CsvStreamWriter writer = CsvStreamWriter.of(destination);
+    try {
+      writeHeaders(headers, writer);
+      writeColumns(values, 0, values.get(0).size(), writer);
+    } finally {
+      writer.flush();
     }
-    destination.append("\n");
-    int nbRows = values.get(0).size();
-    for (int r = 0; r < nbRows; r++) {
-      destination.append("" + values.get(0).get(r));
-      for (int c = 1; c < nbColumns; c++) {
-        destination.append("," + values.get(c).get(r));
-      }
-      destination.append("\n");
+  }
+
+  /**
+   * Append a set of values in an array to a csv-like destination, formatting the rows in parallel.
+   * <p>
+   * The rows are split in chunks which are formatted concurrently in the common fork-join pool and appended
+   * to the destination in order. The result is identical to {@link #exportArray(String[], double[][], Appendable)}.
+   * 
+   * @param headers  the header of each column
+   * @param values  the values in array format
+   * @param destination  the destination to which the csv-like string is appended
+   * @throws IOException 
+   */
+  public static void exportArrayParallel(
+      String[] headers,
+      double[][] values,
+      Appendable destination) throws IOException {
+
+    exportArrayParallel(headers, values, ForkJoinPool.commonPool(), destination);
+  }
+
+  /**
+   * Append a set of values in an array to a csv-like destination, formatting the rows in parallel.
+   * <p>
+   * The rows are split in chunks which are formatted concurrently in the pool and appended to the destination
+   * in order. The result is identical to {@link #exportArray(String[], double[][], Appendable)}.
+   * The formatting is spread over the parallelism of the pool; the appending to the destination is sequential.
+   * 
+   * @param headers  the header of each column
+   * @param values  the values in array format
+   * @param pool  the pool in which the chunks are formatted
+   * @param destination  the destination to which the csv-like string is appended
+   * @throws IOException 
+   */
+  public static void exportArrayParallel(
+      String[] headers,
+      double[][] values,
+      ForkJoinPool pool,
+      Appendable destination) throws IOException {
+
+    int nbColumns = headers.length;
+    for (double[] row : values) {
+      ArgChecker.isTrue(row.length == nbColumns,
+          "number of values in each row should be equal to the number of headers");
     }
+    CsvStreamWriter writer = CsvStreamWriter.of(destination);
+    writeHeaders(ImmutableList.copyOf(headers), writer);
+    writer.flush();
+    writeParallel(values.length, nbColumns, (start, end, chunk) -> {
+      for (int r = start; r < end; r++) {
+        writeRow(values[r], chunk);
+      }
+    }, pool, destination);
+  }
+
+  /**
+   * Append a set of values in an list of DoubleArray to a csv-like destination, formatting the rows in parallel.
+   * <p>
+   * The rows are split in chunks which are formatted concurrently in the common fork-join pool and appended
+   * to the destination in order. The result is identical to {@link #exportArray(List, List, Appendable)}.
+   * 
+   * @param headers  the header of each column
+   * @param values  the values in list of {@link DoubleArray} format
+   * @param destination  the destination to which the csv-like string is appended
+   * @throws IOException 
+   */
+  public static void exportArrayParallel(
+      List<String> headers,
+      List<DoubleArray> values,
+      Appendable destination) throws IOException {
+
+    exportArrayParallel(headers, values, ForkJoinPool.commonPool(), destination);
+  }
+
+  /**
+   * Append a set of values in an list of DoubleArray to a csv-like destination, formatting the rows in parallel.
+   * <p>
+   * The rows are split in chunks which are formatted concurrently in the pool and appended to the destination
+   * in order. The result is identical to {@link #exportArray(List, List, Appendable)}.
+   * The formatting is spread over the parallelism of the pool; the appending to the destination is sequential.
+   * 
+   * @param headers  the header of each column
+   * @param values  the values in list of {@link DoubleArray} format
+   * @param pool  the pool in which the chunks are formatted
+   * @param destination  the destination to which the csv-like string is appended
+   * @throws IOException 
+   */
+  public static void exportArrayParallel(
+      List<String> headers,
+      List<DoubleArray> values,
+      ForkJoinPool pool,
+      Appendable destination) throws IOException {
+
+    int nbColumns = headers.size();
+    ArgChecker.isTrue(values.size() == nbColumns, 
+        "number of columns should be equal to the number of headers");
+    CsvStreamWriter writer = CsvStreamWriter.of(destination);
+    writeHeaders(headers, writer);
+    writer.flush();
+    writeParallel(values.get(0).size(), nbColumns,
+        (start, end, chunk) -> writeColumns(values, start, end, chunk), pool, destination);
   }
 
   /**
@@ -202,13 +439,13 @@ public class ExportUtils {
       double[][] values,
       Appendable destination) throws IOException {
     
-    int nbRows = values.length;
-    for (int r = 0; r < nbRows; r++) {
-      destination.append("" + values[r][0]);
-      for (int c = 1; c < values[r].length; c++) {
-        destination.append("," + values[r][c]);
+    CsvStreamWriter writer = CsvStreamWriter.of(destination);
+    try {
+      for (double[] row : values) {
+        writeRow(row, writer);
       }
-      destination.append("\n");
+    } finally {
+      writer.flush();
     }
   }
 
@@ -226,14 +463,11 @@ public class ExportUtils {
       List<DoubleArray> values,
       Appendable destination) throws IOException {
     
-    int nbColumns = values.size();
-    int nbRows = values.get(0).size();
-    for (int r = 0; r < nbRows; r++) {
-      destination.append("" + values.get(0).get(r));
-      for (int c = 1; c < nbColumns; c++) {
-        destination.append("," + values.get(c).get(r));
-      }
-      destination.append("\n");
+    CsvStreamWriter writer = CsvStreamWriter.of(destination);
+    try {
+      writeColumns(values, 0, values.get(0).size(), writer);
+    } finally {
+      writer.flush();
     }
   }
 
@@ -257,18 +491,23 @@ public class ExportUtils {
     int nbColumns = values.size();
     ArgChecker.isTrue(values.size() == nbColumns, 
         "number of columns should be equal to the number of headers");
-    destination.append("Date");
-    for (int c = 0; c < nbColumns; c++) {
-      destination.append("," + headers.get(c));
-    }
-    destination.append("\n");
-    int nbRows = values.get(0).size();
-    for (int r = 0; r < nbRows; r++) {
-      destination.append(dates.get(r).toLocalDate().format(DateTimeFormatter.ISO_DATE));
+    CsvStreamWriter writer = CsvStreamWriter.of(destination);
+    try {
+      writer.append("Date");
       for (int c = 0; c < nbColumns; c++) {
-        destination.append("," + values.get(c).get(r));
+        writer.append(',').append(headers.get(c));
+      }
+      writer.append('\n');
+      int nbRows = values.get(0).size();
+      for (int r = 0; r < nbRows; r++) {
+        writer.appendDate(dates.get(r).toLocalDate());
+        for (int c = 0; c < nbColumns; c++) {
+          writer.append(',').appendDouble(values.get(c).get(r));
+        }
+        writer.append('\n');
       }
-      destination.append("\n");
+    } finally {
+      writer.flush();
     }
   }
   
@@ -291,20 +530,139 @@ public class ExportUtils {
       double scale,
       Appendable destination) {
 
-    CsvOutput csv = CsvOutput.standard(destination);
-    List<CurrencyParameterSensitivity> sensitivitiesAsList = sensitivities.getSensitivities();
-    csv.writeLine(ImmutableList.of("Label", "Value"));
-    for (CurrencyParameterSensitivity sensitivity : sensitivitiesAsList) {
-      csv.writeLine(ImmutableList.of(sensitivity.getMarketDataName().toString(), sensitivity.getCurrency().toString()));
-      ArgChecker.isFalse(sensitivity.getParameterMetadata().isEmpty(), "Parameters metadata required");
-      DoubleArray sensitivityValues = sensitivity.getSensitivity();
-      List<ParameterMetadata> sensitivityMetadata = sensitivity.getParameterMetadata();
-      for (int loopnode = 0; loopnode < sensitivityValues.size(); loopnode++) {
-        csv.writeLine(ImmutableList.of(
-            sensitivityMetadata.get(loopnode).getLabel(),
-            Double.toString((sensitivityValues.get(loopnode) * scale))));
+    CsvStreamWriter writer = CsvStreamWriter.of(destination);
+    try {
+      CsvOutput csv = CsvOutput.standard(writer);
+      List<CurrencyParameterSensitivity> sensitivitiesAsList = sensitivities.getSensitivities();
+      csv.writeLine(ImmutableList.of("Label", "Value"));
+      for (CurrencyParameterSensitivity sensitivity : sensitivitiesAsList) {
+        csv.writeLine(
+            ImmutableList.of(sensitivity.getMarketDataName().toString(), sensitivity.getCurrency().toString()));
+        ArgChecker.isFalse(sensitivity.getParameterMetadata().isEmpty(), "Parameters metadata required");
+        DoubleArray sensitivityValues = sensitivity.getSensitivity();
+        List<ParameterMetadata> sensitivityMetadata = sensitivity.getParameterMetadata();
+        for (int loopnode = 0; loopnode < sensitivityValues.size(); loopnode++) {
+          csv.writeLine(ImmutableList.of(
+              sensitivityMetadata.get(loopnode).getLabel(),
+              Double.toString((sensitivityValues.get(loopnode) * scale))));
+        }
       }
+    } finally {
+      try {
+        writer.flush();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  // one row of values, comma separated
+  private static void writeRow(double[] row, CsvStreamWriter writer) throws IOException {
+    writer.appendDouble(row[0]);
+    for (int c = 1; c < row.length; c++) {
+      writer.append(',').appendDouble(row[c]);
+    }
+    writer.append('\n');
+  }
+
+  // the headers, comma and space separated
+  private static void writeHeaders(List<String> headers, CsvStreamWriter writer) throws IOException {
+    writer.append(headers.get(0));
+    for (int c = 1; c < headers.size(); c++) {
+      writer.append(", ").append(headers.get(c));
     }
+    writer.append('\n');
+  }
+
+  // the values of the columns by row between start (inclusive) and end (exclusive), comma separated
+  private static void writeColumns(
+      List<DoubleArray> values,
+      int start,
+      int end,
+      CsvStreamWriter writer) throws IOException {
+
+    int nbColumns = values.size();
+    for (int r = start; r < end; r++) {
+      writer.appendDouble(values.get(0).get(r));
+      for (int c = 1; c < nbColumns; c++) {
+        writer.append(',').appendDouble(values.get(c).get(r));
+      }
+      writer.append('\n');
+    }
+  }
+
+  // formats the rows by chunks in the pool and appends the chunks to the destination in order
+  // at most twice the parallelism of chunks are in flight; their buffers are reused
+  private static void writeParallel(
+      int nbRows,
+      int nbColumns,
+      ChunkFormatter formatter,
+      ForkJoinPool pool,
+      Appendable destination) throws IOException {
+
+    int chunkRows = Math.max(1, PARALLEL_CHUNK_CHARS / (CHARS_BY_VALUE * Math.max(1, nbColumns)));
+    int nbChunks = (nbRows + chunkRows - 1) / chunkRows;
+    int maxInFlight = 2 * pool.getParallelism();
+    Deque<ChunkBuffer> buffers = new ArrayDeque<>();
+    Deque<ForkJoinTask<ChunkBuffer>> inFlight = new ArrayDeque<>();
+    Writer writer = (destination instanceof Writer) ? (Writer) destination : new AppendableWriter(destination);
+    int submitted = 0;
+    try {
+      for (int loopchunk = 0; loopchunk < nbChunks; loopchunk++) {
+        while (submitted < nbChunks && inFlight.size() < maxInFlight) {
+          int start = submitted * chunkRows;
+          int end = Math.min(nbRows, start + chunkRows);
+          ChunkBuffer buffer = buffers.isEmpty() ? new ChunkBuffer() : buffers.pop();
+          inFlight.add(pool.submit(() -> {
+            formatter.format(start, end, buffer.writer);
+            buffer.writer.flush();
+            return buffer;
+          }));
+          submitted++;
+        }
+        ChunkBuffer buffer = inFlight.poll().join();
+        buffer.text.writeTo(writer);
+        buffer.text.reset();
+        buffers.push(buffer);
+      }
+    } finally {
+      for (ForkJoinTask<ChunkBuffer> task : inFlight) {
+        task.cancel(true);
+      }
+    }
+  }
+
+  // formats the rows between start (inclusive) and end (exclusive) of a chunk
+  private interface ChunkFormatter {
+    void format(int start, int end, CsvStreamWriter chunk) throws IOException;
+  }
+
+  // appends the chars written to a destination which is not a writer, without copying them in a string
+  private static final class AppendableWriter extends Writer {
+    private final Appendable destination;
+
+    private AppendableWriter(Appendable destination) {
+      this.destination = destination;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+      destination.append(CharBuffer.wrap(cbuf, off, len));
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  // the buffers of a chunk: the formatted text and the writer formatting into it
+  private static final class ChunkBuffer {
+    private final CharArrayWriter text = new CharArrayWriter(PARALLEL_CHUNK_CHARS);
+    private final CsvStreamWriter writer = CsvStreamWriter.of(text);
   }
 
   /**
@@ -325,4 +683,30 @@ public class ExportUtils {
     }
   }
 
+  /**
+   * Exports a string to a file asynchronously.
+   * <p>
+   * The string is written by a background thread through an {@link AsyncExportWriter}; the method returns
+   * once the string is submitted. The future is completed with the number of bytes written when the file is
+   * closed, or exceptionally with the {@link IOException} if the writing failed.
+   * 
+   * @param string  the string to export
+   * @param file  the file
+   * @return the completion
+   * @throws IOException if the file cannot be opened
+   */
+  public static CompletableFuture<Long> exportStringAsync(
+      String string,
+      Path file) throws IOException {
+
+    AsyncExportWriter writer = AsyncExportWriter.open(file);
+    try {
+      writer.submit(string);
+      return writer.finish();
+    } catch (IOException e) {
+      writer.cancel();
+      throw e;
+    }
+  }
+
 }
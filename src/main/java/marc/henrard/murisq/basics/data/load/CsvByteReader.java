@@ -0,0 +1,373 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.load;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Month;
+import java.util.Arrays;
+
+/**
+ * Streaming reader of csv-like lines, parsing the fields directly from the bytes.
+ * <p>
+ * The bytes are read from a channel in a reusable buffer. The current line is split in fields
+ * separated by commas; the spaces around the fields are ignored. The dates and numbers are parsed
+ * from the bytes without creating strings.
+ * <p>
+ * The lines are expected in ASCII or UTF-8; the fields are not quoted.
+ *
+ * @author Marc Henrard
+ */
+final class CsvByteReader implements Closeable {
+
+  /** The initial size of the buffer. */
+  private static final int BUFFER_SIZE = 1 << 16;
+  /** The maximal number of digits of a long mantissa. */
+  private static final int MAX_MANTISSA_DIGITS = 18;
+  /** The largest integer exactly represented as a double. */
+  private static final long MAX_EXACT_INTEGER = 1L << 53;
+  /** The exact powers of 10 as double. */
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+  /** The channel. */
+  private final ReadableByteChannel channel;
+  /** The buffer. */
+  private byte[] buffer = new byte[BUFFER_SIZE];
+  /** The number of valid bytes in the buffer. */
+  private int limit;
+  /** The start of the next line in the buffer. */
+  private int next;
+  /** Whether the end of the channel has been reached. */
+  private boolean endOfInput;
+  /** The start of the fields of the current line, and the end of the last field at index fieldCount. */
+  private int[] fieldStarts = new int[16];
+  /** The end of the fields of the current line, after trimming. */
+  private int[] fieldEnds = new int[16];
+  /** The number of fields of the current line. */
+  private int fieldCount;
+
+  /**
+   * Creates a reader.
+   *
+   * @param channel  the channel
+   */
+  CsvByteReader(ReadableByteChannel channel) {
+    this.channel = channel;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Moves to the next non-empty line and splits it in fields.
+   *
+   * @return true if there is a line, false at the end of the input
+   * @throws IOException
+   */
+  boolean nextLine() throws IOException {
+    while (true) {
+      int end = findLineEnd();
+      if (end < 0) {
+        return false;
+      }
+      int start = next;
+      next = end + 1;
+      int lineEnd = (end > start && buffer[end - 1] == '\r') ? end - 1 : end;
+      if (split(start, lineEnd)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of fields of the current line.
+   *
+   * @return the number of fields
+   */
+  int fieldCount() {
+    return fieldCount;
+  }
+
+  /**
+   * Checks if a field is equal to a string.
+   *
+   * @param field  the index of the field
+   * @param value  the string, in ASCII
+   * @return true if equal
+   */
+  boolean fieldEquals(int field, String value) {
+    int start = fieldStarts[field];
+    int length = fieldEnds[field] - start;
+    if (length != value.length()) {
+      return false;
+    }
+    for (int loopchar = 0; loopchar < length; loopchar++) {
+      if (buffer[start + loopchar] != value.charAt(loopchar)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks if a field is equal to the bytes of a string.
+   *
+   * @param field  the index of the field
+   * @param value  the bytes
+   * @return true if equal
+   */
+  boolean fieldEquals(int field, byte[] value) {
+    int start = fieldStarts[field];
+    int length = fieldEnds[field] - start;
+    if (length != value.length) {
+      return false;
+    }
+    for (int loopchar = 0; loopchar < length; loopchar++) {
+      if (buffer[start + loopchar] != value[loopchar]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the bytes of a field.
+   *
+   * @param field  the index of the field
+   * @return the bytes
+   */
+  byte[] fieldBytes(int field) {
+    return Arrays.copyOfRange(buffer, fieldStarts[field], fieldEnds[field]);
+  }
+
+  /**
+   * Returns a field as a string.
+   *
+   * @param field  the index of the field
+   * @return the string
+   */
+  String fieldString(int field) {
+    return new String(buffer, fieldStarts[field], fieldEnds[field] - fieldStarts[field], StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Parses a field in the ISO format yyyy-MM-dd as an epoch day.
+   *
+   * @param field  the index of the field
+   * @return the epoch day
+   */
+  int parseEpochDay(int field) {
+    int start = fieldStarts[field];
+    if (fieldEnds[field] - start != 10 || buffer[start + 4] != '-' || buffer[start + 7] != '-') {
+      throw new IllegalArgumentException("Invalid date: " + fieldString(field));
+    }
+    int year = digits(start, 4);
+    int month = digits(start + 5, 2);
+    int day = digits(start + 8, 2);
+    return epochDay(year, month, day);
+  }
+
+  /**
+   * Parses a field as a double.
+   * <p>
+   * The format is the one of {@link Double#toString(double)} and of decimal literals:
+   * optional sign, digits with an optional decimal point and an optional exponent, or NaN and Infinity.
+   * When the significant digits are an integer below 2^53 and the decimal exponent at most 22 in absolute value,
+   * the result is computed by one exact multiplication or division (Clinger's fast path);
+   * the other cases use {@link Double#parseDouble(String)}. The result is in all cases the correctly rounded value.
+   *
+   * @param field  the index of the field
+   * @return the value
+   */
+  double parseDouble(int field) {
+    int start = fieldStarts[field];
+    int end = fieldEnds[field];
+    int position = start;
+    boolean negative = false;
+    if (position < end && (buffer[position] == '-' || buffer[position] == '+')) {
+      negative = buffer[position] == '-';
+      position++;
+    }
+    long mantissa = 0;
+    int nbDigits = 0;
+    int exponent = 0;
+    boolean anyDigit = false;
+    boolean point = false;
+    for (; position < end; position++) {
+      byte b = buffer[position];
+      if (b >= '0' && b <= '9') {
+        anyDigit = true;
+        if (mantissa == 0 && b == '0') {
+          if (point) {
+            exponent--;
+          }
+          continue;
+        }
+        if (nbDigits >= MAX_MANTISSA_DIGITS) {
+          return parseDoubleSlow(field);
+        }
+        mantissa = 10 * mantissa + (b - '0');
+        nbDigits++;
+        if (point) {
+          exponent--;
+        }
+      } else if (b == '.' && !point) {
+        point = true;
+      } else {
+        break;
+      }
+    }
+    if (!anyDigit) {
+      return parseDoubleSlow(field);
+    }
+    if (position < end) {
+      if (buffer[position] != 'E' && buffer[position] != 'e') {
+        return parseDoubleSlow(field);
+      }
+      position++;
+      boolean negativeExponent = false;
+      if (position < end && (buffer[position] == '-' || buffer[position] == '+')) {
+        negativeExponent = buffer[position] == '-';
+        position++;
+      }
+      if (position == end || end - position > 4) {
+        return parseDoubleSlow(field);
+      }
+      int explicitExponent = 0;
+      for (; position < end; position++) {
+        byte b = buffer[position];
+        if (b < '0' || b > '9') {
+          return parseDoubleSlow(field);
+        }
+        explicitExponent = 10 * explicitExponent + (b - '0');
+      }
+      exponent += negativeExponent ? -explicitExponent : explicitExponent;
+    }
+    double value;
+    if (mantissa == 0) {
+      value = 0.0d;
+    } else if (mantissa <= MAX_EXACT_INTEGER && exponent >= -22 && exponent <= 22) {
+      value = (exponent >= 0) ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+    } else {
+      return parseDoubleSlow(field);
+    }
+    return negative ? -value : value;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  //-------------------------------------------------------------------------
+  // parses with the JDK, used for the cases not covered by the fast path
+  private double parseDoubleSlow(int field) {
+    return Double.parseDouble(fieldString(field));
+  }
+
+  // parses a fixed number of digits
+  private int digits(int start, int length) {
+    int result = 0;
+    for (int loopchar = start; loopchar < start + length; loopchar++) {
+      int digit = buffer[loopchar] - '0';
+      if (digit < 0 || digit > 9) {
+        throw new IllegalArgumentException("Invalid digit in: " + new String(buffer, start, length, StandardCharsets.UTF_8));
+      }
+      result = 10 * result + digit;
+    }
+    return result;
+  }
+
+  // epoch day of a date in the proleptic Gregorian calendar (same algorithm as LocalDate.toEpochDay)
+  private static int epochDay(int year, int month, int day) {
+    boolean leap = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+    if (month < 1 || month > 12 || day < 1 || day > Month.of(month).length(leap)) {
+      throw new IllegalArgumentException("Invalid date: " + year + "-" + month + "-" + day);
+    }
+    long y = year;
+    long total = 365 * y;
+    total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+    total += (367 * month - 362) / 12;
+    total += day - 1;
+    if (month > 2) {
+      total--;
+      if (!leap) {
+        total--;
+      }
+    }
+    return (int) (total - 719528); // days from year 0 to 1970
+  }
+
+  // splits the line in trimmed fields; returns false if the line is blank
+  private boolean split(int start, int end) {
+    fieldCount = 0;
+    boolean blank = true;
+    int fieldStart = start;
+    for (int position = start; position <= end; position++) {
+      if (position == end || buffer[position] == ',') {
+        int s = fieldStart;
+        int e = position;
+        while (s < e && buffer[s] == ' ') {
+          s++;
+        }
+        while (e > s && buffer[e - 1] == ' ') {
+          e--;
+        }
+        if (fieldCount == fieldStarts.length) {
+          fieldStarts = Arrays.copyOf(fieldStarts, 2 * fieldCount);
+          fieldEnds = Arrays.copyOf(fieldEnds, 2 * fieldCount);
+        }
+        fieldStarts[fieldCount] = s;
+        fieldEnds[fieldCount] = e;
+        fieldCount++;
+        blank &= (s == e);
+        fieldStart = position + 1;
+      }
+    }
+    return !blank || fieldCount > 1;
+  }
+
+  // index of the end of the next line in the buffer, reading from the channel if required; -1 at the end
+  private int findLineEnd() throws IOException {
+    int searchFrom = next;
+    while (true) {
+      for (int position = searchFrom; position < limit; position++) {
+        if (buffer[position] == '\n') {
+          return position;
+        }
+      }
+      if (endOfInput) {
+        if (next < limit) {
+          // last line without end of line
+          if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length + 1);
+          }
+          buffer[limit] = '\n';
+          return limit++;
+        }
+        return -1;
+      }
+      // move the partial line to the start of the buffer and read more
+      int remaining = limit - next;
+      if (next > 0) {
+        System.arraycopy(buffer, next, buffer, 0, remaining);
+      } else if (remaining == buffer.length) {
+        buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+      }
+      next = 0;
+      limit = remaining;
+      searchFrom = remaining;
+      int read = channel.read(ByteBuffer.wrap(buffer, limit, buffer.length - limit));
+      if (read < 0) {
+        endOfInput = true;
+      } else {
+        limit += read;
+      }
+    }
+  }
+
+}
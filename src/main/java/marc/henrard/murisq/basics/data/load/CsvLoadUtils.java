@@ -0,0 +1,250 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.load;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.collect.tuple.Pair;
+
+import marc.henrard.murisq.basics.data.export.ExportUtils;
+import marc.henrard.murisq.basics.data.timeseries.AlignedTimeSeries;
+
+/**
+ * Utilities to load the csv-like files produced by {@link ExportUtils}.
+ * <p>
+ * The files are read in a stream and the dates and numbers are parsed directly from the bytes, without
+ * intermediary string by field. The values are accumulated in primitive arrays.
+ * 
+ * @author Marc Henrard
+ */
+public class CsvLoadUtils {
+
+  /** The initial capacity of the primitive arrays. */
+  private static final int INITIAL_CAPACITY = 256;
+
+  /**
+   * Loads time series in the format of {@link ExportUtils#exportTimeSeries(String, LocalDateDoubleTimeSeries, Appendable)}.
+   * <p>
+   * The format has a header line "Reference, Date, Value" and one line by point. The file can contain
+   * several series, one after the other, each with its header.
+   * 
+   * @param file  the file
+   * @return the time series, by reference, in the order of the file
+   * @throws IOException
+   */
+  public static Map<String, LocalDateDoubleTimeSeries> loadTimeSeries(Path file) throws IOException {
+    Map<String, SeriesAccumulator> accumulators = new LinkedHashMap<>();
+    try (CsvByteReader reader = open(file)) {
+      byte[] currentReference = null;
+      SeriesAccumulator current = null;
+      while (reader.nextLine()) {
+        if (reader.fieldEquals(0, "Reference")) {
+          continue;
+        }
+        ArgChecker.isTrue(reader.fieldCount() == 3, "Expected 3 fields by line, found {}", reader.fieldCount());
+        if (currentReference == null || !reader.fieldEquals(0, currentReference)) {
+          currentReference = reader.fieldBytes(0);
+          current = accumulators.computeIfAbsent(reader.fieldString(0), r -> new SeriesAccumulator(1));
+        }
+        current.add(reader.parseEpochDay(1));
+        current.values[0][current.size - 1] = reader.parseDouble(2);
+      }
+    }
+    Map<String, LocalDateDoubleTimeSeries> result = new LinkedHashMap<>();
+    for (Map.Entry<String, SeriesAccumulator> entry : accumulators.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().toTimeSeries(0));
+    }
+    return result;
+  }
+
+  /**
+   * Loads time series in the format of {@link ExportUtils#exportTimeSeries(List, List, Appendable)}.
+   * <p>
+   * The format has a header line "Date" followed by the names of the series and one line by date.
+   * The format of {@link ExportUtils#exportArrayDates(List, List, List, Appendable)} is the same.
+   * 
+   * @param file  the file
+   * @return the time series, by name, in the order of the file
+   * @throws IOException
+   */
+  public static Map<String, LocalDateDoubleTimeSeries> loadTimeSeriesWide(Path file) throws IOException {
+    Pair<ImmutableList<String>, AlignedTimeSeries> loaded = loadTimeSeriesWideAligned(file);
+    Map<String, LocalDateDoubleTimeSeries> result = new LinkedHashMap<>();
+    for (int loopts = 0; loopts < loaded.getFirst().size(); loopts++) {
+      result.put(loaded.getFirst().get(loopts), loaded.getSecond().toTimeSeries(loopts));
+    }
+    return result;
+  }
+
+  /**
+   * Loads time series in the format of {@link ExportUtils#exportTimeSeries(List, List, Appendable)}
+   * in primitive arrays.
+   * <p>
+   * The dates must be in increasing order. The result can be used directly with the statistics of
+   * {@link marc.henrard.murisq.basics.data.timeseries.LocalDateDoubleTimeSeriesUtils}.
+   * 
+   * @param file  the file
+   * @return the names and the aligned time series
+   * @throws IOException
+   */
+  public static Pair<ImmutableList<String>, AlignedTimeSeries> loadTimeSeriesWideAligned(Path file)
+      throws IOException {
+
+    try (CsvByteReader reader = open(file)) {
+      ArgChecker.isTrue(reader.nextLine() && reader.fieldEquals(0, "Date"), "Header starting with Date expected");
+      int nbSeries = reader.fieldCount() - 1;
+      ImmutableList.Builder<String> names = ImmutableList.builder();
+      for (int loopts = 0; loopts < nbSeries; loopts++) {
+        names.add(reader.fieldString(loopts + 1));
+      }
+      SeriesAccumulator accumulator = new SeriesAccumulator(nbSeries);
+      while (reader.nextLine()) {
+        ArgChecker.isTrue(reader.fieldCount() == nbSeries + 1,
+            "Expected {} fields by line, found {}", nbSeries + 1, reader.fieldCount());
+        accumulator.add(reader.parseEpochDay(0));
+        for (int loopts = 0; loopts < nbSeries; loopts++) {
+          accumulator.values[loopts][accumulator.size - 1] = reader.parseDouble(loopts + 1);
+        }
+      }
+      return Pair.of(names.build(), accumulator.toAligned());
+    }
+  }
+
+  /**
+   * Loads an array in the format of {@link ExportUtils#exportArray(List, List, Appendable)}, with headers.
+   * 
+   * @param file  the file
+   * @return the headers and the columns
+   * @throws IOException
+   */
+  public static Pair<ImmutableList<String>, ImmutableList<DoubleArray>> loadArrayWithHeaders(Path file)
+      throws IOException {
+
+    try (CsvByteReader reader = open(file)) {
+      ArgChecker.isTrue(reader.nextLine(), "Header expected");
+      ImmutableList.Builder<String> headers = ImmutableList.builder();
+      for (int loopcol = 0; loopcol < reader.fieldCount(); loopcol++) {
+        headers.add(reader.fieldString(loopcol));
+      }
+      return Pair.of(headers.build(), columns(reader, reader.fieldCount()));
+    }
+  }
+
+  /**
+   * Loads an array in the format of {@link ExportUtils#exportArray(List, Appendable)}, without headers.
+   * 
+   * @param file  the file
+   * @return the columns
+   * @throws IOException
+   */
+  public static ImmutableList<DoubleArray> loadArray(Path file) throws IOException {
+    try (CsvByteReader reader = open(file)) {
+      return columns(reader, -1);
+    }
+  }
+
+  /**
+   * Loads an array in the format of {@link ExportUtils#exportArray(double[][], Appendable)}, without headers.
+   * <p>
+   * The rows can have different lengths.
+   * 
+   * @param file  the file
+   * @return the rows
+   * @throws IOException
+   */
+  public static double[][] loadArrayRows(Path file) throws IOException {
+    List<double[]> rows = new ArrayList<>();
+    try (CsvByteReader reader = open(file)) {
+      while (reader.nextLine()) {
+        double[] row = new double[reader.fieldCount()];
+        for (int loopcol = 0; loopcol < row.length; loopcol++) {
+          row[loopcol] = reader.parseDouble(loopcol);
+        }
+        rows.add(row);
+      }
+    }
+    return rows.toArray(new double[0][]);
+  }
+
+  //-------------------------------------------------------------------------
+  private static CsvByteReader open(Path file) throws IOException {
+    return new CsvByteReader(FileChannel.open(file, StandardOpenOption.READ));
+  }
+
+  // reads the remaining lines as columns; the number of columns is given by the first line if negative
+  private static ImmutableList<DoubleArray> columns(CsvByteReader reader, int nbColumns) throws IOException {
+    SeriesAccumulator accumulator = null;
+    while (reader.nextLine()) {
+      if (accumulator == null) {
+        nbColumns = (nbColumns < 0) ? reader.fieldCount() : nbColumns;
+        accumulator = new SeriesAccumulator(nbColumns);
+      }
+      ArgChecker.isTrue(reader.fieldCount() == nbColumns,
+          "Expected {} fields by line, found {}", nbColumns, reader.fieldCount());
+      accumulator.add(0);
+      for (int loopcol = 0; loopcol < nbColumns; loopcol++) {
+        accumulator.values[loopcol][accumulator.size - 1] = reader.parseDouble(loopcol);
+      }
+    }
+    ImmutableList.Builder<DoubleArray> columns = ImmutableList.builder();
+    for (int loopcol = 0; loopcol < Math.max(nbColumns, 0); loopcol++) {
+      columns.add(accumulator == null ? DoubleArray.EMPTY
+          : DoubleArray.ofUnsafe(Arrays.copyOf(accumulator.values[loopcol], accumulator.size)));
+    }
+    return columns.build();
+  }
+
+  // growing primitive arrays of dates and values
+  private static final class SeriesAccumulator {
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private final double[][] values;
+    private int size;
+
+    private SeriesAccumulator(int nbSeries) {
+      this.values = new double[nbSeries][INITIAL_CAPACITY];
+    }
+
+    // adds a row, the values are set by the caller at index size - 1
+    private void add(int epochDay) {
+      if (size == epochDays.length) {
+        epochDays = Arrays.copyOf(epochDays, 2 * size);
+        for (int loopts = 0; loopts < values.length; loopts++) {
+          values[loopts] = Arrays.copyOf(values[loopts], 2 * size);
+        }
+      }
+      epochDays[size++] = epochDay;
+    }
+
+    private LocalDateDoubleTimeSeries toTimeSeries(int series) {
+      LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+      for (int looppt = 0; looppt < size; looppt++) {
+        builder.put(LocalDate.ofEpochDay(epochDays[looppt]), values[series][looppt]);
+      }
+      return builder.build();
+    }
+
+    private AlignedTimeSeries toAligned() {
+      double[][] trimmed = new double[values.length][];
+      for (int loopts = 0; loopts < values.length; loopts++) {
+        trimmed[loopts] = Arrays.copyOf(values[loopts], size);
+      }
+      return AlignedTimeSeries.ofUnsafe(Arrays.copyOf(epochDays, size), trimmed);
+    }
+  }
+
+}
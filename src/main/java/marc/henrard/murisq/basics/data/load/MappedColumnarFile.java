@@ -0,0 +1,232 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.load;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+import marc.henrard.murisq.basics.data.export.ColumnarFormat;
+
+/**
+ * Read access to a file in the columnar binary format through memory mapping.
+ * <p>
+ * Opening a file reads the header and maps each column; no value is read at that stage.
+ * The values are read from the mapped columns, one at a time or by bulk copies in primitive arrays.
+ * <p>
+ * The file is written by {@link marc.henrard.murisq.basics.data.export.ColumnarExportUtils};
+ * the format is described in {@link ColumnarFormat}. The file can be used by several threads.
+ * The mapped memory is released when the file is garbage collected.
+ *
+ * @author Marc Henrard
+ */
+public final class MappedColumnarFile {
+
+  /** The names of the columns. */
+  private final ImmutableList<String> names;
+  /** The types of the columns. */
+  private final byte[] types;
+  /** The number of rows. */
+  private final int nbRows;
+  /** The mapped columns. */
+  private final ByteBuffer[] columns;
+
+  /**
+   * Opens a file.
+   *
+   * @param file  the file
+   * @return the mapped file
+   * @throws IOException
+   */
+  public static MappedColumnarFile open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer fixed = read(channel, 0, 16);
+      ArgChecker.isTrue(fixed.getInt() == ColumnarFormat.MAGIC, "file {} is not a columnar file", file);
+      int version = fixed.getInt();
+      ArgChecker.isTrue(version == ColumnarFormat.VERSION, "columnar file version {} not supported", version);
+      int nbColumns = fixed.getInt();
+      int nbRows = fixed.getInt();
+      // each column description has at least 3 bytes
+      ArgChecker.isTrue(nbColumns >= 0 && nbColumns <= (channel.size() - 16) / 3,
+          "invalid number of columns {} in file {}", nbColumns, file);
+      ArgChecker.isTrue(nbRows >= 0, "invalid number of rows {} in file {}", nbRows, file);
+      ImmutableList.Builder<String> names = ImmutableList.builder();
+      byte[] types = new byte[nbColumns];
+      long position = 16;
+      for (int loopcol = 0; loopcol < nbColumns; loopcol++) {
+        ByteBuffer description = read(channel, position, 3);
+        types[loopcol] = description.get();
+        byte[] name = new byte[description.getShort() & 0xFFFF];
+        read(channel, position + 3, name.length).get(name);
+        names.add(new String(name, StandardCharsets.UTF_8));
+        position += 3 + name.length;
+      }
+      position = ColumnarFormat.padded(position);
+      ByteBuffer[] columns = new ByteBuffer[nbColumns];
+      for (int loopcol = 0; loopcol < nbColumns; loopcol++) {
+        long size = (long) ColumnarFormat.valueSize(types[loopcol]) * nbRows;
+        ArgChecker.isTrue(size <= Integer.MAX_VALUE, "column {} too large to be mapped", loopcol);
+        ArgChecker.isTrue(position + size <= channel.size(), "file {} is truncated", file);
+        columns[loopcol] = channel.map(FileChannel.MapMode.READ_ONLY, position, size)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        position += ColumnarFormat.columnLength(types[loopcol], nbRows);
+      }
+      return new MappedColumnarFile(names.build(), types, nbRows, columns);
+    }
+  }
+
+  // reads bytes of the header; the Buffer cast keeps the Java 8 signature when compiled with a later JDK
+  private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+    while (buffer.hasRemaining()) {
+      ArgChecker.isTrue(channel.read(buffer, position + buffer.position()) >= 0, "columnar file header is truncated");
+    }
+    ((Buffer) buffer).flip();
+    return buffer;
+  }
+
+  // private constructor
+  private MappedColumnarFile(ImmutableList<String> names, byte[] types, int nbRows, ByteBuffer[] columns) {
+    this.names = names;
+    this.types = types;
+    this.nbRows = nbRows;
+    this.columns = columns;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the names of the columns.
+   *
+   * @return the names
+   */
+  public ImmutableList<String> getColumnNames() {
+    return names;
+  }
+
+  /**
+   * Returns the number of columns.
+   *
+   * @return the number of columns
+   */
+  public int getColumnCount() {
+    return names.size();
+  }
+
+  /**
+   * Returns the number of rows.
+   *
+   * @return the number of rows
+   */
+  public int getRowCount() {
+    return nbRows;
+  }
+
+  /**
+   * Returns the type of a column, {@link ColumnarFormat#TYPE_EPOCH_DAY} or {@link ColumnarFormat#TYPE_DOUBLE}.
+   *
+   * @param column  the index of the column
+   * @return the type
+   */
+  public byte getColumnType(int column) {
+    return types[column];
+  }
+
+  /**
+   * Returns the index of a column.
+   *
+   * @param name  the name of the column
+   * @return the index
+   */
+  public int indexOf(String name) {
+    int index = names.indexOf(name);
+    ArgChecker.isTrue(index >= 0, "column {} not found", name);
+    return index;
+  }
+
+  /**
+   * Returns one value of a double column.
+   *
+   * @param column  the index of the column
+   * @param row  the index of the row
+   * @return the value
+   */
+  public double getDouble(int column, int row) {
+    return columns[checked(column, ColumnarFormat.TYPE_DOUBLE)].getDouble(Double.BYTES * row);
+  }
+
+  /**
+   * Returns one value of a date column, as epoch day.
+   *
+   * @param column  the index of the column
+   * @param row  the index of the row
+   * @return the epoch day
+   */
+  public int getEpochDay(int column, int row) {
+    return columns[checked(column, ColumnarFormat.TYPE_EPOCH_DAY)].getInt(Integer.BYTES * row);
+  }
+
+  /**
+   * Returns the values of a double column.
+   *
+   * @param column  the index of the column
+   * @return the values
+   */
+  public DoubleArray getDoubles(int column) {
+    double[] values = new double[nbRows];
+    columns[checked(column, ColumnarFormat.TYPE_DOUBLE)].duplicate().order(ByteOrder.LITTLE_ENDIAN)
+        .asDoubleBuffer().get(values);
+    return DoubleArray.ofUnsafe(values);
+  }
+
+  /**
+   * Returns the values of a date column, as epoch days.
+   *
+   * @param column  the index of the column
+   * @return the epoch days
+   */
+  public int[] getEpochDays(int column) {
+    int[] epochDays = new int[nbRows];
+    columns[checked(column, ColumnarFormat.TYPE_EPOCH_DAY)].duplicate().order(ByteOrder.LITTLE_ENDIAN)
+        .asIntBuffer().get(epochDays);
+    return epochDays;
+  }
+
+  /**
+   * Returns a time series from a date column and a double column. The NaN values are not included.
+   *
+   * @param dateColumn  the index of the date column
+   * @param valueColumn  the index of the double column
+   * @return the time series
+   */
+  public LocalDateDoubleTimeSeries toTimeSeries(int dateColumn, int valueColumn) {
+    int[] epochDays = getEpochDays(dateColumn);
+    double[] values = getDoubles(valueColumn).toArrayUnsafe();
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int looprow = 0; looprow < nbRows; looprow++) {
+      if (!Double.isNaN(values[looprow])) {
+        builder.put(LocalDate.ofEpochDay(epochDays[looprow]), values[looprow]);
+      }
+    }
+    return builder.build();
+  }
+
+  // checks the type of a column
+  private int checked(int column, byte type) {
+    ArgChecker.isTrue(types[column] == type, "column {} is not of type {}", names.get(column), type);
+    return column;
+  }
+
+}
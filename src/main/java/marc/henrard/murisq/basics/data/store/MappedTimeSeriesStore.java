@@ -0,0 +1,179 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.store;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+import marc.henrard.murisq.basics.data.timeseries.AlignedTimeSeries;
+
+/**
+ * Read access to a time series store through memory mapping.
+ * <p>
+ * Opening a store reads the index and maps the data file; no point is read at that stage.
+ * The points of a series are read from the mapped file by bulk copies of the date and value columns
+ * in primitive arrays. The store sees the data committed when it was opened.
+ * <p>
+ * The store is written by {@link TimeSeriesStoreWriter}; the format is described in {@link TimeSeriesStoreIndex}.
+ * The store can be used by several threads. The mapped memory is released when the store is garbage collected.
+ *
+ * @author Marc Henrard
+ */
+public final class MappedTimeSeriesStore {
+
+  /** The index. */
+  private final Map<String, TimeSeriesStoreIndex.Entry> entries;
+  /** The mapped segments of the data file. */
+  private final MappedByteBuffer[] segments;
+
+  /**
+   * Opens a store.
+   *
+   * @param directory  the directory of the store
+   * @return the store
+   * @throws IOException
+   */
+  public static MappedTimeSeriesStore open(Path directory) throws IOException {
+    ArgChecker.isTrue(Files.isDirectory(directory), "store {} not found", directory);
+    TimeSeriesStoreIndex index = TimeSeriesStoreIndex.read(directory);
+    long dataLength = index.dataLength;
+    int nbSegments = (int) ((dataLength + TimeSeriesStoreIndex.SEGMENT_SIZE - 1) / TimeSeriesStoreIndex.SEGMENT_SIZE);
+    MappedByteBuffer[] segments = new MappedByteBuffer[nbSegments];
+    if (nbSegments > 0) {
+      try (FileChannel channel = FileChannel.open(directory.resolve(index.dataFile()),
+          StandardOpenOption.READ)) {
+        for (int loopseg = 0; loopseg < nbSegments; loopseg++) {
+          long start = loopseg * TimeSeriesStoreIndex.SEGMENT_SIZE;
+          long size = Math.min(TimeSeriesStoreIndex.SEGMENT_SIZE, dataLength - start);
+          segments[loopseg] = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        }
+      }
+    }
+    return new MappedTimeSeriesStore(index.entries, segments);
+  }
+
+  // private constructor
+  private MappedTimeSeriesStore(Map<String, TimeSeriesStoreIndex.Entry> entries, MappedByteBuffer[] segments) {
+    this.entries = entries;
+    this.segments = segments;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the identifiers of the series in the store.
+   *
+   * @return the identifiers
+   */
+  public ImmutableSet<String> getIds() {
+    return ImmutableSet.copyOf(entries.keySet());
+  }
+
+  /**
+   * Checks if the store contains a series.
+   *
+   * @param id  the identifier of the series
+   * @return true if the series is in the store
+   */
+  public boolean contains(String id) {
+    return entries.containsKey(id);
+  }
+
+  /**
+   * Returns the number of points of a series.
+   *
+   * @param id  the identifier of the series
+   * @return the number of points
+   */
+  public int size(String id) {
+    return entry(id).count;
+  }
+
+  /**
+   * Returns the last date of a series.
+   *
+   * @param id  the identifier of the series
+   * @return the last date
+   */
+  public LocalDate getLatestDate(String id) {
+    return LocalDate.ofEpochDay(entry(id).lastDay);
+  }
+
+  /**
+   * Returns a series as a time series.
+   *
+   * @param id  the identifier of the series
+   * @return the time series
+   */
+  public LocalDateDoubleTimeSeries get(String id) {
+    TimeSeriesStoreIndex.Entry entry = entry(id);
+    int[] epochDays = new int[entry.count];
+    double[] values = new double[entry.count];
+    read(entry, epochDays, values);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int looppt = 0; looppt < epochDays.length; looppt++) {
+      builder.put(LocalDate.ofEpochDay(epochDays[looppt]), values[looppt]);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns a series in primitive arrays, as the unique series of an {@link AlignedTimeSeries}.
+   * <p>
+   * The result can be used directly with the statistics of
+   * {@link marc.henrard.murisq.basics.data.timeseries.LocalDateDoubleTimeSeriesUtils}.
+   *
+   * @param id  the identifier of the series
+   * @return the series
+   */
+  public AlignedTimeSeries getAligned(String id) {
+    TimeSeriesStoreIndex.Entry entry = entry(id);
+    int[] epochDays = new int[entry.count];
+    double[] values = new double[entry.count];
+    read(entry, epochDays, values);
+    return AlignedTimeSeries.ofUnsafe(epochDays, new double[][] {values});
+  }
+
+  // reads all the chunks of a series
+  private void read(TimeSeriesStoreIndex.Entry entry, int[] epochDays, double[] values) {
+    int position = 0;
+    for (int loopchunk = 0; loopchunk < entry.nbChunks; loopchunk++) {
+      long offset = entry.chunkOffsets[loopchunk];
+      ByteBuffer segment = segments[(int) (offset / TimeSeriesStoreIndex.SEGMENT_SIZE)].duplicate()
+          .order(ByteOrder.LITTLE_ENDIAN);
+      int start = (int) (offset % TimeSeriesStoreIndex.SEGMENT_SIZE);
+      int ordinal = segment.getInt(start);
+      ArgChecker.isTrue(ordinal == entry.ordinal, "corrupted store: chunk at {} does not match index", offset);
+      int count = segment.getInt(start + 4);
+      int datesStart = start + TimeSeriesStoreIndex.CHUNK_HEADER;
+      // the Buffer casts keep the Java 8 signatures when compiled with a later JDK
+      ((Buffer) segment).position(datesStart);
+      segment.asIntBuffer().get(epochDays, position, count);
+      ((Buffer) segment).position(datesStart + (int) TimeSeriesStoreIndex.datesSize(count));
+      segment.asDoubleBuffer().get(values, position, count);
+      position += count;
+    }
+  }
+
+  // the entry of an identifier
+  private TimeSeriesStoreIndex.Entry entry(String id) {
+    TimeSeriesStoreIndex.Entry entry = entries.get(id);
+    ArgChecker.isTrue(entry != null, "series {} not found in store", id);
+    return entry;
+  }
+
+}
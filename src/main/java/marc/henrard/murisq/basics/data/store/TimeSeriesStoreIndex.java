@@ -0,0 +1,254 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.store;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * The index and the format constants of a time series store.
+ * <p>
+ * A store is a directory with an index file and a data file, all numbers being little-endian.
+ * The index names the data file by its generation; a compaction writes a data file of the next generation
+ * and then replaces the index, so that the switch from one generation to the next is atomic.
+ * <p>
+ * The data file contains chunks, each one with the points appended at once for one series:
+ * <ul>
+ * <li>int: the ordinal of the series in the index
+ * <li>int: the number of points n
+ * <li>n int: the dates as epoch days, padded with zeros to a multiple of 8 bytes
+ * <li>n double: the values
+ * </ul>
+ * The chunks start at multiples of 8 bytes and do not cross a multiple of the segment size
+ * (the file is padded with zeros before a chunk if required), so that each chunk can be read from
+ * one mapped segment.
+ * <p>
+ * The index file is rewritten at each commit and contains:
+ * <ul>
+ * <li>int: magic number; int: format version
+ * <li>int: the generation of the data file (not present in version 1, where the generation is 0)
+ * <li>long: the committed length of the data file
+ * <li>int: the number of series
+ * <li>for each series, in ordinal order: short length and UTF-8 bytes of the identifier,
+ * int: number of points, int: last date as epoch day, int: number of chunks, long[]: the chunk offsets
+ * </ul>
+ *
+ * @author Marc Henrard
+ */
+final class TimeSeriesStoreIndex {
+
+  /** The name of the data file of generation 0. */
+  static final String DATA_FILE = "timeseries.data";
+  /** The prefix of the name of the data files of the next generations. */
+  static final String DATA_FILE_PREFIX = "timeseries-";
+  /** The suffix of the name of the data files of the next generations. */
+  static final String DATA_FILE_SUFFIX = ".data";
+  /** The name of the index file. */
+  static final String INDEX_FILE = "timeseries.index";
+  /** The magic number at the start of the index. */
+  static final int MAGIC = 0x4D545353;
+  /** The format version. */
+  static final int VERSION = 2;
+  /** The first format version, without generation. */
+  static final int VERSION_1 = 1;
+  /** The size of the segments of the data file which are mapped. */
+  static final long SEGMENT_SIZE = 1L << 30;
+  /** The size of a chunk header. */
+  static final int CHUNK_HEADER = 8;
+
+  /** The entries, by identifier, in ordinal order. */
+  final Map<String, Entry> entries;
+  /** The generation of the data file. */
+  final int generation;
+  /** The committed length of the data file. */
+  long dataLength;
+
+  // private constructor
+  private TimeSeriesStoreIndex(Map<String, Entry> entries, int generation, long dataLength) {
+    this.entries = entries;
+    this.generation = generation;
+    this.dataLength = dataLength;
+  }
+
+  /**
+   * Creates an empty index for a data file generation.
+   *
+   * @param generation  the generation
+   * @return the index
+   */
+  static TimeSeriesStoreIndex empty(int generation) {
+    return new TimeSeriesStoreIndex(new LinkedHashMap<>(), generation, 0);
+  }
+
+  /**
+   * Returns the name of the data file of a generation.
+   *
+   * @param generation  the generation
+   * @return the name
+   */
+  static String dataFile(int generation) {
+    return (generation == 0) ? DATA_FILE : DATA_FILE_PREFIX + generation + DATA_FILE_SUFFIX;
+  }
+
+  /**
+   * Returns the name of the data file of the index.
+   *
+   * @return the name
+   */
+  String dataFile() {
+    return dataFile(generation);
+  }
+
+  /**
+   * Reads the index of a store. If the store does not exist, the index is empty.
+   *
+   * @param directory  the directory of the store
+   * @return the index
+   * @throws IOException
+   */
+  static TimeSeriesStoreIndex read(Path directory) throws IOException {
+    Path indexFile = directory.resolve(INDEX_FILE);
+    Map<String, Entry> entries = new LinkedHashMap<>();
+    if (!Files.exists(indexFile)) {
+      return new TimeSeriesStoreIndex(entries, 0, 0);
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexFile)).order(ByteOrder.LITTLE_ENDIAN);
+    ArgChecker.isTrue(buffer.getInt() == MAGIC, "file {} is not a time series store index", indexFile);
+    int version = buffer.getInt();
+    ArgChecker.isTrue(version == VERSION || version == VERSION_1,
+        "time series store version {} not supported", version);
+    int generation = (version == VERSION_1) ? 0 : buffer.getInt();
+    long dataLength = buffer.getLong();
+    int nbSeries = buffer.getInt();
+    for (int loopts = 0; loopts < nbSeries; loopts++) {
+      byte[] idBytes = new byte[buffer.getShort() & 0xFFFF];
+      buffer.get(idBytes);
+      String id = new String(idBytes, StandardCharsets.UTF_8);
+      Entry entry = new Entry(loopts, buffer.getInt(), buffer.getInt(), buffer.getInt());
+      for (int loopchunk = 0; loopchunk < entry.nbChunks; loopchunk++) {
+        entry.chunkOffsets[loopchunk] = buffer.getLong();
+      }
+      entries.put(id, entry);
+    }
+    return new TimeSeriesStoreIndex(entries, generation, dataLength);
+  }
+
+  /**
+   * Writes the index of a store.
+   * <p>
+   * The index is written in a temporary file which then replaces the existing index, so that a
+   * reader never sees a partially written index.
+   *
+   * @param directory  the directory of the store
+   * @throws IOException
+   */
+  void write(Path directory) throws IOException {
+    int size = 4 + 4 + 4 + 8 + 4;
+    for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+      size += 2 + idBytes(entry.getKey()).length + 4 + 4 + 4 + 8 * entry.getValue().nbChunks;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(MAGIC).putInt(VERSION).putInt(generation).putLong(dataLength).putInt(entries.size());
+    for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+      byte[] idBytes = idBytes(entry.getKey());
+      buffer.putShort((short) idBytes.length).put(idBytes);
+      Entry value = entry.getValue();
+      buffer.putInt(value.count).putInt(value.lastDay).putInt(value.nbChunks);
+      for (int loopchunk = 0; loopchunk < value.nbChunks; loopchunk++) {
+        buffer.putLong(value.chunkOffsets[loopchunk]);
+      }
+    }
+    ((Buffer) buffer).flip(); // the Buffer cast keeps the Java 8 signature when compiled with a later JDK
+    Path temporary = directory.resolve(INDEX_FILE + ".tmp");
+    try (FileChannel channel = FileChannel.open(temporary,
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    }
+    Files.move(temporary, directory.resolve(INDEX_FILE),
+        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Returns the UTF-8 bytes of an identifier, checking that their length can be stored in the index.
+   *
+   * @param id  the identifier
+   * @return the bytes
+   */
+  static byte[] idBytes(String id) {
+    byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+    ArgChecker.isTrue(idBytes.length <= 0xFFFF, "identifier too long: {} bytes in UTF-8", idBytes.length);
+    return idBytes;
+  }
+
+  /**
+   * Returns the size in bytes of a chunk.
+   *
+   * @param count  the number of points
+   * @return the size
+   */
+  static long chunkSize(int count) {
+    return CHUNK_HEADER + datesSize(count) + 8L * count;
+  }
+
+  /**
+   * Returns the size in bytes of the dates of a chunk, including padding.
+   *
+   * @param count  the number of points
+   * @return the size
+   */
+  static long datesSize(int count) {
+    return (4L * count + 7) & ~7L;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The index entry of one series.
+   */
+  static final class Entry {
+    /** The ordinal of the series. */
+    final int ordinal;
+    /** The number of points. */
+    int count;
+    /** The last date, as epoch day. */
+    int lastDay;
+    /** The number of chunks. */
+    int nbChunks;
+    /** The offsets of the chunks in the data file; the array can be longer than the number of chunks. */
+    long[] chunkOffsets;
+
+    Entry(int ordinal, int count, int lastDay, int nbChunks) {
+      this.ordinal = ordinal;
+      this.count = count;
+      this.lastDay = lastDay;
+      this.nbChunks = nbChunks;
+      this.chunkOffsets = new long[Math.max(nbChunks, 1)];
+    }
+
+    void addChunk(long offset, int chunkCount, int chunkLastDay) {
+      if (nbChunks == chunkOffsets.length) {
+        chunkOffsets = Arrays.copyOf(chunkOffsets, 2 * nbChunks);
+      }
+      chunkOffsets[nbChunks++] = offset;
+      count += chunkCount;
+      lastDay = chunkLastDay;
+    }
+  }
+
+}
@@ -0,0 +1,312 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+/**
+ * Writer of a time series store, read by {@link MappedTimeSeriesStore}.
+ * <p>
+ * The points are appended at the end of the data file; the existing data is never modified.
+ * The points appended to a series must be after the last point of that series already in the store.
+ * The appended points are visible to the readers opened after a {@link #commit()}. The points appended one at a
+ * time are kept in memory and written at the commit, as one chunk by series.
+ * The points appended and not committed when the writer is opened again are discarded.
+ * <p>
+ * The format is described in {@link TimeSeriesStoreIndex}. A store should have at most one writer at a time.
+ *
+ * @author Marc Henrard
+ */
+public final class TimeSeriesStoreWriter implements Closeable {
+
+  /** The directory of the store. */
+  private final Path directory;
+  /** The index, updated with the appended chunks. */
+  private final TimeSeriesStoreIndex index;
+  /** The channel to the data file. */
+  private final FileChannel channel;
+  /** The position at which the next chunk is written. */
+  private long position;
+  /** The buffer used to write the chunks. */
+  private ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+  /** The points appended one at a time and not yet written, by identifier. */
+  private final Map<String, PendingPoints> pending = new LinkedHashMap<>();
+
+  /**
+   * Opens a writer on a store. The store is created if it does not exist.
+   *
+   * @param directory  the directory of the store
+   * @return the writer
+   * @throws IOException
+   */
+  public static TimeSeriesStoreWriter open(Path directory) throws IOException {
+    Files.createDirectories(directory);
+    TimeSeriesStoreIndex index = TimeSeriesStoreIndex.read(directory);
+    FileChannel channel = FileChannel.open(directory.resolve(index.dataFile()),
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    if (channel.size() > index.dataLength) {
+      channel.truncate(index.dataLength);
+    }
+    return new TimeSeriesStoreWriter(directory, index, channel);
+  }
+
+  // private constructor
+  private TimeSeriesStoreWriter(Path directory, TimeSeriesStoreIndex index, FileChannel channel) {
+    this.directory = directory;
+    this.index = index;
+    this.channel = channel;
+    this.position = index.dataLength;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Appends the points of a time series to a series of the store.
+   * <p>
+   * The series is created if it does not exist.
+   *
+   * @param id  the identifier of the series
+   * @param timeSeries  the points to append, after the last point of the series in the store
+   * @throws IOException
+   */
+  public void append(String id, LocalDateDoubleTimeSeries timeSeries) throws IOException {
+    int count = timeSeries.size();
+    if (count == 0) {
+      return;
+    }
+    checkId(id);
+    checkAfter(id, timeSeries.getEarliestDate());
+    long chunkSize = TimeSeriesStoreIndex.chunkSize(count);
+    ArgChecker.isTrue(chunkSize <= TimeSeriesStoreIndex.SEGMENT_SIZE, "too many points in one append: {}", count);
+    flush(id);
+    write(entry(id), timeSeries, chunkSize);
+  }
+
+  /**
+   * Appends one point to a series of the store.
+   * <p>
+   * The point is kept in memory; the points appended to a series since the last commit are written at the next
+   * {@link #commit()} as one chunk. The series is created if it does not exist.
+   *
+   * @param id  the identifier of the series
+   * @param date  the date, after the last point of the series in the store
+   * @param value  the value
+   * @throws IOException
+   */
+  public void append(String id, LocalDate date, double value) throws IOException {
+    checkId(id);
+    checkAfter(id, date);
+    PendingPoints points = pending.get(id);
+    if (points != null && TimeSeriesStoreIndex.chunkSize(points.count + 1) > TimeSeriesStoreIndex.SEGMENT_SIZE) {
+      flush(id);
+      points = null;
+    }
+    if (points == null) {
+      points = new PendingPoints();
+      pending.put(id, points);
+    }
+    points.add(date, value);
+  }
+
+  /**
+   * Commits the points appended. The data is forced to the storage device before the index is written.
+   *
+   * @throws IOException
+   */
+  public void commit() throws IOException {
+    for (String id : new ArrayList<>(pending.keySet())) {
+      flush(id);
+    }
+    channel.force(false);
+    index.dataLength = position;
+    index.write(directory);
+  }
+
+  /**
+   * Commits the points appended and closes the writer.
+   *
+   * @throws IOException
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      commit();
+    } finally {
+      channel.close();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // writes a chunk at the end of the data file and adds it to the entry
+  private void write(TimeSeriesStoreIndex.Entry entry, LocalDateDoubleTimeSeries timeSeries, long chunkSize)
+      throws IOException {
+
+    int count = timeSeries.size();
+    long segmentEnd = (position / TimeSeriesStoreIndex.SEGMENT_SIZE + 1) * TimeSeriesStoreIndex.SEGMENT_SIZE;
+    if (position + chunkSize > segmentEnd) {
+      position = segmentEnd; // the gap is filled with zeros
+    }
+    long offset = position;
+    if (buffer.capacity() < chunkSize) {
+      buffer = ByteBuffer.allocateDirect((int) chunkSize).order(ByteOrder.LITTLE_ENDIAN);
+    }
+    ((Buffer) buffer).clear(); // the Buffer casts keep the Java 8 signatures when compiled with a later JDK
+    buffer.putInt(entry.ordinal).putInt(count);
+    timeSeries.dates().forEach(date -> buffer.putInt((int) date.toEpochDay()));
+    while (buffer.position() < TimeSeriesStoreIndex.CHUNK_HEADER + TimeSeriesStoreIndex.datesSize(count)) {
+      buffer.putInt(0);
+    }
+    timeSeries.values().forEach(value -> buffer.putDouble(value));
+    ((Buffer) buffer).flip();
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+    entry.addChunk(offset, count, (int) timeSeries.getLatestDate().toEpochDay());
+  }
+
+  // writes the pending points of a series
+  private void flush(String id) throws IOException {
+    PendingPoints points = pending.remove(id);
+    if (points != null) {
+      LocalDateDoubleTimeSeries timeSeries = points.builder.build();
+      write(entry(id), timeSeries, TimeSeriesStoreIndex.chunkSize(timeSeries.size()));
+    }
+  }
+
+  // checks that an identifier can be stored, without creating its entry
+  private static void checkId(String id) {
+    ArgChecker.notEmpty(id, "id");
+    TimeSeriesStoreIndex.idBytes(id);
+  }
+
+  // checks that a date is after the last point of a series, written or pending
+  private void checkAfter(String id, LocalDate date) {
+    PendingPoints points = pending.get(id);
+    TimeSeriesStoreIndex.Entry entry = index.entries.get(id);
+    if (points != null) {
+      ArgChecker.isTrue(date.toEpochDay() > points.lastDay,
+          "points appended to {} must be after {}", id, LocalDate.ofEpochDay(points.lastDay));
+    } else if (entry != null && entry.count > 0) {
+      ArgChecker.isTrue(date.toEpochDay() > entry.lastDay,
+          "points appended to {} must be after {}", id, LocalDate.ofEpochDay(entry.lastDay));
+    }
+  }
+
+  // the entry of an identifier, created if required
+  private TimeSeriesStoreIndex.Entry entry(String id) {
+    return index.entries.computeIfAbsent(id, i -> new TimeSeriesStoreIndex.Entry(index.entries.size(), 0, 0, 0));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Compacts a store, with one chunk by series.
+   * <p>
+   * The series are read from the current data file and written in a data file of the next generation.
+   * The new index, which names the new data file, then atomically replaces the current index: a reader
+   * opened at any time sees either the previous or the compacted store, also if the compaction is
+   * interrupted. The data file of the previous generation is then deleted; if it cannot be deleted,
+   * for example because it is still mapped by a reader on some platforms, it is deleted by the next
+   * compaction.
+   * <p>
+   * No writer should be opened on the store during the compaction.
+   *
+   * @param directory  the directory of the store
+   * @throws IOException
+   */
+  public static void compact(Path directory) throws IOException {
+    ArgChecker.isTrue(Files.isDirectory(directory), "store {} not found", directory);
+    TimeSeriesStoreIndex current = TimeSeriesStoreIndex.read(directory);
+    TimeSeriesStoreIndex compacted = TimeSeriesStoreIndex.empty(current.generation + 1);
+    Path dataFile = directory.resolve(compacted.dataFile());
+    try (FileChannel source = FileChannel.open(directory.resolve(current.dataFile()), StandardOpenOption.READ);
+        TimeSeriesStoreWriter writer = new TimeSeriesStoreWriter(directory, compacted, FileChannel.open(dataFile,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))) {
+      for (Map.Entry<String, TimeSeriesStoreIndex.Entry> entry : current.entries.entrySet()) {
+        writer.append(entry.getKey(), read(source, entry.getValue()));
+      }
+    }
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+        TimeSeriesStoreIndex.DATA_FILE_PREFIX + "*" + TimeSeriesStoreIndex.DATA_FILE_SUFFIX)) {
+      for (Path file : files) {
+        deletePrevious(file, dataFile);
+      }
+    }
+    deletePrevious(directory.resolve(TimeSeriesStoreIndex.DATA_FILE), dataFile);
+  }
+
+  // reads the points of a series from the data file, without mapping it
+  private static LocalDateDoubleTimeSeries read(FileChannel source, TimeSeriesStoreIndex.Entry entry)
+      throws IOException {
+
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int loopchunk = 0; loopchunk < entry.nbChunks; loopchunk++) {
+      long offset = entry.chunkOffsets[loopchunk];
+      ByteBuffer header = readFully(source, offset, TimeSeriesStoreIndex.CHUNK_HEADER);
+      ArgChecker.isTrue(header.getInt() == entry.ordinal, "corrupted store: chunk at {} does not match index", offset);
+      int count = header.getInt();
+      long datesSize = TimeSeriesStoreIndex.datesSize(count);
+      ByteBuffer chunk = readFully(source, offset + TimeSeriesStoreIndex.CHUNK_HEADER, (int) (datesSize + 8L * count));
+      for (int looppt = 0; looppt < count; looppt++) {
+        builder.put(LocalDate.ofEpochDay(chunk.getInt(4 * looppt)), chunk.getDouble((int) datesSize + 8 * looppt));
+      }
+    }
+    return builder.build();
+  }
+
+  private static ByteBuffer readFully(FileChannel source, long position, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+    while (buffer.hasRemaining()) {
+      ArgChecker.isTrue(source.read(buffer, position + buffer.position()) >= 0,
+          "corrupted store: data file shorter than index");
+    }
+    ((Buffer) buffer).flip();
+    return buffer;
+  }
+
+  //-------------------------------------------------------------------------
+  // the points appended one at a time to a series
+  private static final class PendingPoints {
+    /** The points. */
+    private final LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    /** The number of points. */
+    private int count;
+    /** The last date, as epoch day. */
+    private long lastDay;
+
+    private void add(LocalDate date, double value) {
+      builder.put(date, value);
+      count++;
+      lastDay = date.toEpochDay();
+    }
+  }
+
+  // deletes a data file of a previous generation, if it is not the current one
+  private static void deletePrevious(Path file, Path current) {
+    if (file.equals(current)) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      // still in use, deleted by the next compaction
+    }
+  }
+
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import java.time.LocalDate;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+/**
+ * Several time series aligned on common dates.
+ * <p>
+ * The dates are stored as epoch days in one primitive array and the values of each series in one
+ * primitive array with the same length. A missing value is represented by NaN.
+ * <p>
+ * Instances are created by {@link TimeSeriesAlignment}. The arrays are not copied and should not
+ * be modified.
+ *
+ * @author Marc Henrard
+ */
+public final class AlignedTimeSeries {
+
+  /** The dates, as epoch days, in increasing order. */
+  private final int[] epochDays;
+  /** The values, one array by series, each with the same length as the dates. */
+  private final double[][] values;
+
+  /**
+   * Obtains an instance from the dates and values.
+   * <p>
+   * The arrays are not copied.
+   *
+   * @param epochDays  the dates as epoch days, in strictly increasing order
+   * @param values  the values of each series
+   * @return the instance
+   */
+  public static AlignedTimeSeries ofUnsafe(int[] epochDays, double[][] values) {
+    for (double[] series : values) {
+      ArgChecker.isTrue(series.length == epochDays.length, "values and dates should have the same length");
+    }
+    for (int loopdate = 1; loopdate < epochDays.length; loopdate++) {
+      ArgChecker.isTrue(epochDays[loopdate - 1] < epochDays[loopdate], "dates should be strictly increasing");
+    }
+    return new AlignedTimeSeries(epochDays, values);
+  }
+
+  // private constructor
+  private AlignedTimeSeries(int[] epochDays, double[][] values) {
+    this.epochDays = epochDays;
+    this.values = values;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the number of dates.
+   *
+   * @return the number of dates
+   */
+  public int size() {
+    return epochDays.length;
+  }
+
+  /**
+   * Returns the number of series.
+   *
+   * @return the number of series
+   */
+  public int getSeriesCount() {
+    return values.length;
+  }
+
+  /**
+   * Returns a date as epoch day.
+   *
+   * @param index  the index of the date
+   * @return the epoch day
+   */
+  public int getEpochDay(int index) {
+    return epochDays[index];
+  }
+
+  /**
+   * Returns a date.
+   *
+   * @param index  the index of the date
+   * @return the date
+   */
+  public LocalDate getDate(int index) {
+    return LocalDate.ofEpochDay(epochDays[index]);
+  }
+
+  /**
+   * Returns a value.
+   *
+   * @param series  the index of the series
+   * @param index  the index of the date
+   * @return the value, NaN if missing
+   */
+  public double getValue(int series, int index) {
+    return values[series][index];
+  }
+
+  /**
+   * Returns the values of one series.
+   *
+   * @param series  the index of the series
+   * @return the values, NaN if missing
+   */
+  public DoubleArray getValues(int series) {
+    return DoubleArray.ofUnsafe(values[series]);
+  }
+
+  /**
+   * Returns the values of one series, without copy. The array should not be modified.
+   *
+   * @param series  the index of the series
+   * @return the values, NaN if missing
+   */
+  double[] valuesUnsafe(int series) {
+    return values[series];
+  }
+
+  /**
+   * Returns the dates as epoch days, without copy. The array should not be modified.
+   *
+   * @return the dates
+   */
+  int[] epochDaysUnsafe() {
+    return epochDays;
+  }
+
+  /**
+   * Returns one series as a time series. The missing values are not included.
+   *
+   * @param series  the index of the series
+   * @return the time series
+   */
+  public LocalDateDoubleTimeSeries toTimeSeries(int series) {
+    double[] seriesValues = values[series];
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int loopdate = 0; loopdate < epochDays.length; loopdate++) {
+      if (!Double.isNaN(seriesValues[loopdate])) {
+        builder.put(LocalDate.ofEpochDay(epochDays[loopdate]), seriesValues[loopdate]);
+      }
+    }
+    return builder.build();
+  }
+
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import java.util.Arrays;
+
+/**
+ * Stream of bits stored in an array of longs, most significant bit first.
+ * <p>
+ * Used to write the bits of {@link CompressedTimeSeries}; the bits are read with {@link #readBits(long[], long, int)}.
+ *
+ * @author Marc Henrard
+ */
+final class BitStream {
+
+  /** The words. */
+  private long[] words;
+  /** The number of bits written. */
+  private long nbBits;
+
+  /**
+   * Creates an empty stream.
+   *
+   * @param capacity  the initial capacity in number of words
+   */
+  BitStream(int capacity) {
+    this.words = new long[Math.max(capacity, 1)];
+  }
+
+  /**
+   * Writes the lower bits of a value.
+   *
+   * @param value  the value
+   * @param length  the number of bits, between 0 and 64
+   */
+  void writeBits(long value, int length) {
+    if (length == 0) {
+      return;
+    }
+    int wordIndex = (int) (nbBits >>> 6);
+    int used = (int) (nbBits & 63);
+    if (wordIndex + 1 >= words.length) {
+      words = Arrays.copyOf(words, 2 * words.length + 2);
+    }
+    long bits = (length == 64) ? value : value & ((1L << length) - 1);
+    int free = 64 - used;
+    if (length <= free) {
+      words[wordIndex] |= bits << (free - length);
+    } else {
+      words[wordIndex] |= bits >>> (length - free);
+      words[wordIndex + 1] |= bits << (64 - (length - free));
+    }
+    nbBits += length;
+  }
+
+  /**
+   * Writes one bit.
+   *
+   * @param bit  the bit
+   */
+  void writeBit(boolean bit) {
+    writeBits(bit ? 1L : 0L, 1);
+  }
+
+  /**
+   * Returns the number of bits written.
+   *
+   * @return the number of bits
+   */
+  long size() {
+    return nbBits;
+  }
+
+  /**
+   * Returns the words, trimmed to the bits written.
+   *
+   * @return the words
+   */
+  long[] toWords() {
+    return Arrays.copyOf(words, (int) ((nbBits + 63) >>> 6));
+  }
+
+  /**
+   * Reads bits from words.
+   *
+   * @param words  the words
+   * @param position  the position of the first bit
+   * @param length  the number of bits, between 1 and 64
+   * @return the bits, in the lower bits of the result
+   */
+  static long readBits(long[] words, long position, int length) {
+    int wordIndex = (int) (position >>> 6);
+    int used = (int) (position & 63);
+    int available = 64 - used;
+    long result;
+    if (length <= available) {
+      result = words[wordIndex] >>> (available - length);
+    } else {
+      result = (words[wordIndex] << (length - available)) | (words[wordIndex + 1] >>> (64 - (length - available)));
+    }
+    return (length == 64) ? result : result & ((1L << length) - 1);
+  }
+
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Grid of the business days of a holiday calendar between two dates.
+ * <p>
+ * The calendar is queried once for each date when the grid is created; the business days are stored
+ * as epoch days in a primitive array. The grid is immutable and can be shared by the resampling of
+ * many series, see {@link TimeSeriesResampling}.
+ *
+ * @author Marc Henrard
+ */
+public final class BusinessDayGrid {
+
+  /** The business days, as epoch days, in increasing order. */
+  private final int[] epochDays;
+
+  /**
+   * Creates the grid of the business days between two dates, both inclusive.
+   *
+   * @param calendar  the holiday calendar
+   * @param startInclusive  the start date, inclusive
+   * @param endInclusive  the end date, inclusive
+   * @return the grid
+   */
+  public static BusinessDayGrid of(HolidayCalendar calendar, LocalDate startInclusive, LocalDate endInclusive) {
+    ArgChecker.notNull(calendar, "calendar");
+    ArgChecker.inOrderOrEqual(startInclusive, endInclusive, "startInclusive", "endInclusive");
+    int start = (int) startInclusive.toEpochDay();
+    int end = (int) endInclusive.toEpochDay();
+    int[] epochDays = new int[end - start + 1];
+    int nbDays = 0;
+    LocalDate date = startInclusive;
+    for (int loopday = start; loopday <= end; loopday++) {
+      if (calendar.isBusinessDay(date)) {
+        epochDays[nbDays++] = loopday;
+      }
+      date = date.plusDays(1);
+    }
+    return new BusinessDayGrid(Arrays.copyOf(epochDays, nbDays));
+  }
+
+  // private constructor
+  private BusinessDayGrid(int[] epochDays) {
+    this.epochDays = epochDays;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the number of business days.
+   *
+   * @return the number of days
+   */
+  public int size() {
+    return epochDays.length;
+  }
+
+  /**
+   * Returns a business day as epoch day.
+   *
+   * @param index  the index of the day
+   * @return the epoch day
+   */
+  public int getEpochDay(int index) {
+    return epochDays[index];
+  }
+
+  /**
+   * Returns a business day.
+   *
+   * @param index  the index of the day
+   * @return the date
+   */
+  public LocalDate getDate(int index) {
+    return LocalDate.ofEpochDay(epochDays[index]);
+  }
+
+  /**
+   * Returns the epoch days. The array is not copied and should not be modified.
+   *
+   * @return the epoch days
+   */
+  int[] epochDaysUnsafe() {
+    return epochDays;
+  }
+
+  @Override
+  public String toString() {
+    return "BusinessDayGrid{size=" + epochDays.length +
+        (epochDays.length == 0 ? "" : ", from=" + getDate(0) + ", to=" + getDate(epochDays.length - 1)) + "}";
+  }
+
+}
@@ -0,0 +1,293 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+/**
+ * Streaming statistics on the changes of one or two time series.
+ * <p>
+ * The statistics are accumulated one change (or one pair of changes) at a time and only the
+ * sufficient statistics are stored: the number of changes, the sums of their squares and the sum of their
+ * cross-products, used for the volatilities and correlations without mean, and the means and the sums of
+ * the squared deviations and of the cross-deviations from the means, used for the variances and covariance.
+ * The deviations are updated with Welford's algorithm and combined with Chan's formula, so that the
+ * variances do not suffer from cancellation when the mean is large with respect to the standard deviation.
+ * The statistics of two sets of changes can be combined and changes can be removed.
+ * <p>
+ * The object is mutable and not thread-safe.
+ *
+ * @author Marc Henrard
+ */
+public final class ChangeStatistics {
+
+  /** The number of changes. */
+  private long count;
+  /** The mean of the changes of the first series. */
+  private double mean1;
+  /** The mean of the changes of the second series. */
+  private double mean2;
+  /** The sum of the squares of the changes of the first series. */
+  private double sumSquares1;
+  /** The sum of the squares of the changes of the second series. */
+  private double sumSquares2;
+  /** The sum of the products of the changes of the two series. */
+  private double sumCrossProducts;
+  /** The sum of the squared deviations from the mean of the changes of the first series. */
+  private double sumDeviations1;
+  /** The sum of the squared deviations from the mean of the changes of the second series. */
+  private double sumDeviations2;
+  /** The sum of the products of the deviations from the means of the changes of the two series. */
+  private double sumCrossDeviations;
+
+  /**
+   * Creates empty statistics.
+   *
+   * @return the statistics
+   */
+  public static ChangeStatistics create() {
+    return new ChangeStatistics();
+  }
+
+  // private constructor
+  private ChangeStatistics() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a change of the first series. Used for the statistics of one series.
+   *
+   * @param change  the change
+   */
+  public void accept(double change) {
+    count++;
+    double delta = change - mean1;
+    mean1 += delta / count;
+    sumDeviations1 += delta * (change - mean1);
+    sumSquares1 += change * change;
+  }
+
+  /**
+   * Adds a pair of changes, one for each series.
+   *
+   * @param change1  the change of the first series
+   * @param change2  the change of the second series
+   */
+  public void accept(double change1, double change2) {
+    count++;
+    double delta1 = change1 - mean1;
+    double delta2 = change2 - mean2;
+    mean1 += delta1 / count;
+    mean2 += delta2 / count;
+    sumDeviations1 += delta1 * (change1 - mean1);
+    sumDeviations2 += delta2 * (change2 - mean2);
+    sumCrossDeviations += delta1 * (change2 - mean2);
+    sumSquares1 += change1 * change1;
+    sumSquares2 += change2 * change2;
+    sumCrossProducts += change1 * change2;
+  }
+
+  /**
+   * Removes a change of the first series previously added. Used for rolling windows.
+   *
+   * @param change  the change
+   */
+  public void remove(double change) {
+    count--;
+    sumSquares1 -= change * change;
+    if (count == 0) {
+      mean1 = 0.0d;
+      sumDeviations1 = 0.0d;
+      return;
+    }
+    double meanPrevious = mean1 - (change - mean1) / count;
+    sumDeviations1 = Math.max(0.0d, sumDeviations1 - (change - meanPrevious) * (change - mean1));
+    mean1 = meanPrevious;
+  }
+
+  /**
+   * Removes a pair of changes previously added. Used for rolling windows.
+   *
+   * @param change1  the change of the first series
+   * @param change2  the change of the second series
+   */
+  public void remove(double change1, double change2) {
+    count--;
+    sumSquares1 -= change1 * change1;
+    sumSquares2 -= change2 * change2;
+    sumCrossProducts -= change1 * change2;
+    if (count == 0) {
+      mean1 = 0.0d;
+      mean2 = 0.0d;
+      sumDeviations1 = 0.0d;
+      sumDeviations2 = 0.0d;
+      sumCrossDeviations = 0.0d;
+      return;
+    }
+    double mean1Previous = mean1 - (change1 - mean1) / count;
+    double mean2Previous = mean2 - (change2 - mean2) / count;
+    sumDeviations1 = Math.max(0.0d, sumDeviations1 - (change1 - mean1Previous) * (change1 - mean1));
+    sumDeviations2 = Math.max(0.0d, sumDeviations2 - (change2 - mean2Previous) * (change2 - mean2));
+    sumCrossDeviations -= (change1 - mean1Previous) * (change2 - mean2);
+    mean1 = mean1Previous;
+    mean2 = mean2Previous;
+  }
+
+  /**
+   * Adds the statistics of another set of changes to this one.
+   *
+   * @param other  the other statistics
+   * @return this statistics
+   */
+  public ChangeStatistics combine(ChangeStatistics other) {
+    if (other.count == 0) {
+      return this;
+    }
+    long total = count + other.count;
+    double delta1 = other.mean1 - mean1;
+    double delta2 = other.mean2 - mean2;
+    double weight = (double) count * other.count / total;
+    sumDeviations1 += other.sumDeviations1 + delta1 * delta1 * weight;
+    sumDeviations2 += other.sumDeviations2 + delta2 * delta2 * weight;
+    sumCrossDeviations += other.sumCrossDeviations + delta1 * delta2 * weight;
+    mean1 += delta1 * other.count / total;
+    mean2 += delta2 * other.count / total;
+    count = total;
+    sumSquares1 += other.sumSquares1;
+    sumSquares2 += other.sumSquares2;
+    sumCrossProducts += other.sumCrossProducts;
+    return this;
+  }
+
+  /**
+   * Resets the statistics to empty.
+   */
+  public void clear() {
+    count = 0;
+    mean1 = 0.0d;
+    mean2 = 0.0d;
+    sumSquares1 = 0.0d;
+    sumSquares2 = 0.0d;
+    sumCrossProducts = 0.0d;
+    sumDeviations1 = 0.0d;
+    sumDeviations2 = 0.0d;
+    sumCrossDeviations = 0.0d;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the number of changes.
+   *
+   * @return the number of changes
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the sum of the squares of the changes of the first series.
+   *
+   * @return the sum of squares
+   */
+  public double getSumSquares1() {
+    return sumSquares1;
+  }
+
+  /**
+   * Returns the sum of the squares of the changes of the second series.
+   *
+   * @return the sum of squares
+   */
+  public double getSumSquares2() {
+    return sumSquares2;
+  }
+
+  /**
+   * Returns the sum of the products of the changes of the two series.
+   *
+   * @return the sum of cross-products
+   */
+  public double getSumCrossProducts() {
+    return sumCrossProducts;
+  }
+
+  /**
+   * Returns the mean of the changes of the first series.
+   *
+   * @return the mean
+   */
+  public double getMean1() {
+    return (count == 0) ? Double.NaN : mean1;
+  }
+
+  /**
+   * Returns the mean of the changes of the second series.
+   *
+   * @return the mean
+   */
+  public double getMean2() {
+    return (count == 0) ? Double.NaN : mean2;
+  }
+
+  /**
+   * Returns the variance of the changes of the first series, around their mean and divided by
+   * the number of changes.
+   *
+   * @return the variance
+   */
+  public double getVariance1() {
+    return sumDeviations1 / count;
+  }
+
+  /**
+   * Returns the variance of the changes of the second series, around their mean and divided by
+   * the number of changes.
+   *
+   * @return the variance
+   */
+  public double getVariance2() {
+    return sumDeviations2 / count;
+  }
+
+  /**
+   * Returns the covariance of the changes of the two series, around their means and divided by
+   * the number of changes.
+   *
+   * @return the covariance
+   */
+  public double getCovariance() {
+    return sumCrossDeviations / count;
+  }
+
+  /**
+   * Returns the correlation of the changes of the two series.
+   * <p>
+   * The correlation is computed on the changes without removing the mean, as in
+   * {@link LocalDateDoubleTimeSeriesUtils#correlation}:
+   *   rho = sum_i(delta_{1,i}*delta_{2,i}) / sqrt(sum_i(delta_{1,i}^2) * sum_i(delta_{2,i}^2))
+   *
+   * @return the correlation
+   */
+  public double getCorrelation() {
+    return sumCrossProducts / Math.sqrt(sumSquares1 * sumSquares2);
+  }
+
+  /**
+   * Returns the correlation of the changes of the two series around their means (Pearson correlation).
+   *
+   * @return the correlation
+   */
+  public double getCenteredCorrelation() {
+    return sumCrossDeviations / Math.sqrt(sumDeviations1 * sumDeviations2);
+  }
+
+  @Override
+  public String toString() {
+    return "ChangeStatistics{count=" + count +
+        ", mean1=" + mean1 + ", mean2=" + mean2 +
+        ", sumSquares1=" + sumSquares1 + ", sumSquares2=" + sumSquares2 +
+        ", sumCrossProducts=" + sumCrossProducts +
+        ", sumDeviations1=" + sumDeviations1 + ", sumDeviations2=" + sumDeviations2 +
+        ", sumCrossDeviations=" + sumCrossDeviations + "}";
+  }
+
+}
@@ -0,0 +1,254 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.tuple.Pair;
+
+/**
+ * Cache of the statistics of the changes of time series, updated incrementally when points are appended.
+ * <p>
+ * The cache holds, for each series identifier, the {@link ChangeStatistics} of the series and its first and last
+ * points; and, for each pair of series for which the correlation was requested, the statistics of the pairs of
+ * changes between consecutive common dates. Appending a point to a series updates its statistics in constant time
+ * and the statistics of the k pairs in which it appears in O(k).
+ * <p>
+ * The history of a series is obtained once from the history provider, the first time the series is required
+ * and after an invalidation. The cache keeps the points of the history and the points appended since, so that
+ * the statistics of a pair are computed from the same points as the statistics of each series, whether or not
+ * the provider already contains the appended points. When the history of a series is restated, the series
+ * should be invalidated.
+ * <p>
+ * The volatility and correlation are the ones of {@link LocalDateDoubleTimeSeriesUtils#dailyVolatility(LocalDateDoubleTimeSeries)}
+ * and {@link LocalDateDoubleTimeSeriesUtils#correlation(AlignedTimeSeries, int, int)} on the series aligned on
+ * their common dates.
+ * <p>
+ * The methods are synchronized; the cache can be shared between threads.
+ *
+ * @author Marc Henrard
+ */
+public final class ChangeStatisticsCache {
+
+  /** The provider of the full history of a series. */
+  private final Function<String, LocalDateDoubleTimeSeries> historyProvider;
+  /** The statistics of the series. */
+  private final Map<String, SeriesEntry> series = new HashMap<>();
+  /** The statistics of the pairs of series, the identifiers in increasing order. */
+  private final Map<Pair<String, String>, PairEntry> pairs = new HashMap<>();
+  /** The pairs in which each series appears. */
+  private final Map<String, Set<Pair<String, String>>> peers = new HashMap<>();
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param historyProvider  the provider of the full history of a series, by identifier
+   * @return the cache
+   */
+  public static ChangeStatisticsCache of(Function<String, LocalDateDoubleTimeSeries> historyProvider) {
+    ArgChecker.notNull(historyProvider, "historyProvider");
+    return new ChangeStatisticsCache(historyProvider);
+  }
+
+  // private constructor
+  private ChangeStatisticsCache(Function<String, LocalDateDoubleTimeSeries> historyProvider) {
+    this.historyProvider = historyProvider;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Appends a point to a series.
+   * <p>
+   * The date must be after the last date of the series. A point equal to the last point is ignored,
+   * so that a point already included in the history provided is not counted twice.
+   * A different value on an existing date is a restatement and requires an {@link #invalidate(String)}.
+   *
+   * @param id  the identifier of the series
+   * @param date  the date
+   * @param value  the value
+   */
+  public synchronized void append(String id, LocalDate date, double value) {
+    SeriesEntry entry = seriesEntry(id);
+    int day = (int) date.toEpochDay();
+    if (entry.count > 0 && day <= entry.lastDay) {
+      ArgChecker.isTrue(day == entry.lastDay && value == entry.lastValue,
+          "point on {} for {} is not after the last point; invalidate the series for restatements", date, id);
+      return;
+    }
+    entry.accept(day, value);
+    for (Pair<String, String> key : peers.getOrDefault(id, Collections.emptySet())) {
+      PairEntry pair = pairs.get(key);
+      if (pair == null) {
+        continue;
+      }
+      boolean first = key.getFirst().equals(id);
+      SeriesEntry other = series.get(first ? key.getSecond() : key.getFirst());
+      if (other.count > 0 && other.lastDay > day) {
+        // the other series is ahead: the value of this series on its dates is not known, recompute when required
+        pairs.remove(key);
+      } else if (other.count > 0 && other.lastDay == day) {
+        pair.accept(first ? value : other.lastValue, first ? other.lastValue : value);
+      }
+    }
+  }
+
+  /**
+   * Invalidates the statistics of a series and of the pairs in which it appears.
+   * <p>
+   * The statistics are recomputed from the history provided when next required.
+   *
+   * @param id  the identifier of the series
+   */
+  public synchronized void invalidate(String id) {
+    series.remove(id);
+    for (Pair<String, String> key : peers.getOrDefault(id, Collections.emptySet())) {
+      pairs.remove(key);
+    }
+  }
+
+  /**
+   * Invalidates all the statistics.
+   */
+  public synchronized void invalidateAll() {
+    series.clear();
+    pairs.clear();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the statistics of the changes of a series.
+   *
+   * @param id  the identifier of the series
+   * @return a copy of the statistics
+   */
+  public synchronized ChangeStatistics statistics(String id) {
+    return ChangeStatistics.create().combine(seriesEntry(id).statistics);
+  }
+
+  /**
+   * Returns the daily volatility of a series.
+   *
+   * @param id  the identifier of the series
+   * @return the volatility
+   */
+  public synchronized double dailyVolatility(String id) {
+    SeriesEntry entry = seriesEntry(id);
+    ArgChecker.isTrue(entry.count >= 2, "at least two points required for the volatility of {}", id);
+    return Math.sqrt(entry.statistics.getSumSquares1() / (entry.lastDay - entry.firstDay));
+  }
+
+  /**
+   * Returns the correlation of two series.
+   * <p>
+   * The first request for a pair adds the pair to the cache; the pair is then updated at each append.
+   *
+   * @param id1  the identifier of the first series
+   * @param id2  the identifier of the second series
+   * @return the correlation
+   */
+  public synchronized double correlation(String id1, String id2) {
+    return pairEntry(id1, id2).statistics.getCorrelation();
+  }
+
+  //-------------------------------------------------------------------------
+  // the entry of a series, computed if required
+  private SeriesEntry seriesEntry(String id) {
+    SeriesEntry entry = series.get(id);
+    if (entry == null) {
+      entry = new SeriesEntry();
+      LocalDateDoubleTimeSeries history = historyProvider.apply(id);
+      ArgChecker.notNull(history, "history");
+      SeriesEntry loading = entry;
+      history.forEach((date, value) -> loading.accept((int) date.toEpochDay(), value));
+      series.put(id, entry);
+    }
+    return entry;
+  }
+
+  // the entry of a pair, computed if required
+  private PairEntry pairEntry(String id1, String id2) {
+    ArgChecker.isFalse(id1.equals(id2), "two different series required");
+    boolean ordered = id1.compareTo(id2) < 0;
+    Pair<String, String> key = ordered ? Pair.of(id1, id2) : Pair.of(id2, id1);
+    PairEntry entry = pairs.get(key);
+    if (entry == null) {
+      SeriesEntry series1 = seriesEntry(key.getFirst());
+      SeriesEntry series2 = seriesEntry(key.getSecond());
+      entry = new PairEntry();
+      int position1 = 0;
+      int position2 = 0;
+      while (position1 < series1.count && position2 < series2.count) {
+        int day1 = series1.days[position1];
+        int day2 = series2.days[position2];
+        if (day1 == day2) {
+          entry.accept(series1.values[position1++], series2.values[position2++]);
+        } else if (day1 < day2) {
+          position1++;
+        } else {
+          position2++;
+        }
+      }
+      pairs.put(key, entry);
+      peers.computeIfAbsent(id1, i -> new LinkedHashSet<>()).add(key);
+      peers.computeIfAbsent(id2, i -> new LinkedHashSet<>()).add(key);
+    }
+    return entry;
+  }
+
+  //-------------------------------------------------------------------------
+  // statistics of one series, its points and its first and last points
+  private static final class SeriesEntry {
+    private final ChangeStatistics statistics = ChangeStatistics.create();
+    private int[] days = new int[16];
+    private double[] values = new double[16];
+    private int count;
+    private int firstDay;
+    private int lastDay;
+    private double lastValue;
+
+    private void accept(int day, double value) {
+      if (count == 0) {
+        firstDay = day;
+      } else {
+        statistics.accept(value - lastValue);
+      }
+      if (count == days.length) {
+        days = Arrays.copyOf(days, 2 * count);
+        values = Arrays.copyOf(values, 2 * count);
+      }
+      days[count] = day;
+      values[count] = value;
+      lastDay = day;
+      lastValue = value;
+      count++;
+    }
+  }
+
+  // statistics of a pair of series on their common dates and their values on the last common date
+  private static final class PairEntry {
+    private final ChangeStatistics statistics = ChangeStatistics.create();
+    private boolean started;
+    private double last1;
+    private double last2;
+
+    private void accept(double value1, double value2) {
+      if (started) {
+        statistics.accept(value1 - last1, value2 - last2);
+      }
+      started = true;
+      last1 = value1;
+      last2 = value2;
+    }
+  }
+
+}
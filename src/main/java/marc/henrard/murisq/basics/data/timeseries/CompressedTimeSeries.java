@@ -0,0 +1,337 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+/**
+ * Immutable time series stored in compressed form.
+ * <p>
+ * The first date and value are stored as such. The following points are encoded in one stream of bits:
+ * the dates by delta-of-delta encoding and the values by XOR encoding with the previous value
+ * (as in the Gorilla time series database).
+ * <p>
+ * Date: the difference between the current and previous gaps in days (dod), encoded as
+ * '0' if zero, '10' followed by 7 bits if in [-64, 63], '110' followed by 12 bits if in [-2048, 2047]
+ * and '111' followed by 32 bits otherwise. For business day dates, the dod is zero except around weekends and holidays.
+ * <p>
+ * Value: the XOR of the bits of the current and previous values, encoded as '0' if zero (value unchanged),
+ * '10' followed by the meaningful bits if they are within the meaningful bits of the previous encoded XOR,
+ * and '11' followed by 5 bits for the number of leading zeros, 6 bits for the number of meaningful bits minus one
+ * and the meaningful bits otherwise. The values are restored exactly, including infinities and signed zeros.
+ * <p>
+ * The points are read sequentially by a {@link Cursor}, without decompression of the full series.
+ *
+ * @author Marc Henrard
+ */
+public final class CompressedTimeSeries {
+
+  /** The number of points. */
+  private final int size;
+  /** The first date, as epoch day. */
+  private final int firstDay;
+  /** The last date, as epoch day. */
+  private final int lastDay;
+  /** The first value. */
+  private final double firstValue;
+  /** The encoded points after the first one. */
+  private final long[] bits;
+
+  /**
+   * Compresses a time series.
+   *
+   * @param timeSeries  the time series
+   * @return the compressed time series
+   */
+  public static CompressedTimeSeries of(LocalDateDoubleTimeSeries timeSeries) {
+    ArgChecker.notNull(timeSeries, "timeSeries");
+    Encoder encoder = new Encoder(timeSeries.size());
+    timeSeries.forEach(encoder::accept);
+    return new CompressedTimeSeries(timeSeries.size(), encoder.firstDay, encoder.previousDay,
+        encoder.firstValue, encoder.stream.toWords());
+  }
+
+  // private constructor
+  private CompressedTimeSeries(int size, int firstDay, int lastDay, double firstValue, long[] bits) {
+    this.size = size;
+    this.firstDay = firstDay;
+    this.lastDay = lastDay;
+    this.firstValue = firstValue;
+    this.bits = bits;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the number of points.
+   *
+   * @return the number of points
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks if the series is empty.
+   *
+   * @return true if empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the earliest date.
+   *
+   * @return the date
+   * @throws NoSuchElementException if empty
+   */
+  public LocalDate getEarliestDate() {
+    if (size == 0) {
+      throw new NoSuchElementException("Unable to return earliest date, time series is empty");
+    }
+    return LocalDate.ofEpochDay(firstDay);
+  }
+
+  /**
+   * Returns the latest date.
+   *
+   * @return the date
+   * @throws NoSuchElementException if empty
+   */
+  public LocalDate getLatestDate() {
+    if (size == 0) {
+      throw new NoSuchElementException("Unable to return latest date, time series is empty");
+    }
+    return LocalDate.ofEpochDay(lastDay);
+  }
+
+  /**
+   * Returns the approximate memory used by the compressed points, in bytes.
+   *
+   * @return the size in bytes
+   */
+  public long sizeInBytes() {
+    return 8L * bits.length + 4 + 4 + 4 + 8;
+  }
+
+  /**
+   * Returns a cursor on the points, positioned before the first point.
+   *
+   * @return the cursor
+   */
+  public Cursor cursor() {
+    return new Cursor();
+  }
+
+  /**
+   * Decompresses to a time series.
+   *
+   * @return the time series
+   */
+  public LocalDateDoubleTimeSeries toTimeSeries() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    Cursor cursor = cursor();
+    while (cursor.next()) {
+      builder.put(cursor.getDate(), cursor.getValue());
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Sequential reader of the points of a {@link CompressedTimeSeries}.
+   * <p>
+   * Each call to {@link #next()} decodes one point. A cursor is not thread-safe.
+   */
+  public final class Cursor {
+    /** The index of the current point, -1 before the first point. */
+    private int index = -1;
+    /** The position in the bits. */
+    private long position;
+    /** The current date. */
+    private int day;
+    /** The current gap between dates. */
+    private int delta;
+    /** The bits of the current value. */
+    private long valueBits;
+    /** The leading zeros of the last explicit XOR block. */
+    private int leading;
+    /** The trailing zeros of the last explicit XOR block. */
+    private int trailing;
+
+    // private constructor
+    private Cursor() {
+    }
+
+    /**
+     * Moves to the next point.
+     *
+     * @return true if there is a next point, false at the end of the series
+     */
+    public boolean next() {
+      if (index + 1 >= size) {
+        index = size;
+        return false;
+      }
+      index++;
+      if (index == 0) {
+        day = firstDay;
+        valueBits = Double.doubleToRawLongBits(firstValue);
+        return true;
+      }
+      // date
+      int dod;
+      if (readBit()) {
+        if (!readBit()) {
+          dod = readSigned(7);
+        } else if (!readBit()) {
+          dod = readSigned(12);
+        } else {
+          dod = readSigned(32);
+        }
+      } else {
+        dod = 0;
+      }
+      delta += dod;
+      day += delta;
+      // value
+      if (readBit()) {
+        if (readBit()) {
+          leading = (int) read(5);
+          int meaningful = (int) read(6) + 1;
+          trailing = 64 - leading - meaningful;
+        }
+        int meaningful = 64 - leading - trailing;
+        valueBits ^= read(meaningful) << trailing;
+      }
+      return true;
+    }
+
+    /**
+     * Returns the date of the current point as epoch day.
+     *
+     * @return the epoch day
+     */
+    public int getEpochDay() {
+      checkPosition();
+      return day;
+    }
+
+    /**
+     * Returns the date of the current point.
+     *
+     * @return the date
+     */
+    public LocalDate getDate() {
+      checkPosition();
+      return LocalDate.ofEpochDay(day);
+    }
+
+    /**
+     * Returns the value of the current point.
+     *
+     * @return the value
+     */
+    public double getValue() {
+      checkPosition();
+      return Double.longBitsToDouble(valueBits);
+    }
+
+    private void checkPosition() {
+      if (index < 0 || index >= size) {
+        throw new NoSuchElementException("Cursor not on a point");
+      }
+    }
+
+    private boolean readBit() {
+      return read(1) != 0;
+    }
+
+    private long read(int length) {
+      long result = BitStream.readBits(bits, position, length);
+      position += length;
+      return result;
+    }
+
+    private int readSigned(int length) {
+      return (int) (read(length) << (64 - length) >> (64 - length));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // encodes the points one at a time
+  private static final class Encoder {
+    private final BitStream stream;
+    private int count;
+    private int firstDay;
+    private double firstValue;
+    private int previousDay;
+    private int previousDelta;
+    private long previousBits;
+    private int leading = -1;
+    private int trailing;
+
+    private Encoder(int size) {
+      // about 2 bytes by point for typical market data
+      this.stream = new BitStream(size / 4 + 1);
+    }
+
+    private void accept(LocalDate date, double value) {
+      int day = (int) date.toEpochDay();
+      long valueBits = Double.doubleToRawLongBits(value);
+      if (count++ == 0) {
+        firstDay = day;
+        firstValue = value;
+      } else {
+        encodeDate(day - previousDay - previousDelta);
+        previousDelta = day - previousDay;
+        encodeValue(valueBits ^ previousBits);
+      }
+      previousDay = day;
+      previousBits = valueBits;
+    }
+
+    private void encodeDate(int dod) {
+      if (dod == 0) {
+        stream.writeBit(false);
+      } else if (dod >= -64 && dod <= 63) {
+        stream.writeBits(0b10, 2);
+        stream.writeBits(dod, 7);
+      } else if (dod >= -2048 && dod <= 2047) {
+        stream.writeBits(0b110, 3);
+        stream.writeBits(dod, 12);
+      } else {
+        stream.writeBits(0b111, 3);
+        stream.writeBits(dod, 32);
+      }
+    }
+
+    private void encodeValue(long xor) {
+      if (xor == 0) {
+        stream.writeBit(false);
+        return;
+      }
+      int currentLeading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+      int currentTrailing = Long.numberOfTrailingZeros(xor);
+      if (leading >= 0 && currentLeading >= leading && currentTrailing >= trailing) {
+        stream.writeBits(0b10, 2);
+        stream.writeBits(xor >>> trailing, 64 - leading - trailing);
+      } else {
+        int meaningful = 64 - currentLeading - currentTrailing;
+        stream.writeBits(0b11, 2);
+        stream.writeBits(currentLeading, 5);
+        stream.writeBits(meaningful - 1, 6);
+        stream.writeBits(xor >>> currentTrailing, meaningful);
+        leading = currentLeading;
+        trailing = currentTrailing;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import java.time.LocalDate;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Exponentially weighted moving average (EWMA) statistics of the changes of one or two time series.
+ * <p>
+ * The points are provided one at a time, in increasing date order. Each new change updates the
+ * variances and the covariance in constant time:
+ *   var_{i+1} = lambda * var_i + (1 - lambda) * delta_i^2 / d_i
+ *   cov_{i+1} = lambda * cov_i + (1 - lambda) * delta_{1,i} * delta_{2,i} / d_i
+ * where d_i is the number of days between the two points of the change. The estimates are initialized
+ * with the first change. With the division by the number of days, the volatility is a daily volatility,
+ * as in {@link LocalDateDoubleTimeSeriesUtils#dailyVolatility(com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries)}.
+ * The weighting is by observation; a typical decay factor for daily observations is 0.94 or 0.97.
+ * <p>
+ * The object is mutable and not thread-safe.
+ *
+ * @author Marc Henrard
+ */
+public final class EwmaStatistics {
+
+  /** The decay factor. */
+  private final double lambda;
+  /** The number of points received. */
+  private long nbPoints;
+  /** The date of the last point, as epoch day. */
+  private long lastDay;
+  /** The last value of the first series. */
+  private double last1;
+  /** The last value of the second series. */
+  private double last2;
+  /** The variance of the first series. */
+  private double variance1;
+  /** The variance of the second series. */
+  private double variance2;
+  /** The covariance of the two series. */
+  private double covariance;
+
+  /**
+   * Creates EWMA statistics for a given decay factor.
+   *
+   * @param lambda  the decay factor, between 0 and 1
+   * @return the statistics
+   */
+  public static EwmaStatistics of(double lambda) {
+    ArgChecker.inRangeInclusive(lambda, 0.0d, 1.0d, "lambda");
+    return new EwmaStatistics(lambda);
+  }
+
+  // private constructor
+  private EwmaStatistics(double lambda) {
+    this.lambda = lambda;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a point of one series.
+   * <p>
+   * The statistics of the second series are then zero.
+   *
+   * @param date  the date, after the date of the previous point
+   * @param value  the value
+   */
+  public void accept(LocalDate date, double value) {
+    accept(date, value, 0.0d);
+  }
+
+  /**
+   * Adds a point of two series.
+   *
+   * @param date  the date, after the date of the previous point
+   * @param value1  the value of the first series
+   * @param value2  the value of the second series
+   */
+  public void accept(LocalDate date, double value1, double value2) {
+    long epochDay = date.toEpochDay();
+    if (nbPoints > 0) {
+      ArgChecker.isTrue(epochDay > lastDay, "dates must be in increasing order");
+      double days = epochDay - lastDay;
+      double change1 = value1 - last1;
+      double change2 = value2 - last2;
+      double weight = (nbPoints == 1) ? 1.0d : 1.0d - lambda;
+      double decay = 1.0d - weight;
+      variance1 = decay * variance1 + weight * change1 * change1 / days;
+      variance2 = decay * variance2 + weight * change2 * change2 / days;
+      covariance = decay * covariance + weight * change1 * change2 / days;
+    }
+    lastDay = epochDay;
+    last1 = value1;
+    last2 = value2;
+    nbPoints++;
+  }
+
+  /**
+   * Resets the statistics to empty.
+   */
+  public void clear() {
+    nbPoints = 0;
+    variance1 = 0.0d;
+    variance2 = 0.0d;
+    covariance = 0.0d;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the decay factor.
+   *
+   * @return the decay factor
+   */
+  public double getLambda() {
+    return lambda;
+  }
+
+  /**
+   * Returns the number of changes received.
+   *
+   * @return the number of changes
+   */
+  public long getCount() {
+    return Math.max(nbPoints - 1, 0);
+  }
+
+  /**
+   * Returns the daily volatility of the first series.
+   *
+   * @return the volatility
+   */
+  public double getVolatility1() {
+    return Math.sqrt(variance1);
+  }
+
+  /**
+   * Returns the daily volatility of the second series.
+   *
+   * @return the volatility
+   */
+  public double getVolatility2() {
+    return Math.sqrt(variance2);
+  }
+
+  /**
+   * Returns the covariance of the two series.
+   *
+   * @return the covariance
+   */
+  public double getCovariance() {
+    return covariance;
+  }
+
+  /**
+   * Returns the correlation of the two series.
+   *
+   * @return the correlation
+   */
+  public double getCorrelation() {
+    return covariance / Math.sqrt(variance1 * variance2);
+  }
+
+}
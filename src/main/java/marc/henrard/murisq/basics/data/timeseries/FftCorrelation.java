@@ -0,0 +1,152 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import java.util.PrimitiveIterator;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+
+/**
+ * Autocorrelation and lagged cross-correlation of the changes of time series, computed by fast Fourier transform.
+ * <p>
+ * The correlation at lag L between the changes of two series is the
+ * {@link LocalDateDoubleTimeSeriesUtils#correlation(LocalDateDoubleTimeSeries, LocalDateDoubleTimeSeries)}
+ * of the changes of the first series shifted by L with the changes of the second series, on their overlap:
+ *   rho(L) = sum_i(delta_{1,i+L}*delta_{2,i}) / sqrt(sum_i(delta_{1,i+L}^2) * sum_i(delta_{2,i}^2))
+ * A positive lag means that the first series lags the second one. The sums of products for all lags are computed
+ * in O(n log n) by transform and the normalization by prefix sums of the squares.
+ * <p>
+ * The transforms are radix-2 on a size larger than twice the number of changes, with the plans shared between
+ * all the series of the same length.
+ *
+ * @author Marc Henrard
+ */
+public final class FftCorrelation {
+
+  // private constructor
+  private FftCorrelation() {
+  }
+
+  /**
+   * Computes the autocorrelation of the changes of a time series.
+   *
+   * @param timeSeries  the time series
+   * @param maxLag  the maximal lag, smaller than the number of changes
+   * @return the autocorrelation for the lags 0 to maxLag
+   */
+  public static DoubleArray autocorrelation(LocalDateDoubleTimeSeries timeSeries, int maxLag) {
+    double[] changes = changes(timeSeries);
+    int n = changes.length;
+    ArgChecker.inRange(maxLag, 0, n, "maxLag");
+    FftPlan plan = FftPlan.of(transformSize(n));
+    double[] re = new double[plan.size()];
+    double[] im = new double[plan.size()];
+    System.arraycopy(changes, 0, re, 0, n);
+    plan.transform(re, im, false);
+    for (int loopk = 0; loopk < re.length; loopk++) {
+      re[loopk] = re[loopk] * re[loopk] + im[loopk] * im[loopk];
+      im[loopk] = 0.0d;
+    }
+    plan.transform(re, im, true);
+    double[] prefix = prefixSquares(changes);
+    double[] result = new double[maxLag + 1];
+    for (int looplag = 0; looplag <= maxLag; looplag++) {
+      double products = re[looplag] / re.length;
+      double norm1 = prefix[n] - prefix[looplag];
+      double norm2 = prefix[n - looplag];
+      result[looplag] = products / Math.sqrt(norm1 * norm2);
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Computes the lagged cross-correlation of the changes of two time series.
+   * <p>
+   * The time series must have the same number of points. The changes are paired by position.
+   *
+   * @param timeSeries1  the first time series
+   * @param timeSeries2  the second time series
+   * @param maxLag  the maximal lag in absolute value, smaller than the number of changes
+   * @return the cross-correlation for the lags -maxLag to maxLag, the lag L being at index maxLag + L
+   */
+  public static DoubleArray crossCorrelation(
+      LocalDateDoubleTimeSeries timeSeries1,
+      LocalDateDoubleTimeSeries timeSeries2,
+      int maxLag) {
+
+    ArgChecker.isTrue(timeSeries1.size() == timeSeries2.size(), "time series must have the same length");
+    double[] changes1 = changes(timeSeries1);
+    double[] changes2 = changes(timeSeries2);
+    int n = changes1.length;
+    ArgChecker.inRange(maxLag, 0, n, "maxLag");
+    FftPlan plan = FftPlan.of(transformSize(n));
+    int size = plan.size();
+    double[] re1 = new double[size];
+    double[] im1 = new double[size];
+    double[] re2 = new double[size];
+    double[] im2 = new double[size];
+    System.arraycopy(changes1, 0, re1, 0, n);
+    System.arraycopy(changes2, 0, re2, 0, n);
+    plan.transform(re1, im1, false);
+    plan.transform(re2, im2, false);
+    // F1 * conj(F2)
+    for (int loopk = 0; loopk < size; loopk++) {
+      double re = re1[loopk] * re2[loopk] + im1[loopk] * im2[loopk];
+      double im = im1[loopk] * re2[loopk] - re1[loopk] * im2[loopk];
+      re1[loopk] = re;
+      im1[loopk] = im;
+    }
+    plan.transform(re1, im1, true);
+    double[] prefix1 = prefixSquares(changes1);
+    double[] prefix2 = prefixSquares(changes2);
+    double[] result = new double[2 * maxLag + 1];
+    for (int looplag = -maxLag; looplag <= maxLag; looplag++) {
+      double products = re1[(looplag + size) % size] / size;
+      double norm1;
+      double norm2;
+      if (looplag >= 0) {
+        norm1 = prefix1[n] - prefix1[looplag];
+        norm2 = prefix2[n - looplag];
+      } else {
+        norm1 = prefix1[n + looplag];
+        norm2 = prefix2[n] - prefix2[-looplag];
+      }
+      result[maxLag + looplag] = products / Math.sqrt(norm1 * norm2);
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  //-------------------------------------------------------------------------
+  // a power of 2 larger than or equal to 2n - 1, to avoid circular overlap
+  private static int transformSize(int n) {
+    return Integer.highestOneBit(Math.max(2 * n - 1, 1)) << 1;
+  }
+
+  // prefix[i] = sum_{j<i} values[j]^2
+  private static double[] prefixSquares(double[] values) {
+    double[] prefix = new double[values.length + 1];
+    for (int loopi = 0; loopi < values.length; loopi++) {
+      prefix[loopi + 1] = prefix[loopi] + values[loopi] * values[loopi];
+    }
+    return prefix;
+  }
+
+  private static double[] changes(LocalDateDoubleTimeSeries timeSeries) {
+    int nbChanges = Math.max(timeSeries.size() - 1, 0);
+    double[] changes = new double[nbChanges];
+    PrimitiveIterator.OfDouble iterator = timeSeries.values().iterator();
+    if (nbChanges > 0) {
+      double previous = iterator.nextDouble();
+      for (int loopchange = 0; loopchange < nbChanges; loopchange++) {
+        double current = iterator.nextDouble();
+        changes[loopchange] = current - previous;
+        previous = current;
+      }
+    }
+    return changes;
+  }
+
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Plan of a radix-2 fast Fourier transform for a given size.
+ * <p>
+ * The plan contains the bit reversal permutation and the twiddle factors; it is immutable and
+ * shared between all the transforms of the same size through {@link #of(int)}. Only the plans up to
+ * {@link #MAX_CACHED_SIZE} are kept, at most one by power of 2 and about 1.5 MB in total; the larger
+ * plans are computed for each transform.
+ *
+ * @author Marc Henrard
+ */
+final class FftPlan {
+
+  /** The maximal size of the plans kept. */
+  static final int MAX_CACHED_SIZE = 1 << 16;
+  /** The plans already computed, by size, up to the maximal size. */
+  private static final ConcurrentHashMap<Integer, FftPlan> PLANS = new ConcurrentHashMap<>();
+
+  /** The size, a power of 2. */
+  private final int size;
+  /** The bit reversal permutation. */
+  private final int[] reversed;
+  /** The cosines of the twiddle factors, exp(-2 i pi k / size) for k < size / 2. */
+  private final double[] cos;
+  /** The sines of the twiddle factors. */
+  private final double[] sin;
+
+  /**
+   * Returns the plan for a size.
+   *
+   * @param size  the size, a power of 2
+   * @return the plan
+   */
+  static FftPlan of(int size) {
+    ArgChecker.isTrue(size > 0 && Integer.bitCount(size) == 1, "size must be a power of 2, found {}", size);
+    return (size <= MAX_CACHED_SIZE) ? PLANS.computeIfAbsent(size, FftPlan::new) : new FftPlan(size);
+  }
+
+  // private constructor
+  private FftPlan(int size) {
+    this.size = size;
+    this.reversed = new int[size];
+    int bits = Integer.numberOfTrailingZeros(size);
+    for (int loopi = 0; loopi < size; loopi++) {
+      reversed[loopi] = (bits == 0) ? 0 : Integer.reverse(loopi) >>> (32 - bits);
+    }
+    this.cos = new double[size / 2];
+    this.sin = new double[size / 2];
+    for (int loopk = 0; loopk < size / 2; loopk++) {
+      double angle = -2.0d * Math.PI * loopk / size;
+      cos[loopk] = Math.cos(angle);
+      sin[loopk] = Math.sin(angle);
+    }
+  }
+
+  /**
+   * Returns the size.
+   *
+   * @return the size
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Computes the transform in place.
+   * <p>
+   * The inverse transform is not scaled by 1 / size.
+   *
+   * @param re  the real parts, of length size
+   * @param im  the imaginary parts, of length size
+   * @param inverse  true for the inverse transform
+   */
+  void transform(double[] re, double[] im, boolean inverse) {
+    for (int loopi = 0; loopi < size; loopi++) {
+      int j = reversed[loopi];
+      if (j > loopi) {
+        double tmp = re[loopi];
+        re[loopi] = re[j];
+        re[j] = tmp;
+        tmp = im[loopi];
+        im[loopi] = im[j];
+        im[j] = tmp;
+      }
+    }
+    double sign = inverse ? -1.0d : 1.0d;
+    for (int length = 2; length <= size; length <<= 1) {
+      int half = length >> 1;
+      int step = size / length;
+      for (int start = 0; start < size; start += length) {
+        for (int loopk = 0; loopk < half; loopk++) {
+          double wr = cos[loopk * step];
+          double wi = sign * sin[loopk * step];
+          int even = start + loopk;
+          int odd = even + half;
+          double tr = wr * re[odd] - wi * im[odd];
+          double ti = wr * im[odd] + wi * re[odd];
+          re[odd] = re[even] - tr;
+          im[odd] = im[even] - ti;
+          re[even] += tr;
+          im[even] += ti;
+        }
+      }
+    }
+  }
+
+}
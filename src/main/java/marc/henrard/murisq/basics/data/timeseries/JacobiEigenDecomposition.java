@@ -0,0 +1,212 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.math.MathException;
+
+/**
+ * Eigen-decomposition of a symmetric matrix by the parallel cyclic Jacobi method.
+ * <p>
+ * Each sweep is split in rounds of disjoint pairs of indices (round-robin ordering). The rotations of
+ * the pairs of a round do not interact: they are computed from the matrix at the start of the round and
+ * applied together, the rows in parallel by pair and the columns in parallel by row.
+ * <p>
+ * The eigenvalues are sorted in decreasing order. If the off-diagonal norm is still above the tolerance
+ * after the maximal number of sweeps, for example for a matrix with NaN, the decomposition fails.
+ *
+ * @author Marc Henrard
+ */
+final class JacobiEigenDecomposition {
+
+  /** The maximal number of sweeps. */
+  private static final int MAX_SWEEPS = 100;
+  /** The relative tolerance on the off-diagonal norm. */
+  private static final double TOLERANCE = 1.0E-24;
+  /** The minimal dimension for the parallel application of the rotations. */
+  private static final int PARALLEL_THRESHOLD = 128;
+
+  /** The eigenvalues, in decreasing order. */
+  private final double[] eigenvalues;
+  /** The eigenvectors, as columns, in the order of the eigenvalues. */
+  private final double[][] eigenvectors;
+
+  /**
+   * Decomposes a symmetric matrix. The matrix is modified.
+   *
+   * @param matrix  the symmetric matrix, modified
+   * @return the decomposition
+   * @throws MathException if the decomposition does not converge
+   */
+  static JacobiEigenDecomposition of(double[][] matrix) {
+    int dimension = matrix.length;
+    double[][] vectors = new double[dimension][dimension];
+    for (int loopi = 0; loopi < dimension; loopi++) {
+      vectors[loopi][loopi] = 1.0d;
+    }
+    // round-robin ordering, with a dummy index -1 for an odd dimension
+    int nbPlayers = dimension + (dimension & 1);
+    int[] players = new int[nbPlayers];
+    for (int loopi = 0; loopi < nbPlayers; loopi++) {
+      players[loopi] = (loopi < dimension) ? loopi : -1;
+    }
+    int nbPairs = nbPlayers / 2;
+    int[] ps = new int[nbPairs];
+    int[] qs = new int[nbPairs];
+    double[] cs = new double[nbPairs];
+    double[] ss = new double[nbPairs];
+    double total = squaresTotal(matrix);
+    for (int loopsweep = 0; !converged(matrix, total); loopsweep++) {
+      if (loopsweep == MAX_SWEEPS) {
+        throw new MathException("Jacobi eigen-decomposition not converged after " + MAX_SWEEPS + " sweeps");
+      }
+      for (int loopround = 0; loopround < nbPlayers - 1; loopround++) {
+        int nbRotations = 0;
+        for (int looppair = 0; looppair < nbPairs; looppair++) {
+          int p = players[looppair];
+          int q = players[nbPlayers - 1 - looppair];
+          if (p < 0 || q < 0 || matrix[p][q] == 0.0d) {
+            continue;
+          }
+          double theta = (matrix[q][q] - matrix[p][p]) / (2.0d * matrix[p][q]);
+          double t = Math.signum(theta) / (Math.abs(theta) + Math.sqrt(theta * theta + 1.0d));
+          if (theta == 0.0d) {
+            t = 1.0d;
+          }
+          double c = 1.0d / Math.sqrt(t * t + 1.0d);
+          ps[nbRotations] = p;
+          qs[nbRotations] = q;
+          cs[nbRotations] = c;
+          ss[nbRotations] = t * c;
+          nbRotations++;
+        }
+        rotate(matrix, vectors, ps, qs, cs, ss, nbRotations);
+        // rotate the players, the first one is fixed
+        int last = players[nbPlayers - 1];
+        System.arraycopy(players, 1, players, 2, nbPlayers - 2);
+        players[1] = last;
+      }
+    }
+    return sorted(matrix, vectors);
+  }
+
+  // private constructor
+  private JacobiEigenDecomposition(double[] eigenvalues, double[][] eigenvectors) {
+    this.eigenvalues = eigenvalues;
+    this.eigenvectors = eigenvectors;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the eigenvalues, in decreasing order.
+   *
+   * @return the eigenvalues
+   */
+  double[] getEigenvalues() {
+    return eigenvalues;
+  }
+
+  /**
+   * Returns the eigenvectors, as columns in the order of the eigenvalues.
+   *
+   * @return the eigenvectors
+   */
+  double[][] getEigenvectors() {
+    return eigenvectors;
+  }
+
+  //-------------------------------------------------------------------------
+  // applies A <- J^T A J and V <- V J for disjoint rotations
+  private static void rotate(
+      double[][] matrix,
+      double[][] vectors,
+      int[] ps,
+      int[] qs,
+      double[] cs,
+      double[] ss,
+      int nbRotations) {
+
+    int dimension = matrix.length;
+    // rows: each rotation updates its two rows
+    range(nbRotations, dimension).forEach(looprot -> {
+      double[] rowP = matrix[ps[looprot]];
+      double[] rowQ = matrix[qs[looprot]];
+      double c = cs[looprot];
+      double s = ss[looprot];
+      for (int loopk = 0; loopk < dimension; loopk++) {
+        double ap = rowP[loopk];
+        double aq = rowQ[loopk];
+        rowP[loopk] = c * ap - s * aq;
+        rowQ[loopk] = s * ap + c * aq;
+      }
+    });
+    // columns: each row is updated by all the rotations
+    range(dimension, dimension).forEach(loopk -> {
+      rotateColumns(matrix[loopk], ps, qs, cs, ss, nbRotations);
+      rotateColumns(vectors[loopk], ps, qs, cs, ss, nbRotations);
+    });
+  }
+
+  private static void rotateColumns(double[] row, int[] ps, int[] qs, double[] cs, double[] ss, int nbRotations) {
+    for (int looprot = 0; looprot < nbRotations; looprot++) {
+      double ap = row[ps[looprot]];
+      double aq = row[qs[looprot]];
+      row[ps[looprot]] = cs[looprot] * ap - ss[looprot] * aq;
+      row[qs[looprot]] = ss[looprot] * ap + cs[looprot] * aq;
+    }
+  }
+
+  private static IntStream range(int size, int dimension) {
+    IntStream range = IntStream.range(0, size);
+    return (dimension >= PARALLEL_THRESHOLD) ? range.parallel() : range;
+  }
+
+  private static double squaresTotal(double[][] matrix) {
+    double total = 0.0d;
+    for (double[] row : matrix) {
+      for (double value : row) {
+        total += value * value;
+      }
+    }
+    return total;
+  }
+
+  // false if the off-diagonal norm is above the tolerance or NaN
+  private static boolean converged(double[][] matrix, double total) {
+    return offDiagonalSquares(matrix) <= TOLERANCE * total;
+  }
+
+  private static double offDiagonalSquares(double[][] matrix) {
+    double total = 0.0d;
+    for (int loopi = 0; loopi < matrix.length; loopi++) {
+      for (int loopj = loopi + 1; loopj < matrix.length; loopj++) {
+        total += 2.0d * matrix[loopi][loopj] * matrix[loopi][loopj];
+      }
+    }
+    return total;
+  }
+
+  // sorts the eigenvalues in decreasing order, with their eigenvectors
+  private static JacobiEigenDecomposition sorted(double[][] matrix, double[][] vectors) {
+    int dimension = matrix.length;
+    Integer[] order = new Integer[dimension];
+    for (int loopi = 0; loopi < dimension; loopi++) {
+      order[loopi] = loopi;
+    }
+    Arrays.sort(order, (i, j) -> Double.compare(matrix[j][j], matrix[i][i]));
+    double[] eigenvalues = new double[dimension];
+    double[][] eigenvectors = new double[dimension][dimension];
+    for (int loopcol = 0; loopcol < dimension; loopcol++) {
+      int index = order[loopcol];
+      eigenvalues[loopcol] = matrix[index][index];
+      for (int looprow = 0; looprow < dimension; looprow++) {
+        eigenvectors[looprow][loopcol] = vectors[looprow][index];
+      }
+    }
+    return new JacobiEigenDecomposition(eigenvalues, eigenvectors);
+  }
+
+}
@@ -3,13 +3,17 @@
  */
 package marc.henrard.murisq.basics.data.timeseries;
 
+import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
 
 import com.opengamma.strata.collect.ArgChecker;
-import com.opengamma.strata.collect.timeseries.LocalDateDoublePoint;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
 
 /**
  * Utilities for {@link LocalDateDoubleTimeSeries}.
@@ -17,6 +21,11 @@ import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
  * @author Marc Henrard
  */
 public class LocalDateDoubleTimeSeriesUtils {
+
+  /** The number of series in a block of the covariance kernel. */
+  private static final int BLOCK_SERIES = 64;
+  /** The number of changes in a block of the covariance kernel. */
+  private static final int BLOCK_CHANGES = 512;
   
   /**
    * Computes the daily volatility of a time series. 
@@ -30,15 +39,8 @@ public class LocalDateDoubleTimeSeriesUtils {
    * @return the daily volatility
    */
   public static double dailyVolatility(LocalDateDoubleTimeSeries timeSeries) {
-    List<LocalDateDoublePoint> points = timeSeries.stream().collect(Collectors.toList());
-    int nbPts = points.size();
     long nbDays = ChronoUnit.DAYS.between(timeSeries.getEarliestDate(), timeSeries.getLatestDate());
-    double vol2 = 0.0;
-    for (int looppt = 0; looppt < nbPts - 1; looppt++) {
-      double change = points.get(looppt + 1).getValue() - points.get(looppt).getValue();
-      vol2 += change * change;
-    }
-    return Math.sqrt(vol2 / nbDays);
+    return Math.sqrt(changeStatistics(timeSeries).getSumSquares1() / nbDays);
   }
   
   /**
@@ -57,21 +59,621 @@ public class LocalDateDoubleTimeSeriesUtils {
   public static double correlation(
       LocalDateDoubleTimeSeries timeSeries1, 
       LocalDateDoubleTimeSeries timeSeries2) {
-    List<LocalDateDoublePoint> points1 = timeSeries1.stream().collect(Collectors.toList());
-    List<LocalDateDoublePoint> points2 = timeSeries2.stream().collect(Collectors.toList());
-    int nbPts = points1.size();
-    ArgChecker.isTrue(points2.size() == nbPts, "time series must have the same length");
-    double var_1 = 0.0;
-    double var_2 = 0.0;
-    double cov = 0.0;
-    for (int looppt = 0; looppt < nbPts - 1; looppt++) {
-      double change1 = points1.get(looppt + 1).getValue() - points1.get(looppt).getValue();
-      double change2 = points2.get(looppt + 1).getValue() - points2.get(looppt).getValue();
-      var_1 += change1 * change1;
-      var_2 += change2 * change2;
-      cov += change1 * change2;
-    }
-    return cov / Math.sqrt(var_1 * var_2);
+    return changeStatistics(timeSeries1, timeSeries2).getCorrelation();
+  }
+
+  /**
+   * Computes the statistics of the changes between consecutive points of a time series.
+   * <p>
+   * The computation is done in one pass on the values, without intermediary collection.
+   *
+   * @param timeSeries  the time series
+   * @return the statistics, with the time series as first series
+   */
+  public static ChangeStatistics changeStatistics(LocalDateDoubleTimeSeries timeSeries) {
+    ChangeStatistics statistics = ChangeStatistics.create();
+    PrimitiveIterator.OfDouble iterator = timeSeries.values().iterator();
+    if (!iterator.hasNext()) {
+      return statistics;
+    }
+    double previous = iterator.nextDouble();
+    while (iterator.hasNext()) {
+      double current = iterator.nextDouble();
+      statistics.accept(current - previous);
+      previous = current;
+    }
+    return statistics;
+  }
+
+  /**
+   * Computes the statistics of the changes between consecutive points of two time series.
+   * <p>
+   * The time series must have the same number of points. The changes are paired by position;
+   * the dates are not checked. Use {@link TimeSeriesAlignment} to align series with different dates.
+   * The computation is done in one pass on the values, without intermediary collection.
+   *
+   * @param timeSeries1  the first time series
+   * @param timeSeries2  the second time series
+   * @return the statistics
+   */
+  public static ChangeStatistics changeStatistics(
+      LocalDateDoubleTimeSeries timeSeries1,
+      LocalDateDoubleTimeSeries timeSeries2) {
+    ArgChecker.isTrue(timeSeries1.size() == timeSeries2.size(), "time series must have the same length");
+    ChangeStatistics statistics = ChangeStatistics.create();
+    PrimitiveIterator.OfDouble iterator1 = timeSeries1.values().iterator();
+    PrimitiveIterator.OfDouble iterator2 = timeSeries2.values().iterator();
+    if (!iterator1.hasNext()) {
+      return statistics;
+    }
+    double previous1 = iterator1.nextDouble();
+    double previous2 = iterator2.nextDouble();
+    while (iterator1.hasNext()) {
+      double current1 = iterator1.nextDouble();
+      double current2 = iterator2.nextDouble();
+      statistics.accept(current1 - previous1, current2 - previous2);
+      previous1 = current1;
+      previous2 = current2;
+    }
+    return statistics;
+  }
+
+  /**
+   * Computes the daily volatility of one series of aligned time series.
+   * <p>
+   * The volatility is computed as in {@link #dailyVolatility(LocalDateDoubleTimeSeries)}. The changes with
+   * a missing value at one of their ends are not included, and the number of days is the sum of the
+   * number of days of the changes included. When the missing values are only before the first or after
+   * the last value of the series, the result is the volatility of the series alone.
+   * 
+   * @param alignedTimeSeries  the aligned time series
+   * @param series  the index of the series
+   * @return the daily volatility
+   */
+  public static double dailyVolatility(AlignedTimeSeries alignedTimeSeries, int series) {
+    double[] values = alignedTimeSeries.valuesUnsafe(series);
+    double sumSquares = 0.0d;
+    long nbDays = 0;
+    for (int loopdate = 1; loopdate < values.length; loopdate++) {
+      double change = values[loopdate] - values[loopdate - 1];
+      if (!Double.isNaN(change)) {
+        sumSquares += change * change;
+        nbDays += alignedTimeSeries.getEpochDay(loopdate) - alignedTimeSeries.getEpochDay(loopdate - 1);
+      }
+    }
+    return Math.sqrt(sumSquares / nbDays);
+  }
+
+  /**
+   * Computes the correlation of two series of aligned time series.
+   * <p>
+   * The correlation is computed as in
+   * {@link #correlation(LocalDateDoubleTimeSeries, LocalDateDoubleTimeSeries)}, with the changes paired
+   * by date. The changes with a missing value in one of the series at one of their ends are not included.
+   * 
+   * @param alignedTimeSeries  the aligned time series
+   * @param series1  the index of the first series
+   * @param series2  the index of the second series
+   * @return the correlation
+   */
+  public static double correlation(AlignedTimeSeries alignedTimeSeries, int series1, int series2) {
+    return changeStatistics(alignedTimeSeries, series1, series2).getCorrelation();
+  }
+
+  /**
+   * Computes the statistics of the changes between consecutive dates of two series of aligned time series.
+   * <p>
+   * The changes with a missing value in one of the series at one of their ends are not included.
+   *
+   * @param alignedTimeSeries  the aligned time series
+   * @param series1  the index of the first series
+   * @param series2  the index of the second series
+   * @return the statistics
+   */
+  public static ChangeStatistics changeStatistics(AlignedTimeSeries alignedTimeSeries, int series1, int series2) {
+    double[] values1 = alignedTimeSeries.valuesUnsafe(series1);
+    double[] values2 = alignedTimeSeries.valuesUnsafe(series2);
+    ChangeStatistics statistics = ChangeStatistics.create();
+    for (int loopdate = 1; loopdate < values1.length; loopdate++) {
+      double change1 = values1[loopdate] - values1[loopdate - 1];
+      double change2 = values2[loopdate] - values2[loopdate - 1];
+      if (!Double.isNaN(change1) && !Double.isNaN(change2)) {
+        statistics.accept(change1, change2);
+      }
+    }
+    return statistics;
+  }
+
+  /**
+   * Computes the daily volatility of a time series view.
+   * <p>
+   * The volatility is computed as in {@link #dailyVolatility(LocalDateDoubleTimeSeries)}, directly on the
+   * shared arrays of the view, without copy.
+   * 
+   * @param view  the time series view
+   * @return the daily volatility
+   */
+  public static double dailyVolatility(TimeSeriesView view) {
+    return Math.sqrt(changeStatistics(view).getSumSquares1() / view.days());
+  }
+
+  /**
+   * Computes the correlation of two time series views.
+   * <p>
+   * The correlation is computed as in
+   * {@link #correlation(LocalDateDoubleTimeSeries, LocalDateDoubleTimeSeries)}, directly on the
+   * shared arrays of the views, without copy.
+   * 
+   * @param view1  the first time series view
+   * @param view2  the second time series view
+   * @return the correlation
+   */
+  public static double correlation(TimeSeriesView view1, TimeSeriesView view2) {
+    return changeStatistics(view1, view2).getCorrelation();
+  }
+
+  /**
+   * Computes the statistics of the changes between consecutive points of a time series view.
+   *
+   * @param view  the time series view
+   * @return the statistics, with the view as first series
+   */
+  public static ChangeStatistics changeStatistics(TimeSeriesView view) {
+    ChangeStatistics statistics = ChangeStatistics.create();
+    int size = view.size();
+    for (int looppt = 1; looppt < size; looppt++) {
+      statistics.accept(view.change(looppt));
+    }
+    return statistics;
+  }
+
+  /**
+   * Computes the statistics of the changes between consecutive points of two time series views.
+   * <p>
+   * The views must have the same number of points. The changes are paired by position; the dates are
+   * not checked.
+   *
+   * @param view1  the first time series view
+   * @param view2  the second time series view
+   * @return the statistics
+   */
+  public static ChangeStatistics changeStatistics(TimeSeriesView view1, TimeSeriesView view2) {
+    ArgChecker.isTrue(view1.size() == view2.size(), "time series must have the same length");
+    ChangeStatistics statistics = ChangeStatistics.create();
+    int size = view1.size();
+    for (int looppt = 1; looppt < size; looppt++) {
+      statistics.accept(view1.change(looppt), view2.change(looppt));
+    }
+    return statistics;
+  }
+
+  /**
+   * Computes the rolling daily volatility of a time series.
+   * <p>
+   * The volatility at each date is the {@link #dailyVolatility(LocalDateDoubleTimeSeries)} of the points
+   * of the window ending at that date. The result starts at the first date with a full window.
+   * Each date is computed in constant time with {@link RollingWindowStatistics}.
+   * 
+   * @param timeSeries  the time series
+   * @param windowSize  the number of changes in the window
+   * @return the volatility time series
+   */
+  public static LocalDateDoubleTimeSeries rollingVolatility(LocalDateDoubleTimeSeries timeSeries, int windowSize) {
+    RollingWindowStatistics statistics = RollingWindowStatistics.of(windowSize);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    timeSeries.forEach((date, value) -> {
+      statistics.accept(date, value);
+      if (statistics.isFull()) {
+        builder.put(date, statistics.getVolatility1());
+      }
+    });
+    return builder.build();
+  }
+
+  /**
+   * Computes the rolling correlation of two time series.
+   * <p>
+   * The correlation at each date is the {@link #correlation(LocalDateDoubleTimeSeries, LocalDateDoubleTimeSeries)}
+   * of the points of the window ending at that date. The result starts at the first date with a full window.
+   * The time series must have the same number of points; the changes are paired by position and the dates
+   * of the first series are used. Each date is computed in constant time with {@link RollingWindowStatistics}.
+   * 
+   * @param timeSeries1  the first time series
+   * @param timeSeries2  the second time series
+   * @param windowSize  the number of changes in the window
+   * @return the correlation time series
+   */
+  public static LocalDateDoubleTimeSeries rollingCorrelation(
+      LocalDateDoubleTimeSeries timeSeries1,
+      LocalDateDoubleTimeSeries timeSeries2,
+      int windowSize) {
+
+    ArgChecker.isTrue(timeSeries1.size() == timeSeries2.size(), "time series must have the same length");
+    RollingWindowStatistics statistics = RollingWindowStatistics.of(windowSize);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    Iterator<LocalDate> dates = timeSeries1.dates().iterator();
+    PrimitiveIterator.OfDouble iterator1 = timeSeries1.values().iterator();
+    PrimitiveIterator.OfDouble iterator2 = timeSeries2.values().iterator();
+    while (dates.hasNext()) {
+      LocalDate date = dates.next();
+      statistics.accept(date, iterator1.nextDouble(), iterator2.nextDouble());
+      if (statistics.isFull()) {
+        builder.put(date, statistics.getCorrelation());
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Computes the exponentially weighted moving average (EWMA) daily volatility of a time series.
+   * <p>
+   * The result starts at the second date. See {@link EwmaStatistics} for the definition.
+   * 
+   * @param timeSeries  the time series
+   * @param lambda  the decay factor
+   * @return the volatility time series
+   */
+  public static LocalDateDoubleTimeSeries ewmaVolatility(LocalDateDoubleTimeSeries timeSeries, double lambda) {
+    EwmaStatistics statistics = EwmaStatistics.of(lambda);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    timeSeries.forEach((date, value) -> {
+      statistics.accept(date, value);
+      if (statistics.getCount() > 0) {
+        builder.put(date, statistics.getVolatility1());
+      }
+    });
+    return builder.build();
+  }
+
+  /**
+   * Computes the exponentially weighted moving average (EWMA) correlation of two time series.
+   * <p>
+   * The result starts at the second date. See {@link EwmaStatistics} for the definition.
+   * The time series must have the same number of points; the changes are paired by position and the dates
+   * of the first series are used.
+   * 
+   * @param timeSeries1  the first time series
+   * @param timeSeries2  the second time series
+   * @param lambda  the decay factor
+   * @return the correlation time series
+   */
+  public static LocalDateDoubleTimeSeries ewmaCorrelation(
+      LocalDateDoubleTimeSeries timeSeries1,
+      LocalDateDoubleTimeSeries timeSeries2,
+      double lambda) {
+
+    ArgChecker.isTrue(timeSeries1.size() == timeSeries2.size(), "time series must have the same length");
+    EwmaStatistics statistics = EwmaStatistics.of(lambda);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    Iterator<LocalDate> dates = timeSeries1.dates().iterator();
+    PrimitiveIterator.OfDouble iterator1 = timeSeries1.values().iterator();
+    PrimitiveIterator.OfDouble iterator2 = timeSeries2.values().iterator();
+    while (dates.hasNext()) {
+      LocalDate date = dates.next();
+      statistics.accept(date, iterator1.nextDouble(), iterator2.nextDouble());
+      if (statistics.getCount() > 0) {
+        builder.put(date, statistics.getCorrelation());
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Computes the rolling daily volatility of a time series view.
+   * <p>
+   * The result is the same as {@link #rollingVolatility(LocalDateDoubleTimeSeries, int)} on the
+   * points of the view.
+   * 
+   * @param view  the time series view
+   * @param windowSize  the number of changes in the window
+   * @return the volatility time series
+   */
+  public static LocalDateDoubleTimeSeries rollingVolatility(TimeSeriesView view, int windowSize) {
+    RollingWindowStatistics statistics = RollingWindowStatistics.of(windowSize);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    int size = view.size();
+    for (int looppt = 0; looppt < size; looppt++) {
+      LocalDate date = view.getDate(looppt);
+      statistics.accept(date, view.getValue(looppt));
+      if (statistics.isFull()) {
+        builder.put(date, statistics.getVolatility1());
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Computes the rolling correlation of two time series views.
+   * <p>
+   * The result is the same as {@link #rollingCorrelation(LocalDateDoubleTimeSeries, LocalDateDoubleTimeSeries, int)}
+   * on the points of the views.
+   * 
+   * @param view1  the first time series view
+   * @param view2  the second time series view
+   * @param windowSize  the number of changes in the window
+   * @return the correlation time series
+   */
+  public static LocalDateDoubleTimeSeries rollingCorrelation(
+      TimeSeriesView view1,
+      TimeSeriesView view2,
+      int windowSize) {
+
+    ArgChecker.isTrue(view1.size() == view2.size(), "time series must have the same length");
+    RollingWindowStatistics statistics = RollingWindowStatistics.of(windowSize);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    int size = view1.size();
+    for (int looppt = 0; looppt < size; looppt++) {
+      LocalDate date = view1.getDate(looppt);
+      statistics.accept(date, view1.getValue(looppt), view2.getValue(looppt));
+      if (statistics.isFull()) {
+        builder.put(date, statistics.getCorrelation());
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Computes the exponentially weighted moving average (EWMA) daily volatility of a time series view.
+   * <p>
+   * The result is the same as {@link #ewmaVolatility(LocalDateDoubleTimeSeries, double)} on the
+   * points of the view.
+   * 
+   * @param view  the time series view
+   * @param lambda  the decay factor
+   * @return the volatility time series
+   */
+  public static LocalDateDoubleTimeSeries ewmaVolatility(TimeSeriesView view, double lambda) {
+    EwmaStatistics statistics = EwmaStatistics.of(lambda);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    int size = view.size();
+    for (int looppt = 0; looppt < size; looppt++) {
+      LocalDate date = view.getDate(looppt);
+      statistics.accept(date, view.getValue(looppt));
+      if (statistics.getCount() > 0) {
+        builder.put(date, statistics.getVolatility1());
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Computes the exponentially weighted moving average (EWMA) correlation of two time series views.
+   * <p>
+   * The result is the same as {@link #ewmaCorrelation(LocalDateDoubleTimeSeries, LocalDateDoubleTimeSeries, double)}
+   * on the points of the views.
+   * 
+   * @param view1  the first time series view
+   * @param view2  the second time series view
+   * @param lambda  the decay factor
+   * @return the correlation time series
+   */
+  public static LocalDateDoubleTimeSeries ewmaCorrelation(
+      TimeSeriesView view1,
+      TimeSeriesView view2,
+      double lambda) {
+
+    ArgChecker.isTrue(view1.size() == view2.size(), "time series must have the same length");
+    EwmaStatistics statistics = EwmaStatistics.of(lambda);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    int size = view1.size();
+    for (int looppt = 0; looppt < size; looppt++) {
+      LocalDate date = view1.getDate(looppt);
+      statistics.accept(date, view1.getValue(looppt), view2.getValue(looppt));
+      if (statistics.getCount() > 0) {
+        builder.put(date, statistics.getCorrelation());
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Computes the covariance matrix of the changes of a list of time series.
+   * <p>
+   * The covariance is computed with the same convention as {@link #dailyVolatility(LocalDateDoubleTimeSeries)},
+   * i.e. the sum of the products of the changes between consecutive points divided by the number of
+   * days between the first and last point of the first series:
+   *   delta_{j,i} = v_{j,i+1} - v_{j,i}
+   *   c_{j,k} = sum_i(delta_{j,i}*delta_{k,i}) / d
+   * The diagonal contains the squares of the daily volatilities.
+   * <p>
+   * The time series must have the same number of points. The changes are paired by position.
+   * The changes of all the series are extracted once in a dense panel and the matrix is computed
+   * by blocks of series, the blocks being computed in parallel.
+   * 
+   * @param timeSeries  the time series
+   * @return the covariance matrix
+   */
+  public static DoubleMatrix covarianceMatrix(List<LocalDateDoubleTimeSeries> timeSeries) {
+    ArgChecker.notEmpty(timeSeries, "timeSeries");
+    long nbDays = ChronoUnit.DAYS.between(timeSeries.get(0).getEarliestDate(), timeSeries.get(0).getLatestDate());
+    return covarianceMatrix(changesPanel(timeSeries), nbDays);
+  }
+
+  /**
+   * Computes the correlation matrix of the changes of a list of time series.
+   * <p>
+   * Each element is equal to the {@link #correlation(LocalDateDoubleTimeSeries, LocalDateDoubleTimeSeries)}
+   * of the corresponding pair of series. The diagonal is 1.
+   * <p>
+   * The time series must have the same number of points. The changes are paired by position.
+   * The changes of all the series are extracted once in a dense panel and the matrix is computed
+   * by blocks of series, the blocks being computed in parallel.
+   * 
+   * @param timeSeries  the time series
+   * @return the correlation matrix
+   */
+  public static DoubleMatrix correlationMatrix(List<LocalDateDoubleTimeSeries> timeSeries) {
+    ArgChecker.notEmpty(timeSeries, "timeSeries");
+    return correlationMatrix(changesPanel(timeSeries));
+  }
+
+  /**
+   * Computes the covariance matrix of the changes of a list of time series views.
+   * <p>
+   * The matrix is computed as in {@link #covarianceMatrix(List)}, with the number of days of the first view.
+   * The changes are read directly from the shared arrays of the views.
+   * 
+   * @param views  the time series views
+   * @return the covariance matrix
+   */
+  public static DoubleMatrix covarianceMatrixOfViews(List<TimeSeriesView> views) {
+    ArgChecker.notEmpty(views, "views");
+    return covarianceMatrix(changesPanelOfViews(views), views.get(0).days());
+  }
+
+  /**
+   * Computes the correlation matrix of the changes of a list of time series views.
+   * <p>
+   * The matrix is computed as in {@link #correlationMatrix(List)}.
+   * The changes are read directly from the shared arrays of the views.
+   * 
+   * @param views  the time series views
+   * @return the correlation matrix
+   */
+  public static DoubleMatrix correlationMatrixOfViews(List<TimeSeriesView> views) {
+    ArgChecker.notEmpty(views, "views");
+    return correlationMatrix(changesPanelOfViews(views));
+  }
+
+  // covariance matrix from the panel of changes
+  private static DoubleMatrix covarianceMatrix(double[][] panel, long nbDays) {
+    double[][] products = crossProducts(panel);
+    for (double[] row : products) {
+      for (int loopcol = 0; loopcol < row.length; loopcol++) {
+        row[loopcol] /= nbDays;
+      }
+    }
+    return DoubleMatrix.ofUnsafe(products);
+  }
+
+  // correlation matrix from the panel of changes
+  private static DoubleMatrix correlationMatrix(double[][] panel) {
+    double[][] products = crossProducts(panel);
+    int nbSeries = products.length;
+    double[] norms = new double[nbSeries];
+    for (int loopts = 0; loopts < nbSeries; loopts++) {
+      norms[loopts] = Math.sqrt(products[loopts][loopts]);
+    }
+    for (int loopts1 = 0; loopts1 < nbSeries; loopts1++) {
+      for (int loopts2 = 0; loopts2 < nbSeries; loopts2++) {
+        products[loopts1][loopts2] /= norms[loopts1] * norms[loopts2];
+      }
+    }
+    return DoubleMatrix.ofUnsafe(products);
+  }
+
+  // extracts the changes of all the series; one row by series
+  private static double[][] changesPanel(List<LocalDateDoubleTimeSeries> timeSeries) {
+    int nbSeries = timeSeries.size();
+    int nbPoints = timeSeries.get(0).size();
+    for (LocalDateDoubleTimeSeries ts : timeSeries) {
+      ArgChecker.isTrue(ts.size() == nbPoints, "time series must have the same length");
+    }
+    int nbChanges = Math.max(nbPoints - 1, 0);
+    double[][] panel = new double[nbSeries][nbChanges];
+    IntStream.range(0, nbSeries).parallel().forEach(loopts -> {
+      PrimitiveIterator.OfDouble iterator = timeSeries.get(loopts).values().iterator();
+      if (!iterator.hasNext()) {
+        return;
+      }
+      double[] changes = panel[loopts];
+      double previous = iterator.nextDouble();
+      for (int loopchange = 0; loopchange < nbChanges; loopchange++) {
+        double current = iterator.nextDouble();
+        changes[loopchange] = current - previous;
+        previous = current;
+      }
+    });
+    return panel;
+  }
+
+  // extracts the changes of all the views; one row by view
+  private static double[][] changesPanelOfViews(List<TimeSeriesView> views) {
+    int nbSeries = views.size();
+    int nbPoints = views.get(0).size();
+    for (TimeSeriesView view : views) {
+      ArgChecker.isTrue(view.size() == nbPoints, "time series must have the same length");
+    }
+    int nbChanges = Math.max(nbPoints - 1, 0);
+    double[][] panel = new double[nbSeries][nbChanges];
+    IntStream.range(0, nbSeries).parallel().forEach(loopts -> {
+      TimeSeriesView view = views.get(loopts);
+      double[] changes = panel[loopts];
+      for (int loopchange = 0; loopchange < nbChanges; loopchange++) {
+        changes[loopchange] = view.change(loopchange + 1);
+      }
+    });
+    return panel;
+  }
+
+  // extracts the changes of all the aligned series; one row by series
+  static double[][] changesPanel(AlignedTimeSeries alignedTimeSeries) {
+    int nbSeries = alignedTimeSeries.getSeriesCount();
+    int nbChanges = Math.max(alignedTimeSeries.size() - 1, 0);
+    double[][] panel = new double[nbSeries][nbChanges];
+    IntStream.range(0, nbSeries).parallel().forEach(loopts -> {
+      double[] values = alignedTimeSeries.valuesUnsafe(loopts);
+      double[] changes = panel[loopts];
+      for (int loopchange = 0; loopchange < nbChanges; loopchange++) {
+        changes[loopchange] = values[loopchange + 1] - values[loopchange];
+        ArgChecker.isFalse(Double.isNaN(changes[loopchange]), "aligned time series must not have missing values");
+      }
+    });
+    return panel;
+  }
+
+  // computes the symmetric matrix of the sums of cross-products of the rows of the panel
+  // the upper triangle is split in blocks of series, each pair of blocks is one parallel task
+  // each task writes disjoint elements of the result
+  static double[][] crossProducts(double[][] panel) {
+    int nbSeries = panel.length;
+    int nbBlocks = (nbSeries + BLOCK_SERIES - 1) / BLOCK_SERIES;
+    int nbBlockPairs = nbBlocks * (nbBlocks + 1) / 2;
+    double[][] products = new double[nbSeries][nbSeries];
+    IntStream.range(0, nbBlockPairs).parallel().forEach(looppair -> {
+      // pair index to (block1, block2) with block1 <= block2
+      int block1 = 0;
+      int remaining = looppair;
+      while (remaining >= nbBlocks - block1) {
+        remaining -= nbBlocks - block1;
+        block1++;
+      }
+      int block2 = block1 + remaining;
+      crossProductsBlock(panel, products, block1 * BLOCK_SERIES, block2 * BLOCK_SERIES);
+    });
+    return products;
+  }
+
+  // cross-products between the series of two blocks, accumulated by blocks of changes
+  private static void crossProductsBlock(double[][] panel, double[][] products, int start1, int start2) {
+    int nbSeries = panel.length;
+    int nbChanges = (nbSeries == 0) ? 0 : panel[0].length;
+    int end1 = Math.min(start1 + BLOCK_SERIES, nbSeries);
+    int end2 = Math.min(start2 + BLOCK_SERIES, nbSeries);
+    boolean diagonal = (start1 == start2);
+    double[] block = new double[BLOCK_SERIES * BLOCK_SERIES];
+    for (int loopstart = 0; loopstart < nbChanges; loopstart += BLOCK_CHANGES) {
+      int loopend = Math.min(loopstart + BLOCK_CHANGES, nbChanges);
+      for (int loopts1 = start1; loopts1 < end1; loopts1++) {
+        double[] changes1 = panel[loopts1];
+        int offset = (loopts1 - start1) * BLOCK_SERIES - start2;
+        for (int loopts2 = diagonal ? loopts1 : start2; loopts2 < end2; loopts2++) {
+          double[] changes2 = panel[loopts2];
+          double sum = 0.0d;
+          for (int loopchange = loopstart; loopchange < loopend; loopchange++) {
+            sum += changes1[loopchange] * changes2[loopchange];
+          }
+          block[offset + loopts2] += sum;
+        }
+      }
+    }
+    for (int loopts1 = start1; loopts1 < end1; loopts1++) {
+      int offset = (loopts1 - start1) * BLOCK_SERIES - start2;
+      for (int loopts2 = diagonal ? loopts1 : start2; loopts2 < end2; loopts2++) {
+        products[loopts1][loopts2] = block[offset + loopts2];
+        products[loopts2][loopts1] = block[offset + loopts2];
+      }
+    }
   }
 
 }
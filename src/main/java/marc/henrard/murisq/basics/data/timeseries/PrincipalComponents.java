@@ -0,0 +1,365 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+/**
+ * Principal component analysis (PCA) of the changes of aligned time series.
+ * <p>
+ * The covariance is computed with the same convention as
+ * {@link LocalDateDoubleTimeSeriesUtils#covarianceMatrix(List)}: the sum of the products of the changes
+ * between consecutive dates divided by the number of days between the first and last date. The eigenvalues
+ * are thus daily variances. The aligned time series should not have missing values.
+ * <p>
+ * The full analysis computes the covariance matrix by parallel blocks and decomposes it with the parallel
+ * cyclic Jacobi method. The top components analysis uses randomized subspace iteration on the changes
+ * directly; the covariance matrix of all the series is never formed or decomposed.
+ * <p>
+ * The factor time series are the projections of the changes on the loadings, at the end date of each change.
+ *
+ * @author Marc Henrard
+ */
+public final class PrincipalComponents {
+
+  /** The number of additional directions in the randomized subspace. */
+  private static final int OVERSAMPLING = 10;
+  /** The default number of power iterations in the randomized subspace iteration. */
+  private static final int DEFAULT_POWER_ITERATIONS = 3;
+  /** The seed of the random starting subspace. Fixed so that the results are reproducible. */
+  private static final long SEED = 0L;
+
+  /** The eigenvalues, in decreasing order. */
+  private final DoubleArray eigenvalues;
+  /** The loadings, one column by component. */
+  private final DoubleMatrix loadings;
+  /** The total variance, i.e. the trace of the covariance matrix. */
+  private final double totalVariance;
+  /** The factor time series, one by component. */
+  private final ImmutableList<LocalDateDoubleTimeSeries> factors;
+
+  /**
+   * Computes the full principal component analysis.
+   *
+   * @param alignedTimeSeries  the aligned time series, without missing values
+   * @return the principal components
+   * @throws com.opengamma.strata.math.MathException if the eigen-decomposition does not converge
+   */
+  public static PrincipalComponents of(AlignedTimeSeries alignedTimeSeries) {
+    double[][] panel = LocalDateDoubleTimeSeriesUtils.changesPanel(alignedTimeSeries);
+    int nbDays = days(alignedTimeSeries);
+    double[][] covariance = LocalDateDoubleTimeSeriesUtils.crossProducts(panel);
+    for (double[] row : covariance) {
+      for (int loopcol = 0; loopcol < row.length; loopcol++) {
+        row[loopcol] /= nbDays;
+      }
+    }
+    double totalVariance = trace(covariance);
+    JacobiEigenDecomposition decomposition = JacobiEigenDecomposition.of(covariance);
+    return of(alignedTimeSeries, panel, decomposition.getEigenvalues(), decomposition.getEigenvectors(),
+        panel.length, totalVariance);
+  }
+
+  /**
+   * Computes the top principal components by randomized subspace iteration.
+   *
+   * @param alignedTimeSeries  the aligned time series, without missing values
+   * @param nbComponents  the number of components
+   * @return the principal components
+   */
+  public static PrincipalComponents ofTop(AlignedTimeSeries alignedTimeSeries, int nbComponents) {
+    return ofTop(alignedTimeSeries, nbComponents, DEFAULT_POWER_ITERATIONS);
+  }
+
+  /**
+   * Computes the top principal components by randomized subspace iteration.
+   * <p>
+   * A random subspace of dimension the number of components plus 10 is multiplied by the covariance
+   * and orthonormalized, once plus the number of power iterations. The covariance is applied as the product
+   * by the changes and their transpose. The covariance projected on the subspace is then decomposed.
+   * More power iterations improve the accuracy when the eigenvalues decrease slowly.
+   *
+   * @param alignedTimeSeries  the aligned time series, without missing values
+   * @param nbComponents  the number of components
+   * @param nbPowerIterations  the number of power iterations
+   * @return the principal components
+   * @throws com.opengamma.strata.math.MathException if the eigen-decomposition does not converge
+   */
+  public static PrincipalComponents ofTop(AlignedTimeSeries alignedTimeSeries, int nbComponents, int nbPowerIterations) {
+    int nbSeries = alignedTimeSeries.getSeriesCount();
+    ArgChecker.inRange(nbComponents, 1, nbSeries + 1, "nbComponents");
+    ArgChecker.notNegative(nbPowerIterations, "nbPowerIterations");
+    double[][] panel = LocalDateDoubleTimeSeriesUtils.changesPanel(alignedTimeSeries);
+    int nbDays = days(alignedTimeSeries);
+    int dimension = Math.min(nbComponents + OVERSAMPLING, nbSeries);
+    Random random = new Random(SEED);
+    double[][] basis = new double[nbSeries][dimension];
+    for (double[] row : basis) {
+      for (int loopcol = 0; loopcol < dimension; loopcol++) {
+        row[loopcol] = random.nextGaussian();
+      }
+    }
+    for (int loopit = 0; loopit <= nbPowerIterations; loopit++) {
+      basis = multiplyPanel(panel, multiplyPanelTranspose(panel, basis));
+      orthonormalize(basis);
+    }
+    // covariance projected on the subspace: (X^T Q)^T (X^T Q) / d
+    double[][] projected = multiplyPanelTranspose(panel, basis);
+    double[][] small = new double[dimension][dimension];
+    for (double[] row : projected) {
+      for (int loopi = 0; loopi < dimension; loopi++) {
+        for (int loopj = loopi; loopj < dimension; loopj++) {
+          small[loopi][loopj] += row[loopi] * row[loopj];
+        }
+      }
+    }
+    for (int loopi = 0; loopi < dimension; loopi++) {
+      for (int loopj = loopi; loopj < dimension; loopj++) {
+        small[loopi][loopj] /= nbDays;
+        small[loopj][loopi] = small[loopi][loopj];
+      }
+    }
+    JacobiEigenDecomposition decomposition = JacobiEigenDecomposition.of(small);
+    double[][] vectors = multiply(basis, decomposition.getEigenvectors(), nbComponents);
+    double totalVariance = 0.0d;
+    for (double[] changes : panel) {
+      for (double change : changes) {
+        totalVariance += change * change;
+      }
+    }
+    return of(alignedTimeSeries, panel, decomposition.getEigenvalues(), vectors, nbComponents,
+        totalVariance / nbDays);
+  }
+
+  // creates the components from the eigen-decomposition, the first components are kept
+  private static PrincipalComponents of(
+      AlignedTimeSeries alignedTimeSeries,
+      double[][] panel,
+      double[] eigenvalues,
+      double[][] eigenvectors,
+      int nbComponents,
+      double totalVariance) {
+
+    int nbSeries = panel.length;
+    int nbChanges = alignedTimeSeries.size() - 1;
+    double[][] loadings = new double[nbSeries][nbComponents];
+    for (int loopts = 0; loopts < nbSeries; loopts++) {
+      System.arraycopy(eigenvectors[loopts], 0, loadings[loopts], 0, nbComponents);
+    }
+    // factor changes, in parallel by component
+    double[][] factorChanges = new double[nbComponents][nbChanges];
+    IntStream.range(0, nbComponents).parallel().forEach(loopcomp -> {
+      double[] factor = factorChanges[loopcomp];
+      for (int loopts = 0; loopts < nbSeries; loopts++) {
+        double loading = loadings[loopts][loopcomp];
+        double[] changes = panel[loopts];
+        for (int loopchange = 0; loopchange < nbChanges; loopchange++) {
+          factor[loopchange] += loading * changes[loopchange];
+        }
+      }
+    });
+    ImmutableList.Builder<LocalDateDoubleTimeSeries> factors = ImmutableList.builder();
+    for (int loopcomp = 0; loopcomp < nbComponents; loopcomp++) {
+      LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+      for (int loopchange = 0; loopchange < nbChanges; loopchange++) {
+        builder.put(alignedTimeSeries.getDate(loopchange + 1), factorChanges[loopcomp][loopchange]);
+      }
+      factors.add(builder.build());
+    }
+    return new PrincipalComponents(
+        DoubleArray.copyOf(eigenvalues, 0, nbComponents),
+        DoubleMatrix.ofUnsafe(loadings),
+        totalVariance,
+        factors.build());
+  }
+
+  // private constructor
+  private PrincipalComponents(
+      DoubleArray eigenvalues,
+      DoubleMatrix loadings,
+      double totalVariance,
+      ImmutableList<LocalDateDoubleTimeSeries> factors) {
+
+    this.eigenvalues = eigenvalues;
+    this.loadings = loadings;
+    this.totalVariance = totalVariance;
+    this.factors = factors;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the number of components.
+   *
+   * @return the number of components
+   */
+  public int getComponentCount() {
+    return eigenvalues.size();
+  }
+
+  /**
+   * Returns the eigenvalues, i.e. the daily variances of the components, in decreasing order.
+   *
+   * @return the eigenvalues
+   */
+  public DoubleArray getEigenvalues() {
+    return eigenvalues;
+  }
+
+  /**
+   * Returns the loadings, one row by series and one column by component.
+   *
+   * @return the loadings
+   */
+  public DoubleMatrix getLoadings() {
+    return loadings;
+  }
+
+  /**
+   * Returns the loadings of one component, one element by series.
+   *
+   * @param component  the index of the component
+   * @return the loadings
+   */
+  public DoubleArray getLoadings(int component) {
+    return loadings.column(component);
+  }
+
+  /**
+   * Returns the fraction of the total variance explained by each component.
+   *
+   * @return the explained variance ratios
+   */
+  public DoubleArray getExplainedVarianceRatios() {
+    return eigenvalues.dividedBy(totalVariance);
+  }
+
+  /**
+   * Returns the factor time series of one component.
+   * <p>
+   * The factor at a date is the projection on the loadings of the changes from the previous date.
+   *
+   * @param component  the index of the component
+   * @return the factor time series
+   */
+  public LocalDateDoubleTimeSeries getFactorTimeSeries(int component) {
+    return factors.get(component);
+  }
+
+  /**
+   * Returns the factor time series of all the components.
+   *
+   * @return the factor time series
+   */
+  public ImmutableList<LocalDateDoubleTimeSeries> getFactorTimeSeries() {
+    return factors;
+  }
+
+  //-------------------------------------------------------------------------
+  private static int days(AlignedTimeSeries alignedTimeSeries) {
+    ArgChecker.isTrue(alignedTimeSeries.size() > 1, "aligned time series must have at least two dates");
+    return alignedTimeSeries.getEpochDay(alignedTimeSeries.size() - 1) - alignedTimeSeries.getEpochDay(0);
+  }
+
+  private static double trace(double[][] matrix) {
+    double trace = 0.0d;
+    for (int loopi = 0; loopi < matrix.length; loopi++) {
+      trace += matrix[loopi][loopi];
+    }
+    return trace;
+  }
+
+  // X^T B, with X the panel (series x changes) and B (series x dimension); parallel by blocks of changes
+  private static double[][] multiplyPanelTranspose(double[][] panel, double[][] basis) {
+    int nbSeries = panel.length;
+    int nbChanges = panel[0].length;
+    int dimension = basis[0].length;
+    double[][] result = new double[nbChanges][dimension];
+    int blockSize = 256;
+    int nbBlocks = (nbChanges + blockSize - 1) / blockSize;
+    IntStream.range(0, nbBlocks).parallel().forEach(loopblock -> {
+      int start = loopblock * blockSize;
+      int end = Math.min(start + blockSize, nbChanges);
+      for (int loopts = 0; loopts < nbSeries; loopts++) {
+        double[] changes = panel[loopts];
+        double[] b = basis[loopts];
+        for (int loopchange = start; loopchange < end; loopchange++) {
+          double change = changes[loopchange];
+          double[] row = result[loopchange];
+          for (int loopcol = 0; loopcol < dimension; loopcol++) {
+            row[loopcol] += change * b[loopcol];
+          }
+        }
+      }
+    });
+    return result;
+  }
+
+  // X Z, with X the panel (series x changes) and Z (changes x dimension); parallel by series
+  private static double[][] multiplyPanel(double[][] panel, double[][] matrix) {
+    int nbSeries = panel.length;
+    int dimension = matrix[0].length;
+    double[][] result = new double[nbSeries][dimension];
+    IntStream.range(0, nbSeries).parallel().forEach(loopts -> {
+      double[] changes = panel[loopts];
+      double[] row = result[loopts];
+      for (int loopchange = 0; loopchange < changes.length; loopchange++) {
+        double change = changes[loopchange];
+        double[] z = matrix[loopchange];
+        for (int loopcol = 0; loopcol < dimension; loopcol++) {
+          row[loopcol] += change * z[loopcol];
+        }
+      }
+    });
+    return result;
+  }
+
+  // A B restricted to the first columns of B
+  private static double[][] multiply(double[][] a, double[][] b, int nbColumns) {
+    double[][] result = new double[a.length][nbColumns];
+    for (int looprow = 0; looprow < a.length; looprow++) {
+      for (int loopk = 0; loopk < b.length; loopk++) {
+        double value = a[looprow][loopk];
+        for (int loopcol = 0; loopcol < nbColumns; loopcol++) {
+          result[looprow][loopcol] += value * b[loopk][loopcol];
+        }
+      }
+    }
+    return result;
+  }
+
+  // orthonormalizes the columns in place, modified Gram-Schmidt
+  private static void orthonormalize(double[][] matrix) {
+    int nbRows = matrix.length;
+    int nbColumns = matrix[0].length;
+    for (int loopcol = 0; loopcol < nbColumns; loopcol++) {
+      for (int loopprev = 0; loopprev < loopcol; loopprev++) {
+        double dot = 0.0d;
+        for (int looprow = 0; looprow < nbRows; looprow++) {
+          dot += matrix[looprow][loopcol] * matrix[looprow][loopprev];
+        }
+        for (int looprow = 0; looprow < nbRows; looprow++) {
+          matrix[looprow][loopcol] -= dot * matrix[looprow][loopprev];
+        }
+      }
+      double norm = 0.0d;
+      for (int looprow = 0; looprow < nbRows; looprow++) {
+        norm += matrix[looprow][loopcol] * matrix[looprow][loopcol];
+      }
+      norm = Math.sqrt(norm);
+      for (int looprow = 0; looprow < nbRows; looprow++) {
+        matrix[looprow][loopcol] = (norm > 0.0d) ? matrix[looprow][loopcol] / norm : 0.0d;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,497 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+
+/**
+ * Streaming quantile sketch, in the style of Karnin, Lang and Liberty (KLL).
+ * <p>
+ * The items are stored in levels; an item at level h represents 2^h original items. When a level
+ * exceeds its capacity, it is sorted and one item out of two is promoted to the level above. The capacity
+ * of level h is k*(2/3)^(H-1-h), with H the number of levels, and at least 8. The memory is bounded by
+ * about 3k items plus the number of levels, independently of the number of items accepted.
+ * <p>
+ * The parameter k controls the accuracy: the normalized rank error of a single quantile is below
+ * 2.296/k^0.9723 with a probability of 99%, i.e. about 1.3% for k=200. This is the empirical bound of the
+ * KLL sketches (Apache DataSketches). The item kept in each pair is chosen by a random bit at each compaction;
+ * the bits come from a pseudo-random generator with a seed, so that the sketch is reproducible: the same
+ * items in the same order with the same seed always produce the same sketch.
+ * <p>
+ * Sketches with the same k can be merged, e.g. one sketch by thread, and can be serialized to bytes.
+ * The minimum and maximum are exact.
+ * <p>
+ * The object is mutable and not thread-safe.
+ *
+ * @author Marc Henrard
+ */
+public final class QuantileSketch {
+
+  /** The decay of the capacity from one level to the level below. */
+  private static final double CAPACITY_DECAY = 2.0d / 3.0d;
+  /** The minimal capacity of a level. */
+  private static final int MIN_CAPACITY = 8;
+  /** The factor in the normalized rank error, 99% confidence for a single quantile. */
+  private static final double RANK_ERROR_FACTOR = 2.296d;
+  /** The exponent of k in the normalized rank error. */
+  private static final double RANK_ERROR_EXPONENT = 0.9723d;
+  /** The seed of the random bits by default. */
+  public static final long DEFAULT_SEED = 0x5DEECE66DL;
+  /** The version of the serialized format. */
+  private static final int SERIAL_VERSION = 2;
+  /** The first version of the serialized format, with alternating items and no random state. */
+  private static final int SERIAL_VERSION_1 = 1;
+
+  /** The accuracy parameter. */
+  private final int k;
+  /** The items of each level. Only the first sizes[h] items of level h are used. */
+  private double[][] levels;
+  /** The number of items at each level. */
+  private int[] sizes;
+  /** The capacity of each level. Depends only on the number of levels. */
+  private int[] capacities;
+  /** The sum of the capacities of the levels. */
+  private int totalCapacity;
+  /** The number of levels. */
+  private int nbLevels;
+  /** The state of the generator of the random bits. */
+  private long randomState;
+  /** The number of items stored in all the levels. */
+  private int nbStored;
+  /** The number of items accepted. */
+  private long count;
+  /** The minimum of the items. */
+  private double min = Double.POSITIVE_INFINITY;
+  /** The maximum of the items. */
+  private double max = Double.NEGATIVE_INFINITY;
+
+  /**
+   * Creates an empty sketch with a given accuracy parameter and the default seed.
+   *
+   * @param k  the accuracy parameter, at least 8
+   * @return the sketch
+   */
+  public static QuantileSketch of(int k) {
+    return of(k, DEFAULT_SEED);
+  }
+
+  /**
+   * Creates an empty sketch with a given accuracy parameter and seed of the random bits.
+   * <p>
+   * Sketches to be merged, e.g. one by thread, should preferably use different seeds.
+   *
+   * @param k  the accuracy parameter, at least 8
+   * @param seed  the seed
+   * @return the sketch
+   */
+  public static QuantileSketch of(int k, long seed) {
+    ArgChecker.isTrue(k >= MIN_CAPACITY, "k must be at least {}", MIN_CAPACITY);
+    return new QuantileSketch(k, 1, seed);
+  }
+
+  /**
+   * Creates an empty sketch with a given approximate normalized rank error.
+   *
+   * @param rankError  the normalized rank error, between 0 and 0.2
+   * @return the sketch
+   */
+  public static QuantileSketch ofRankError(double rankError) {
+    ArgChecker.inRangeExclusive(rankError, 0.0d, 0.2d, "rankError");
+    int k = (int) Math.ceil(Math.pow(RANK_ERROR_FACTOR / rankError, 1.0d / RANK_ERROR_EXPONENT));
+    return of(Math.max(k, MIN_CAPACITY));
+  }
+
+  /**
+   * Creates a sketch of the changes between consecutive points of a time series.
+   *
+   * @param timeSeries  the time series
+   * @param k  the accuracy parameter
+   * @return the sketch
+   */
+  public static QuantileSketch ofChanges(LocalDateDoubleTimeSeries timeSeries, int k) {
+    QuantileSketch sketch = of(k);
+    sketch.acceptChanges(timeSeries);
+    return sketch;
+  }
+
+  // private constructor
+  private QuantileSketch(int k, int nbLevels, long randomState) {
+    this.k = k;
+    this.nbLevels = nbLevels;
+    this.randomState = randomState;
+    this.levels = new double[nbLevels][];
+    this.sizes = new int[nbLevels];
+    for (int looplevel = 0; looplevel < nbLevels; looplevel++) {
+      levels[looplevel] = new double[MIN_CAPACITY];
+    }
+    updateCapacities();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds an item.
+   *
+   * @param value  the value, not NaN
+   */
+  public void accept(double value) {
+    ArgChecker.isFalse(Double.isNaN(value), "value must not be NaN");
+    add(0, value);
+    count++;
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+    if (nbStored >= totalCapacity) {
+      compress();
+    }
+  }
+
+  /**
+   * Adds the changes between consecutive points of a time series.
+   *
+   * @param timeSeries  the time series
+   */
+  public void acceptChanges(LocalDateDoubleTimeSeries timeSeries) {
+    PrimitiveIterator.OfDouble iterator = timeSeries.values().iterator();
+    if (!iterator.hasNext()) {
+      return;
+    }
+    double previous = iterator.nextDouble();
+    while (iterator.hasNext()) {
+      double current = iterator.nextDouble();
+      accept(current - previous);
+      previous = current;
+    }
+  }
+
+  /**
+   * Adds the changes between consecutive points of a time series view.
+   *
+   * @param view  the time series view
+   */
+  public void acceptChanges(TimeSeriesView view) {
+    int size = view.size();
+    for (int looppt = 1; looppt < size; looppt++) {
+      accept(view.change(looppt));
+    }
+  }
+
+  /**
+   * Merges another sketch into this one. The other sketch is not modified.
+   *
+   * @param other  the other sketch, with the same k
+   * @return this sketch
+   */
+  public QuantileSketch merge(QuantileSketch other) {
+    ArgChecker.isTrue(other.k == k, "sketches must have the same k, {} and {}", k, other.k);
+    while (nbLevels < other.nbLevels) {
+      addLevel();
+    }
+    for (int looplevel = 0; looplevel < other.nbLevels; looplevel++) {
+      for (int loopitem = 0; loopitem < other.sizes[looplevel]; loopitem++) {
+        add(looplevel, other.levels[looplevel][loopitem]);
+      }
+    }
+    count += other.count;
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+    while (nbStored >= totalCapacity) {
+      compress();
+    }
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the accuracy parameter.
+   *
+   * @return k
+   */
+  public int getK() {
+    return k;
+  }
+
+  /**
+   * Returns the normalized rank error of a single quantile, with a probability of 99%.
+   *
+   * @return the rank error
+   */
+  public double getRankError() {
+    return RANK_ERROR_FACTOR / Math.pow(k, RANK_ERROR_EXPONENT);
+  }
+
+  /**
+   * Returns the number of items accepted.
+   *
+   * @return the number of items
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the number of items stored.
+   *
+   * @return the number of items stored
+   */
+  public int getStoredCount() {
+    return nbStored;
+  }
+
+  /**
+   * Checks if the sketch is empty.
+   *
+   * @return true if empty
+   */
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  /**
+   * Returns the minimum of the items.
+   *
+   * @return the minimum
+   */
+  public double getMin() {
+    ArgChecker.isFalse(isEmpty(), "sketch is empty");
+    return min;
+  }
+
+  /**
+   * Returns the maximum of the items.
+   *
+   * @return the maximum
+   */
+  public double getMax() {
+    ArgChecker.isFalse(isEmpty(), "sketch is empty");
+    return max;
+  }
+
+  /**
+   * Returns an approximate quantile.
+   * <p>
+   * The quantile is the smallest stored item for which the weight of the items lower or equal is
+   * at least the level times the count. The levels 0 and 1 return the exact minimum and maximum.
+   *
+   * @param level  the quantile level, between 0 and 1
+   * @return the quantile
+   */
+  public double quantile(double level) {
+    return quantiles(DoubleArray.of(level)).get(0);
+  }
+
+  /**
+   * Returns approximate quantiles for several levels.
+   * <p>
+   * The stored items are sorted once for all the levels.
+   *
+   * @param levels  the quantile levels, between 0 and 1
+   * @return the quantiles
+   */
+  public DoubleArray quantiles(DoubleArray levels) {
+    ArgChecker.isFalse(isEmpty(), "sketch is empty");
+    double[] values = new double[nbStored];
+    long[] cumulativeWeights = new long[nbStored];
+    sortedView(values, cumulativeWeights);
+    double[] quantiles = new double[levels.size()];
+    for (int loopq = 0; loopq < quantiles.length; loopq++) {
+      double level = levels.get(loopq);
+      ArgChecker.inRangeInclusive(level, 0.0d, 1.0d, "level");
+      if (level == 0.0d) {
+        quantiles[loopq] = min;
+      } else if (level == 1.0d) {
+        quantiles[loopq] = max;
+      } else {
+        long target = (long) Math.ceil(level * count);
+        int index = Arrays.binarySearch(cumulativeWeights, target);
+        // cumulative weights are strictly increasing: first item reaching the target
+        index = (index >= 0) ? index : Math.min(-index - 1, nbStored - 1);
+        quantiles[loopq] = values[index];
+      }
+    }
+    return DoubleArray.ofUnsafe(quantiles);
+  }
+
+  /**
+   * Returns the approximate normalized rank of a value, i.e. the fraction of the items lower or equal to it.
+   *
+   * @param value  the value
+   * @return the rank, between 0 and 1
+   */
+  public double rank(double value) {
+    ArgChecker.isFalse(isEmpty(), "sketch is empty");
+    long weight = 0;
+    for (int looplevel = 0; looplevel < nbLevels; looplevel++) {
+      double[] items = levels[looplevel];
+      int nbItems = 0;
+      for (int loopitem = 0; loopitem < sizes[looplevel]; loopitem++) {
+        if (items[loopitem] <= value) {
+          nbItems++;
+        }
+      }
+      weight += ((long) nbItems) << looplevel;
+    }
+    return (double) weight / count;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Serializes the sketch to bytes.
+   * <p>
+   * The format is little-endian: the version, k, the count, the minimum, the maximum, the state of the
+   * random bits, the number of levels and, for each level, the number of items and the items.
+   *
+   * @return the bytes
+   */
+  public byte[] toBytes() {
+    ByteBuffer buffer = ByteBuffer.allocate(44 + 4 * nbLevels + 8 * nbStored).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(SERIAL_VERSION).putInt(k).putLong(count).putDouble(min).putDouble(max)
+        .putLong(randomState).putInt(nbLevels);
+    for (int looplevel = 0; looplevel < nbLevels; looplevel++) {
+      buffer.putInt(sizes[looplevel]);
+      for (int loopitem = 0; loopitem < sizes[looplevel]; loopitem++) {
+        buffer.putDouble(levels[looplevel][loopitem]);
+      }
+    }
+    return buffer.array();
+  }
+
+  /**
+   * Creates a sketch from its serialized form.
+   * <p>
+   * The sketches of the first version, without random state, continue with the default seed.
+   *
+   * @param bytes  the bytes, as produced by {@link #toBytes()}
+   * @return the sketch
+   */
+  public static QuantileSketch fromBytes(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    int version = buffer.getInt();
+    ArgChecker.isTrue(version == SERIAL_VERSION || version == SERIAL_VERSION_1,
+        "unsupported sketch version {}", version);
+    int k = buffer.getInt();
+    long count = buffer.getLong();
+    double min = buffer.getDouble();
+    double max = buffer.getDouble();
+    long randomState = (version == SERIAL_VERSION_1) ? DEFAULT_SEED : buffer.getLong();
+    int nbLevels = buffer.getInt();
+    ArgChecker.isTrue(k >= MIN_CAPACITY && nbLevels > 0 && nbLevels < 64, "invalid sketch header");
+    QuantileSketch sketch = new QuantileSketch(k, nbLevels, randomState);
+    for (int looplevel = 0; looplevel < nbLevels; looplevel++) {
+      if (version == SERIAL_VERSION_1) {
+        buffer.getInt(); // number of compactions, not used
+      }
+      int size = buffer.getInt();
+      for (int loopitem = 0; loopitem < size; loopitem++) {
+        sketch.add(looplevel, buffer.getDouble());
+      }
+    }
+    sketch.count = count;
+    sketch.min = min;
+    sketch.max = max;
+    return sketch;
+  }
+
+  //-------------------------------------------------------------------------
+  // adds an item to a level
+  private void add(int level, double value) {
+    if (sizes[level] == levels[level].length) {
+      levels[level] = Arrays.copyOf(levels[level], 2 * levels[level].length);
+    }
+    levels[level][sizes[level]++] = value;
+    nbStored++;
+  }
+
+  private void addLevel() {
+    levels = Arrays.copyOf(levels, nbLevels + 1);
+    sizes = Arrays.copyOf(sizes, nbLevels + 1);
+    levels[nbLevels] = new double[MIN_CAPACITY];
+    nbLevels++;
+    updateCapacities();
+  }
+
+  // computes the capacities of the levels, which change only with the number of levels
+  private void updateCapacities() {
+    capacities = new int[nbLevels];
+    totalCapacity = 0;
+    double capacity = k;
+    for (int looplevel = nbLevels - 1; looplevel >= 0; looplevel--) {
+      capacities[looplevel] = Math.max(MIN_CAPACITY, (int) Math.ceil(capacity));
+      totalCapacity += capacities[looplevel];
+      capacity *= CAPACITY_DECAY;
+    }
+  }
+
+  // next random bit, from a SplitMix64 generator
+  private int nextBit() {
+    randomState += 0x9E3779B97F4A7C15L;
+    long z = randomState;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return (int) ((z ^ (z >>> 31)) >>> 63);
+  }
+
+  // compacts the levels at or above capacity, from the bottom
+  // with an odd number of items, the smallest one stays at its level
+  private void compress() {
+    for (int looplevel = 0; looplevel < nbLevels; looplevel++) {
+      int size = sizes[looplevel];
+      if (size < capacities[looplevel]) {
+        continue;
+      }
+      if (looplevel == nbLevels - 1) {
+        addLevel();
+      }
+      double[] items = levels[looplevel];
+      Arrays.sort(items, 0, size);
+      int start = size & 1;
+      int offset = nextBit();
+      for (int loopitem = start + offset; loopitem < size; loopitem += 2) {
+        add(looplevel + 1, items[loopitem]);
+      }
+      nbStored -= size - start;
+      sizes[looplevel] = start;
+    }
+  }
+
+  // sorted stored items with their cumulative weights
+  private void sortedView(double[] values, long[] cumulativeWeights) {
+    long[] weights = new long[nbStored];
+    int index = 0;
+    for (int looplevel = 0; looplevel < nbLevels; looplevel++) {
+      double[] items = levels[looplevel].clone();
+      Arrays.sort(items, 0, sizes[looplevel]);
+      // merge the sorted level into the sorted items of the lower levels, from the end
+      int i1 = index - 1;
+      int i2 = sizes[looplevel] - 1;
+      int dest = index + sizes[looplevel] - 1;
+      while (i2 >= 0) {
+        if (i1 >= 0 && values[i1] > items[i2]) {
+          values[dest] = values[i1];
+          weights[dest--] = weights[i1--];
+        } else {
+          values[dest] = items[i2--];
+          weights[dest--] = 1L << looplevel;
+        }
+      }
+      index += sizes[looplevel];
+    }
+    long cumulative = 0;
+    for (int loopitem = 0; loopitem < nbStored; loopitem++) {
+      cumulative += weights[loopitem];
+      cumulativeWeights[loopitem] = cumulative;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "QuantileSketch{k=" + k + ", count=" + count + ", stored=" + nbStored + ", levels=" + nbLevels + "}";
+  }
+
+}
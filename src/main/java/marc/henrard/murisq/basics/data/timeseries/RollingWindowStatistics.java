@@ -0,0 +1,207 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import java.time.LocalDate;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Statistics of the changes of one or two time series on a rolling window.
+ * <p>
+ * The points are provided one at a time, in increasing date order. The window contains the last
+ * changes between consecutive points, up to the window size. Each new point is an update in constant
+ * time: the new change is added to the statistics and the oldest one removed.
+ * To avoid the accumulation of rounding errors, the statistics are recomputed from the window
+ * once every window size updates.
+ * <p>
+ * The volatility on the window has the same definition as
+ * {@link LocalDateDoubleTimeSeriesUtils#dailyVolatility(com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries)}
+ * applied to the points of the window: the sum of the squared changes divided by the number of days between
+ * the first and last point of the window. The correlation has the same definition as
+ * {@link LocalDateDoubleTimeSeriesUtils#correlation}.
+ * <p>
+ * The object is mutable and not thread-safe.
+ *
+ * @author Marc Henrard
+ */
+public final class RollingWindowStatistics {
+
+  /** The number of changes in a full window. */
+  private final int windowSize;
+  /** The changes of the first series in the window, circular buffer. */
+  private final double[] changes1;
+  /** The changes of the second series in the window, circular buffer. */
+  private final double[] changes2;
+  /** The dates of the points in the window, as epoch days, circular buffer of size window + 1. */
+  private final long[] epochDays;
+  /** The statistics of the changes in the window. */
+  private final ChangeStatistics statistics = ChangeStatistics.create();
+  /** The number of points received. */
+  private long nbPoints;
+  /** The last value of the first series. */
+  private double last1;
+  /** The last value of the second series. */
+  private double last2;
+  /** The number of updates since the statistics were last recomputed from the window. */
+  private int nbUpdates;
+
+  /**
+   * Creates rolling statistics for a given window size.
+   *
+   * @param windowSize  the number of changes in the window
+   * @return the statistics
+   */
+  public static RollingWindowStatistics of(int windowSize) {
+    ArgChecker.notNegativeOrZero(windowSize, "windowSize");
+    return new RollingWindowStatistics(windowSize);
+  }
+
+  // private constructor
+  private RollingWindowStatistics(int windowSize) {
+    this.windowSize = windowSize;
+    this.changes1 = new double[windowSize];
+    this.changes2 = new double[windowSize];
+    this.epochDays = new long[windowSize + 1];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a point of one series.
+   * <p>
+   * The statistics of the second series are then zero.
+   *
+   * @param date  the date, after the date of the previous point
+   * @param value  the value
+   */
+  public void accept(LocalDate date, double value) {
+    accept(date, value, 0.0d);
+  }
+
+  /**
+   * Adds a point of two series.
+   *
+   * @param date  the date, after the date of the previous point
+   * @param value1  the value of the first series
+   * @param value2  the value of the second series
+   */
+  public void accept(LocalDate date, double value1, double value2) {
+    long epochDay = date.toEpochDay();
+    if (nbPoints > 0) {
+      long previousDay = epochDays[(int) ((nbPoints - 1) % (windowSize + 1))];
+      ArgChecker.isTrue(epochDay > previousDay, "dates must be in increasing order");
+      int index = (int) ((nbPoints - 1) % windowSize);
+      if (nbPoints > windowSize) {
+        statistics.remove(changes1[index], changes2[index]);
+      }
+      changes1[index] = value1 - last1;
+      changes2[index] = value2 - last2;
+      statistics.accept(changes1[index], changes2[index]);
+      nbUpdates++;
+    }
+    epochDays[(int) (nbPoints % (windowSize + 1))] = epochDay;
+    last1 = value1;
+    last2 = value2;
+    nbPoints++;
+    if (nbUpdates == windowSize) {
+      recompute();
+    }
+  }
+
+  /**
+   * Resets the statistics to empty.
+   */
+  public void clear() {
+    statistics.clear();
+    nbPoints = 0;
+    nbUpdates = 0;
+  }
+
+  // recomputes the statistics from the changes in the window
+  private void recompute() {
+    statistics.clear();
+    int nbChanges = getCount();
+    for (int loopchange = 0; loopchange < nbChanges; loopchange++) {
+      statistics.accept(changes1[loopchange], changes2[loopchange]);
+    }
+    nbUpdates = 0;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the window size, in number of changes.
+   *
+   * @return the window size
+   */
+  public int getWindowSize() {
+    return windowSize;
+  }
+
+  /**
+   * Returns the number of changes in the window.
+   *
+   * @return the number of changes
+   */
+  public int getCount() {
+    return (int) Math.min(Math.max(nbPoints - 1, 0), windowSize);
+  }
+
+  /**
+   * Returns true if the window contains the number of changes of the window size.
+   *
+   * @return true if the window is full
+   */
+  public boolean isFull() {
+    return getCount() == windowSize;
+  }
+
+  /**
+   * Returns the statistics of the changes in the window. The returned object should not be modified.
+   *
+   * @return the statistics
+   */
+  public ChangeStatistics getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * Returns the number of days between the first and last point of the window.
+   *
+   * @return the number of days
+   */
+  public long getDays() {
+    int nbChanges = getCount();
+    long lastDay = epochDays[(int) ((nbPoints - 1) % (windowSize + 1))];
+    long firstDay = epochDays[(int) ((nbPoints - 1 - nbChanges) % (windowSize + 1))];
+    return lastDay - firstDay;
+  }
+
+  /**
+   * Returns the daily volatility of the first series on the window.
+   *
+   * @return the volatility
+   */
+  public double getVolatility1() {
+    return Math.sqrt(statistics.getSumSquares1() / getDays());
+  }
+
+  /**
+   * Returns the daily volatility of the second series on the window.
+   *
+   * @return the volatility
+   */
+  public double getVolatility2() {
+    return Math.sqrt(statistics.getSumSquares2() / getDays());
+  }
+
+  /**
+   * Returns the correlation of the two series on the window.
+   *
+   * @return the correlation
+   */
+  public double getCorrelation() {
+    return statistics.getCorrelation();
+  }
+
+}
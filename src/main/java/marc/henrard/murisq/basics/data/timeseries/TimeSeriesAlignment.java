@@ -0,0 +1,190 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+
+/**
+ * Alignment of the dates of several time series.
+ * <p>
+ * The dates and values of each series are extracted once in primitive arrays and the series are
+ * aligned by a sorted merge-join, in a time linear in the total number of points.
+ *
+ * @author Marc Henrard
+ */
+public final class TimeSeriesAlignment {
+
+  // private constructor
+  private TimeSeriesAlignment() {
+  }
+
+  /**
+   * Aligns two time series.
+   *
+   * @param timeSeries1  the first time series
+   * @param timeSeries2  the second time series
+   * @param mode  the alignment mode
+   * @return the aligned time series
+   */
+  public static AlignedTimeSeries align(
+      LocalDateDoubleTimeSeries timeSeries1,
+      LocalDateDoubleTimeSeries timeSeries2,
+      TimeSeriesAlignmentMode mode) {
+
+    return align(ImmutableList.of(timeSeries1, timeSeries2), mode);
+  }
+
+  /**
+   * Aligns a list of time series.
+   * <p>
+   * The series in the result are in the order of the list.
+   *
+   * @param timeSeries  the time series
+   * @param mode  the alignment mode
+   * @return the aligned time series
+   */
+  public static AlignedTimeSeries align(
+      List<LocalDateDoubleTimeSeries> timeSeries,
+      TimeSeriesAlignmentMode mode) {
+
+    ArgChecker.notEmpty(timeSeries, "timeSeries");
+    ArgChecker.notNull(mode, "mode");
+    int nbSeries = timeSeries.size();
+    int[][] days = new int[nbSeries][];
+    double[][] values = new double[nbSeries][];
+    for (int loopts = 0; loopts < nbSeries; loopts++) {
+      LocalDateDoubleTimeSeries ts = timeSeries.get(loopts);
+      int[] seriesDays = new int[ts.size()];
+      double[] seriesValues = new double[ts.size()];
+      int[] index = new int[1];
+      ts.forEach((date, value) -> {
+        seriesDays[index[0]] = (int) date.toEpochDay();
+        seriesValues[index[0]] = value;
+        index[0]++;
+      });
+      days[loopts] = seriesDays;
+      values[loopts] = seriesValues;
+    }
+    switch (mode) {
+      case INNER:
+        return inner(days, values);
+      case OUTER:
+        return union(days, values, false);
+      case FORWARD_FILL:
+        return union(days, values, true);
+      default:
+        throw new IllegalArgumentException("Alignment mode not known: " + mode);
+    }
+  }
+
+  // dates present in all the series
+  private static AlignedTimeSeries inner(int[][] days, double[][] values) {
+    int nbSeries = days.length;
+    int maxSize = Integer.MAX_VALUE;
+    for (int[] seriesDays : days) {
+      maxSize = Math.min(maxSize, seriesDays.length);
+    }
+    int[] alignedDays = new int[maxSize];
+    double[][] alignedValues = new double[nbSeries][maxSize];
+    int[] positions = new int[nbSeries];
+    int nbAligned = 0;
+    if (maxSize > 0) {
+      int candidate = days[0][0];
+      while (true) {
+        boolean allEqual = true;
+        for (int loopts = 0; loopts < nbSeries; loopts++) {
+          int[] seriesDays = days[loopts];
+          int position = positions[loopts];
+          while (position < seriesDays.length && seriesDays[position] < candidate) {
+            position++;
+          }
+          positions[loopts] = position;
+          if (position == seriesDays.length) {
+            return AlignedTimeSeries.ofUnsafe(Arrays.copyOf(alignedDays, nbAligned), trim(alignedValues, nbAligned));
+          }
+          if (seriesDays[position] > candidate) {
+            candidate = seriesDays[position];
+            allEqual = false;
+          }
+        }
+        if (allEqual) {
+          alignedDays[nbAligned] = candidate;
+          for (int loopts = 0; loopts < nbSeries; loopts++) {
+            alignedValues[loopts][nbAligned] = values[loopts][positions[loopts]];
+            positions[loopts]++;
+          }
+          nbAligned++;
+          if (positions[0] == days[0].length) {
+            break;
+          }
+          candidate = days[0][positions[0]];
+        }
+      }
+    }
+    return AlignedTimeSeries.ofUnsafe(Arrays.copyOf(alignedDays, nbAligned), trim(alignedValues, nbAligned));
+  }
+
+  // dates present in at least one series, missing values NaN or forward filled
+  private static AlignedTimeSeries union(int[][] days, double[][] values, boolean forwardFill) {
+    int nbSeries = days.length;
+    int maxSize = 0;
+    int start = Integer.MIN_VALUE;
+    for (int[] seriesDays : days) {
+      maxSize += seriesDays.length;
+      if (forwardFill) {
+        if (seriesDays.length == 0) {
+          return AlignedTimeSeries.ofUnsafe(new int[0], new double[nbSeries][0]);
+        }
+        start = Math.max(start, seriesDays[0]);
+      }
+    }
+    int[] alignedDays = new int[maxSize];
+    double[][] alignedValues = new double[nbSeries][maxSize];
+    int[] positions = new int[nbSeries];
+    double[] lastValues = new double[nbSeries];
+    Arrays.fill(lastValues, Double.NaN);
+    int nbAligned = 0;
+    while (true) {
+      int next = Integer.MAX_VALUE;
+      for (int loopts = 0; loopts < nbSeries; loopts++) {
+        if (positions[loopts] < days[loopts].length) {
+          next = Math.min(next, days[loopts][positions[loopts]]);
+        }
+      }
+      if (next == Integer.MAX_VALUE) {
+        break;
+      }
+      for (int loopts = 0; loopts < nbSeries; loopts++) {
+        int position = positions[loopts];
+        if (position < days[loopts].length && days[loopts][position] == next) {
+          lastValues[loopts] = values[loopts][position];
+          alignedValues[loopts][nbAligned] = lastValues[loopts];
+          positions[loopts]++;
+        } else {
+          alignedValues[loopts][nbAligned] = forwardFill ? lastValues[loopts] : Double.NaN;
+        }
+      }
+      if (next >= start) {
+        alignedDays[nbAligned] = next;
+        nbAligned++;
+      }
+    }
+    return AlignedTimeSeries.ofUnsafe(Arrays.copyOf(alignedDays, nbAligned), trim(alignedValues, nbAligned));
+  }
+
+  // trims the arrays of values to a given length
+  private static double[][] trim(double[][] values, int length) {
+    double[][] trimmed = new double[values.length][];
+    for (int loopts = 0; loopts < values.length; loopts++) {
+      trimmed[loopts] = (values[loopts].length == length) ? values[loopts] : Arrays.copyOf(values[loopts], length);
+    }
+    return trimmed;
+  }
+
+}
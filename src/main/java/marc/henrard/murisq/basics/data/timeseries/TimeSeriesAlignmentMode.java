@@ -0,0 +1,23 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+/**
+ * The way the dates of several time series are aligned.
+ *
+ * @author Marc Henrard
+ */
+public enum TimeSeriesAlignmentMode {
+
+  /** The dates present in all the series. */
+  INNER,
+  /** The dates present in at least one series. The missing values are NaN. */
+  OUTER,
+  /**
+   * The dates present in at least one series, starting from the first date at which all the series
+   * have a value. The missing values are the last previous value of the series.
+   */
+  FORWARD_FILL;
+
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+
+/**
+ * Resampling of time series on a business day grid, with gap filling.
+ * <p>
+ * The dates and values of each series are extracted once in primitive arrays and the series is resampled
+ * in one merge pass with the grid, without calendar lookups. The series are resampled in parallel and the
+ * result shares the epoch days of the grid.
+ *
+ * @author Marc Henrard
+ */
+public final class TimeSeriesResampling {
+
+  // private constructor
+  private TimeSeriesResampling() {
+  }
+
+  /**
+   * Resamples a time series on a grid.
+   * <p>
+   * The dates of the grid without value, before the first point of the series, are not in the result.
+   *
+   * @param timeSeries  the time series
+   * @param grid  the grid
+   * @param mode  the resampling mode
+   * @return the resampled time series
+   */
+  public static LocalDateDoubleTimeSeries resample(
+      LocalDateDoubleTimeSeries timeSeries,
+      BusinessDayGrid grid,
+      TimeSeriesResamplingMode mode) {
+
+    return resample(ImmutableList.of(timeSeries), grid, mode).toTimeSeries(0);
+  }
+
+  /**
+   * Resamples a list of time series on a grid.
+   * <p>
+   * The result has the dates of the grid. The dates before the first point of a series have the value NaN
+   * for that series. The series in the result are in the order of the list.
+   *
+   * @param timeSeries  the time series
+   * @param grid  the grid
+   * @param mode  the resampling mode
+   * @return the resampled time series
+   */
+  public static AlignedTimeSeries resample(
+      List<LocalDateDoubleTimeSeries> timeSeries,
+      BusinessDayGrid grid,
+      TimeSeriesResamplingMode mode) {
+
+    ArgChecker.notNull(mode, "mode");
+    int[] gridDays = grid.epochDaysUnsafe();
+    double[][] values = new double[timeSeries.size()][];
+    IntStream.range(0, timeSeries.size()).parallel().forEach(loopts -> {
+      LocalDateDoubleTimeSeries ts = timeSeries.get(loopts);
+      int[] days = new int[ts.size()];
+      double[] points = new double[ts.size()];
+      int[] index = new int[1];
+      ts.forEach((date, value) -> {
+        days[index[0]] = (int) date.toEpochDay();
+        points[index[0]] = value;
+        index[0]++;
+      });
+      values[loopts] = resample(days, points, gridDays, mode == TimeSeriesResamplingMode.LINEAR);
+    });
+    return AlignedTimeSeries.ofUnsafe(gridDays, values);
+  }
+
+  // one merge pass on the points and the grid
+  private static double[] resample(int[] days, double[] points, int[] gridDays, boolean linear) {
+    int nbGrid = gridDays.length;
+    int nbPoints = days.length;
+    double[] result = new double[nbGrid];
+    int looppt = 0; // index of the first point after the grid date
+    for (int loopgrid = 0; loopgrid < nbGrid; loopgrid++) {
+      int day = gridDays[loopgrid];
+      while (looppt < nbPoints && days[looppt] <= day) {
+        looppt++;
+      }
+      if (looppt == 0) {
+        result[loopgrid] = Double.NaN;
+      } else if (!linear || looppt == nbPoints || days[looppt - 1] == day) {
+        result[loopgrid] = points[looppt - 1];
+      } else {
+        double weight = (double) (day - days[looppt - 1]) / (days[looppt] - days[looppt - 1]);
+        result[loopgrid] = (1.0d - weight) * points[looppt - 1] + weight * points[looppt];
+      }
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,24 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+/**
+ * The way a time series is resampled on a grid of dates.
+ * <p>
+ * In both modes, the dates of the grid before the first point of the series have no value and the dates
+ * after the last point have the last value.
+ *
+ * @author Marc Henrard
+ */
+public enum TimeSeriesResamplingMode {
+
+  /** The value at a date is the value of the last point on or before the date. */
+  FORWARD_FILL,
+  /**
+   * The value at a date is linearly interpolated, in days, between the last point on or before the date
+   * and the next point.
+   */
+  LINEAR;
+
+}
@@ -0,0 +1,244 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+/**
+ * Immutable view on a window of a time series.
+ * <p>
+ * The dates, as epoch days, and the values are stored in primitive arrays shared by all the views on
+ * the same history; a view is a start and end index in those arrays. Creating a sub-view does not copy
+ * the data, so that many windows on one history can be analyzed without copy.
+ * <p>
+ * The statistics of {@link LocalDateDoubleTimeSeriesUtils} accept views.
+ *
+ * @author Marc Henrard
+ */
+public final class TimeSeriesView {
+
+  /** The dates of the full history, as epoch days, in increasing order. */
+  private final int[] epochDays;
+  /** The values of the full history. */
+  private final double[] values;
+  /** The start index, inclusive. */
+  private final int start;
+  /** The end index, exclusive. */
+  private final int end;
+
+  /**
+   * Creates a view on the full time series. The points are copied once in primitive arrays.
+   *
+   * @param timeSeries  the time series
+   * @return the view
+   */
+  public static TimeSeriesView of(LocalDateDoubleTimeSeries timeSeries) {
+    int size = timeSeries.size();
+    int[] epochDays = new int[size];
+    double[] values = new double[size];
+    int[] index = new int[1];
+    timeSeries.forEach((date, value) -> {
+      epochDays[index[0]] = (int) date.toEpochDay();
+      values[index[0]] = value;
+      index[0]++;
+    });
+    return new TimeSeriesView(epochDays, values, 0, size);
+  }
+
+  /**
+   * Creates a view on one series of aligned time series, without copy.
+   * <p>
+   * The series should not have missing values.
+   *
+   * @param alignedTimeSeries  the aligned time series
+   * @param series  the index of the series
+   * @return the view
+   */
+  public static TimeSeriesView of(AlignedTimeSeries alignedTimeSeries, int series) {
+    return new TimeSeriesView(
+        alignedTimeSeries.epochDaysUnsafe(), alignedTimeSeries.valuesUnsafe(series), 0, alignedTimeSeries.size());
+  }
+
+  // private constructor
+  private TimeSeriesView(int[] epochDays, double[] values, int start, int end) {
+    this.epochDays = epochDays;
+    this.values = values;
+    this.start = start;
+    this.end = end;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a view on a range of points of this view, without copy.
+   *
+   * @param fromIndex  the index of the first point, inclusive
+   * @param toIndex  the index of the last point, exclusive
+   * @return the view
+   */
+  public TimeSeriesView subView(int fromIndex, int toIndex) {
+    ArgChecker.inOrderOrEqual(fromIndex, toIndex, "fromIndex", "toIndex");
+    ArgChecker.isTrue(fromIndex >= 0 && toIndex <= size(), "indices must be between 0 and {}", size());
+    return new TimeSeriesView(epochDays, values, start + fromIndex, start + toIndex);
+  }
+
+  /**
+   * Returns a view on the points of this view between two dates, without copy.
+   * <p>
+   * As for {@link LocalDateDoubleTimeSeries#subSeries(LocalDate, LocalDate)}, the start date is included
+   * and the end date excluded. The points are found by binary search.
+   *
+   * @param startInclusive  the start date, inclusive
+   * @param endExclusive  the end date, exclusive
+   * @return the view
+   */
+  public TimeSeriesView subView(LocalDate startInclusive, LocalDate endExclusive) {
+    ArgChecker.inOrderOrEqual(startInclusive, endExclusive, "startInclusive", "endExclusive");
+    int from = indexOf((int) startInclusive.toEpochDay());
+    int to = indexOf((int) endExclusive.toEpochDay());
+    return new TimeSeriesView(epochDays, values, from, to);
+  }
+
+  // index of the first point on or after an epoch day, in the full arrays, within the view
+  private int indexOf(int epochDay) {
+    int index = Arrays.binarySearch(epochDays, start, end, epochDay);
+    return (index >= 0) ? index : -index - 1;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the number of points.
+   *
+   * @return the number of points
+   */
+  public int size() {
+    return end - start;
+  }
+
+  /**
+   * Checks if the view is empty.
+   *
+   * @return true if empty
+   */
+  public boolean isEmpty() {
+    return end == start;
+  }
+
+  /**
+   * Returns the date of a point as epoch day.
+   *
+   * @param index  the index of the point in the view
+   * @return the epoch day
+   */
+  public int getEpochDay(int index) {
+    return epochDays[start + checkIndex(index)];
+  }
+
+  /**
+   * Returns the date of a point.
+   *
+   * @param index  the index of the point in the view
+   * @return the date
+   */
+  public LocalDate getDate(int index) {
+    return LocalDate.ofEpochDay(getEpochDay(index));
+  }
+
+  /**
+   * Returns the value of a point.
+   *
+   * @param index  the index of the point in the view
+   * @return the value
+   */
+  public double getValue(int index) {
+    return values[start + checkIndex(index)];
+  }
+
+  /**
+   * Returns the earliest date.
+   *
+   * @return the date
+   * @throws NoSuchElementException if empty
+   */
+  public LocalDate getEarliestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest date, view is empty");
+    }
+    return LocalDate.ofEpochDay(epochDays[start]);
+  }
+
+  /**
+   * Returns the latest date.
+   *
+   * @return the date
+   * @throws NoSuchElementException if empty
+   */
+  public LocalDate getLatestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest date, view is empty");
+    }
+    return LocalDate.ofEpochDay(epochDays[end - 1]);
+  }
+
+  /**
+   * Returns the values of the view. The values are copied.
+   *
+   * @return the values
+   */
+  public DoubleArray values() {
+    return DoubleArray.ofUnsafe(Arrays.copyOfRange(values, start, end));
+  }
+
+  /**
+   * Returns the view as a time series. The points are copied.
+   *
+   * @return the time series
+   */
+  public LocalDateDoubleTimeSeries toTimeSeries() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int looppt = start; looppt < end; looppt++) {
+      builder.put(LocalDate.ofEpochDay(epochDays[looppt]), values[looppt]);
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the number of days between the first and last point.
+   *
+   * @return the number of days, 0 if empty
+   */
+  int days() {
+    return isEmpty() ? 0 : epochDays[end - 1] - epochDays[start];
+  }
+
+  /**
+   * Returns the change between a point and the previous one, without bound check.
+   *
+   * @param index  the index of the point in the view, from 1
+   * @return the change
+   */
+  double change(int index) {
+    return values[start + index] - values[start + index - 1];
+  }
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= end - start) {
+      throw new IndexOutOfBoundsException("Index " + index + " outside view of size " + (end - start));
+    }
+    return index;
+  }
+
+  @Override
+  public String toString() {
+    return "TimeSeriesView{size=" + size() + (isEmpty() ? "" : ", from=" + getEarliestDate() + ", to=" + getLatestDate()) + "}";
+  }
+
+}
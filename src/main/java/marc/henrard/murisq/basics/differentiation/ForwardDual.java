@@ -0,0 +1,280 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.differentiation;
+
+import java.util.Arrays;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+import marc.henrard.murisq.basics.value.CurrencyAmountDerivatives;
+
+/**
+ * Dual number for forward mode (tangent) algorithmic differentiation.
+ * <p>
+ * The dual carries a value and its tangent, i.e. its derivatives with respect to all the inputs.
+ * The tangent is stored in the primitive array of the {@link ForwardDualPool} from which the dual
+ * is obtained.
+ * <p>
+ * All the operations are performed in place: the dual on which the method is called is modified
+ * and returned. The argument can be the dual itself; it must be obtained from the same pool.
+ *
+ * @author Marc Henrard
+ */
+public final class ForwardDual {
+
+  /** The pool storing the tangent. */
+  private final ForwardDualPool pool;
+  /** The offset of the tangent in the pool storage. */
+  private final int offset;
+  /** The value. */
+  private double value;
+
+  // package-private constructor, used by the pool
+  ForwardDual(ForwardDualPool pool, int offset) {
+    this.pool = pool;
+    this.offset = offset;
+  }
+
+  /**
+   * Returns the value.
+   *
+   * @return the value
+   */
+  public double getValue() {
+    return value;
+  }
+
+  /**
+   * Returns the derivative with respect to one input.
+   *
+   * @param index  the index of the input
+   * @return the derivative
+   */
+  public double tangent(int index) {
+    ArgChecker.inRange(index, 0, pool.getInputCount(), "index");
+    return pool.tangents[offset + index];
+  }
+
+  /**
+   * Returns the value and the tangent as a currency amount.
+   *
+   * @param currency  the currency
+   * @return the amount with derivatives
+   */
+  public CurrencyAmountDerivatives toCurrencyAmountDerivatives(Currency currency) {
+    int nbInputs = pool.getInputCount();
+    return CurrencyAmountDerivatives.of(
+        value, currency, DoubleArray.ofUnsafe(Arrays.copyOfRange(pool.tangents, offset, offset + nbInputs)));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Sets the dual to a constant, i.e. with a zero tangent.
+   *
+   * @param constant  the constant
+   * @return this dual
+   */
+  public ForwardDual setConstant(double constant) {
+    value = constant;
+    Arrays.fill(pool.tangents, offset, offset + pool.getInputCount(), 0.0d);
+    return this;
+  }
+
+  /**
+   * Sets the dual to an input, i.e. with a tangent equal to 1 for the input and 0 for the others.
+   *
+   * @param input  the value of the input
+   * @param index  the index of the input
+   * @return this dual
+   */
+  public ForwardDual setInput(double input, int index) {
+    ArgChecker.inRange(index, 0, pool.getInputCount(), "index");
+    setConstant(input);
+    pool.tangents[offset + index] = 1.0d;
+    return this;
+  }
+
+  /**
+   * Sets the dual to a copy of another dual.
+   *
+   * @param other  the other dual, from the same pool
+   * @return this dual
+   */
+  public ForwardDual set(ForwardDual other) {
+    checkPool(other);
+    value = other.value;
+    System.arraycopy(pool.tangents, other.offset, pool.tangents, offset, pool.getInputCount());
+    return this;
+  }
+
+  /**
+   * Adds another dual.
+   *
+   * @param other  the other dual, from the same pool
+   * @return this dual
+   */
+  public ForwardDual add(ForwardDual other) {
+    return linear(1.0d, 1.0d, other, value + other.value);
+  }
+
+  /**
+   * Adds a constant.
+   *
+   * @param constant  the constant
+   * @return this dual
+   */
+  public ForwardDual add(double constant) {
+    value += constant;
+    return this;
+  }
+
+  /**
+   * Adds another dual multiplied by a constant.
+   *
+   * @param factor  the constant factor
+   * @param other  the other dual, from the same pool
+   * @return this dual
+   */
+  public ForwardDual addProduct(double factor, ForwardDual other) {
+    return linear(1.0d, factor, other, value + factor * other.value);
+  }
+
+  /**
+   * Subtracts another dual.
+   *
+   * @param other  the other dual, from the same pool
+   * @return this dual
+   */
+  public ForwardDual subtract(ForwardDual other) {
+    return linear(1.0d, -1.0d, other, value - other.value);
+  }
+
+  /**
+   * Subtracts a constant.
+   *
+   * @param constant  the constant
+   * @return this dual
+   */
+  public ForwardDual subtract(double constant) {
+    value -= constant;
+    return this;
+  }
+
+  /**
+   * Multiplies by another dual.
+   *
+   * @param other  the other dual, from the same pool
+   * @return this dual
+   */
+  public ForwardDual multiply(ForwardDual other) {
+    double valueThis = value;
+    double valueOther = other.value;
+    return linear(valueOther, valueThis, other, valueThis * valueOther);
+  }
+
+  /**
+   * Multiplies by a constant.
+   *
+   * @param constant  the constant
+   * @return this dual
+   */
+  public ForwardDual multiply(double constant) {
+    return scale(constant, value * constant);
+  }
+
+  /**
+   * Divides by another dual.
+   *
+   * @param other  the other dual, from the same pool
+   * @return this dual
+   */
+  public ForwardDual divide(ForwardDual other) {
+    double inverse = 1.0d / other.value;
+    double ratio = value * inverse;
+    return linear(inverse, -ratio * inverse, other, ratio);
+  }
+
+  /**
+   * Replaces the dual by its opposite.
+   *
+   * @return this dual
+   */
+  public ForwardDual negate() {
+    return scale(-1.0d, -value);
+  }
+
+  /**
+   * Replaces the dual by its exponential.
+   *
+   * @return this dual
+   */
+  public ForwardDual exp() {
+    double exp = Math.exp(value);
+    return scale(exp, exp);
+  }
+
+  /**
+   * Replaces the dual by its natural logarithm.
+   *
+   * @return this dual
+   */
+  public ForwardDual log() {
+    return scale(1.0d / value, Math.log(value));
+  }
+
+  /**
+   * Replaces the dual by its square root.
+   *
+   * @return this dual
+   */
+  public ForwardDual sqrt() {
+    double sqrt = Math.sqrt(value);
+    return scale(0.5d / sqrt, sqrt);
+  }
+
+  // sets the value
+  ForwardDual setValue(double newValue) {
+    value = newValue;
+    return this;
+  }
+
+  // checks if the dual is from a pool
+  boolean isFrom(ForwardDualPool otherPool) {
+    return pool == otherPool;
+  }
+
+  //-------------------------------------------------------------------------
+  // tangent = factor * tangent
+  private ForwardDual scale(double factor, double newValue) {
+    double[] tangents = pool.tangents;
+    int end = offset + pool.getInputCount();
+    for (int loopinput = offset; loopinput < end; loopinput++) {
+      tangents[loopinput] *= factor;
+    }
+    value = newValue;
+    return this;
+  }
+
+  // tangent = factorThis * tangent + factorOther * tangentOther
+  private ForwardDual linear(double factorThis, double factorOther, ForwardDual other, double newValue) {
+    checkPool(other);
+    double[] tangents = pool.tangents;
+    int nbInputs = pool.getInputCount();
+    int offsetOther = other.offset;
+    for (int loopinput = 0; loopinput < nbInputs; loopinput++) {
+      tangents[offset + loopinput] =
+          factorThis * tangents[offset + loopinput] + factorOther * tangents[offsetOther + loopinput];
+    }
+    value = newValue;
+    return this;
+  }
+
+  // the tangents of the other dual are read in the storage of this pool
+  private void checkPool(ForwardDual other) {
+    ArgChecker.isTrue(other.pool == pool, "dual should be from the same pool");
+  }
+
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.differentiation;
+
+import java.util.Arrays;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+import marc.henrard.murisq.basics.time.TimeAmalgamation;
+
+/**
+ * Pool of {@link ForwardDual} for forward mode (tangent) algorithmic differentiation.
+ * <p>
+ * The tangents of all the duals of the pool are stored in one primitive array, each dual using
+ * a slice of the size of the number of inputs. The duals are created when first requested and
+ * reused after a {@link #reset()}. A pool can thus be used for the pricing of many trades
+ * without allocation once it has reached its working size.
+ * <p>
+ * A pool is not thread-safe; use one pool per thread.
+ *
+ * @author Marc Henrard
+ */
+public final class ForwardDualPool {
+
+  /** The default initial number of duals. */
+  private static final int DEFAULT_CAPACITY = 64;
+
+  /** The number of inputs, i.e. the size of each tangent. */
+  private final int nbInputs;
+  /** The tangents of all the duals. */
+  double[] tangents;
+  /** The duals already created. */
+  private ForwardDual[] duals;
+  /** The number of duals created. */
+  private int nbCreated;
+  /** The number of duals in use. */
+  private int nbUsed;
+
+  /**
+   * Creates a pool for a given number of inputs.
+   *
+   * @param nbInputs  the number of inputs
+   * @return the pool
+   */
+  public static ForwardDualPool of(int nbInputs) {
+    return new ForwardDualPool(nbInputs, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a pool for a given number of inputs and an initial capacity in number of duals.
+   *
+   * @param nbInputs  the number of inputs
+   * @param capacity  the initial capacity
+   * @return the pool
+   */
+  public static ForwardDualPool of(int nbInputs, int capacity) {
+    ArgChecker.notNegativeOrZero(capacity, "capacity");
+    return new ForwardDualPool(nbInputs, capacity);
+  }
+
+  // private constructor
+  private ForwardDualPool(int nbInputs, int capacity) {
+    ArgChecker.notNegative(nbInputs, "nbInputs");
+    this.nbInputs = nbInputs;
+    this.tangents = new double[nbInputs * capacity];
+    this.duals = new ForwardDual[capacity];
+  }
+
+  /**
+   * Returns the number of inputs, i.e. the size of each tangent.
+   *
+   * @return the number of inputs
+   */
+  public int getInputCount() {
+    return nbInputs;
+  }
+
+  /**
+   * Returns the number of duals currently in use.
+   *
+   * @return the number of duals
+   */
+  public int getUsedCount() {
+    return nbUsed;
+  }
+
+  /**
+   * Returns a dual from the pool, set to the constant 0.
+   *
+   * @return the dual
+   */
+  public ForwardDual dual() {
+    if (nbUsed == nbCreated) {
+      if (nbCreated == duals.length) {
+        duals = Arrays.copyOf(duals, 2 * duals.length);
+        tangents = Arrays.copyOf(tangents, nbInputs * duals.length);
+      }
+      duals[nbCreated] = new ForwardDual(this, nbCreated * nbInputs);
+      nbCreated++;
+    }
+    return duals[nbUsed++].setConstant(0.0d);
+  }
+
+  /**
+   * Returns a dual from the pool, set to a constant.
+   *
+   * @param value  the value
+   * @return the dual
+   */
+  public ForwardDual constant(double value) {
+    return dual().setConstant(value);
+  }
+
+  /**
+   * Returns a dual from the pool, set to an input.
+   *
+   * @param value  the value
+   * @param index  the index of the input
+   * @return the dual
+   */
+  public ForwardDual input(double value, int index) {
+    return dual().setInput(value, index);
+  }
+
+  /**
+   * Resets the pool. All the duals previously returned should not be used anymore.
+   * The storage is kept for reuse.
+   */
+  public void reset() {
+    nbUsed = 0;
+  }
+
+  /**
+   * Computes the total amalgamation through time of duals.
+   * <p>
+   * The value is computed by the amalgamation and the tangent by its
+   * {@link TimeAmalgamation#amalgamateTimesDerivatives(DoubleArray, double[])} method.
+   * The destination should not be one of the values. The values and the destination must be from this pool.
+   *
+   * @param amalgamation  the time amalgamation
+   * @param values  the duals with the values to amalgamate
+   * @param times  the times
+   * @param destination  the dual in which the result is stored
+   * @return the destination
+   */
+  public ForwardDual amalgamateTimes(
+      TimeAmalgamation amalgamation,
+      ForwardDual[] values,
+      double[] times,
+      ForwardDual destination) {
+
+    int nbValues = values.length;
+    ArgChecker.isTrue(times.length == nbValues, "times and values should have the same size");
+    ArgChecker.isTrue(destination.isFrom(this), "destination should be from this pool");
+    double[] valuesArray = new double[nbValues];
+    for (int loopvalue = 0; loopvalue < nbValues; loopvalue++) {
+      valuesArray[loopvalue] = values[loopvalue].getValue();
+    }
+    DoubleArray valuesDoubleArray = DoubleArray.ofUnsafe(valuesArray);
+    double amalgamated = amalgamation.amalgamateTimes(valuesDoubleArray, times);
+    double[] weights = amalgamation.amalgamateTimesDerivatives(valuesDoubleArray, times);
+    destination.setConstant(0.0d);
+    for (int loopvalue = 0; loopvalue < nbValues; loopvalue++) {
+      destination.addProduct(weights[loopvalue], values[loopvalue]);
+    }
+    return destination.setValue(amalgamated);
+  }
+
+}
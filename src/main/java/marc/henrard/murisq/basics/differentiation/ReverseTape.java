@@ -0,0 +1,415 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.differentiation;
+
+import java.util.Arrays;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+import marc.henrard.murisq.basics.time.TimeAmalgamation;
+import marc.henrard.murisq.basics.value.CurrencyAmountDerivatives;
+
+/**
+ * Tape for reverse mode (adjoint) algorithmic differentiation.
+ * <p>
+ * Each operation records a node on the tape. A node is referred to by its index and stores its value
+ * and the partial derivatives with respect to its arguments (the edges). The nodes and edges are
+ * stored in primitive arrays which are grown when required and reused after a {@link #reset()}.
+ * A tape can thus be used for the pricing of many trades without allocation once it has
+ * reached its working size.
+ * <p>
+ * The derivatives of one output with respect to all the inputs are computed in one backward sweep,
+ * which costs a small constant multiple of the forward computation.
+ * <p>
+ * A tape is not thread-safe; use one tape per thread.
+ *
+ * @author Marc Henrard
+ */
+public final class ReverseTape {
+
+  /** The default initial number of nodes. */
+  private static final int DEFAULT_CAPACITY = 1024;
+
+  /** The value of each node. */
+  private double[] values;
+  /** The end (exclusive) of the edges of each node. The edges of node i start at the end of the edges of i-1. */
+  private int[] edgeEnds;
+  /** The argument (node index) of each edge. */
+  private int[] edgeArguments;
+  /** The partial derivative of each edge. */
+  private double[] edgePartials;
+  /** The adjoint of each node, used in the backward sweep. */
+  private double[] adjoints;
+  /** The node index of each input, in the order in which they have been created. */
+  private int[] inputs;
+  /** The number of nodes. */
+  private int nbNodes;
+  /** The number of edges. */
+  private int nbEdges;
+  /** The number of inputs. */
+  private int nbInputs;
+
+  /**
+   * Creates an empty tape with a default capacity.
+   *
+   * @return the tape
+   */
+  public static ReverseTape create() {
+    return new ReverseTape(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates an empty tape with a given initial capacity in number of nodes.
+   *
+   * @param capacity  the initial capacity
+   * @return the tape
+   */
+  public static ReverseTape of(int capacity) {
+    ArgChecker.notNegativeOrZero(capacity, "capacity");
+    return new ReverseTape(capacity);
+  }
+
+  // private constructor
+  private ReverseTape(int capacity) {
+    this.values = new double[capacity];
+    this.edgeEnds = new int[capacity];
+    this.adjoints = new double[capacity];
+    this.edgeArguments = new int[2 * capacity];
+    this.edgePartials = new double[2 * capacity];
+    this.inputs = new int[Math.min(capacity, 64)];
+  }
+
+  /**
+   * Resets the tape. The storage is kept for reuse.
+   */
+  public void reset() {
+    nbNodes = 0;
+    nbEdges = 0;
+    nbInputs = 0;
+  }
+
+  /**
+   * Returns the number of nodes recorded on the tape.
+   *
+   * @return the number of nodes
+   */
+  public int getNodeCount() {
+    return nbNodes;
+  }
+
+  /**
+   * Returns the number of inputs recorded on the tape.
+   *
+   * @return the number of inputs
+   */
+  public int getInputCount() {
+    return nbInputs;
+  }
+
+  /**
+   * Returns the value of a node.
+   *
+   * @param node  the node index
+   * @return the value
+   */
+  public double value(int node) {
+    return values[node];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Records an input, i.e. a variable with respect to which the derivatives are computed.
+   * <p>
+   * The order of the derivatives is the order in which the inputs are recorded.
+   *
+   * @param value  the value of the input
+   * @return the node index
+   */
+  public int input(double value) {
+    int node = record(value, 0);
+    if (nbInputs == inputs.length) {
+      inputs = Arrays.copyOf(inputs, 2 * inputs.length);
+    }
+    inputs[nbInputs++] = node;
+    return node;
+  }
+
+  /**
+   * Records a constant, i.e. a node without derivatives.
+   *
+   * @param value  the value
+   * @return the node index
+   */
+  public int constant(double value) {
+    return record(value, 0);
+  }
+
+  /**
+   * Records the sum of two nodes.
+   *
+   * @param a  the first node
+   * @param b  the second node
+   * @return the node index
+   */
+  public int add(int a, int b) {
+    return recordBinary(values[a] + values[b], a, 1.0d, b, 1.0d);
+  }
+
+  /**
+   * Records the sum of a node and a constant.
+   *
+   * @param a  the node
+   * @param b  the constant
+   * @return the node index
+   */
+  public int add(int a, double b) {
+    return recordUnary(values[a] + b, a, 1.0d);
+  }
+
+  /**
+   * Records the difference of two nodes.
+   *
+   * @param a  the first node
+   * @param b  the second node
+   * @return the node index
+   */
+  public int subtract(int a, int b) {
+    return recordBinary(values[a] - values[b], a, 1.0d, b, -1.0d);
+  }
+
+  /**
+   * Records the difference of a node and a constant.
+   *
+   * @param a  the node
+   * @param b  the constant
+   * @return the node index
+   */
+  public int subtract(int a, double b) {
+    return recordUnary(values[a] - b, a, 1.0d);
+  }
+
+  /**
+   * Records the product of two nodes.
+   *
+   * @param a  the first node
+   * @param b  the second node
+   * @return the node index
+   */
+  public int multiply(int a, int b) {
+    double va = values[a];
+    double vb = values[b];
+    return recordBinary(va * vb, a, vb, b, va);
+  }
+
+  /**
+   * Records the product of a node and a constant.
+   *
+   * @param a  the node
+   * @param b  the constant
+   * @return the node index
+   */
+  public int multiply(int a, double b) {
+    return recordUnary(values[a] * b, a, b);
+  }
+
+  /**
+   * Records the ratio of two nodes.
+   *
+   * @param a  the numerator node
+   * @param b  the denominator node
+   * @return the node index
+   */
+  public int divide(int a, int b) {
+    double inverse = 1.0d / values[b];
+    double ratio = values[a] * inverse;
+    return recordBinary(ratio, a, inverse, b, -ratio * inverse);
+  }
+
+  /**
+   * Records the ratio of a constant and a node.
+   *
+   * @param a  the numerator constant
+   * @param b  the denominator node
+   * @return the node index
+   */
+  public int divide(double a, int b) {
+    double inverse = 1.0d / values[b];
+    double ratio = a * inverse;
+    return recordUnary(ratio, b, -ratio * inverse);
+  }
+
+  /**
+   * Records the opposite of a node.
+   *
+   * @param a  the node
+   * @return the node index
+   */
+  public int negate(int a) {
+    return recordUnary(-values[a], a, -1.0d);
+  }
+
+  /**
+   * Records the exponential of a node.
+   *
+   * @param a  the node
+   * @return the node index
+   */
+  public int exp(int a) {
+    double exp = Math.exp(values[a]);
+    return recordUnary(exp, a, exp);
+  }
+
+  /**
+   * Records the natural logarithm of a node.
+   *
+   * @param a  the node
+   * @return the node index
+   */
+  public int log(int a) {
+    double va = values[a];
+    return recordUnary(Math.log(va), a, 1.0d / va);
+  }
+
+  /**
+   * Records the square root of a node.
+   *
+   * @param a  the node
+   * @return the node index
+   */
+  public int sqrt(int a) {
+    double sqrt = Math.sqrt(values[a]);
+    return recordUnary(sqrt, a, 0.5d / sqrt);
+  }
+
+  /**
+   * Records the sum of nodes multiplied by constant weights.
+   *
+   * @param weights  the weights
+   * @param nodes  the nodes
+   * @return the node index
+   */
+  public int weightedSum(double[] weights, int[] nodes) {
+    int nbArguments = nodes.length;
+    ArgChecker.isTrue(weights.length == nbArguments, "weights and nodes should have the same size");
+    double sum = 0.0d;
+    for (int loopnode = 0; loopnode < nbArguments; loopnode++) {
+      sum += weights[loopnode] * values[nodes[loopnode]];
+    }
+    int node = record(sum, nbArguments);
+    int start = nbEdges - nbArguments;
+    System.arraycopy(nodes, 0, edgeArguments, start, nbArguments);
+    System.arraycopy(weights, 0, edgePartials, start, nbArguments);
+    return node;
+  }
+
+  /**
+   * Records the total amalgamation through time of nodes.
+   * <p>
+   * The value is computed by the amalgamation and the partial derivatives by its
+   * {@link TimeAmalgamation#amalgamateTimesDerivatives(DoubleArray, double[])} method.
+   * Only one node is recorded, independently of the number of times.
+   *
+   * @param amalgamation  the time amalgamation
+   * @param nodes  the nodes with the values to amalgamate
+   * @param times  the times
+   * @return the node index
+   */
+  public int amalgamateTimes(TimeAmalgamation amalgamation, int[] nodes, double[] times) {
+    int nbArguments = nodes.length;
+    ArgChecker.isTrue(times.length == nbArguments, "times and nodes should have the same size");
+    double[] nodeValues = new double[nbArguments];
+    for (int loopnode = 0; loopnode < nbArguments; loopnode++) {
+      nodeValues[loopnode] = values[nodes[loopnode]];
+    }
+    DoubleArray valuesArray = DoubleArray.ofUnsafe(nodeValues);
+    double amalgamated = amalgamation.amalgamateTimes(valuesArray, times);
+    double[] partials = amalgamation.amalgamateTimesDerivatives(valuesArray, times);
+    int node = record(amalgamated, nbArguments);
+    int start = nbEdges - nbArguments;
+    System.arraycopy(nodes, 0, edgeArguments, start, nbArguments);
+    System.arraycopy(partials, 0, edgePartials, start, nbArguments);
+    return node;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the derivatives of a node with respect to all the inputs by a backward sweep.
+   * <p>
+   * The derivatives are in the order in which the inputs have been recorded.
+   *
+   * @param output  the output node
+   * @return the derivatives
+   */
+  public double[] derivatives(int output) {
+    ArgChecker.isTrue(output >= 0 && output < nbNodes, "output node {} not on the tape", output);
+    Arrays.fill(adjoints, 0, output + 1, 0.0d);
+    adjoints[output] = 1.0d;
+    for (int loopnode = output; loopnode >= 0; loopnode--) {
+      double adjoint = adjoints[loopnode];
+      if (adjoint != 0.0d) {
+        int end = edgeEnds[loopnode];
+        for (int loopedge = (loopnode == 0) ? 0 : edgeEnds[loopnode - 1]; loopedge < end; loopedge++) {
+          adjoints[edgeArguments[loopedge]] += adjoint * edgePartials[loopedge];
+        }
+      }
+    }
+    double[] derivatives = new double[nbInputs];
+    for (int loopinput = 0; loopinput < nbInputs; loopinput++) {
+      derivatives[loopinput] = adjoints[inputs[loopinput]];
+    }
+    return derivatives;
+  }
+
+  /**
+   * Returns the value of a node and its derivatives with respect to all the inputs as a currency amount.
+   *
+   * @param output  the output node
+   * @param currency  the currency of the output
+   * @return the amount with derivatives
+   */
+  public CurrencyAmountDerivatives currencyAmountDerivatives(int output, Currency currency) {
+    return CurrencyAmountDerivatives.of(values[output], currency, DoubleArray.ofUnsafe(derivatives(output)));
+  }
+
+  //-------------------------------------------------------------------------
+  // records a node with one edge
+  private int recordUnary(double value, int a, double partialA) {
+    int node = record(value, 1);
+    edgeArguments[nbEdges - 1] = a;
+    edgePartials[nbEdges - 1] = partialA;
+    return node;
+  }
+
+  // records a node with two edges
+  private int recordBinary(double value, int a, double partialA, int b, double partialB) {
+    int node = record(value, 2);
+    edgeArguments[nbEdges - 2] = a;
+    edgePartials[nbEdges - 2] = partialA;
+    edgeArguments[nbEdges - 1] = b;
+    edgePartials[nbEdges - 1] = partialB;
+    return node;
+  }
+
+  // records a node with a given number of edges; the edges are filled by the caller
+  private int record(double value, int nbArguments) {
+    if (nbNodes == values.length) {
+      int capacity = 2 * values.length;
+      values = Arrays.copyOf(values, capacity);
+      edgeEnds = Arrays.copyOf(edgeEnds, capacity);
+      adjoints = new double[capacity];
+    }
+    if (nbEdges + nbArguments > edgeArguments.length) {
+      int capacity = Math.max(2 * edgeArguments.length, nbEdges + nbArguments);
+      edgeArguments = Arrays.copyOf(edgeArguments, capacity);
+      edgePartials = Arrays.copyOf(edgePartials, capacity);
+    }
+    values[nbNodes] = value;
+    nbEdges += nbArguments;
+    edgeEnds[nbNodes] = nbEdges;
+    return nbNodes++;
+  }
+
+}
@@ -0,0 +1,210 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.risk;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+import marc.henrard.murisq.basics.data.timeseries.AlignedTimeSeries;
+
+/**
+ * Historical scenarios for a set of risk factors.
+ * <p>
+ * The scenarios are built from the aligned histories of the risk factors; each series is one factor.
+ * There is one scenario for each pair of consecutive dates. The historical change of each factor
+ * between the two dates is applied to the current level of the factor, as an absolute or relative shift.
+ * The current levels are by default the last values of the histories.
+ * <p>
+ * The shifts are stored as level changes, one row of factors by scenario, in one primitive array.
+ *
+ * @author Marc Henrard
+ */
+public final class HistoricalScenarios {
+
+  /** The number of scenarios. */
+  private final int nbScenarios;
+  /** The number of risk factors. */
+  private final int nbFactors;
+  /** The current levels of the factors. */
+  private final double[] baseLevels;
+  /** The level changes, scenario by scenario. */
+  private final double[] levelShifts;
+  /** The end dates of the scenarios, as epoch days. */
+  private final int[] epochDays;
+
+  /**
+   * Creates scenarios with the same shift type for all the factors and the last values as current levels.
+   * <p>
+   * The histories must not have missing values; align them with the inner or forward-fill mode.
+   *
+   * @param histories  the aligned histories of the risk factors
+   * @param shiftType  the shift type
+   * @return the scenarios
+   */
+  public static HistoricalScenarios of(AlignedTimeSeries histories, ScenarioShiftType shiftType) {
+    return of(histories, Collections.nCopies(histories.getSeriesCount(), shiftType));
+  }
+
+  /**
+   * Creates scenarios with a shift type by factor and the last values as current levels.
+   * <p>
+   * The histories must not have missing values; align them with the inner or forward-fill mode.
+   *
+   * @param histories  the aligned histories of the risk factors
+   * @param shiftTypes  the shift type of each factor
+   * @return the scenarios
+   */
+  public static HistoricalScenarios of(AlignedTimeSeries histories, List<ScenarioShiftType> shiftTypes) {
+    ArgChecker.isTrue(histories.size() > 0, "histories must not be empty");
+    int nbFactors = histories.getSeriesCount();
+    double[] baseLevels = new double[nbFactors];
+    for (int loopfactor = 0; loopfactor < nbFactors; loopfactor++) {
+      baseLevels[loopfactor] = histories.getValue(loopfactor, histories.size() - 1);
+    }
+    return of(histories, shiftTypes, DoubleArray.ofUnsafe(baseLevels));
+  }
+
+  /**
+   * Creates scenarios with a shift type by factor and given current levels.
+   * <p>
+   * The histories must not have missing values; align them with the inner or forward-fill mode.
+   *
+   * @param histories  the aligned histories of the risk factors
+   * @param shiftTypes  the shift type of each factor
+   * @param baseLevels  the current levels of the factors
+   * @return the scenarios
+   */
+  public static HistoricalScenarios of(
+      AlignedTimeSeries histories,
+      List<ScenarioShiftType> shiftTypes,
+      DoubleArray baseLevels) {
+
+    int nbFactors = histories.getSeriesCount();
+    ArgChecker.isTrue(shiftTypes.size() == nbFactors, "one shift type by factor required");
+    ArgChecker.isTrue(baseLevels.size() == nbFactors, "one base level by factor required");
+    int nbScenarios = Math.max(histories.size() - 1, 0);
+    double[] levelShifts = new double[nbScenarios * nbFactors];
+    for (int loopfactor = 0; loopfactor < nbFactors; loopfactor++) {
+      boolean relative = shiftTypes.get(loopfactor) == ScenarioShiftType.RELATIVE;
+      double base = baseLevels.get(loopfactor);
+      double previous = histories.getValue(loopfactor, 0);
+      ArgChecker.isFalse(Double.isNaN(previous), "histories must not have missing values");
+      for (int loopsc = 0; loopsc < nbScenarios; loopsc++) {
+        double current = histories.getValue(loopfactor, loopsc + 1);
+        ArgChecker.isFalse(Double.isNaN(current), "histories must not have missing values");
+        levelShifts[loopsc * nbFactors + loopfactor] = relative ? base * (current / previous - 1.0d) : current - previous;
+        previous = current;
+      }
+    }
+    int[] epochDays = new int[nbScenarios];
+    for (int loopsc = 0; loopsc < nbScenarios; loopsc++) {
+      epochDays[loopsc] = histories.getEpochDay(loopsc + 1);
+    }
+    return new HistoricalScenarios(nbScenarios, nbFactors, baseLevels.toArray(), levelShifts, epochDays);
+  }
+
+  // private constructor
+  private HistoricalScenarios(int nbScenarios, int nbFactors, double[] baseLevels, double[] levelShifts, int[] epochDays) {
+    this.nbScenarios = nbScenarios;
+    this.nbFactors = nbFactors;
+    this.baseLevels = baseLevels;
+    this.levelShifts = levelShifts;
+    this.epochDays = epochDays;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the number of scenarios.
+   *
+   * @return the number of scenarios
+   */
+  public int getScenarioCount() {
+    return nbScenarios;
+  }
+
+  /**
+   * Returns the number of risk factors.
+   *
+   * @return the number of factors
+   */
+  public int getFactorCount() {
+    return nbFactors;
+  }
+
+  /**
+   * Returns the end date of the historical period of a scenario.
+   *
+   * @param scenario  the index of the scenario
+   * @return the date
+   */
+  public LocalDate getScenarioDate(int scenario) {
+    return LocalDate.ofEpochDay(epochDays[scenario]);
+  }
+
+  /**
+   * Returns the current levels of the factors.
+   *
+   * @return the levels
+   */
+  public DoubleArray getBaseLevels() {
+    return DoubleArray.copyOf(baseLevels);
+  }
+
+  /**
+   * Returns the level change of a factor in a scenario.
+   *
+   * @param scenario  the index of the scenario
+   * @param factor  the index of the factor
+   * @return the level change
+   */
+  public double getLevelShift(int scenario, int factor) {
+    return levelShifts[scenario * nbFactors + factor];
+  }
+
+  /**
+   * Returns the levels of the factors in a scenario.
+   *
+   * @param scenario  the index of the scenario
+   * @return the shifted levels
+   */
+  public DoubleArray getShiftedLevels(int scenario) {
+    return DoubleArray.ofUnsafe(shiftedLevels(scenario, new double[nbFactors]));
+  }
+
+  /**
+   * Computes the levels of the factors in a scenario in an existing array.
+   *
+   * @param scenario  the index of the scenario
+   * @param destination  the array in which the levels are stored
+   * @return the destination
+   */
+  double[] shiftedLevels(int scenario, double[] destination) {
+    int offset = scenario * nbFactors;
+    for (int loopfactor = 0; loopfactor < nbFactors; loopfactor++) {
+      destination[loopfactor] = baseLevels[loopfactor] + levelShifts[offset + loopfactor];
+    }
+    return destination;
+  }
+
+  /**
+   * Computes the first order profit and loss of a scenario.
+   *
+   * @param scenario  the index of the scenario
+   * @param sensitivities  the derivatives of the value with respect to the factor levels
+   * @return the profit and loss
+   */
+  double firstOrderPnl(int scenario, double[] sensitivities) {
+    int offset = scenario * nbFactors;
+    double pnl = 0.0d;
+    for (int loopfactor = 0; loopfactor < nbFactors; loopfactor++) {
+      pnl += sensitivities[loopfactor] * levelShifts[offset + loopfactor];
+    }
+    return pnl;
+  }
+
+}
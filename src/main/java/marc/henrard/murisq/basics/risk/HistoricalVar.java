@@ -0,0 +1,194 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.risk;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+import marc.henrard.murisq.basics.value.CurrencyAmountDerivatives;
+
+/**
+ * Historical simulation value-at-risk (VaR) and expected shortfall (ES).
+ * <p>
+ * The profit and loss (P&L) of each {@link HistoricalScenarios} scenario is computed from first order
+ * sensitivities or by full revaluation, the scenarios being computed in parallel.
+ * The VaR and ES are obtained from the P&L vector by selection of the tail, without full sort.
+ * <p>
+ * For a confidence level alpha and n scenarios, the tail is made of the k = ceil(n * (1 - alpha)) worst P&L.
+ * The VaR is the opposite of the largest P&L of the tail and the ES is the opposite of the average of the tail.
+ * Losses are thus reported as positive numbers.
+ *
+ * @author Marc Henrard
+ */
+public final class HistoricalVar {
+
+  // private constructor
+  private HistoricalVar() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the first order P&L of each scenario.
+   * <p>
+   * The derivatives are with respect to the levels of the factors, in the order of the factors of the scenarios.
+   *
+   * @param scenarios  the scenarios
+   * @param sensitivities  the sensitivities
+   * @return the P&L, one by scenario
+   */
+  public static DoubleArray pnlFirstOrder(HistoricalScenarios scenarios, CurrencyAmountDerivatives sensitivities) {
+    double[] derivatives = sensitivities.getDerivatives().toArrayUnsafe();
+    ArgChecker.isTrue(derivatives.length == scenarios.getFactorCount(),
+        "sensitivities must have one derivative by factor, {} expected", scenarios.getFactorCount());
+    double[] pnl = new double[scenarios.getScenarioCount()];
+    IntStream.range(0, pnl.length).parallel()
+        .forEach(loopsc -> pnl[loopsc] = scenarios.firstOrderPnl(loopsc, derivatives));
+    return DoubleArray.ofUnsafe(pnl);
+  }
+
+  /**
+   * Computes the first order P&L of each scenario for a portfolio.
+   * <p>
+   * The sensitivities of the portfolio are aggregated before the P&L computation; they should be in the same currency.
+   *
+   * @param scenarios  the scenarios
+   * @param sensitivities  the sensitivities of each trade
+   * @return the P&L, one by scenario
+   */
+  public static DoubleArray pnlFirstOrder(HistoricalScenarios scenarios, List<CurrencyAmountDerivatives> sensitivities) {
+    ArgChecker.notEmpty(sensitivities, "sensitivities");
+    Currency currency = sensitivities.get(0).getCurrency();
+    double[] total = new double[scenarios.getFactorCount()];
+    for (CurrencyAmountDerivatives trade : sensitivities) {
+      ArgChecker.isTrue(trade.getCurrency().equals(currency), "sensitivities must be in the same currency");
+      double[] derivatives = trade.getDerivatives().toArrayUnsafe();
+      ArgChecker.isTrue(derivatives.length == total.length,
+          "sensitivities must have one derivative by factor, {} expected", total.length);
+      for (int loopfactor = 0; loopfactor < total.length; loopfactor++) {
+        total[loopfactor] += derivatives[loopfactor];
+      }
+    }
+    return pnlFirstOrder(scenarios, CurrencyAmountDerivatives.of(0.0d, currency, DoubleArray.ofUnsafe(total)));
+  }
+
+  /**
+   * Computes the P&L of each scenario by full revaluation.
+   * <p>
+   * The pricer computes the value from the levels of the factors. The P&L is the value in the scenario
+   * minus the value at the current levels. The pricer is called in parallel and must be thread-safe.
+   *
+   * @param scenarios  the scenarios
+   * @param pricer  the pricer
+   * @return the P&L, one by scenario
+   */
+  public static DoubleArray pnlFullRevaluation(HistoricalScenarios scenarios, ToDoubleFunction<DoubleArray> pricer) {
+    double baseValue = pricer.applyAsDouble(scenarios.getBaseLevels());
+    double[] pnl = new double[scenarios.getScenarioCount()];
+    IntStream.range(0, pnl.length).parallel()
+        .forEach(loopsc -> pnl[loopsc] = pricer.applyAsDouble(scenarios.getShiftedLevels(loopsc)) - baseValue);
+    return DoubleArray.ofUnsafe(pnl);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the value-at-risk from the P&L of the scenarios.
+   *
+   * @param pnl  the P&L
+   * @param confidenceLevel  the confidence level, e.g. 0.99
+   * @return the VaR
+   */
+  public static double valueAtRisk(DoubleArray pnl, double confidenceLevel) {
+    double[] values = pnl.toArray();
+    int k = tailSize(values.length, confidenceLevel);
+    select(values, k - 1);
+    return -values[k - 1];
+  }
+
+  /**
+   * Computes the expected shortfall from the P&L of the scenarios.
+   *
+   * @param pnl  the P&L
+   * @param confidenceLevel  the confidence level, e.g. 0.975
+   * @return the ES
+   */
+  public static double expectedShortfall(DoubleArray pnl, double confidenceLevel) {
+    double[] values = pnl.toArray();
+    int k = tailSize(values.length, confidenceLevel);
+    select(values, k - 1);
+    double sum = 0.0d;
+    for (int looptail = 0; looptail < k; looptail++) {
+      sum += values[looptail];
+    }
+    return -sum / k;
+  }
+
+  // the number of P&L in the tail
+  private static int tailSize(int nbScenarios, double confidenceLevel) {
+    ArgChecker.isTrue(nbScenarios > 0, "at least one scenario required");
+    ArgChecker.inRangeExclusive(confidenceLevel, 0.0d, 1.0d, "confidenceLevel");
+    // small tolerance to avoid ceil(10.000000000000002) = 11 for 1000 * (1 - 0.99)
+    return Math.max(1, (int) Math.ceil(nbScenarios * (1.0d - confidenceLevel) - 1.0E-9));
+  }
+
+  /**
+   * Partially sorts an array by quickselect: the element at index k is the one of a full sort,
+   * the elements before are smaller or equal and the elements after larger or equal.
+   * The expected time is linear in the size of the array.
+   * 
+   * @param values  the values, modified in place
+   * @param k  the index
+   */
+  static void select(double[] values, int k) {
+    int left = 0;
+    int right = values.length - 1;
+    while (right > left) {
+      // median of three as pivot
+      int middle = (left + right) >>> 1;
+      if (values[middle] < values[left]) {
+        swap(values, middle, left);
+      }
+      if (values[right] < values[left]) {
+        swap(values, right, left);
+      }
+      if (values[right] < values[middle]) {
+        swap(values, right, middle);
+      }
+      double pivot = values[middle];
+      int i = left;
+      int j = right;
+      while (i <= j) {
+        while (values[i] < pivot) {
+          i++;
+        }
+        while (values[j] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          swap(values, i, j);
+          i++;
+          j--;
+        }
+      }
+      if (k <= j) {
+        right = j;
+      } else if (k >= i) {
+        left = i;
+      } else {
+        return;
+      }
+    }
+  }
+
+  private static void swap(double[] values, int i, int j) {
+    double tmp = values[i];
+    values[i] = values[j];
+    values[j] = tmp;
+  }
+
+}
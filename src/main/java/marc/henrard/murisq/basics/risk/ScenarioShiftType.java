@@ -0,0 +1,18 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.risk;
+
+/**
+ * The way historical changes of a risk factor are applied to its current level.
+ *
+ * @author Marc Henrard
+ */
+public enum ScenarioShiftType {
+
+  /** The historical difference is added to the current level. Typically used for rates and spreads. */
+  ABSOLUTE,
+  /** The current level is multiplied by the historical ratio. Typically used for prices and FX rates. */
+  RELATIVE;
+
+}
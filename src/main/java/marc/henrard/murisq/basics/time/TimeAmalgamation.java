@@ -6,8 +6,13 @@ package marc.henrard.murisq.basics.time;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+import marc.henrard.murisq.basics.data.timeseries.TimeSeriesView;
 
 /**
  * Description on the way different values should be amalgamated through time.
@@ -17,6 +22,9 @@ import com.opengamma.strata.collect.array.DoubleArray;
  * @author Marc Henrard
  */
 public interface TimeAmalgamation {
+
+  /** The relative shift used in the default finite difference derivatives. */
+  public static final double FINITE_DIFFERENCE_SHIFT = 1.0E-6;
   
   /**
    * Amalgamate the values defined on a list of {@link LocalDate} and return the total amalgamation.
@@ -78,6 +86,145 @@ public interface TimeAmalgamation {
    */
   public double[] amalgamateTimesRunning(DoubleArray values, double[] times);
   
+  /**
+   * Computes the derivatives of the total amalgamation on an array of times with respect to the values.
+   * <p>
+   * The times must be coherent with the time measurement. 
+   * <p>
+   * The default implementation computes the derivatives by central finite differences on
+   * {@link #amalgamateTimes(DoubleArray, double[])}, with one pair of amalgamations by value;
+   * implementations should override it with the exact derivatives.
+   * 
+   * @param values  the values
+   * @param times  the times
+   * @return the derivatives of the amalgamated value with respect to each value
+   */
+  public default double[] amalgamateTimesDerivatives(DoubleArray values, double[] times) {
+    double[] bumped = values.toArray();
+    double[] derivatives = new double[bumped.length];
+    for (int loopv = 0; loopv < bumped.length; loopv++) {
+      double value = bumped[loopv];
+      double shift = FINITE_DIFFERENCE_SHIFT * Math.max(1.0d, Math.abs(value));
+      bumped[loopv] = value + shift;
+      double up = amalgamateTimes(DoubleArray.ofUnsafe(bumped), times);
+      bumped[loopv] = value - shift;
+      double down = amalgamateTimes(DoubleArray.ofUnsafe(bumped), times);
+      bumped[loopv] = value;
+      derivatives[loopv] = (up - down) / (2.0d * shift);
+    }
+    return derivatives;
+  }
+  
+  /**
+   * Amalgamate the values of a time series and return the total amalgamation.
+   * <p>
+   * The result is the same as {@link #amalgamateDates(DoubleArray, List)} on the dates and values of
+   * the time series. An empty time series has a total amalgamation of 0.
+   * <p>
+   * The default implementation extracts the dates and values; implementations should override it
+   * to consume the time series directly.
+   * 
+   * @param timeSeries  the time series
+   * @return the amalgamated value
+   */
+  public default double amalgamateTimeSeries(LocalDateDoubleTimeSeries timeSeries) {
+    if (timeSeries.isEmpty()) {
+      return 0.0d;
+    }
+    return amalgamateDates(DoubleArray.ofUnsafe(timeSeries.values().toArray()), 
+        timeSeries.dates().collect(Collectors.toList()));
+  }
+
+  /**
+   * Amalgamate the values of a time series between two dates and return the total amalgamation.
+   * <p>
+   * The start date is included and the end date excluded. The result is the same as 
+   * {@link #amalgamateTimeSeries(LocalDateDoubleTimeSeries)} on the sub-series.
+   * 
+   * @param timeSeries  the time series
+   * @param startInclusive  the start date, inclusive
+   * @param endExclusive  the end date, exclusive
+   * @return the amalgamated value
+   */
+  public default double amalgamateTimeSeries(
+      LocalDateDoubleTimeSeries timeSeries,
+      LocalDate startInclusive,
+      LocalDate endExclusive) {
+    
+    return amalgamateTimeSeries(timeSeries.subSeries(startInclusive, endExclusive));
+  }
+
+  /**
+   * Amalgamate the values of a time series view and return the total amalgamation.
+   * <p>
+   * The result is the same as {@link #amalgamateTimeSeries(LocalDateDoubleTimeSeries)} on the points
+   * of the view. Use {@link TimeSeriesView#subView(LocalDate, LocalDate)} for a date range without copy.
+   * 
+   * @param view  the time series view
+   * @return the amalgamated value
+   */
+  public default double amalgamateTimeSeries(TimeSeriesView view) {
+    return amalgamateTimeSeries(view.toTimeSeries());
+  }
+
+  /**
+   * Amalgamate the values of a time series and return the running total at each date.
+   * <p>
+   * The result is the same as {@link #amalgamateDatesRunning(DoubleArray, List)} on the dates and values of
+   * the time series, as a time series on the same dates.
+   * <p>
+   * The default implementation extracts the dates and values; implementations should override it
+   * to consume the time series directly.
+   * 
+   * @param timeSeries  the time series
+   * @return the amalgamated values
+   */
+  public default LocalDateDoubleTimeSeries amalgamateTimeSeriesRunning(LocalDateDoubleTimeSeries timeSeries) {
+    if (timeSeries.isEmpty()) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    List<LocalDate> dates = timeSeries.dates().collect(Collectors.toList());
+    DoubleArray running = 
+        amalgamateDatesRunning(DoubleArray.ofUnsafe(timeSeries.values().toArray()), dates);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int loopdate = 0; loopdate < dates.size(); loopdate++) {
+      builder.put(dates.get(loopdate), running.get(loopdate));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Amalgamate the values of a time series between two dates and return the running total at each date.
+   * <p>
+   * The start date is included and the end date excluded. The result is the same as 
+   * {@link #amalgamateTimeSeriesRunning(LocalDateDoubleTimeSeries)} on the sub-series.
+   * 
+   * @param timeSeries  the time series
+   * @param startInclusive  the start date, inclusive
+   * @param endExclusive  the end date, exclusive
+   * @return the amalgamated values
+   */
+  public default LocalDateDoubleTimeSeries amalgamateTimeSeriesRunning(
+      LocalDateDoubleTimeSeries timeSeries,
+      LocalDate startInclusive,
+      LocalDate endExclusive) {
+    
+    return amalgamateTimeSeriesRunning(timeSeries.subSeries(startInclusive, endExclusive));
+  }
+
+  /**
+   * Amalgamate the values of a time series view and return the running total at each date.
+   * <p>
+   * The result is the same as {@link #amalgamateTimeSeriesRunning(LocalDateDoubleTimeSeries)} on the points
+   * of the view.
+   * 
+   * @param view  the time series view
+   * @return the amalgamated values
+   */
+  public default LocalDateDoubleTimeSeries amalgamateTimeSeriesRunning(TimeSeriesView view) {
+    return amalgamateTimeSeriesRunning(view.toTimeSeries());
+  }
+  
   /**
    * Returns the underlying time measurement mechanism.
    * 
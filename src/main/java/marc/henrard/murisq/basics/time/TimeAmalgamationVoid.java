@@ -49,6 +49,11 @@ public final class TimeAmalgamationVoid
     throw new IllegalArgumentException("Amalgamation method not known");
   }
 
+  @Override
+  public double[] amalgamateTimesDerivatives(DoubleArray values, double[] times) {
+    throw new IllegalArgumentException("Amalgamation method not known");
+  }
+
   @Override
   public TimeMeasurement getTimeMeasurement() {
     throw new IllegalArgumentException("Amalgamation method not known");
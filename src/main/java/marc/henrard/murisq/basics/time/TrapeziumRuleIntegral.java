@@ -24,6 +24,10 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+import marc.henrard.murisq.basics.data.timeseries.TimeSeriesView;
 
 /**
  * Time amalgamation by numerical integration using the trapezium rule between the values and
@@ -113,6 +117,143 @@ public final class TrapeziumRuleIntegral
     return integrals;
   }
 
+  @Override
+  public double[] amalgamateTimesDerivatives(DoubleArray values, double[] times) {
+    int nbTimes = times.length;
+    double[] derivatives = new double[nbTimes];
+    derivatives[0] = times[0];
+    for (int looptime = 0; looptime < nbTimes - 1; looptime++) {
+      double halfDelta = 0.5 * (times[looptime + 1] - times[looptime]);
+      derivatives[looptime] += halfDelta;
+      derivatives[looptime + 1] += halfDelta;
+    }
+    return derivatives;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The integral is computed in one pass on the time series, without extraction of the dates and values.
+   */
+  @Override
+  public double amalgamateTimeSeries(LocalDateDoubleTimeSeries timeSeries) {
+    Accumulator accumulator = new Accumulator();
+    timeSeries.forEach((date, value) -> accumulator.add(time(date), value));
+    return accumulator.integral;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The integral is computed in one pass on the time series, without creation of the sub-series.
+   */
+  @Override
+  public double amalgamateTimeSeries(
+      LocalDateDoubleTimeSeries timeSeries,
+      LocalDate startInclusive,
+      LocalDate endExclusive) {
+
+    ArgChecker.inOrderOrEqual(startInclusive, endExclusive, "startInclusive", "endExclusive");
+    Accumulator accumulator = new Accumulator();
+    timeSeries.forEach((date, value) -> {
+      if (!date.isBefore(startInclusive) && date.isBefore(endExclusive)) {
+        accumulator.add(time(date), value);
+      }
+    });
+    return accumulator.integral;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The integral is computed directly on the shared arrays of the view.
+   */
+  @Override
+  public double amalgamateTimeSeries(TimeSeriesView view) {
+    Accumulator accumulator = new Accumulator();
+    for (int looppt = 0; looppt < view.size(); looppt++) {
+      accumulator.add(time(view.getDate(looppt)), view.getValue(looppt));
+    }
+    return accumulator.integral;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The integrals are computed in one pass on the time series, without extraction of the dates and values.
+   */
+  @Override
+  public LocalDateDoubleTimeSeries amalgamateTimeSeriesRunning(LocalDateDoubleTimeSeries timeSeries) {
+    Accumulator accumulator = new Accumulator();
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    timeSeries.forEach((date, value) -> builder.put(date, accumulator.add(time(date), value)));
+    return builder.build();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The integrals are computed in one pass on the time series, without creation of the sub-series.
+   */
+  @Override
+  public LocalDateDoubleTimeSeries amalgamateTimeSeriesRunning(
+      LocalDateDoubleTimeSeries timeSeries,
+      LocalDate startInclusive,
+      LocalDate endExclusive) {
+
+    ArgChecker.inOrderOrEqual(startInclusive, endExclusive, "startInclusive", "endExclusive");
+    Accumulator accumulator = new Accumulator();
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    timeSeries.forEach((date, value) -> {
+      if (!date.isBefore(startInclusive) && date.isBefore(endExclusive)) {
+        builder.put(date, accumulator.add(time(date), value));
+      }
+    });
+    return builder.build();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The integrals are computed directly on the shared arrays of the view.
+   */
+  @Override
+  public LocalDateDoubleTimeSeries amalgamateTimeSeriesRunning(TimeSeriesView view) {
+    Accumulator accumulator = new Accumulator();
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int looppt = 0; looppt < view.size(); looppt++) {
+      LocalDate date = view.getDate(looppt);
+      builder.put(date, accumulator.add(time(date), view.getValue(looppt)));
+    }
+    return builder.build();
+  }
+
+  // time of a date from the valuation date-time
+  private double time(LocalDate date) {
+    return timeMeasurement.relativeTime(valuationDateTime, date);
+  }
+
+  // running trapezium rule integral, with a constant value below the first point
+  private static final class Accumulator {
+    private boolean started;
+    private double previousTime;
+    private double previousValue;
+    private double integral;
+
+    // adds a point and returns the running integral
+    private double add(double time, double value) {
+      if (started) {
+        integral += 0.5 * (previousValue + value) * (time - previousTime);
+      } else {
+        integral = time * value;
+        started = true;
+      }
+      previousTime = time;
+      previousValue = value;
+      return integral;
+    }
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   /**
    * The meta-bean for {@code TrapeziumRuleIntegral}.
@@ -0,0 +1,185 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.value;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Converts {@link CurrencyAmountDerivatives} in different currencies to a reporting currency.
+ * <p>
+ * The amounts in the different currencies should have their derivatives with respect to the same
+ * parameters. The converted derivatives are the derivatives with respect to those parameters, scaled by
+ * the FX rate, followed by the derivatives with respect to the FX rates (FX delta). The FX rate for
+ * a currency is the number of units of reporting currency for one unit of that currency and
+ * the derivative of the converted value with respect to it is the amount in that currency.
+ * <p>
+ * The FX rates are obtained from the provider once, when the converter is created, and the converter
+ * can be reused for all the trades of a run.
+ *
+ * @author Marc Henrard
+ */
+public final class CurrencyAmountDerivativesFxConverter {
+
+  /** The reporting currency. */
+  private final Currency reportingCurrency;
+  /** The currencies for which the FX delta are computed, in the order of the derivatives. */
+  private final ImmutableList<Currency> currencies;
+  /** The FX rates from each currency to the reporting currency. */
+  private final double[] rates;
+  /** The index of each currency. The reporting currency has index -1. */
+  private final Map<Currency, Integer> indices;
+
+  /**
+   * Creates a converter.
+   * <p>
+   * The FX delta will be computed with respect to the rates of the currencies provided, in that order.
+   * Those currencies should not include the reporting currency.
+   *
+   * @param reportingCurrency  the reporting currency
+   * @param currencies  the currencies of the amounts to convert
+   * @param fxProvider  the provider of FX rates
+   * @return the converter
+   */
+  public static CurrencyAmountDerivativesFxConverter of(
+      Currency reportingCurrency,
+      List<Currency> currencies,
+      FxRateProvider fxProvider) {
+
+    ArgChecker.notNull(reportingCurrency, "reportingCurrency");
+    ArgChecker.isFalse(currencies.contains(reportingCurrency), "currencies should not contain the reporting currency");
+    int nbCurrencies = currencies.size();
+    double[] rates = new double[nbCurrencies];
+    for (int loopccy = 0; loopccy < nbCurrencies; loopccy++) {
+      rates[loopccy] = fxProvider.fxRate(currencies.get(loopccy), reportingCurrency);
+    }
+    return new CurrencyAmountDerivativesFxConverter(reportingCurrency, currencies, rates);
+  }
+
+  // private constructor
+  private CurrencyAmountDerivativesFxConverter(
+      Currency reportingCurrency,
+      List<Currency> currencies,
+      double[] rates) {
+
+    this.reportingCurrency = reportingCurrency;
+    this.currencies = ImmutableList.copyOf(currencies);
+    this.rates = rates;
+    this.indices = new HashMap<>();
+    indices.put(reportingCurrency, -1);
+    for (int loopccy = 0; loopccy < rates.length; loopccy++) {
+      Integer previous = indices.put(currencies.get(loopccy), loopccy);
+      ArgChecker.isTrue(previous == null, "currency {} appears more than once", currencies.get(loopccy));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the reporting currency.
+   *
+   * @return the currency
+   */
+  public Currency getReportingCurrency() {
+    return reportingCurrency;
+  }
+
+  /**
+   * Returns the currencies for which the FX delta are computed, in the order of the derivatives.
+   *
+   * @return the currencies
+   */
+  public ImmutableList<Currency> getCurrencies() {
+    return currencies;
+  }
+
+  /**
+   * Returns the FX rate used to convert a currency to the reporting currency.
+   *
+   * @param currency  the currency
+   * @return the rate
+   */
+  public double fxRate(Currency currency) {
+    int index = index(currency);
+    return (index < 0) ? 1.0d : rates[index];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Converts an amount to the reporting currency.
+   * <p>
+   * The derivatives are the scaled derivatives followed by the FX delta.
+   *
+   * @param amount  the amount
+   * @return the converted amount
+   */
+  public CurrencyAmountDerivatives convert(CurrencyAmountDerivatives amount) {
+    int nbParameters = amount.getDerivatives().size();
+    double[] derivatives = new double[nbParameters + rates.length];
+    double value = addTo(amount, derivatives);
+    return CurrencyAmountDerivatives.of(value, reportingCurrency, DoubleArray.ofUnsafe(derivatives));
+  }
+
+  /**
+   * Converts a list of amounts to the reporting currency and returns the total.
+   * <p>
+   * All the amounts should have the same number of derivatives. The derivatives are the total scaled
+   * derivatives followed by the FX delta. The aggregation uses one array, without intermediary arrays for
+   * each amount.
+   *
+   * @param amounts  the amounts
+   * @return the converted total
+   */
+  public CurrencyAmountDerivatives convert(List<CurrencyAmountDerivatives> amounts) {
+    ArgChecker.notEmpty(amounts, "amounts");
+    int nbParameters = amounts.get(0).getDerivatives().size();
+    double[] derivatives = new double[nbParameters + rates.length];
+    double value = 0.0d;
+    for (CurrencyAmountDerivatives amount : amounts) {
+      value += addTo(amount, derivatives);
+    }
+    return CurrencyAmountDerivatives.of(value, reportingCurrency, DoubleArray.ofUnsafe(derivatives));
+  }
+
+  /**
+   * Converts an amount to the reporting currency and adds its derivatives to an existing array.
+   * <p>
+   * The destination array contains the derivatives with respect to the parameters followed by the FX delta;
+   * its size is the number of derivatives of the amount plus the number of currencies. The destination is
+   * updated in place.
+   *
+   * @param amount  the amount
+   * @param destination  the derivatives array, updated in place
+   * @return the converted value
+   */
+  public double addTo(CurrencyAmountDerivatives amount, double[] destination) {
+    double[] derivatives = amount.getDerivatives().toArrayUnsafe();
+    int nbParameters = derivatives.length;
+    ArgChecker.isTrue(destination.length == nbParameters + rates.length,
+        "destination should have size {}", nbParameters + rates.length);
+    int index = index(amount.getCurrency());
+    double rate = (index < 0) ? 1.0d : rates[index];
+    for (int loopparam = 0; loopparam < nbParameters; loopparam++) {
+      destination[loopparam] += rate * derivatives[loopparam];
+    }
+    if (index >= 0) {
+      destination[nbParameters + index] += amount.getValue();
+    }
+    return rate * amount.getValue();
+  }
+
+  // index of a currency, -1 for the reporting currency
+  private int index(Currency currency) {
+    Integer index = indices.get(currency);
+    ArgChecker.isTrue(index != null, "currency {} not available in converter", currency);
+    return index;
+  }
+
+}
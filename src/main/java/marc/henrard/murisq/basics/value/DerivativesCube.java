@@ -0,0 +1,230 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.value;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Storage of the values and derivatives for a set of scenarios and trades.
+ * <p>
+ * The cube stores, for each scenario and each trade, a value and its derivatives with respect to
+ * a common set of parameters, all in one currency. The storage can be in double or in float precision;
+ * in both cases the values are widened to double when read and the arithmetic is done in double.
+ * The float precision halves the memory used by large cubes.
+ * <p>
+ * The cube is mutable and not thread-safe for writing the same scenario from different threads.
+ * Different scenarios can be written from different threads.
+ *
+ * @author Marc Henrard
+ */
+public final class DerivativesCube {
+
+  /** The currency of all the values and derivatives. */
+  private final Currency currency;
+  /** The number of trades. */
+  private final int nbTrades;
+  /** The number of parameters. */
+  private final int nbParameters;
+  /** The values, one row by scenario. */
+  private final RowStorage values;
+  /** The derivatives, one row by scenario with the derivatives of each trade one after the other. */
+  private final RowStorage derivatives;
+
+  /**
+   * Creates a cube with all the values and derivatives equal to 0.
+   *
+   * @param currency  the currency
+   * @param nbScenarios  the number of scenarios
+   * @param nbTrades  the number of trades
+   * @param nbParameters  the number of parameters
+   * @param precision  the storage precision
+   * @return the cube
+   */
+  public static DerivativesCube of(
+      Currency currency,
+      int nbScenarios,
+      int nbTrades,
+      int nbParameters,
+      StoragePrecision precision) {
+
+    ArgChecker.notNull(currency, "currency");
+    ArgChecker.isTrue((long) nbTrades * nbParameters <= Integer.MAX_VALUE - 8,
+        "number of trades times number of parameters too large for one scenario");
+    return new DerivativesCube(currency, nbScenarios, nbTrades, nbParameters, precision);
+  }
+
+  // private constructor
+  private DerivativesCube(
+      Currency currency,
+      int nbScenarios,
+      int nbTrades,
+      int nbParameters,
+      StoragePrecision precision) {
+
+    this.currency = currency;
+    this.nbTrades = nbTrades;
+    this.nbParameters = nbParameters;
+    this.values = RowStorage.of(precision, nbScenarios, nbTrades);
+    this.derivatives = RowStorage.of(precision, nbScenarios, nbTrades * nbParameters);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the currency.
+   *
+   * @return the currency
+   */
+  public Currency getCurrency() {
+    return currency;
+  }
+
+  /**
+   * Returns the number of scenarios.
+   *
+   * @return the number of scenarios
+   */
+  public int getScenarioCount() {
+    return values.nbRows;
+  }
+
+  /**
+   * Returns the number of trades.
+   *
+   * @return the number of trades
+   */
+  public int getTradeCount() {
+    return nbTrades;
+  }
+
+  /**
+   * Returns the number of parameters.
+   *
+   * @return the number of parameters
+   */
+  public int getParameterCount() {
+    return nbParameters;
+  }
+
+  /**
+   * Returns the storage precision.
+   *
+   * @return the precision
+   */
+  public StoragePrecision getPrecision() {
+    return values.getPrecision();
+  }
+
+  /**
+   * Returns the number of bytes used to store the values and derivatives.
+   *
+   * @return the number of bytes
+   */
+  public long sizeInBytes() {
+    return values.sizeInBytes() + derivatives.sizeInBytes();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the value for a scenario and a trade.
+   *
+   * @param scenario  the scenario index
+   * @param trade  the trade index
+   * @return the value
+   */
+  public double getValue(int scenario, int trade) {
+    ArgChecker.inRange(trade, 0, nbTrades, "trade");
+    return values.get(scenario, trade);
+  }
+
+  /**
+   * Returns one derivative for a scenario and a trade.
+   *
+   * @param scenario  the scenario index
+   * @param trade  the trade index
+   * @param parameter  the parameter index
+   * @return the derivative
+   */
+  public double getDerivative(int scenario, int trade, int parameter) {
+    ArgChecker.inRange(trade, 0, nbTrades, "trade");
+    ArgChecker.inRange(parameter, 0, nbParameters, "parameter");
+    return derivatives.get(scenario, trade * nbParameters + parameter);
+  }
+
+  /**
+   * Returns the value and derivatives for a scenario and a trade.
+   *
+   * @param scenario  the scenario index
+   * @param trade  the trade index
+   * @return the value and derivatives
+   */
+  public CurrencyAmountDerivatives get(int scenario, int trade) {
+    ArgChecker.inRange(trade, 0, nbTrades, "trade");
+    double[] tradeDerivatives = new double[nbParameters];
+    derivatives.read(scenario, trade * nbParameters, tradeDerivatives, 0, nbParameters);
+    return CurrencyAmountDerivatives.of(values.get(scenario, trade), currency, DoubleArray.ofUnsafe(tradeDerivatives));
+  }
+
+  /**
+   * Sets the value and derivatives for a scenario and a trade.
+   *
+   * @param scenario  the scenario index
+   * @param trade  the trade index
+   * @param amount  the value and derivatives, in the currency of the cube
+   */
+  public void set(int scenario, int trade, CurrencyAmountDerivatives amount) {
+    ArgChecker.inRange(trade, 0, nbTrades, "trade");
+    ArgChecker.isTrue(amount.getCurrency().equals(currency), "amount should be in {}", currency);
+    ArgChecker.isTrue(amount.getDerivatives().size() == nbParameters,
+        "amount should have {} derivatives", nbParameters);
+    values.set(scenario, trade, amount.getValue());
+    derivatives.write(scenario, trade * nbParameters, amount.getDerivatives().toArrayUnsafe(), 0, nbParameters);
+  }
+
+  /**
+   * Sets one derivative for a scenario and a trade.
+   *
+   * @param scenario  the scenario index
+   * @param trade  the trade index
+   * @param parameter  the parameter index
+   * @param derivative  the derivative
+   */
+  public void setDerivative(int scenario, int trade, int parameter, double derivative) {
+    ArgChecker.inRange(trade, 0, nbTrades, "trade");
+    ArgChecker.inRange(parameter, 0, nbParameters, "parameter");
+    derivatives.set(scenario, trade * nbParameters + parameter, derivative);
+  }
+
+  /**
+   * Sets the value for a scenario and a trade.
+   *
+   * @param scenario  the scenario index
+   * @param trade  the trade index
+   * @param value  the value
+   */
+  public void setValue(int scenario, int trade, double value) {
+    ArgChecker.inRange(trade, 0, nbTrades, "trade");
+    values.set(scenario, trade, value);
+  }
+
+  /**
+   * Computes the total value and derivatives of all the trades in a scenario.
+   * <p>
+   * The aggregation is done in double precision.
+   *
+   * @param scenario  the scenario index
+   * @return the total value and derivatives
+   */
+  public CurrencyAmountDerivatives total(int scenario) {
+    double value = 0.0d;
+    double[] total = new double[nbParameters];
+    for (int looptrade = 0; looptrade < nbTrades; looptrade++) {
+      value += values.get(scenario, looptrade);
+      derivatives.addTo(scenario, looptrade * nbParameters, 1.0d, total, 0, nbParameters);
+    }
+    return CurrencyAmountDerivatives.of(value, currency, DoubleArray.ofUnsafe(total));
+  }
+
+}
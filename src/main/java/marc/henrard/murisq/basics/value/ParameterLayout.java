@@ -0,0 +1,280 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.value;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.param.ParameterMetadata;
+
+/**
+ * Description of the layout of the parameters in the derivatives of a {@link CurrencyAmountDerivatives}.
+ * <p>
+ * The derivatives are stored in one array, the parameters of each market data (typically curves) being
+ * stored one after the other. The layout describes, for each market data, its name, the offset of its
+ * first parameter in the array, the number of parameters and their metadata.
+ * <p>
+ * The layout is computed once and can be reused for all the trades of a run to convert between
+ * the array representation and the {@link CurrencyParameterSensitivities} representation.
+ * The currency of the sensitivities is the currency of the amount.
+ *
+ * @author Marc Henrard
+ */
+public final class ParameterLayout {
+
+  /** The names of the market data, in the order of the derivatives array. */
+  private final ImmutableList<MarketDataName<?>> names;
+  /** The metadata of the parameters for each market data. Can be empty for a given market data. */
+  private final ImmutableList<ImmutableList<ParameterMetadata>> metadata;
+  /** The offset of the first parameter of each market data. The last element is the total number of parameters. */
+  private final int[] offsets;
+  /** The index of each market data name. */
+  private final Map<MarketDataName<?>, Integer> indices;
+
+  /**
+   * Creates a layout from the names and the parameter metadata.
+   * <p>
+   * The number of parameters of each market data is the size of the list of metadata.
+   *
+   * @param names  the market data names, in the order of the derivatives
+   * @param metadata  the parameter metadata for each market data
+   * @return the layout
+   */
+  public static ParameterLayout of(
+      List<? extends MarketDataName<?>> names,
+      List<? extends List<? extends ParameterMetadata>> metadata) {
+
+    int nbNames = names.size();
+    ArgChecker.isTrue(nbNames == metadata.size(), "names and metadata should have the same size");
+    int[] lengths = new int[nbNames];
+    for (int loopname = 0; loopname < nbNames; loopname++) {
+      lengths[loopname] = metadata.get(loopname).size();
+    }
+    return new ParameterLayout(names, metadata, lengths);
+  }
+
+  /**
+   * Creates a layout from a template sensitivities.
+   * <p>
+   * The order of the market data is the order of the sensitivities in the template. The number of
+   * parameters is the size of the sensitivity array and the metadata is the one of the template.
+   * Each market data name should appear only once in the template.
+   *
+   * @param template  the template sensitivities
+   * @return the layout
+   */
+  public static ParameterLayout of(CurrencyParameterSensitivities template) {
+    List<CurrencyParameterSensitivity> sensitivities = template.getSensitivities();
+    int nbNames = sensitivities.size();
+    ImmutableList.Builder<MarketDataName<?>> names = ImmutableList.builder();
+    ImmutableList.Builder<List<ParameterMetadata>> metadata = ImmutableList.builder();
+    int[] lengths = new int[nbNames];
+    for (int loopname = 0; loopname < nbNames; loopname++) {
+      CurrencyParameterSensitivity sensitivity = sensitivities.get(loopname);
+      names.add(sensitivity.getMarketDataName());
+      metadata.add(sensitivity.getParameterMetadata());
+      lengths[loopname] = sensitivity.getSensitivity().size();
+    }
+    return new ParameterLayout(names.build(), metadata.build(), lengths);
+  }
+
+  // private constructor
+  private ParameterLayout(
+      List<? extends MarketDataName<?>> names,
+      List<? extends List<? extends ParameterMetadata>> metadata,
+      int[] lengths) {
+
+    int nbNames = names.size();
+    this.names = ImmutableList.copyOf(names);
+    ImmutableList.Builder<ImmutableList<ParameterMetadata>> metadataBuilder = ImmutableList.builder();
+    this.offsets = new int[nbNames + 1];
+    this.indices = new HashMap<>();
+    for (int loopname = 0; loopname < nbNames; loopname++) {
+      ArgChecker.isTrue(metadata.get(loopname).isEmpty() || metadata.get(loopname).size() == lengths[loopname],
+          "metadata should be empty or have the same size as the parameters");
+      metadataBuilder.add(ImmutableList.copyOf(metadata.get(loopname)));
+      offsets[loopname + 1] = offsets[loopname] + lengths[loopname];
+      Integer previous = indices.put(names.get(loopname), loopname);
+      ArgChecker.isTrue(previous == null, "market data name {} appears more than once", names.get(loopname));
+    }
+    this.metadata = metadataBuilder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the number of market data in the layout.
+   *
+   * @return the number of market data
+   */
+  public int getNameCount() {
+    return names.size();
+  }
+
+  /**
+   * Returns the total number of parameters, i.e. the size of the derivatives array.
+   *
+   * @return the number of parameters
+   */
+  public int getParameterCount() {
+    return offsets[names.size()];
+  }
+
+  /**
+   * Returns the name of the market data at a given index.
+   *
+   * @param index  the index
+   * @return the name
+   */
+  public MarketDataName<?> getName(int index) {
+    return names.get(index);
+  }
+
+  /**
+   * Returns the offset of the first parameter of the market data at a given index.
+   *
+   * @param index  the index
+   * @return the offset
+   */
+  public int getOffset(int index) {
+    return offsets[index];
+  }
+
+  /**
+   * Returns the number of parameters of the market data at a given index.
+   *
+   * @param index  the index
+   * @return the number of parameters
+   */
+  public int getLength(int index) {
+    return offsets[index + 1] - offsets[index];
+  }
+
+  /**
+   * Returns the parameter metadata of the market data at a given index.
+   *
+   * @param index  the index
+   * @return the metadata, empty if not available
+   */
+  public ImmutableList<ParameterMetadata> getParameterMetadata(int index) {
+    return metadata.get(index);
+  }
+
+  /**
+   * Returns the index of a market data name in the layout, -1 if not present.
+   *
+   * @param name  the market data name
+   * @return the index
+   */
+  public int indexOf(MarketDataName<?> name) {
+    Integer index = indices.get(name);
+    return (index == null) ? -1 : index;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Converts the derivatives of an amount to sensitivities.
+   * <p>
+   * The sensitivities are in the currency of the amount. When the layout contains only one market data,
+   * the derivatives array is used without copy; otherwise each market data array is copied once.
+   *
+   * @param amount  the amount and its derivatives
+   * @return the sensitivities
+   */
+  public CurrencyParameterSensitivities toSensitivities(CurrencyAmountDerivatives amount) {
+    return toSensitivities(amount.getDerivatives(), amount.getCurrency());
+  }
+
+  /**
+   * Converts a derivatives array to sensitivities.
+   *
+   * @param derivatives  the derivatives, in the layout order
+   * @param currency  the currency of the sensitivities
+   * @return the sensitivities
+   */
+  public CurrencyParameterSensitivities toSensitivities(DoubleArray derivatives, Currency currency) {
+    int nbNames = names.size();
+    ArgChecker.isTrue(derivatives.size() == getParameterCount(),
+        "derivatives size {} not compatible with layout size {}", derivatives.size(), getParameterCount());
+    if (nbNames == 1) {
+      return CurrencyParameterSensitivities.of(
+          CurrencyParameterSensitivity.of(names.get(0), metadata.get(0), currency, derivatives));
+    }
+    CurrencyParameterSensitivity[] sensitivities = new CurrencyParameterSensitivity[nbNames];
+    for (int loopname = 0; loopname < nbNames; loopname++) {
+      sensitivities[loopname] = CurrencyParameterSensitivity.of(names.get(loopname), metadata.get(loopname),
+          currency, derivatives.subArray(offsets[loopname], offsets[loopname + 1]));
+    }
+    return CurrencyParameterSensitivities.of(sensitivities);
+  }
+
+  /**
+   * Converts sensitivities to a derivatives array.
+   * <p>
+   * Only the sensitivities in the given currency are used. The market data not present in the
+   * sensitivities have zero derivatives. All the market data in the sensitivities must be in the layout.
+   *
+   * @param sensitivities  the sensitivities
+   * @param currency  the currency of the sensitivities to use
+   * @return the derivatives, in the layout order
+   */
+  public DoubleArray toDerivatives(CurrencyParameterSensitivities sensitivities, Currency currency) {
+    double[] derivatives = new double[getParameterCount()];
+    addTo(sensitivities, currency, derivatives);
+    return DoubleArray.ofUnsafe(derivatives);
+  }
+
+  /**
+   * Converts a value and sensitivities to an amount with derivatives.
+   *
+   * @param value  the value
+   * @param sensitivities  the sensitivities
+   * @param currency  the currency of the amount and of the sensitivities to use
+   * @return the amount with derivatives
+   */
+  public CurrencyAmountDerivatives toCurrencyAmountDerivatives(
+      double value,
+      CurrencyParameterSensitivities sensitivities,
+      Currency currency) {
+
+    return CurrencyAmountDerivatives.of(value, currency, toDerivatives(sensitivities, currency));
+  }
+
+  /**
+   * Adds sensitivities to an existing derivatives array.
+   * <p>
+   * The destination array is updated in place. This is used to aggregate the sensitivities of
+   * several trades without intermediary arrays.
+   *
+   * @param sensitivities  the sensitivities
+   * @param currency  the currency of the sensitivities to use
+   * @param destination  the derivatives array, in the layout order, updated in place
+   */
+  public void addTo(CurrencyParameterSensitivities sensitivities, Currency currency, double[] destination) {
+    ArgChecker.isTrue(destination.length == getParameterCount(),
+        "destination size {} not compatible with layout size {}", destination.length, getParameterCount());
+    for (CurrencyParameterSensitivity sensitivity : sensitivities.getSensitivities()) {
+      if (!sensitivity.getCurrency().equals(currency)) {
+        continue;
+      }
+      int index = indexOf(sensitivity.getMarketDataName());
+      ArgChecker.isTrue(index >= 0, "market data name {} not in layout", sensitivity.getMarketDataName());
+      double[] values = sensitivity.getSensitivity().toArrayUnsafe();
+      int offset = offsets[index];
+      ArgChecker.isTrue(values.length == offsets[index + 1] - offset,
+          "sensitivity size for {} not compatible with layout", sensitivity.getMarketDataName());
+      for (int loopparam = 0; loopparam < values.length; loopparam++) {
+        destination[offset + loopparam] += values[loopparam];
+      }
+    }
+  }
+
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.value;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Storage of simulated values, for a set of paths and a set of times.
+ * <p>
+ * The storage can be in double or in float precision; in both cases the values are widened to double
+ * when read and the arithmetic is done in double. The float precision halves the memory used.
+ * <p>
+ * The matrix is mutable and not thread-safe for writing the same path from different threads.
+ * Different paths can be written from different threads.
+ *
+ * @author Marc Henrard
+ */
+public final class PathMatrix {
+
+  /** The values, one row by path. */
+  private final RowStorage values;
+
+  /**
+   * Creates a matrix with all the values equal to 0.
+   *
+   * @param nbPaths  the number of paths
+   * @param nbTimes  the number of times
+   * @param precision  the storage precision
+   * @return the matrix
+   */
+  public static PathMatrix of(int nbPaths, int nbTimes, StoragePrecision precision) {
+    return new PathMatrix(RowStorage.of(precision, nbPaths, nbTimes));
+  }
+
+  // private constructor
+  private PathMatrix(RowStorage values) {
+    this.values = values;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the number of paths.
+   *
+   * @return the number of paths
+   */
+  public int getPathCount() {
+    return values.nbRows;
+  }
+
+  /**
+   * Returns the number of times.
+   *
+   * @return the number of times
+   */
+  public int getTimeCount() {
+    return values.rowLength;
+  }
+
+  /**
+   * Returns the storage precision.
+   *
+   * @return the precision
+   */
+  public StoragePrecision getPrecision() {
+    return values.getPrecision();
+  }
+
+  /**
+   * Returns the number of bytes used to store the values.
+   *
+   * @return the number of bytes
+   */
+  public long sizeInBytes() {
+    return values.sizeInBytes();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the value for a path and a time.
+   *
+   * @param path  the path index
+   * @param time  the time index
+   * @return the value
+   */
+  public double get(int path, int time) {
+    return values.get(path, time);
+  }
+
+  /**
+   * Sets the value for a path and a time.
+   *
+   * @param path  the path index
+   * @param time  the time index
+   * @param value  the value
+   */
+  public void set(int path, int time, double value) {
+    values.set(path, time, value);
+  }
+
+  /**
+   * Returns the values of a path.
+   *
+   * @param path  the path index
+   * @return the values
+   */
+  public DoubleArray getPath(int path) {
+    double[] pathValues = new double[values.rowLength];
+    values.read(path, 0, pathValues, 0, values.rowLength);
+    return DoubleArray.ofUnsafe(pathValues);
+  }
+
+  /**
+   * Copies the values of a path into an existing array.
+   *
+   * @param path  the path index
+   * @param destination  the destination array, with a size at least equal to the number of times
+   */
+  public void readPath(int path, double[] destination) {
+    values.read(path, 0, destination, 0, values.rowLength);
+  }
+
+  /**
+   * Sets the values of a path.
+   *
+   * @param path  the path index
+   * @param pathValues  the values, with a size equal to the number of times
+   */
+  public void setPath(int path, double[] pathValues) {
+    ArgChecker.isTrue(pathValues.length == values.rowLength, "path should have {} values", values.rowLength);
+    values.write(path, 0, pathValues, 0, values.rowLength);
+  }
+
+  /**
+   * Returns the values at a given time for all the paths.
+   *
+   * @param time  the time index
+   * @return the values
+   */
+  public DoubleArray getTime(int time) {
+    int nbPaths = values.nbRows;
+    double[] timeValues = new double[nbPaths];
+    for (int looppath = 0; looppath < nbPaths; looppath++) {
+      timeValues[looppath] = values.get(looppath, time);
+    }
+    return DoubleArray.ofUnsafe(timeValues);
+  }
+
+}
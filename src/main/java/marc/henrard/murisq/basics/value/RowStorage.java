@@ -0,0 +1,207 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.value;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Storage of a rectangular set of values organised by rows, in double or float precision.
+ * <p>
+ * Each row is stored in its own primitive array, which allows a total number of values above
+ * the maximum size of a single array. The values are widened to double when read.
+ *
+ * @author Marc Henrard
+ */
+abstract class RowStorage {
+
+  /** The number of rows. */
+  final int nbRows;
+  /** The number of values in each row. */
+  final int rowLength;
+
+  /**
+   * Creates a storage with all the values equal to 0.
+   *
+   * @param precision  the storage precision
+   * @param nbRows  the number of rows
+   * @param rowLength  the number of values in each row
+   * @return the storage
+   */
+  static RowStorage of(StoragePrecision precision, int nbRows, int rowLength) {
+    ArgChecker.notNull(precision, "precision");
+    ArgChecker.notNegative(nbRows, "nbRows");
+    ArgChecker.notNegative(rowLength, "rowLength");
+    return (precision == StoragePrecision.FLOAT) ?
+        new FloatRowStorage(nbRows, rowLength) :
+        new DoubleRowStorage(nbRows, rowLength);
+  }
+
+  // constructor
+  RowStorage(int nbRows, int rowLength) {
+    this.nbRows = nbRows;
+    this.rowLength = rowLength;
+  }
+
+  /**
+   * Returns the storage precision.
+   *
+   * @return the precision
+   */
+  abstract StoragePrecision getPrecision();
+
+  /**
+   * Returns a value.
+   *
+   * @param row  the row
+   * @param index  the index in the row
+   * @return the value
+   */
+  abstract double get(int row, int index);
+
+  /**
+   * Sets a value.
+   *
+   * @param row  the row
+   * @param index  the index in the row
+   * @param value  the value
+   */
+  abstract void set(int row, int index, double value);
+
+  /**
+   * Copies a part of a row into a double array.
+   *
+   * @param row  the row
+   * @param index  the first index in the row
+   * @param destination  the destination array
+   * @param destinationIndex  the first index in the destination
+   * @param length  the number of values to copy
+   */
+  abstract void read(int row, int index, double[] destination, int destinationIndex, int length);
+
+  /**
+   * Copies a double array into a part of a row.
+   *
+   * @param row  the row
+   * @param index  the first index in the row
+   * @param source  the source array
+   * @param sourceIndex  the first index in the source
+   * @param length  the number of values to copy
+   */
+  abstract void write(int row, int index, double[] source, int sourceIndex, int length);
+
+  /**
+   * Adds a part of a row, multiplied by a factor, to a double array.
+   *
+   * @param row  the row
+   * @param index  the first index in the row
+   * @param factor  the multiplicative factor
+   * @param destination  the destination array, updated in place
+   * @param destinationIndex  the first index in the destination
+   * @param length  the number of values to add
+   */
+  abstract void addTo(int row, int index, double factor, double[] destination, int destinationIndex, int length);
+
+  /**
+   * Returns the number of bytes used by the values.
+   *
+   * @return the number of bytes
+   */
+  long sizeInBytes() {
+    return (long) nbRows * rowLength * getPrecision().getBytes();
+  }
+
+  //-------------------------------------------------------------------------
+  /** Storage in double. */
+  private static final class DoubleRowStorage extends RowStorage {
+    private final double[][] rows;
+
+    DoubleRowStorage(int nbRows, int rowLength) {
+      super(nbRows, rowLength);
+      this.rows = new double[nbRows][rowLength];
+    }
+
+    @Override
+    StoragePrecision getPrecision() {
+      return StoragePrecision.DOUBLE;
+    }
+
+    @Override
+    double get(int row, int index) {
+      return rows[row][index];
+    }
+
+    @Override
+    void set(int row, int index, double value) {
+      rows[row][index] = value;
+    }
+
+    @Override
+    void read(int row, int index, double[] destination, int destinationIndex, int length) {
+      System.arraycopy(rows[row], index, destination, destinationIndex, length);
+    }
+
+    @Override
+    void write(int row, int index, double[] source, int sourceIndex, int length) {
+      System.arraycopy(source, sourceIndex, rows[row], index, length);
+    }
+
+    @Override
+    void addTo(int row, int index, double factor, double[] destination, int destinationIndex, int length) {
+      double[] values = rows[row];
+      for (int i = 0; i < length; i++) {
+        destination[destinationIndex + i] += factor * values[index + i];
+      }
+    }
+  }
+
+  /** Storage in float, widened to double on read. */
+  private static final class FloatRowStorage extends RowStorage {
+    private final float[][] rows;
+
+    FloatRowStorage(int nbRows, int rowLength) {
+      super(nbRows, rowLength);
+      this.rows = new float[nbRows][rowLength];
+    }
+
+    @Override
+    StoragePrecision getPrecision() {
+      return StoragePrecision.FLOAT;
+    }
+
+    @Override
+    double get(int row, int index) {
+      return rows[row][index];
+    }
+
+    @Override
+    void set(int row, int index, double value) {
+      rows[row][index] = (float) value;
+    }
+
+    @Override
+    void read(int row, int index, double[] destination, int destinationIndex, int length) {
+      float[] values = rows[row];
+      for (int i = 0; i < length; i++) {
+        destination[destinationIndex + i] = values[index + i];
+      }
+    }
+
+    @Override
+    void write(int row, int index, double[] source, int sourceIndex, int length) {
+      float[] values = rows[row];
+      for (int i = 0; i < length; i++) {
+        values[index + i] = (float) source[sourceIndex + i];
+      }
+    }
+
+    @Override
+    void addTo(int row, int index, double factor, double[] destination, int destinationIndex, int length) {
+      float[] values = rows[row];
+      for (int i = 0; i < length; i++) {
+        destination[destinationIndex + i] += factor * values[index + i];
+      }
+    }
+  }
+
+}
@@ -0,0 +1,212 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.value;
+
+import java.util.List;
+
+/**
+ * Report on the accuracy lost by storing values in float instead of double.
+ * <p>
+ * The report is computed on reference values in double precision. It indicates the maximal
+ * absolute and relative errors introduced by the float storage, the root mean square error, the error
+ * on the sum of all the values (relevant for aggregations) and the number of values outside
+ * of the float range (overflow to infinity or underflow to zero).
+ * <p>
+ * The reference values NaN or infinite are counted separately and excluded from the other statistics.
+ * The values stored as subnormal floats, with fewer significant bits, are counted; they are included in
+ * the statistics, where they can dominate the maximal relative error.
+ *
+ * @author Marc Henrard
+ */
+public final class StorageAccuracy {
+
+  /** The number of values. */
+  private long count;
+  /** The maximal absolute value. */
+  private double maxAbsoluteValue;
+  /** The maximal absolute error. */
+  private double maxAbsoluteError;
+  /** The maximal relative error, for the non-zero values. */
+  private double maxRelativeError;
+  /** The sum of the squares of the errors. */
+  private double sumSquaredErrors;
+  /** The sum of the values, in double. */
+  private double sumReference;
+  /** The sum of the values, after storage in float. */
+  private double sumStored;
+  /** The number of values outside of the float range. */
+  private long nbOutOfRange;
+  /** The number of values NaN or infinite. */
+  private long nbNotFinite;
+  /** The number of values stored as subnormal floats. */
+  private long nbSubnormal;
+
+  /**
+   * Computes the report for an array of values.
+   *
+   * @param values  the reference values
+   * @return the report
+   */
+  public static StorageAccuracy of(double[] values) {
+    StorageAccuracy report = new StorageAccuracy();
+    report.accept(values);
+    return report;
+  }
+
+  /**
+   * Computes the report for a list of amounts with derivatives.
+   * <p>
+   * The report covers the values and the derivatives.
+   *
+   * @param amounts  the reference amounts
+   * @return the report
+   */
+  public static StorageAccuracy of(List<CurrencyAmountDerivatives> amounts) {
+    StorageAccuracy report = new StorageAccuracy();
+    for (CurrencyAmountDerivatives amount : amounts) {
+      report.accept(amount.getValue());
+      report.accept(amount.getDerivatives().toArrayUnsafe());
+    }
+    return report;
+  }
+
+  // private constructor
+  private StorageAccuracy() {
+  }
+
+  // add values to the report
+  private void accept(double[] values) {
+    for (double value : values) {
+      accept(value);
+    }
+  }
+
+  // add one value to the report
+  private void accept(double value) {
+    double stored = (float) value;
+    double absoluteValue = Math.abs(value);
+    count++;
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      nbNotFinite++;
+      return;
+    }
+    if (Double.isInfinite(stored) || (stored == 0.0d && value != 0.0d)) {
+      nbOutOfRange++;
+      return;
+    }
+    if (stored != 0.0d && Math.abs(stored) < Float.MIN_NORMAL) {
+      nbSubnormal++;
+    }
+    double error = Math.abs(stored - value);
+    maxAbsoluteValue = Math.max(maxAbsoluteValue, absoluteValue);
+    maxAbsoluteError = Math.max(maxAbsoluteError, error);
+    if (value != 0.0d) {
+      maxRelativeError = Math.max(maxRelativeError, error / absoluteValue);
+    }
+    sumSquaredErrors += error * error;
+    sumReference += value;
+    sumStored += stored;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the number of values.
+   *
+   * @return the number of values
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the maximal absolute value.
+   *
+   * @return the maximal absolute value
+   */
+  public double getMaxAbsoluteValue() {
+    return maxAbsoluteValue;
+  }
+
+  /**
+   * Returns the maximal absolute error.
+   *
+   * @return the maximal absolute error
+   */
+  public double getMaxAbsoluteError() {
+    return maxAbsoluteError;
+  }
+
+  /**
+   * Returns the maximal relative error, computed on the non-zero values.
+   *
+   * @return the maximal relative error
+   */
+  public double getMaxRelativeError() {
+    return maxRelativeError;
+  }
+
+  /**
+   * Returns the root mean square error.
+   *
+   * @return the root mean square error
+   */
+  public double getRootMeanSquareError() {
+    long nbInRange = count - nbOutOfRange - nbNotFinite;
+    return (nbInRange == 0) ? 0.0d : Math.sqrt(sumSquaredErrors / nbInRange);
+  }
+
+  /**
+   * Returns the absolute error on the sum of all the values.
+   * <p>
+   * The sums are computed in double, from the reference values and from the values stored in float.
+   *
+   * @return the error on the sum
+   */
+  public double getSumError() {
+    return Math.abs(sumStored - sumReference);
+  }
+
+  /**
+   * Returns the number of values outside of the float range, which overflow to infinity or underflow to zero.
+   * Those values are excluded from the other statistics.
+   *
+   * @return the number of values out of range
+   */
+  public long getOutOfRangeCount() {
+    return nbOutOfRange;
+  }
+
+  /**
+   * Returns the number of reference values NaN or infinite. Those values are excluded from the other statistics.
+   *
+   * @return the number of values NaN or infinite
+   */
+  public long getNotFiniteCount() {
+    return nbNotFinite;
+  }
+
+  /**
+   * Returns the number of values stored as subnormal floats, i.e. non-zero and below {@link Float#MIN_NORMAL}
+   * in absolute value. Those values are stored with fewer significant bits than the other ones.
+   *
+   * @return the number of subnormal values
+   */
+  public long getSubnormalCount() {
+    return nbSubnormal;
+  }
+
+  @Override
+  public String toString() {
+    return "StorageAccuracy{count=" + count +
+        ", maxAbsoluteValue=" + maxAbsoluteValue +
+        ", maxAbsoluteError=" + maxAbsoluteError +
+        ", maxRelativeError=" + maxRelativeError +
+        ", rootMeanSquareError=" + getRootMeanSquareError() +
+        ", sumError=" + getSumError() +
+        ", outOfRange=" + nbOutOfRange +
+        ", notFinite=" + nbNotFinite +
+        ", subnormal=" + nbSubnormal + "}";
+  }
+
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.value;
+
+/**
+ * The precision used to store large numbers of values.
+ * <p>
+ * The storage precision only impacts how the values are kept in memory. The values are always
+ * widened to double when read and all the arithmetic is done in double.
+ *
+ * @author Marc Henrard
+ */
+public enum StoragePrecision {
+
+  /** Values stored as double (64 bits). */
+  DOUBLE(Double.BYTES),
+  /** Values stored as float (32 bits). Halves the memory used at the cost of about 7 significant digits. */
+  FLOAT(Float.BYTES);
+
+  /** The number of bytes used to store one value. */
+  private final int bytes;
+
+  StoragePrecision(int bytes) {
+    this.bytes = bytes;
+  }
+
+  /**
+   * Returns the number of bytes used to store one value.
+   *
+   * @return the number of bytes
+   */
+  public int getBytes() {
+    return bytes;
+  }
+
+}
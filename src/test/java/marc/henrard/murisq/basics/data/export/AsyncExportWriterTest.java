@@ -0,0 +1,270 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Tests {@link AsyncExportWriter}.
+ *
+ * @author Marc Henrard
+ */
+public class AsyncExportWriterTest {
+
+  @TempDir
+  Path directory;
+
+  /* Export by chunks with a small queue, compared to the synchronous export */
+  @Test
+  public void export_array() throws Exception {
+    List<String> headers = new ArrayList<>();
+    List<DoubleArray> values = new ArrayList<>();
+    for (int loopc = 0; loopc < 5; loopc++) {
+      headers.add("C" + loopc);
+      int c = loopc;
+      values.add(DoubleArray.of(20_000, r -> Math.sin(r * (c + 1)) * 100));
+    }
+    StringBuilder expected = new StringBuilder();
+    ExportUtils.exportArray(headers, values, expected);
+    Path file = directory.resolve("array.csv");
+    AsyncExportWriter writer = AsyncExportWriter.open(file, 2);
+    ExportUtils.exportArray(headers, values, writer);
+    long written = writer.finish().get();
+    assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)).isEqualTo(expected.toString());
+    assertThat(written).isEqualTo(Files.size(file));
+    assertThatExceptionOfType(IOException.class).isThrownBy(() -> writer.submit("late"));
+  }
+
+  /* Several producers; the chunks of each producer are in order */
+  @Test
+  public void producers() throws Exception {
+    Path file = directory.resolve("producers.txt");
+    try (AsyncExportWriter writer = AsyncExportWriter.open(file, 1)) {
+      List<Thread> threads = new ArrayList<>();
+      for (int loopt = 0; loopt < 4; loopt++) {
+        int t = loopt;
+        Thread thread = new Thread(() -> {
+          try {
+            for (int loopi = 0; loopi < 1000; loopi++) {
+              writer.append("T" + t + ":" + loopi + "\n");
+            }
+          } catch (IOException e) {
+            throw new RuntimeException(e);
+          }
+        });
+        thread.start();
+        threads.add(thread);
+      }
+      for (Thread thread : threads) {
+        thread.join();
+      }
+    }
+    List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+    assertThat(lines).hasSize(4000);
+    for (int loopt = 0; loopt < 4; loopt++) {
+      String prefix = "T" + loopt + ":";
+      int previous = -1;
+      for (String line : lines) {
+        if (line.startsWith(prefix)) {
+          int index = Integer.parseInt(line.substring(prefix.length()));
+          assertThat(index).isEqualTo(previous + 1);
+          previous = index;
+        }
+      }
+      assertThat(previous).isEqualTo(999);
+    }
+  }
+
+  /* Asynchronous string export */
+  @Test
+  public void export_string_async() throws Exception {
+    Path file = directory.resolve("string.txt");
+    CompletableFuture<Long> completion = ExportUtils.exportStringAsync("abc\u00e9\n", file);
+    assertThat(completion.get()).isEqualTo(6L);
+    assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)).isEqualTo("abc\u00e9\n");
+    assertThatExceptionOfType(IOException.class)
+        .isThrownBy(() -> ExportUtils.exportStringAsync("abc", directory.resolve("missing").resolve("file.txt")));
+  }
+
+  /* Failure of the channel during a write: the completion fails and the following submissions throw */
+  @Test
+  public void write_failure() throws Exception {
+    AsyncExportWriter writer = AsyncExportWriter.of(directory.resolve("failing.txt"), new FailingChannel(), 1);
+    writer.submit("first");
+    CompletableFuture<Long> completion = writer.getCompletion();
+    assertThatExceptionOfType(ExecutionException.class)
+        .isThrownBy(() -> completion.get(10, TimeUnit.SECONDS))
+        .withCauseInstanceOf(IOException.class);
+    assertThatExceptionOfType(IOException.class).isThrownBy(() -> writer.submit("second"));
+    assertThatExceptionOfType(IOException.class).isThrownBy(writer::close);
+  }
+
+  /* Interrupted finish can be called again */
+  @Test
+  public void finish_interrupted() throws Exception {
+    Path file = directory.resolve("interrupted.txt");
+    AsyncExportWriter writer = AsyncExportWriter.open(file, 1);
+    writer.submit("abc");
+    Thread.currentThread().interrupt();
+    assertThatExceptionOfType(InterruptedIOException.class).isThrownBy(writer::finish);
+    assertThat(Thread.interrupted()).isTrue();
+    assertThat(writer.finish().get(10, TimeUnit.SECONDS)).isEqualTo(3L);
+    assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)).isEqualTo("abc");
+  }
+
+  /* Cancelled writer: the completion fails and the file is closed */
+  @Test
+  public void cancel() throws Exception {
+    AsyncExportWriter writer = AsyncExportWriter.open(directory.resolve("cancelled.txt"), 1);
+    writer.submit("abc");
+    writer.cancel();
+    assertThatExceptionOfType(ExecutionException.class)
+        .isThrownBy(() -> writer.getCompletion().get(10, TimeUnit.SECONDS));
+    assertThatExceptionOfType(IOException.class).isThrownBy(() -> writer.submit("def"));
+  }
+
+  /* Cancelled while a producer waits on the full queue: the producer is released and close does not block */
+  @Test
+  public void cancel_producer_waiting() throws Exception {
+    AsyncExportWriter writer = AsyncExportWriter.of(directory.resolve("waiting.txt"), new BlockingChannel(), 1);
+    writer.submit("a");
+    writer.submit("b"); // after the writer thread has taken the first chunk: the queue is full
+    Thread producer = new Thread(() -> {
+      try {
+        writer.submit("c");
+      } catch (IOException e) {
+        // cancelled
+      }
+    });
+    producer.start();
+    for (int loopwait = 0; loopwait < 1_000 && producer.getState() != Thread.State.WAITING; loopwait++) {
+      Thread.sleep(10);
+    }
+    assertThat(producer.getState()).isEqualTo(Thread.State.WAITING);
+    writer.cancel();
+    producer.join(10_000);
+    assertThat(producer.isAlive()).isFalse();
+    CompletableFuture<Void> closing = CompletableFuture.runAsync(() -> {
+      try {
+        writer.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    assertThatExceptionOfType(ExecutionException.class)
+        .isThrownBy(() -> closing.get(10, TimeUnit.SECONDS))
+        .withCauseInstanceOf(UncheckedIOException.class);
+  }
+
+  //-------------------------------------------------------------------------
+  // channel blocking at each write until interrupted
+  private static final class BlockingChannel extends FailingChannel {
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      try {
+        new CountDownLatch(1).await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      throw new ClosedByInterruptException();
+    }
+  }
+
+  // channel failing at each write
+  private static class FailingChannel extends FileChannel {
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      throw new IOException("disk full");
+    }
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+      throw new IOException("disk full");
+    }
+    @Override
+    public int write(ByteBuffer src, long position) throws IOException {
+      throw new IOException("disk full");
+    }
+    @Override
+    public int read(ByteBuffer dst) {
+      return -1;
+    }
+    @Override
+    public long read(ByteBuffer[] dsts, int offset, int length) {
+      return -1;
+    }
+    @Override
+    public int read(ByteBuffer dst, long position) {
+      return -1;
+    }
+    @Override
+    public long position() {
+      return 0;
+    }
+    @Override
+    public FileChannel position(long newPosition) {
+      return this;
+    }
+    @Override
+    public long size() {
+      return 0;
+    }
+    @Override
+    public FileChannel truncate(long size) {
+      return this;
+    }
+    @Override
+    public void force(boolean metaData) {
+    }
+    @Override
+    public long transferTo(long position, long count, WritableByteChannel target) {
+      return 0;
+    }
+    @Override
+    public long transferFrom(ReadableByteChannel src, long position, long count) {
+      return 0;
+    }
+    @Override
+    public MappedByteBuffer map(MapMode mode, long position, long size) {
+      throw new UnsupportedOperationException();
+    }
+    @Override
+    public FileLock lock(long position, long size, boolean shared) {
+      throw new UnsupportedOperationException();
+    }
+    @Override
+    public FileLock tryLock(long position, long size, boolean shared) {
+      throw new UnsupportedOperationException();
+    }
+    @Override
+    protected void implCloseChannel() {
+    }
+  }
+
+}
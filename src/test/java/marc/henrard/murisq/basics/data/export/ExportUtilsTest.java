@@ -0,0 +1,265 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+/**
+ * Tests {@link ExportUtils} and {@link CsvStreamWriter}.
+ * <p>
+ * The exports are compared to the text obtained by string concatenation.
+ *
+ * @author Marc Henrard
+ */
+public class ExportUtilsTest {
+
+  private static final double[] SPECIAL_VALUES = {0.0d, -0.0d, 1.0d, -1.5d, 0.1d, 0.1d + 0.2d, 1.0E-3, 9.99E-4,
+      1.0E7, 9999999.999, 123456789012345.0, 1.0E-320, Double.MAX_VALUE, Double.MIN_VALUE, Double.NaN,
+      Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0.001234567890123456, 2.0E-3, 100.0d};
+
+  /* Doubles formatted as Double.toString */
+  @Test
+  public void format_double() throws IOException {
+    StringBuilder expected = new StringBuilder();
+    StringBuilder computed = new StringBuilder();
+    CsvStreamWriter writer = CsvStreamWriter.of(computed, 64);
+    for (double value : SPECIAL_VALUES) {
+      expected.append(value).append(',');
+      writer.appendDouble(value).append(',');
+    }
+    Random random = new Random(1);
+    for (int loopv = 0; loopv < 100_000; loopv++) {
+      double value = (loopv % 2 == 0) ?
+          Math.round(random.nextGaussian() * 1.0E6) / 1.0E4 :
+          random.nextGaussian() * Math.pow(10, random.nextInt(12) - 5);
+      expected.append(value).append(',');
+      writer.appendDouble(value).append(',');
+    }
+    writer.flush();
+    assertThat(computed.toString()).isEqualTo(expected.toString());
+  }
+
+  /* Dates and longs */
+  @Test
+  public void format_date_long() throws IOException {
+    StringWriter computed = new StringWriter();
+    CsvStreamWriter writer = CsvStreamWriter.of(computed);
+    LocalDate[] dates = {LocalDate.of(2017, 8, 18), LocalDate.of(1, 1, 1), LocalDate.of(12345, 12, 31)};
+    StringBuilder expected = new StringBuilder();
+    for (LocalDate date : dates) {
+      expected.append(date.format(DateTimeFormatter.ISO_DATE)).append(',');
+      writer.appendDate(date).append(',');
+    }
+    long[] longs = {0L, -7L, 1234567890123L, Long.MIN_VALUE, Long.MAX_VALUE};
+    for (long value : longs) {
+      expected.append(value).append(',');
+      writer.appendLong(value).append(',');
+    }
+    writer.flush();
+    assertThat(computed.toString()).isEqualTo(expected.toString());
+  }
+
+  @Test
+  public void export_time_series() throws IOException {
+    LocalDateDoubleTimeSeries ts1 = series(1, 500);
+    LocalDateDoubleTimeSeries ts2 = series(2, 300);
+    StringBuilder computed = new StringBuilder();
+    ExportUtils.exportTimeSeries("TS", ts1, computed);
+    StringBuilder expected = new StringBuilder("Reference, Date, Value\n");
+    ts1.stream().forEach(p -> expected.append("TS," + p.getDate().format(DateTimeFormatter.ISO_DATE) + "," +
+        p.getValue() + "\n"));
+    assertThat(computed.toString()).isEqualTo(expected.toString());
+    StringBuilder computedMulti = new StringBuilder();
+    ExportUtils.exportTimeSeries(ImmutableList.of("A", "B"), ImmutableList.of(ts1, ts2), computedMulti);
+    StringBuilder expectedMulti = new StringBuilder("Date,A,B\n");
+    ts1.stream().forEach(p -> expectedMulti.append(p.getDate().format(DateTimeFormatter.ISO_DATE))
+        .append(',').append(p.getValue())
+        .append(',').append(ts2.get(p.getDate()).orElse(0.0d)).append('\n'));
+    assertThat(computedMulti.toString()).isEqualTo(expectedMulti.toString());
+  }
+
+  /* Merge of the time series with the date policies */
+  @Test
+  public void export_time_series_policy() throws IOException {
+    LocalDate d1 = LocalDate.of(2017, 8, 18);
+    LocalDate d2 = LocalDate.of(2017, 8, 21);
+    LocalDate d3 = LocalDate.of(2017, 8, 22);
+    LocalDate d4 = LocalDate.of(2017, 8, 23);
+    LocalDateDoubleTimeSeries ts1 = LocalDateDoubleTimeSeries.builder().put(d2, 1.0).put(d3, 2.0).build();
+    LocalDateDoubleTimeSeries ts2 = LocalDateDoubleTimeSeries.builder().put(d1, 10.0).put(d2, 20.0).put(d4, 40.0).build();
+    List<String> names = ImmutableList.of("A", "B");
+    List<LocalDateDoubleTimeSeries> series = ImmutableList.of(ts1, ts2);
+    StringBuilder union = new StringBuilder();
+    ExportUtils.exportTimeSeries(names, series, ExportDatePolicy.UNION, "", union);
+    assertThat(union.toString()).isEqualTo("Date,A,B\n" +
+        "2017-08-18,,10.0\n2017-08-21,1.0,20.0\n2017-08-22,2.0,\n2017-08-23,,40.0\n");
+    StringBuilder intersection = new StringBuilder();
+    ExportUtils.exportTimeSeries(names, series, ExportDatePolicy.INTERSECTION, "", intersection);
+    assertThat(intersection.toString()).isEqualTo("Date,A,B\n2017-08-21,1.0,20.0\n");
+    StringBuilder first = new StringBuilder();
+    ExportUtils.exportTimeSeries(names, series, ExportDatePolicy.FIRST, "NA", first);
+    assertThat(first.toString()).isEqualTo("Date,A,B\n2017-08-21,1.0,20.0\n2017-08-22,2.0,NA\n");
+    StringBuilder legacy = new StringBuilder();
+    ExportUtils.exportTimeSeries(names, series, legacy);
+    assertThat(legacy.toString()).isEqualTo("Date,A,B\n2017-08-21,1.0,20.0\n2017-08-22,2.0,0.0\n");
+  }
+
+  @Test
+  public void export_array() throws IOException {
+    double[][] values = new double[200][3];
+    Random random = new Random(3);
+    for (double[] row : values) {
+      for (int loopc = 0; loopc < row.length; loopc++) {
+        row[loopc] = random.nextGaussian();
+      }
+    }
+    StringBuilder expected = new StringBuilder();
+    for (double[] row : values) {
+      expected.append("" + row[0]).append("," + row[1]).append("," + row[2]).append("\n");
+    }
+    StringBuilder computed = new StringBuilder();
+    ExportUtils.exportArray(new String[] {"a", "b", "c"}, values, computed);
+    assertThat(computed.toString()).isEqualTo("a, b, c\n" + expected);
+    StringWriter computedNoHeader = new StringWriter();
+    ExportUtils.exportArray(values, computedNoHeader);
+    assertThat(computedNoHeader.toString()).isEqualTo(expected.toString());
+    List<DoubleArray> columns = ImmutableList.of(column(values, 0), column(values, 1), column(values, 2));
+    StringBuilder computedColumns = new StringBuilder();
+    ExportUtils.exportArray(ImmutableList.of("a", "b", "c"), columns, computedColumns);
+    assertThat(computedColumns.toString()).isEqualTo("a, b, c\n" + expected);
+    StringBuilder computedColumnsNoHeader = new StringBuilder();
+    ExportUtils.exportArray(columns, computedColumnsNoHeader);
+    assertThat(computedColumnsNoHeader.toString()).isEqualTo(expected.toString());
+  }
+
+  /* Invalid row: the rows formatted before are appended to the destination */
+  @Test
+  public void export_array_invalid_row() {
+    double[][] values = {{1.0, 2.0}, {3.0, 4.0}, {5.0}};
+    StringBuilder computed = new StringBuilder();
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ExportUtils.exportArray(new String[] {"a", "b"}, values, computed));
+    assertThat(computed.toString()).isEqualTo("a, b\n1.0,2.0\n3.0,4.0\n");
+  }
+
+  /* Parallel export identical to the serial export */
+  @Test
+  public void export_array_parallel() throws IOException {
+    double[][] values = new double[50_000][4];
+    Random random = new Random(5);
+    for (double[] row : values) {
+      for (int loopc = 0; loopc < row.length; loopc++) {
+        row[loopc] = random.nextGaussian() * Math.pow(10, random.nextInt(10) - 4);
+      }
+    }
+    String[] headers = {"a", "b", "c", "d"};
+    StringBuilder expected = new StringBuilder();
+    ExportUtils.exportArray(headers, values, expected);
+    StringBuilder computed = new StringBuilder();
+    ExportUtils.exportArrayParallel(headers, values, computed);
+    assertThat(computed.toString()).isEqualTo(expected.toString());
+    List<DoubleArray> columns =
+        ImmutableList.of(column(values, 0), column(values, 1), column(values, 2), column(values, 3));
+    StringWriter computedColumns = new StringWriter();
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      ExportUtils.exportArrayParallel(ImmutableList.copyOf(headers), columns, pool, computedColumns);
+    } finally {
+      pool.shutdown();
+    }
+    assertThat(computedColumns.toString()).isEqualTo(expected.toString());
+  }
+
+  /* Parallel export formats the chunks concurrently on the workers of the pool */
+  @Test
+  public void export_array_parallel_workers() throws IOException {
+    int nbWorkers = 3;
+    double[][] values = new double[50_000][4];
+    Random random = new Random(7);
+    for (double[] row : values) {
+      for (int loopc = 0; loopc < row.length; loopc++) {
+        row[loopc] = random.nextGaussian();
+      }
+    }
+    String[] headers = {"a", "b", "c", "d"};
+    List<DoubleArray> columns =
+        ImmutableList.of(column(values, 0), column(values, 1), column(values, 2), column(values, 3));
+    // each worker waits in its first chunk until all the workers are formatting a chunk
+    Set<Thread> workers = ConcurrentHashMap.newKeySet();
+    CountDownLatch allWorking = new CountDownLatch(nbWorkers);
+    List<DoubleArray> columnsRecorded = new AbstractList<DoubleArray>() {
+      @Override
+      public DoubleArray get(int index) {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof ForkJoinWorkerThread && workers.add(thread)) {
+          allWorking.countDown();
+          try {
+            allWorking.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        return columns.get(index);
+      }
+
+      @Override
+      public int size() {
+        return columns.size();
+      }
+    };
+    StringBuilder expected = new StringBuilder();
+    ExportUtils.exportArray(ImmutableList.copyOf(headers), columns, expected);
+    StringBuilder computed = new StringBuilder();
+    ForkJoinPool pool = new ForkJoinPool(nbWorkers);
+    try {
+      ExportUtils.exportArrayParallel(ImmutableList.copyOf(headers), columnsRecorded, pool, computed);
+    } finally {
+      pool.shutdown();
+    }
+    assertThat(allWorking.getCount()).isZero();
+    assertThat(workers).hasSize(nbWorkers);
+    assertThat(computed.toString()).isEqualTo(expected.toString());
+  }
+
+  private static DoubleArray column(double[][] values, int column) {
+    double[] result = new double[values.length];
+    for (int loopr = 0; loopr < values.length; loopr++) {
+      result[loopr] = values[loopr][column];
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  private static LocalDateDoubleTimeSeries series(long seed, int nbPoints) {
+    Random random = new Random(seed);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    LocalDate date = LocalDate.of(2017, 1, 2);
+    for (int looppt = 0; looppt < nbPoints; looppt++) {
+      builder.put(date.plusDays(looppt * (seed + 1)), random.nextGaussian());
+    }
+    return builder.build();
+  }
+
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.collect.tuple.Pair;
+
+import marc.henrard.murisq.basics.data.export.ExportUtils;
+import marc.henrard.murisq.basics.data.timeseries.AlignedTimeSeries;
+
+/**
+ * Tests {@link CsvLoadUtils}.
+ * <p>
+ * The files are produced by {@link ExportUtils} and loaded back.
+ *
+ * @author Marc Henrard
+ */
+public class CsvLoadUtilsTest {
+
+  private static final LocalDate START = LocalDate.of(2016, 2, 26);
+  private static final LocalDateDoubleTimeSeries TS_1 = series(1, 700);
+  private static final LocalDateDoubleTimeSeries TS_2 = series(2, 700);
+
+  @TempDir
+  Path directory;
+
+  /* Single series layout, several series in the same file */
+  @Test
+  public void time_series() throws IOException {
+    Path file = directory.resolve("ts.csv");
+    try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      ExportUtils.exportTimeSeries("EUR-ESTR", TS_1, writer);
+      ExportUtils.exportTimeSeries("USD-SOFR", TS_2, writer);
+    }
+    Map<String, LocalDateDoubleTimeSeries> loaded = CsvLoadUtils.loadTimeSeries(file);
+    assertThat(loaded.keySet()).containsExactly("EUR-ESTR", "USD-SOFR");
+    assertThat(loaded.get("EUR-ESTR")).isEqualTo(TS_1);
+    assertThat(loaded.get("USD-SOFR")).isEqualTo(TS_2);
+  }
+
+  /* Wide layout */
+  @Test
+  public void time_series_wide() throws IOException {
+    Path file = directory.resolve("wide.csv");
+    try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      ExportUtils.exportTimeSeries(ImmutableList.of("A", "B"), ImmutableList.of(TS_1, TS_2), writer);
+    }
+    Map<String, LocalDateDoubleTimeSeries> loaded = CsvLoadUtils.loadTimeSeriesWide(file);
+    assertThat(loaded.keySet()).containsExactly("A", "B");
+    assertThat(loaded.get("A")).isEqualTo(TS_1);
+    assertThat(loaded.get("B")).isEqualTo(TS_2);
+    Pair<ImmutableList<String>, AlignedTimeSeries> aligned = CsvLoadUtils.loadTimeSeriesWideAligned(file);
+    assertThat(aligned.getSecond().size()).isEqualTo(TS_1.size());
+    assertThat(aligned.getSecond().getDate(0)).isEqualTo(START);
+  }
+
+  /* Array layouts, including headers with ", " separator and special values */
+  @Test
+  public void arrays() throws IOException {
+    DoubleArray column1 = DoubleArray.of(1.0, -0.0, Double.NaN, 1.0E-300, Double.NEGATIVE_INFINITY);
+    DoubleArray column2 = DoubleArray.of(0.1, 123456.789, Double.MAX_VALUE, 4.9E-324, 1.0E22);
+    Path file = directory.resolve("array.csv");
+    try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      ExportUtils.exportArray(ImmutableList.of("x", "y"), ImmutableList.of(column1, column2), writer);
+    }
+    Pair<ImmutableList<String>, ImmutableList<DoubleArray>> loaded = CsvLoadUtils.loadArrayWithHeaders(file);
+    assertThat(loaded.getFirst()).containsExactly("x", "y");
+    assertThat(loaded.getSecond().get(0).toArray()).containsExactly(column1.toArray());
+    assertThat(loaded.getSecond().get(1).toArray()).containsExactly(column2.toArray());
+    double[][] rows = {{1.5, 2.5, 3.5}, {-4.25, 5.0E-5, 6.0}};
+    Path fileRows = directory.resolve("rows.csv");
+    try (Writer writer = Files.newBufferedWriter(fileRows, StandardCharsets.UTF_8)) {
+      ExportUtils.exportArray(rows, writer);
+    }
+    double[][] loadedRows = CsvLoadUtils.loadArrayRows(fileRows);
+    assertThat(loadedRows).hasSize(2);
+    assertThat(loadedRows[0]).containsExactly(rows[0]);
+    assertThat(loadedRows[1]).containsExactly(rows[1]);
+    assertThat(CsvLoadUtils.loadArray(fileRows).get(2).toArray()).containsExactly(3.5, 6.0);
+  }
+
+  /* Parsing compared to the JDK on random values, including long lines across buffer refills */
+  @Test
+  public void parse_double() throws IOException {
+    Random random = new Random(5);
+    List<DoubleArray> columns = new ArrayList<>();
+    List<String> headers = new ArrayList<>();
+    for (int loopcol = 0; loopcol < 20; loopcol++) {
+      double[] values = new double[5000];
+      for (int looprow = 0; looprow < values.length; looprow++) {
+        switch (looprow % 4) {
+          case 0:
+            values[looprow] = Double.longBitsToDouble(random.nextLong());
+            break;
+          case 1:
+            values[looprow] = random.nextGaussian() * Math.pow(10, random.nextInt(40) - 20);
+            break;
+          case 2:
+            values[looprow] = Math.round(random.nextGaussian() * 1.0E6) / 1.0E4;
+            break;
+          default:
+            values[looprow] = random.nextInt(1000);
+        }
+      }
+      columns.add(DoubleArray.ofUnsafe(values));
+      headers.add("c" + loopcol);
+    }
+    Path file = directory.resolve("random.csv");
+    try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      ExportUtils.exportArray(headers, columns, writer);
+    }
+    ImmutableList<DoubleArray> loaded = CsvLoadUtils.loadArrayWithHeaders(file).getSecond();
+    for (int loopcol = 0; loopcol < columns.size(); loopcol++) {
+      for (int looprow = 0; looprow < columns.get(loopcol).size(); looprow++) {
+        assertThat(Double.doubleToLongBits(loaded.get(loopcol).get(looprow)))
+            .isEqualTo(Double.doubleToLongBits(columns.get(loopcol).get(looprow)));
+      }
+    }
+  }
+
+  /* Dates, including leap years, compared to LocalDate */
+  @Test
+  public void dates() throws IOException {
+    List<ZonedDateTime> dates = new ArrayList<>();
+    LocalDate date = LocalDate.of(1899, 12, 25);
+    for (int loopdate = 0; loopdate < 500; loopdate++) {
+      dates.add(date.atStartOfDay(ZoneOffset.UTC));
+      date = date.plusDays(311);
+    }
+    Path file = directory.resolve("dates.csv");
+    try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      ExportUtils.exportArrayDates(dates, ImmutableList.of("v"), ImmutableList.of(DoubleArray.filled(500, 1.0)), writer);
+    }
+    AlignedTimeSeries loaded = CsvLoadUtils.loadTimeSeriesWideAligned(file).getSecond();
+    for (int loopdate = 0; loopdate < dates.size(); loopdate++) {
+      assertThat(loaded.getDate(loopdate)).isEqualTo(dates.get(loopdate).toLocalDate());
+    }
+  }
+
+  private static LocalDateDoubleTimeSeries series(long seed, int nbPoints) {
+    Random random = new Random(seed);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int looppt = 0; looppt < nbPoints; looppt++) {
+      builder.put(START.plusDays(looppt), 0.01 + 0.001 * random.nextGaussian());
+    }
+    return builder.build();
+  }
+
+}
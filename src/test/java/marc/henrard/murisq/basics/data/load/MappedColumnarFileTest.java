@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+import marc.henrard.murisq.basics.data.export.ColumnarExportUtils;
+import marc.henrard.murisq.basics.data.export.ColumnarFormat;
+import marc.henrard.murisq.basics.data.timeseries.AlignedTimeSeries;
+import marc.henrard.murisq.basics.data.timeseries.TimeSeriesAlignment;
+import marc.henrard.murisq.basics.data.timeseries.TimeSeriesAlignmentMode;
+
+/**
+ * Tests {@link MappedColumnarFile} and {@link ColumnarExportUtils}.
+ *
+ * @author Marc Henrard
+ */
+public class MappedColumnarFileTest {
+
+  private static final LocalDate START = LocalDate.of(2017, 8, 18);
+
+  @TempDir
+  Path directory;
+
+  /* Export arrays by column and by row, read back */
+  @Test
+  public void array() throws IOException {
+    Path file = directory.resolve("array.bin");
+    DoubleArray column1 = DoubleArray.of(1.0, -2.5, 3.25);
+    DoubleArray column2 = DoubleArray.of(0.1, 0.2, Double.NaN);
+    ColumnarExportUtils.exportArray(ImmutableList.of("A", "B\u00e9"), ImmutableList.of(column1, column2), file);
+    MappedColumnarFile mapped = MappedColumnarFile.open(file);
+    assertThat(mapped.getColumnNames()).containsExactly("A", "B\u00e9");
+    assertThat(mapped.getRowCount()).isEqualTo(3);
+    assertThat(mapped.getColumnType(1)).isEqualTo(ColumnarFormat.TYPE_DOUBLE);
+    assertThat(mapped.getDoubles(0)).isEqualTo(column1);
+    assertThat(mapped.getDouble(mapped.indexOf("B\u00e9"), 1)).isEqualTo(0.2);
+    assertThat(mapped.getDouble(1, 2)).isNaN();
+    assertThat(Files.size(file) % ColumnarFormat.ALIGNMENT).isEqualTo(0);
+    Path fileRows = directory.resolve("rows.bin");
+    ColumnarExportUtils.exportArray(new String[] {"A", "B\u00e9"},
+        new double[][] {{1.0, 0.1}, {-2.5, 0.2}, {3.25, Double.NaN}}, fileRows);
+    assertThat(Files.readAllBytes(fileRows)).isEqualTo(Files.readAllBytes(file));
+    assertThatIllegalArgumentException().isThrownBy(() -> mapped.getEpochDays(0));
+    assertThatIllegalArgumentException().isThrownBy(() -> mapped.indexOf("C"));
+  }
+
+  /* Export aligned time series, read back as time series */
+  @Test
+  public void time_series() throws IOException {
+    LocalDateDoubleTimeSeries ts1 = series(START, 101, 0.01);
+    LocalDateDoubleTimeSeries ts2 = series(START.plusDays(7), 51, 0.02);
+    AlignedTimeSeries aligned = TimeSeriesAlignment.align(ts1, ts2, TimeSeriesAlignmentMode.OUTER);
+    Path file = directory.resolve("ts.bin");
+    ColumnarExportUtils.exportTimeSeries(ImmutableList.of("TS1", "TS2"), aligned, file);
+    MappedColumnarFile mapped = MappedColumnarFile.open(file);
+    assertThat(mapped.getColumnNames()).containsExactly("Date", "TS1", "TS2");
+    assertThat(mapped.getColumnType(0)).isEqualTo(ColumnarFormat.TYPE_EPOCH_DAY);
+    assertThat(mapped.getEpochDay(0, 0)).isEqualTo((int) START.toEpochDay());
+    assertThat(mapped.toTimeSeries(0, 1)).isEqualTo(ts1);
+    assertThat(mapped.toTimeSeries(0, 2)).isEqualTo(ts2);
+    Path fileSingle = directory.resolve("single.bin");
+    ColumnarExportUtils.exportTimeSeries("TS2", ts2, fileSingle);
+    assertThat(MappedColumnarFile.open(fileSingle).toTimeSeries(0, 1)).isEqualTo(ts2);
+  }
+
+  /* Not a columnar file */
+  @Test
+  public void wrong_file() throws IOException {
+    Path file = directory.resolve("wrong.bin");
+    Files.write(file, new byte[64]);
+    assertThatIllegalArgumentException().isThrownBy(() -> MappedColumnarFile.open(file));
+  }
+
+  /* Header with invalid numbers of columns or rows, rejected before sizing anything */
+  @Test
+  public void invalid_header() throws IOException {
+    assertThatIllegalArgumentException().isThrownBy(() -> MappedColumnarFile.open(header(-1, 3)));
+    assertThatIllegalArgumentException().isThrownBy(() -> MappedColumnarFile.open(header(Integer.MAX_VALUE, 3)));
+    assertThatIllegalArgumentException().isThrownBy(() -> MappedColumnarFile.open(header(1, -3)));
+    assertThatIllegalArgumentException().isThrownBy(() -> MappedColumnarFile.open(header(1, Integer.MAX_VALUE)));
+  }
+
+  // file with the fixed header and one double column named "A"
+  private Path header(int nbColumns, int nbRows) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(ColumnarFormat.MAGIC).putInt(ColumnarFormat.VERSION).putInt(nbColumns).putInt(nbRows);
+    buffer.put(ColumnarFormat.TYPE_DOUBLE).putShort((short) 1).put((byte) 'A');
+    Path file = directory.resolve("header.bin");
+    Files.write(file, buffer.array());
+    return file;
+  }
+
+  private static LocalDateDoubleTimeSeries series(LocalDate start, int nbPoints, double level) {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int looppt = 0; looppt < nbPoints; looppt++) {
+      builder.put(start.plusDays(looppt), level + 0.001 * Math.sin(looppt));
+    }
+    return builder.build();
+  }
+
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+import marc.henrard.murisq.basics.data.timeseries.AlignedTimeSeries;
+import marc.henrard.murisq.basics.data.timeseries.LocalDateDoubleTimeSeriesUtils;
+
+/**
+ * Tests {@link MappedTimeSeriesStore} and {@link TimeSeriesStoreWriter}.
+ *
+ * @author Marc Henrard
+ */
+public class MappedTimeSeriesStoreTest {
+
+  private static final LocalDate START = LocalDate.of(2017, 8, 18);
+  private static final String ID_1 = "EUR-ESTR";
+  private static final String ID_2 = "USD-SOFR";
+  private static final LocalDateDoubleTimeSeries TS_1 = series(START, 101, 0.01);
+  private static final LocalDateDoubleTimeSeries TS_2 = series(START.plusDays(7), 50, 0.02);
+
+  @TempDir
+  Path directory;
+
+  /* Write, commit and read */
+  @Test
+  public void write_read() throws IOException {
+    try (TimeSeriesStoreWriter writer = TimeSeriesStoreWriter.open(directory)) {
+      writer.append(ID_1, TS_1);
+      writer.append(ID_2, TS_2);
+    }
+    MappedTimeSeriesStore store = MappedTimeSeriesStore.open(directory);
+    assertThat(store.getIds()).containsExactly(ID_1, ID_2);
+    assertThat(store.size(ID_1)).isEqualTo(TS_1.size());
+    assertThat(store.getLatestDate(ID_2)).isEqualTo(TS_2.getLatestDate());
+    assertThat(store.get(ID_1)).isEqualTo(TS_1);
+    assertThat(store.get(ID_2)).isEqualTo(TS_2);
+    AlignedTimeSeries aligned = store.getAligned(ID_1);
+    assertThat(LocalDateDoubleTimeSeriesUtils.dailyVolatility(aligned, 0))
+        .isEqualTo(LocalDateDoubleTimeSeriesUtils.dailyVolatility(TS_1));
+    assertThatIllegalArgumentException().isThrownBy(() -> store.get("UNKNOWN"));
+  }
+
+  /* Daily appends, uncommitted data and compaction */
+  @Test
+  public void append_compact() throws IOException {
+    try (TimeSeriesStoreWriter writer = TimeSeriesStoreWriter.open(directory)) {
+      writer.append(ID_1, TS_1);
+    }
+    LocalDate nextDate = TS_1.getLatestDate().plusDays(1);
+    TimeSeriesStoreWriter writer = TimeSeriesStoreWriter.open(directory);
+    writer.append(ID_1, nextDate, 1.5);
+    writer.append(ID_2, TS_2);
+    assertThat(MappedTimeSeriesStore.open(directory).getIds()).containsExactly(ID_1); // not committed
+    writer.commit();
+    MappedTimeSeriesStore store = MappedTimeSeriesStore.open(directory);
+    assertThat(store.get(ID_1)).isEqualTo(TS_1.toBuilder().put(nextDate, 1.5).build());
+    assertThatIllegalArgumentException().isThrownBy(() -> writer.append(ID_1, nextDate, 2.0));
+    writer.close();
+    TimeSeriesStoreWriter.compact(directory);
+    MappedTimeSeriesStore compacted = MappedTimeSeriesStore.open(directory);
+    assertThat(compacted.get(ID_1)).isEqualTo(store.get(ID_1));
+    assertThat(compacted.get(ID_2)).isEqualTo(TS_2);
+  }
+
+  /* Compaction switches to a new data file; the previous data file is removed */
+  @Test
+  public void compact_generations() throws IOException {
+    try (TimeSeriesStoreWriter writer = TimeSeriesStoreWriter.open(directory)) {
+      writer.append(ID_1, TS_1);
+    }
+    TimeSeriesStoreWriter.compact(directory);
+    try (TimeSeriesStoreWriter writer = TimeSeriesStoreWriter.open(directory)) {
+      writer.append(ID_2, TS_2);
+    }
+    MappedTimeSeriesStore before = MappedTimeSeriesStore.open(directory);
+    TimeSeriesStoreWriter.compact(directory);
+    assertThat(Files.exists(directory.resolve(TimeSeriesStoreIndex.DATA_FILE))).isFalse();
+    assertThat(Files.exists(directory.resolve(TimeSeriesStoreIndex.dataFile(1)))).isFalse();
+    assertThat(Files.exists(directory.resolve(TimeSeriesStoreIndex.dataFile(2)))).isTrue();
+    MappedTimeSeriesStore after = MappedTimeSeriesStore.open(directory);
+    assertThat(after.get(ID_1)).isEqualTo(TS_1);
+    assertThat(after.get(ID_2)).isEqualTo(TS_2);
+    assertThat(before.get(ID_2)).isEqualTo(TS_2);
+  }
+
+  /* Points appended one at a time, written as one chunk by series at the commit */
+  @Test
+  public void append_points() throws IOException {
+    try (TimeSeriesStoreWriter writer = TimeSeriesStoreWriter.open(directory)) {
+      writer.append(ID_1, TS_1);
+    }
+    Path dataFile = directory.resolve(TimeSeriesStoreIndex.DATA_FILE);
+    long sizeBefore = Files.size(dataFile);
+    LocalDateDoubleTimeSeriesBuilder expected1 = TS_1.toBuilder();
+    try (TimeSeriesStoreWriter writer = TimeSeriesStoreWriter.open(directory)) {
+      for (int looppt = 0; looppt < 30; looppt++) {
+        LocalDate date = TS_1.getLatestDate().plusDays(looppt + 1);
+        writer.append(ID_1, date, looppt);
+        expected1.put(date, looppt);
+        writer.append(ID_2, START.plusDays(looppt), -looppt);
+      }
+      assertThat(Files.size(dataFile)).isEqualTo(sizeBefore); // kept in memory
+      assertThatIllegalArgumentException().isThrownBy(() -> writer.append(ID_2, START, 1.0));
+    }
+    assertThat(Files.size(dataFile)).isEqualTo(sizeBefore + 2 * TimeSeriesStoreIndex.chunkSize(30));
+    MappedTimeSeriesStore store = MappedTimeSeriesStore.open(directory);
+    assertThat(store.get(ID_1)).isEqualTo(expected1.build());
+    assertThat(store.size(ID_2)).isEqualTo(30);
+    assertThat(store.get(ID_2).get(START.plusDays(29)).getAsDouble()).isEqualTo(-29.0);
+  }
+
+  /* Rejected append: no series is created */
+  @Test
+  public void append_rejected() throws IOException {
+    try (TimeSeriesStoreWriter writer = TimeSeriesStoreWriter.open(directory)) {
+      writer.append(ID_1, TS_1);
+      assertThatIllegalArgumentException().isThrownBy(() -> writer.append("", TS_2));
+      assertThatIllegalArgumentException().isThrownBy(() -> writer.append(ID_1, TS_1));
+    }
+    assertThat(MappedTimeSeriesStore.open(directory).getIds()).containsExactly(ID_1);
+  }
+
+  /* Identifier longer than the index can store */
+  @Test
+  public void id_too_long() throws IOException {
+    StringBuilder id = new StringBuilder();
+    for (int loopc = 0; loopc < 0x10000; loopc++) {
+      id.append('a');
+    }
+    try (TimeSeriesStoreWriter writer = TimeSeriesStoreWriter.open(directory)) {
+      assertThatIllegalArgumentException().isThrownBy(() -> writer.append(id.toString(), TS_1));
+    }
+  }
+
+  private static LocalDateDoubleTimeSeries series(LocalDate start, int nbPoints, double level) {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int looppt = 0; looppt < nbPoints; looppt++) {
+      builder.put(start.plusDays(looppt), level + 0.001 * Math.sin(looppt));
+    }
+    return builder.build();
+  }
+
+}
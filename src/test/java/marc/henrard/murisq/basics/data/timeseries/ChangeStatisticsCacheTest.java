@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+/**
+ * Tests {@link ChangeStatisticsCache}.
+ * <p>
+ * The cached statistics after appends are compared to the ones computed on the full history.
+ *
+ * @author Marc Henrard
+ */
+public class ChangeStatisticsCacheTest {
+
+  private static final String ID_1 = "EUR-ESTR";
+  private static final String ID_2 = "USD-SOFR";
+  private static final LocalDate START = LocalDate.of(2017, 8, 18);
+  private static final Offset<Double> TOLERANCE = Offset.offset(1.0E-12);
+
+  /* Daily appends to both the store and the cache */
+  @Test
+  public void append() {
+    Map<String, LocalDateDoubleTimeSeries> store = new HashMap<>();
+    store.put(ID_1, series(1, START, 100));
+    store.put(ID_2, series(2, START.plusDays(3), 100));
+    ChangeStatisticsCache cache = ChangeStatisticsCache.of(store::get);
+    assertThat(cache.correlation(ID_2, ID_1)).isCloseTo(expectedCorrelation(store), TOLERANCE);
+    Random random = new Random(3);
+    LocalDate date = START.plusDays(120);
+    for (int loopday = 0; loopday < 30; loopday++) {
+      date = date.plusDays(1);
+      double value1 = random.nextGaussian();
+      double value2 = random.nextGaussian();
+      store.put(ID_1, store.get(ID_1).toBuilder().put(date, value1).build());
+      cache.append(ID_1, date, value1);
+      if (loopday % 5 != 0) { // some dates not common
+        store.put(ID_2, store.get(ID_2).toBuilder().put(date, value2).build());
+        cache.append(ID_2, date, value2);
+      }
+      assertThat(cache.dailyVolatility(ID_1))
+          .isCloseTo(LocalDateDoubleTimeSeriesUtils.dailyVolatility(store.get(ID_1)), TOLERANCE);
+      assertThat(cache.dailyVolatility(ID_2))
+          .isCloseTo(LocalDateDoubleTimeSeriesUtils.dailyVolatility(store.get(ID_2)), TOLERANCE);
+      assertThat(cache.correlation(ID_1, ID_2)).isCloseTo(expectedCorrelation(store), TOLERANCE);
+    }
+    // point already in the history
+    cache.append(ID_1, date, store.get(ID_1).getLatestValue());
+    assertThat(cache.statistics(ID_1).getCount()).isEqualTo(store.get(ID_1).size() - 1);
+    assertThatIllegalArgumentException().isThrownBy(() -> cache.append(ID_1, START, 1.0));
+  }
+
+  /* Other series ahead and restatement */
+  @Test
+  public void invalidate() {
+    Map<String, LocalDateDoubleTimeSeries> store = new HashMap<>();
+    store.put(ID_1, series(1, START, 50));
+    store.put(ID_2, series(2, START, 50));
+    ChangeStatisticsCache cache = ChangeStatisticsCache.of(store::get);
+    cache.correlation(ID_1, ID_2);
+    LocalDate date1 = START.plusDays(50);
+    LocalDate date2 = START.plusDays(51);
+    store.put(ID_2, store.get(ID_2).toBuilder().put(date1, 1.0).put(date2, 2.0).build());
+    cache.append(ID_2, date1, 1.0);
+    cache.append(ID_2, date2, 2.0);
+    store.put(ID_1, store.get(ID_1).toBuilder().put(date1, 3.0).build());
+    cache.append(ID_1, date1, 3.0);
+    assertThat(cache.correlation(ID_1, ID_2)).isCloseTo(expectedCorrelation(store), TOLERANCE);
+    store.put(ID_1, series(5, START, 52));
+    cache.invalidate(ID_1);
+    assertThat(cache.dailyVolatility(ID_1))
+        .isCloseTo(LocalDateDoubleTimeSeriesUtils.dailyVolatility(store.get(ID_1)), TOLERANCE);
+    assertThat(cache.correlation(ID_1, ID_2)).isCloseTo(expectedCorrelation(store), TOLERANCE);
+  }
+
+  /* Provider not updated with the appends; each history loaded once */
+  @Test
+  public void provider_without_appends() {
+    Map<String, LocalDateDoubleTimeSeries> provided = new HashMap<>();
+    provided.put(ID_1, series(1, START, 40));
+    provided.put(ID_2, series(2, START, 40));
+    Map<String, LocalDateDoubleTimeSeries> store = new HashMap<>(provided);
+    Map<String, Integer> loads = new HashMap<>();
+    ChangeStatisticsCache cache = ChangeStatisticsCache.of(id -> {
+      loads.merge(id, 1, Integer::sum);
+      return provided.get(id);
+    });
+    Random random = new Random(4);
+    LocalDate date = START.plusDays(40);
+    for (int loopday = 0; loopday < 10; loopday++) {
+      double value1 = random.nextGaussian();
+      double value2 = random.nextGaussian();
+      store.put(ID_1, store.get(ID_1).toBuilder().put(date.plusDays(loopday), value1).build());
+      store.put(ID_2, store.get(ID_2).toBuilder().put(date.plusDays(loopday), value2).build());
+      cache.append(ID_1, date.plusDays(loopday), value1);
+      cache.append(ID_2, date.plusDays(loopday), value2);
+    }
+    // first request of the pair after the appends
+    assertThat(cache.correlation(ID_1, ID_2)).isCloseTo(expectedCorrelation(store), TOLERANCE);
+    assertThat(cache.dailyVolatility(ID_1))
+        .isCloseTo(LocalDateDoubleTimeSeriesUtils.dailyVolatility(store.get(ID_1)), TOLERANCE);
+    assertThat(loads).containsEntry(ID_1, 1).containsEntry(ID_2, 1);
+  }
+
+  /* Volatility of a series with one point */
+  @Test
+  public void volatility_one_point() {
+    ChangeStatisticsCache cache = ChangeStatisticsCache.of(id -> LocalDateDoubleTimeSeries.of(START, 1.0));
+    assertThatIllegalArgumentException().isThrownBy(() -> cache.dailyVolatility(ID_1));
+  }
+
+  private static double expectedCorrelation(Map<String, LocalDateDoubleTimeSeries> store) {
+    AlignedTimeSeries aligned = TimeSeriesAlignment.align(store.get(ID_1), store.get(ID_2), TimeSeriesAlignmentMode.INNER);
+    return LocalDateDoubleTimeSeriesUtils.correlation(aligned, 0, 1);
+  }
+
+  private static LocalDateDoubleTimeSeries series(long seed, LocalDate start, int nbPoints) {
+    Random random = new Random(seed);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int looppt = 0; looppt < nbPoints; looppt++) {
+      builder.put(start.plusDays(looppt), random.nextGaussian());
+    }
+    return builder.build();
+  }
+
+}
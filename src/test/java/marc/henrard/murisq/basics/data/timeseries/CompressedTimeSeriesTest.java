@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+/**
+ * Tests {@link CompressedTimeSeries}.
+ * <p>
+ * The compression ratio is checked on rate-like data: business days over 20 years, rates with
+ * 4 decimals in percent, unchanged on a third of the days.
+ *
+ * @author Marc Henrard
+ */
+public class CompressedTimeSeriesTest {
+
+  private static final LocalDate START = LocalDate.of(2000, 1, 3);
+
+  /* Exact round trip on rate-like data and compression ratio */
+  @Test
+  public void rates() {
+    LocalDateDoubleTimeSeries ts = rateLike(20 * 261, 1);
+    CompressedTimeSeries compressed = CompressedTimeSeries.of(ts);
+    assertThat(compressed.size()).isEqualTo(ts.size());
+    assertThat(compressed.getEarliestDate()).isEqualTo(ts.getEarliestDate());
+    assertThat(compressed.getLatestDate()).isEqualTo(ts.getLatestDate());
+    assertThat(compressed.toTimeSeries()).isEqualTo(ts);
+    double bytesByPoint = (double) compressed.sizeInBytes() / ts.size();
+    assertThat(bytesByPoint).isLessThan(8.0d); // 16 bytes uncompressed
+  }
+
+  /* Round trip on irregular dates and special values */
+  @Test
+  public void irregular() {
+    Random random = new Random(11);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    LocalDate date = START;
+    double[] specials = {Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, -0.0d, 0.0d, Double.MIN_VALUE, -1.0E300};
+    for (int looppt = 0; looppt < 1000; looppt++) {
+      int gap = (looppt % 100 == 0) ? 5000 + random.nextInt(100000) : 1 + random.nextInt(200);
+      date = date.plusDays(gap);
+      double value = (looppt % 7 == 0) ? specials[looppt % specials.length] : random.nextGaussian();
+      builder.put(date, value);
+    }
+    LocalDateDoubleTimeSeries ts = builder.build();
+    CompressedTimeSeries compressed = CompressedTimeSeries.of(ts);
+    CompressedTimeSeries.Cursor cursor = compressed.cursor();
+    int[] index = new int[1];
+    ts.forEach((d, v) -> {
+      assertThat(cursor.next()).isTrue();
+      assertThat(cursor.getDate()).isEqualTo(d);
+      assertThat(Double.doubleToRawLongBits(cursor.getValue())).isEqualTo(Double.doubleToRawLongBits(v));
+      index[0]++;
+    });
+    assertThat(cursor.next()).isFalse();
+    assertThat(index[0]).isEqualTo(1000);
+  }
+
+  @Test
+  public void empty() {
+    CompressedTimeSeries compressed = CompressedTimeSeries.of(LocalDateDoubleTimeSeries.empty());
+    assertThat(compressed.isEmpty()).isTrue();
+    assertThat(compressed.cursor().next()).isFalse();
+    assertThat(compressed.toTimeSeries().isEmpty()).isTrue();
+    assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(compressed::getEarliestDate);
+  }
+
+  private static LocalDateDoubleTimeSeries rateLike(int nbPoints, long seed) {
+    Random random = new Random(seed);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    LocalDate date = START;
+    long rateTenthBp = 25000; // 2.5000%
+    for (int looppt = 0; looppt < nbPoints; looppt++) {
+      if (random.nextInt(3) > 0) {
+        rateTenthBp += random.nextInt(41) - 20;
+      }
+      builder.put(date, rateTenthBp / 10000.0d);
+      date = date.plusDays(date.getDayOfWeek() == DayOfWeek.FRIDAY ? 3 : 1);
+    }
+    return builder.build();
+  }
+
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+/**
+ * Tests {@link EwmaStatistics}.
+ *
+ * @author Marc Henrard
+ */
+public class EwmaStatisticsTest {
+
+  private static final double LAMBDA = 0.94;
+  private static final LocalDate[] DATES = {LocalDate.of(2017, 8, 18), LocalDate.of(2017, 8, 21),
+      LocalDate.of(2017, 8, 22), LocalDate.of(2017, 8, 23), LocalDate.of(2017, 8, 25)};
+  private static final double[] VALUES_1 = {0.5, 0.6, 0.7, 0.5, 0.4};
+  private static final double[] VALUES_2 = {0.6, 0.7, 0.5, 0.4, 0.3};
+  private static final LocalDateDoubleTimeSeries TS_1;
+  private static final LocalDateDoubleTimeSeries TS_2;
+  static {
+    LocalDateDoubleTimeSeriesBuilder builder1 = LocalDateDoubleTimeSeries.builder();
+    LocalDateDoubleTimeSeriesBuilder builder2 = LocalDateDoubleTimeSeries.builder();
+    for (int looppt = 0; looppt < DATES.length; looppt++) {
+      builder1.put(DATES[looppt], VALUES_1[looppt]);
+      builder2.put(DATES[looppt], VALUES_2[looppt]);
+    }
+    TS_1 = builder1.build();
+    TS_2 = builder2.build();
+  }
+
+  private static final Offset<Double> TOLERANCE = Offset.offset(1.0E-12);
+
+  /* Compare to the explicit recursion */
+  @Test
+  public void volatility_correlation() {
+    LocalDateDoubleTimeSeries volatility = LocalDateDoubleTimeSeriesUtils.ewmaVolatility(TS_1, LAMBDA);
+    LocalDateDoubleTimeSeries correlation = LocalDateDoubleTimeSeriesUtils.ewmaCorrelation(TS_1, TS_2, LAMBDA);
+    assertThat(volatility.size()).isEqualTo(DATES.length - 1);
+    double var1 = 0.0;
+    double var2 = 0.0;
+    double cov = 0.0;
+    for (int looppt = 1; looppt < DATES.length; looppt++) {
+      double days = DATES[looppt].toEpochDay() - DATES[looppt - 1].toEpochDay();
+      double change1 = VALUES_1[looppt] - VALUES_1[looppt - 1];
+      double change2 = VALUES_2[looppt] - VALUES_2[looppt - 1];
+      double weight = (looppt == 1) ? 1.0 : 1.0 - LAMBDA;
+      var1 = (1.0 - weight) * var1 + weight * change1 * change1 / days;
+      var2 = (1.0 - weight) * var2 + weight * change2 * change2 / days;
+      cov = (1.0 - weight) * cov + weight * change1 * change2 / days;
+      assertThat(volatility.get(DATES[looppt]).getAsDouble()).isCloseTo(Math.sqrt(var1), TOLERANCE);
+      assertThat(correlation.get(DATES[looppt]).getAsDouble()).isCloseTo(cov / Math.sqrt(var1 * var2), TOLERANCE);
+    }
+  }
+
+}
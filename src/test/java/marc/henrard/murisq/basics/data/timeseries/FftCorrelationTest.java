@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+/**
+ * Tests {@link FftCorrelation}.
+ * <p>
+ * The results are compared to {@link LocalDateDoubleTimeSeriesUtils#correlation} on the shifted series.
+ *
+ * @author Marc Henrard
+ */
+public class FftCorrelationTest {
+
+  private static final int NB_POINTS = 301;
+  private static final int MAX_LAG = 20;
+  private static final LocalDate START = LocalDate.of(2017, 8, 18);
+  private static final double[] VALUES_1 = new double[NB_POINTS];
+  private static final double[] VALUES_2 = new double[NB_POINTS];
+  static {
+    Random random = new Random(13);
+    double[] noise = new double[NB_POINTS + 3];
+    for (int loopi = 0; loopi < noise.length; loopi++) {
+      noise[loopi] = random.nextGaussian();
+    }
+    for (int looppt = 1; looppt < NB_POINTS; looppt++) {
+      // series 1 lags series 2 by 3 days, with an independent noise
+      VALUES_2[looppt] = VALUES_2[looppt - 1] + noise[looppt + 3];
+      VALUES_1[looppt] = VALUES_1[looppt - 1] + noise[looppt] + 0.3 * random.nextGaussian();
+    }
+  }
+
+  private static final Offset<Double> TOLERANCE = Offset.offset(1.0E-10);
+
+  @Test
+  public void autocorrelation() {
+    LocalDateDoubleTimeSeries ts = series(VALUES_1, 0, NB_POINTS);
+    DoubleArray computed = FftCorrelation.autocorrelation(ts, MAX_LAG);
+    assertThat(computed.size()).isEqualTo(MAX_LAG + 1);
+    assertThat(computed.get(0)).isCloseTo(1.0d, TOLERANCE);
+    for (int looplag = 0; looplag <= MAX_LAG; looplag++) {
+      double expected = LocalDateDoubleTimeSeriesUtils.correlation(
+          series(VALUES_1, looplag, NB_POINTS), series(VALUES_1, 0, NB_POINTS - looplag));
+      assertThat(computed.get(looplag)).isCloseTo(expected, TOLERANCE);
+    }
+  }
+
+  @Test
+  public void cross_correlation() {
+    LocalDateDoubleTimeSeries ts1 = series(VALUES_1, 0, NB_POINTS);
+    LocalDateDoubleTimeSeries ts2 = series(VALUES_2, 0, NB_POINTS);
+    DoubleArray computed = FftCorrelation.crossCorrelation(ts1, ts2, MAX_LAG);
+    assertThat(computed.size()).isEqualTo(2 * MAX_LAG + 1);
+    int lagMax = 0;
+    for (int looplag = -MAX_LAG; looplag <= MAX_LAG; looplag++) {
+      double expected = (looplag >= 0)
+          ? LocalDateDoubleTimeSeriesUtils.correlation(
+              series(VALUES_1, looplag, NB_POINTS), series(VALUES_2, 0, NB_POINTS - looplag))
+          : LocalDateDoubleTimeSeriesUtils.correlation(
+              series(VALUES_1, 0, NB_POINTS + looplag), series(VALUES_2, -looplag, NB_POINTS));
+      assertThat(computed.get(MAX_LAG + looplag)).isCloseTo(expected, TOLERANCE);
+      if (computed.get(MAX_LAG + looplag) > computed.get(MAX_LAG + lagMax)) {
+        lagMax = looplag;
+      }
+    }
+    assertThat(lagMax).isEqualTo(3); // the first series lags the second one by 3 days
+  }
+
+  /* Plans kept up to the maximal size only */
+  @Test
+  public void plan_cache() {
+    assertThat(FftPlan.of(1024)).isSameAs(FftPlan.of(1024));
+    assertThat(FftPlan.of(FftPlan.MAX_CACHED_SIZE)).isSameAs(FftPlan.of(FftPlan.MAX_CACHED_SIZE));
+    FftPlan large = FftPlan.of(2 * FftPlan.MAX_CACHED_SIZE);
+    assertThat(large.size()).isEqualTo(2 * FftPlan.MAX_CACHED_SIZE);
+    assertThat(FftPlan.of(2 * FftPlan.MAX_CACHED_SIZE)).isNotSameAs(large);
+  }
+
+  // series with the values from start (inclusive) to end (exclusive), dates from START
+  private static LocalDateDoubleTimeSeries series(double[] values, int start, int end) {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int looppt = start; looppt < end; looppt++) {
+      builder.put(START.plusDays(looppt - start), values[looppt]);
+    }
+    return builder.build();
+  }
+
+}
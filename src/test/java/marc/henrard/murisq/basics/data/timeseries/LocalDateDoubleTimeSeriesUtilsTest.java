@@ -7,12 +7,15 @@ import static org.testng.Assert.assertEquals;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
 
@@ -78,7 +81,111 @@ public class LocalDateDoubleTimeSeriesUtilsTest {
     double corComputed1 = LocalDateDoubleTimeSeriesUtils.correlation(TS_1, TS_1);
     assertEquals(corComputed1, 1.0d, TOLERANCE_COR);
   }
+
+  public void changeStatistics() {
+    int nbChanges = NB_DATES - 1;
+    double mean1 = 0.0;
+    double mean2 = 0.0;
+    for (int i = 0; i < nbChanges; i++) {
+      mean1 += (VALUES_1.get(i + 1) - VALUES_1.get(i)) / nbChanges;
+      mean2 += (VALUES_2.get(i + 1) - VALUES_2.get(i)) / nbChanges;
+    }
+    double covar = 0.0;
+    for (int i = 0; i < nbChanges; i++) {
+      covar += (VALUES_1.get(i + 1) - VALUES_1.get(i) - mean1) * (VALUES_2.get(i + 1) - VALUES_2.get(i) - mean2);
+    }
+    covar /= nbChanges;
+    ChangeStatistics statistics = LocalDateDoubleTimeSeriesUtils.changeStatistics(TS_1, TS_2);
+    assertEquals(statistics.getCount(), nbChanges);
+    assertEquals(statistics.getMean1(), mean1, TOLERANCE_COR);
+    assertEquals(statistics.getMean2(), mean2, TOLERANCE_COR);
+    assertEquals(statistics.getCovariance(), covar, TOLERANCE_COR);
+    assertEquals(statistics.getCorrelation(), LocalDateDoubleTimeSeriesUtils.correlation(TS_1, TS_2), TOLERANCE_COR);
+    ChangeStatistics statistics1 = LocalDateDoubleTimeSeriesUtils.changeStatistics(TS_1);
+    assertEquals(statistics1.getMean1(), mean1, TOLERANCE_COR);
+    assertEquals(statistics1.getVariance1(), statistics.getVariance1(), TOLERANCE_COR);
+  }
   
   
   
+  /* Variance and covariance of changes with a large mean, compared to a two-pass computation;
+   * also with removed changes and combined statistics. */
+  public void changeStatistics_large_mean() {
+    int nbChanges = 1000;
+    double[] changes1 = new double[nbChanges];
+    double[] changes2 = new double[nbChanges];
+    Random random = new Random(31);
+    for (int i = 0; i < nbChanges; i++) {
+      changes1[i] = 1.0E8 + 1.0E-3 * random.nextGaussian();
+      changes2[i] = -1.0E7 + 1.0E-3 * random.nextGaussian();
+    }
+    ChangeStatistics statistics = ChangeStatistics.create();
+    ChangeStatistics first = ChangeStatistics.create();
+    ChangeStatistics second = ChangeStatistics.create();
+    for (int i = 0; i < nbChanges; i++) {
+      statistics.accept(changes1[i], changes2[i]);
+      (i < nbChanges / 3 ? first : second).accept(changes1[i], changes2[i]);
+    }
+    assertTwoPass(statistics, changes1, changes2, 0);
+    assertTwoPass(first.combine(second), changes1, changes2, 0);
+    for (int i = 0; i < nbChanges / 2; i++) {
+      statistics.remove(changes1[i], changes2[i]);
+    }
+    assertTwoPass(statistics, changes1, changes2, nbChanges / 2);
+  }
+
+  private static void assertTwoPass(ChangeStatistics statistics, double[] changes1, double[] changes2, int start) {
+    int nbChanges = changes1.length - start;
+    double mean1 = 0.0;
+    double mean2 = 0.0;
+    for (int i = start; i < changes1.length; i++) {
+      mean1 += changes1[i] / nbChanges;
+      mean2 += changes2[i] / nbChanges;
+    }
+    double var1 = 0.0;
+    double var2 = 0.0;
+    double covar = 0.0;
+    for (int i = start; i < changes1.length; i++) {
+      var1 += (changes1[i] - mean1) * (changes1[i] - mean1) / nbChanges;
+      var2 += (changes2[i] - mean2) * (changes2[i] - mean2) / nbChanges;
+      covar += (changes1[i] - mean1) * (changes2[i] - mean2) / nbChanges;
+    }
+    assertEquals(statistics.getCount(), nbChanges);
+    assertEquals(statistics.getVariance1(), var1, 1.0E-2 * var1);
+    assertEquals(statistics.getVariance2(), var2, 1.0E-2 * var2);
+    assertEquals(statistics.getCovariance(), covar, 1.0E-2 * Math.sqrt(var1 * var2));
+    double correlation = covar / Math.sqrt(var1 * var2);
+    assertEquals(statistics.getCenteredCorrelation(), correlation, 1.0E-2);
+  }
+
+  /* Compare matrices to the pairwise computation; the number of series and changes cover several blocks. */
+  public void covarianceCorrelationMatrix() {
+    int nbSeries = 70;
+    int nbPoints = 600;
+    Random random = new Random(1234);
+    List<LocalDateDoubleTimeSeries> timeSeries = new ArrayList<>();
+    for (int loopts = 0; loopts < nbSeries; loopts++) {
+      LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+      double value = 0.0;
+      for (int looppt = 0; looppt < nbPoints; looppt++) {
+        value += random.nextGaussian() * 0.01;
+        builder.put(DATES.get(0).plusDays(looppt), value);
+      }
+      timeSeries.add(builder.build());
+    }
+    DoubleMatrix covariance = LocalDateDoubleTimeSeriesUtils.covarianceMatrix(timeSeries);
+    DoubleMatrix correlation = LocalDateDoubleTimeSeriesUtils.correlationMatrix(timeSeries);
+    assertEquals(covariance.rowCount(), nbSeries);
+    assertEquals(correlation.columnCount(), nbSeries);
+    for (int loopts1 = 0; loopts1 < nbSeries; loopts1++) {
+      double vol = LocalDateDoubleTimeSeriesUtils.dailyVolatility(timeSeries.get(loopts1));
+      assertEquals(covariance.get(loopts1, loopts1), vol * vol, TOLERANCE_COR);
+      for (int loopts2 = 0; loopts2 < nbSeries; loopts2++) {
+        double corExpected = LocalDateDoubleTimeSeriesUtils.correlation(timeSeries.get(loopts1), timeSeries.get(loopts2));
+        assertEquals(correlation.get(loopts1, loopts2), corExpected, TOLERANCE_COR);
+        assertEquals(covariance.get(loopts1, loopts2), covariance.get(loopts2, loopts1));
+      }
+    }
+  }
+
 }
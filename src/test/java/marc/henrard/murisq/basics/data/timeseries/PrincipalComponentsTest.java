@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.math.MathException;
+
+/**
+ * Tests {@link PrincipalComponents}.
+ * <p>
+ * The series are generated from three factors plus noise.
+ *
+ * @author Marc Henrard
+ */
+public class PrincipalComponentsTest {
+
+  private static final int NB_SERIES = 150;
+  private static final int NB_DATES = 400;
+  private static final AlignedTimeSeries ALIGNED = aligned();
+
+  private static final Offset<Double> TOLERANCE = Offset.offset(1.0E-10);
+
+  /* Eigenvalues and eigenvectors of the covariance matrix */
+  @Test
+  public void full() {
+    PrincipalComponents pca = PrincipalComponents.of(ALIGNED);
+    assertThat(pca.getComponentCount()).isEqualTo(NB_SERIES);
+    DoubleMatrix covariance = LocalDateDoubleTimeSeriesUtils.covarianceMatrix(series());
+    DoubleArray eigenvalues = pca.getEigenvalues();
+    double scale = eigenvalues.get(0);
+    for (int loopcomp = 0; loopcomp < NB_SERIES; loopcomp++) {
+      if (loopcomp > 0) {
+        assertThat(eigenvalues.get(loopcomp)).isLessThanOrEqualTo(eigenvalues.get(loopcomp - 1));
+      }
+      DoubleArray loadings = pca.getLoadings(loopcomp);
+      for (int loopts = 0; loopts < NB_SERIES; loopts++) {
+        assertThat(covariance.row(loopts).multipliedBy(loadings).sum() / scale)
+            .isCloseTo(eigenvalues.get(loopcomp) * loadings.get(loopts) / scale, TOLERANCE);
+      }
+    }
+    assertThat(pca.getExplainedVarianceRatios().sum()).isCloseTo(1.0d, TOLERANCE);
+    assertThat(pca.getExplainedVarianceRatios().subArray(0, 3).sum()).isGreaterThan(0.9d);
+  }
+
+  /* Top components by randomized subspace iteration */
+  @Test
+  public void top() {
+    PrincipalComponents full = PrincipalComponents.of(ALIGNED);
+    PrincipalComponents top = PrincipalComponents.ofTop(ALIGNED, 3);
+    assertThat(top.getComponentCount()).isEqualTo(3);
+    for (int loopcomp = 0; loopcomp < 3; loopcomp++) {
+      assertThat(top.getEigenvalues().get(loopcomp) / full.getEigenvalues().get(loopcomp))
+          .isCloseTo(1.0d, Offset.offset(1.0E-8));
+      double dot = top.getLoadings(loopcomp).multipliedBy(full.getLoadings(loopcomp)).sum();
+      assertThat(Math.abs(dot)).isCloseTo(1.0d, Offset.offset(1.0E-6));
+      assertThat(top.getExplainedVarianceRatios().get(loopcomp))
+          .isCloseTo(full.getExplainedVarianceRatios().get(loopcomp), Offset.offset(1.0E-8));
+    }
+  }
+
+  /* The variance of the factor changes is the eigenvalue */
+  @Test
+  public void factors() {
+    PrincipalComponents pca = PrincipalComponents.ofTop(ALIGNED, 3);
+    int nbDays = ALIGNED.getEpochDay(NB_DATES - 1) - ALIGNED.getEpochDay(0);
+    for (int loopcomp = 0; loopcomp < 3; loopcomp++) {
+      LocalDateDoubleTimeSeries factor = pca.getFactorTimeSeries(loopcomp);
+      assertThat(factor.size()).isEqualTo(NB_DATES - 1);
+      assertThat(factor.getEarliestDate()).isEqualTo(ALIGNED.getDate(1));
+      double sumSquares = factor.values().map(x -> x * x).sum();
+      assertThat(sumSquares / nbDays / pca.getEigenvalues().get(loopcomp)).isCloseTo(1.0d, TOLERANCE);
+    }
+  }
+
+  /* The decomposition fails instead of returning eigenpairs not converged */
+  @Test
+  public void not_converged() {
+    double[][] matrix = {{1.0, 0.5, Double.NaN}, {0.5, 2.0, 0.1}, {Double.NaN, 0.1, 3.0}};
+    assertThatExceptionOfType(MathException.class).isThrownBy(() -> JacobiEigenDecomposition.of(matrix));
+    double[][] diagonal = {{1.0, 0.0}, {0.0, 2.0}};
+    assertThat(JacobiEigenDecomposition.of(diagonal).getEigenvalues()).containsExactly(2.0, 1.0);
+  }
+
+  private static AlignedTimeSeries aligned() {
+    Random random = new Random(1);
+    int[] epochDays = new int[NB_DATES];
+    double[][] values = new double[NB_SERIES][NB_DATES];
+    double[][] exposures = new double[NB_SERIES][3];
+    for (int loopts = 0; loopts < NB_SERIES; loopts++) {
+      double tenor = (double) loopts / NB_SERIES;
+      exposures[loopts] = new double[] {1.0, tenor - 0.5, (tenor - 0.5) * (tenor - 0.5) - 0.08};
+    }
+    int epochDay = (int) LocalDate.of(2017, 1, 2).toEpochDay();
+    for (int loopdate = 0; loopdate < NB_DATES; loopdate++) {
+      epochDays[loopdate] = epochDay + loopdate + loopdate / 5 * 2;
+      if (loopdate == 0) {
+        continue;
+      }
+      double[] factors = {0.010 * random.nextGaussian(), 0.005 * random.nextGaussian(), 0.020 * random.nextGaussian()};
+      for (int loopts = 0; loopts < NB_SERIES; loopts++) {
+        double change = 0.0002 * random.nextGaussian();
+        for (int loopf = 0; loopf < 3; loopf++) {
+          change += exposures[loopts][loopf] * factors[loopf];
+        }
+        values[loopts][loopdate] = values[loopts][loopdate - 1] + change;
+      }
+    }
+    return AlignedTimeSeries.ofUnsafe(epochDays, values);
+  }
+
+  private static List<LocalDateDoubleTimeSeries> series() {
+    List<LocalDateDoubleTimeSeries> series = new ArrayList<>();
+    for (int loopts = 0; loopts < NB_SERIES; loopts++) {
+      series.add(ALIGNED.toTimeSeries(loopts));
+    }
+    return series;
+  }
+
+}
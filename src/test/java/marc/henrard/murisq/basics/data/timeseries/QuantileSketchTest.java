@@ -0,0 +1,187 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+/**
+ * Tests {@link QuantileSketch}.
+ * <p>
+ * The quantiles are compared to the exact ones obtained by sorting.
+ *
+ * @author Marc Henrard
+ */
+public class QuantileSketchTest {
+
+  private static final int K = 200;
+  private static final int NB_ITEMS = 100_000;
+  private static final int NB_ITEMS_LARGE = 2_000_000;
+  private static final DoubleArray LEVELS = DoubleArray.of(0.01, 0.05, 0.25, 0.5, 0.75, 0.95, 0.99);
+
+  @Test
+  public void accuracy() {
+    double[] items = items(1, NB_ITEMS);
+    QuantileSketch sketch = QuantileSketch.of(K);
+    for (double item : items) {
+      sketch.accept(item);
+    }
+    assertThat(sketch.getCount()).isEqualTo(NB_ITEMS);
+    assertThat(sketch.getStoredCount()).isLessThan(3 * K + 64);
+    assertRankError(sketch, items);
+    Arrays.sort(items);
+    assertThat(sketch.getMin()).isEqualTo(items[0]);
+    assertThat(sketch.getMax()).isEqualTo(items[NB_ITEMS - 1]);
+    assertThat(sketch.quantile(0.0)).isEqualTo(items[0]);
+    assertThat(sketch.quantile(1.0)).isEqualTo(items[NB_ITEMS - 1]);
+  }
+
+  /* Tail quantiles of a long stream, against the documented error */
+  @Test
+  public void accuracy_tails_large() {
+    double[] items = items(5, NB_ITEMS_LARGE);
+    QuantileSketch sketch = QuantileSketch.of(K);
+    for (double item : items) {
+      sketch.accept(item);
+    }
+    assertThat(sketch.getRankError()).isCloseTo(0.0133, Offset.offset(0.0001));
+    assertThat(sketch.getStoredCount()).isLessThan(3 * K + 64);
+    assertRankError(sketch, items, DoubleArray.of(0.001, 0.01, 0.5, 0.99, 0.999));
+  }
+
+  /* Same items and seed give the same sketch; another seed gives another sketch */
+  @Test
+  public void seed() {
+    double[] items = items(6, NB_ITEMS);
+    QuantileSketch sketch1 = QuantileSketch.of(K, 1L);
+    QuantileSketch sketch2 = QuantileSketch.of(K, 1L);
+    QuantileSketch sketch3 = QuantileSketch.of(K, 2L);
+    for (double item : items) {
+      sketch1.accept(item);
+      sketch2.accept(item);
+      sketch3.accept(item);
+    }
+    assertThat(sketch2.toBytes()).isEqualTo(sketch1.toBytes());
+    assertThat(sketch3.toBytes()).isNotEqualTo(sketch1.toBytes());
+  }
+
+  /* Sketches by thread merged */
+  @Test
+  public void merge() {
+    int nbParts = 8;
+    double[] items = items(2, NB_ITEMS);
+    int partSize = NB_ITEMS / nbParts;
+    QuantileSketch merged = IntStream.range(0, nbParts).parallel()
+        .mapToObj(looppart -> {
+          QuantileSketch sketch = QuantileSketch.of(K, looppart);
+          for (int loopitem = looppart * partSize; loopitem < (looppart + 1) * partSize; loopitem++) {
+            sketch.accept(items[loopitem]);
+          }
+          return sketch;
+        })
+        .collect(Collectors.toList())
+        .stream()
+        .reduce(QuantileSketch.of(K), QuantileSketch::merge);
+    assertThat(merged.getCount()).isEqualTo(NB_ITEMS);
+    assertThat(merged.getStoredCount()).isLessThan(3 * K + 64);
+    assertRankError(merged, items);
+    assertThatIllegalArgumentException().isThrownBy(() -> merged.merge(QuantileSketch.of(K + 1)));
+  }
+
+  @Test
+  public void serialization() {
+    QuantileSketch sketch = QuantileSketch.ofRankError(0.01);
+    for (double item : items(3, 10_000)) {
+      sketch.accept(item);
+    }
+    QuantileSketch copy = QuantileSketch.fromBytes(sketch.toBytes());
+    assertThat(copy.getK()).isEqualTo(sketch.getK());
+    assertThat(copy.getCount()).isEqualTo(sketch.getCount());
+    assertThat(copy.quantiles(LEVELS)).isEqualTo(sketch.quantiles(LEVELS));
+    assertThat(copy.toBytes()).isEqualTo(sketch.toBytes());
+    // the random state is serialized: the copy continues as the original
+    for (double item : items(7, 10_000)) {
+      sketch.accept(item);
+      copy.accept(item);
+    }
+    assertThat(copy.toBytes()).isEqualTo(sketch.toBytes());
+  }
+
+  /* First version of the serialized format: number of compactions by level and no random state */
+  @Test
+  public void serialization_version1() {
+    ByteBuffer buffer = ByteBuffer.allocate(36 + 8 + 16).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(1).putInt(K).putLong(2).putDouble(1.0).putDouble(2.0).putInt(1);
+    buffer.putInt(0).putInt(2).putDouble(2.0).putDouble(1.0);
+    QuantileSketch sketch = QuantileSketch.fromBytes(buffer.array());
+    assertThat(sketch.getCount()).isEqualTo(2);
+    assertThat(sketch.getStoredCount()).isEqualTo(2);
+    assertThat(sketch.quantile(0.5)).isEqualTo(1.0);
+  }
+
+  @Test
+  public void changes() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    double[] changes = items(4, 5_000);
+    double value = 0.0;
+    LocalDate date = LocalDate.of(2017, 1, 2);
+    builder.put(date, value);
+    for (double change : changes) {
+      value += change;
+      date = date.plusDays(1);
+      builder.put(date, value);
+    }
+    LocalDateDoubleTimeSeries ts = builder.build();
+    QuantileSketch sketch = QuantileSketch.ofChanges(ts, K);
+    assertThat(sketch.getCount()).isEqualTo(changes.length);
+    assertRankError(sketch, changes);
+    QuantileSketch sketchView = QuantileSketch.of(K);
+    sketchView.acceptChanges(TimeSeriesView.of(ts));
+    assertThat(sketchView.toBytes()).isEqualTo(sketch.toBytes());
+  }
+
+  private static void assertRankError(QuantileSketch sketch, double[] items) {
+    assertRankError(sketch, items, LEVELS);
+  }
+
+  // exact ranks of the quantiles within the documented error
+  private static void assertRankError(QuantileSketch sketch, double[] items, DoubleArray levels) {
+    double[] sorted = items.clone();
+    Arrays.sort(sorted);
+    DoubleArray quantiles = sketch.quantiles(levels);
+    for (int loopq = 0; loopq < levels.size(); loopq++) {
+      int index = Arrays.binarySearch(sorted, quantiles.get(loopq));
+      int rank = (index >= 0) ? index + 1 : -index - 1;
+      assertThat((double) rank / sorted.length)
+          .isCloseTo(levels.get(loopq), Offset.offset(sketch.getRankError()));
+      assertThat(sketch.rank(quantiles.get(loopq)))
+          .isCloseTo(levels.get(loopq), Offset.offset(sketch.getRankError()));
+    }
+  }
+
+  private static double[] items(long seed, int nbItems) {
+    Random random = new Random(seed);
+    double[] items = new double[nbItems];
+    for (int loopitem = 0; loopitem < nbItems; loopitem++) {
+      items[loopitem] = 0.01 * random.nextGaussian();
+    }
+    return items;
+  }
+
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+/**
+ * Tests {@link RollingWindowStatistics}.
+ *
+ * @author Marc Henrard
+ */
+public class RollingWindowStatisticsTest {
+
+  private static final int NB_POINTS = 300;
+  private static final int WINDOW_SIZE = 20;
+  private static final LocalDateDoubleTimeSeries TS_1;
+  private static final LocalDateDoubleTimeSeries TS_2;
+  static {
+    Random random = new Random(42);
+    LocalDateDoubleTimeSeriesBuilder builder1 = LocalDateDoubleTimeSeries.builder();
+    LocalDateDoubleTimeSeriesBuilder builder2 = LocalDateDoubleTimeSeries.builder();
+    LocalDate date = LocalDate.of(2017, 8, 18);
+    double value1 = 0.01;
+    double value2 = 0.02;
+    for (int looppt = 0; looppt < NB_POINTS; looppt++) {
+      date = date.plusDays(1 + random.nextInt(3));
+      value1 += 0.001 * random.nextGaussian();
+      value2 += 0.0005 * (value1 + random.nextGaussian());
+      builder1.put(date, value1);
+      builder2.put(date, value2);
+    }
+    TS_1 = builder1.build();
+    TS_2 = builder2.build();
+  }
+
+  private static final Offset<Double> TOLERANCE = Offset.offset(1.0E-10);
+
+  /* Compare to the full computation on each window */
+  @Test
+  public void rolling_volatility_correlation() {
+    LocalDateDoubleTimeSeries volatility = LocalDateDoubleTimeSeriesUtils.rollingVolatility(TS_1, WINDOW_SIZE);
+    LocalDateDoubleTimeSeries correlation = LocalDateDoubleTimeSeriesUtils.rollingCorrelation(TS_1, TS_2, WINDOW_SIZE);
+    List<LocalDate> dates = TS_1.dates().collect(Collectors.toList());
+    assertThat(volatility.size()).isEqualTo(NB_POINTS - WINDOW_SIZE);
+    assertThat(correlation.size()).isEqualTo(NB_POINTS - WINDOW_SIZE);
+    for (int looppt = WINDOW_SIZE; looppt < NB_POINTS; looppt++) {
+      LocalDate start = dates.get(looppt - WINDOW_SIZE);
+      LocalDate end = dates.get(looppt);
+      LocalDateDoubleTimeSeries window1 = TS_1.subSeries(start, end.plusDays(1));
+      LocalDateDoubleTimeSeries window2 = TS_2.subSeries(start, end.plusDays(1));
+      assertThat(volatility.get(end).getAsDouble())
+          .isCloseTo(LocalDateDoubleTimeSeriesUtils.dailyVolatility(window1), TOLERANCE);
+      assertThat(correlation.get(end).getAsDouble())
+          .isCloseTo(LocalDateDoubleTimeSeriesUtils.correlation(window1, window2), TOLERANCE);
+    }
+  }
+
+  /* Partial window */
+  @Test
+  public void partial_window() {
+    RollingWindowStatistics statistics = RollingWindowStatistics.of(WINDOW_SIZE);
+    LocalDate date = LocalDate.of(2017, 8, 18);
+    statistics.accept(date, 1.0);
+    assertThat(statistics.getCount()).isEqualTo(0);
+    statistics.accept(date.plusDays(1), 1.5);
+    statistics.accept(date.plusDays(3), 1.0);
+    assertThat(statistics.getCount()).isEqualTo(2);
+    assertThat(statistics.isFull()).isFalse();
+    assertThat(statistics.getDays()).isEqualTo(3);
+    assertThat(statistics.getVolatility1()).isCloseTo(Math.sqrt(0.5 / 3.0), TOLERANCE);
+  }
+
+}
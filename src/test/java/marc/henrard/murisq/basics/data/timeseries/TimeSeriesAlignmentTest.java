@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+
+/**
+ * Tests {@link TimeSeriesAlignment}.
+ *
+ * @author Marc Henrard
+ */
+public class TimeSeriesAlignmentTest {
+
+  private static final LocalDate DATE_1 = LocalDate.of(2017, 8, 18);
+  private static final LocalDate DATE_2 = LocalDate.of(2017, 8, 21);
+  private static final LocalDate DATE_3 = LocalDate.of(2017, 8, 22);
+  private static final LocalDate DATE_4 = LocalDate.of(2017, 8, 23);
+  private static final LocalDate DATE_5 = LocalDate.of(2017, 8, 24);
+  private static final LocalDateDoubleTimeSeries TS_1 = LocalDateDoubleTimeSeries.builder()
+      .put(DATE_1, 1.0).put(DATE_2, 2.0).put(DATE_3, 3.0).put(DATE_5, 5.0).build();
+  private static final LocalDateDoubleTimeSeries TS_2 = LocalDateDoubleTimeSeries.builder()
+      .put(DATE_2, 20.0).put(DATE_4, 40.0).put(DATE_5, 50.0).build();
+
+  private static final Offset<Double> TOLERANCE = Offset.offset(1.0E-12);
+
+  @Test
+  public void inner() {
+    AlignedTimeSeries aligned = TimeSeriesAlignment.align(TS_1, TS_2, TimeSeriesAlignmentMode.INNER);
+    assertThat(aligned.size()).isEqualTo(2);
+    assertThat(aligned.getSeriesCount()).isEqualTo(2);
+    assertThat(aligned.getDate(0)).isEqualTo(DATE_2);
+    assertThat(aligned.getDate(1)).isEqualTo(DATE_5);
+    assertThat(aligned.getValues(0).toArray()).containsExactly(2.0, 5.0);
+    assertThat(aligned.getValues(1).toArray()).containsExactly(20.0, 50.0);
+  }
+
+  @Test
+  public void outer() {
+    AlignedTimeSeries aligned = TimeSeriesAlignment.align(TS_1, TS_2, TimeSeriesAlignmentMode.OUTER);
+    assertThat(aligned.size()).isEqualTo(5);
+    assertThat(aligned.getDate(3)).isEqualTo(DATE_4);
+    assertThat(aligned.getValues(0).toArray()).containsExactly(1.0, 2.0, 3.0, Double.NaN, 5.0);
+    assertThat(aligned.getValues(1).toArray()).containsExactly(Double.NaN, 20.0, Double.NaN, 40.0, 50.0);
+    assertThat(aligned.toTimeSeries(0)).isEqualTo(TS_1);
+    assertThat(aligned.toTimeSeries(1)).isEqualTo(TS_2);
+  }
+
+  @Test
+  public void forward_fill() {
+    AlignedTimeSeries aligned = TimeSeriesAlignment.align(TS_1, TS_2, TimeSeriesAlignmentMode.FORWARD_FILL);
+    assertThat(aligned.size()).isEqualTo(4);
+    assertThat(aligned.getDate(0)).isEqualTo(DATE_2);
+    assertThat(aligned.getValues(0).toArray()).containsExactly(2.0, 3.0, 3.0, 5.0);
+    assertThat(aligned.getValues(1).toArray()).containsExactly(20.0, 20.0, 40.0, 50.0);
+  }
+
+  @Test
+  public void inner_no_common_date() {
+    LocalDateDoubleTimeSeries ts3 = LocalDateDoubleTimeSeries.of(DATE_4, 1.0);
+    AlignedTimeSeries aligned = TimeSeriesAlignment.align(ImmutableList.of(TS_1, ts3), TimeSeriesAlignmentMode.INNER);
+    assertThat(aligned.size()).isEqualTo(0);
+  }
+
+  /* Compare statistics on aligned series to the ones on the common dates */
+  @Test
+  public void statistics() {
+    AlignedTimeSeries aligned = TimeSeriesAlignment.align(TS_1, TS_2, TimeSeriesAlignmentMode.INNER);
+    LocalDateDoubleTimeSeries common1 = aligned.toTimeSeries(0);
+    LocalDateDoubleTimeSeries common2 = aligned.toTimeSeries(1);
+    assertThat(LocalDateDoubleTimeSeriesUtils.dailyVolatility(aligned, 0))
+        .isCloseTo(LocalDateDoubleTimeSeriesUtils.dailyVolatility(common1), TOLERANCE);
+    assertThat(LocalDateDoubleTimeSeriesUtils.correlation(aligned, 0, 1))
+        .isCloseTo(LocalDateDoubleTimeSeriesUtils.correlation(common1, common2), TOLERANCE);
+    AlignedTimeSeries outer = TimeSeriesAlignment.align(TS_1, TS_2, TimeSeriesAlignmentMode.OUTER);
+    assertThat(LocalDateDoubleTimeSeriesUtils.changeStatistics(outer, 0, 1).getCount())
+        .isEqualTo(0); // no consecutive dates with both values
+    AlignedTimeSeries filled = TimeSeriesAlignment.align(TS_1, TS_2, TimeSeriesAlignmentMode.FORWARD_FILL);
+    ChangeStatistics statistics = LocalDateDoubleTimeSeriesUtils.changeStatistics(filled, 0, 1);
+    assertThat(statistics.getCount()).isEqualTo(3);
+    assertThat(statistics.getSumCrossProducts()).isCloseTo(1.0 * 0.0 + 0.0 * 20.0 + 2.0 * 10.0, TOLERANCE);
+  }
+
+  /* Volatility of a series starting after the other series, as the volatility of the series alone */
+  @Test
+  public void volatility_late_start() {
+    LocalDateDoubleTimeSeries full = LocalDateDoubleTimeSeries.builder()
+        .put(DATE_1, 1.0).put(DATE_2, 2.0).put(DATE_3, 3.0).put(DATE_4, 2.5).put(DATE_5, 5.0).build();
+    LocalDateDoubleTimeSeries late = LocalDateDoubleTimeSeries.builder()
+        .put(DATE_3, 30.0).put(DATE_4, 32.0).put(DATE_5, 31.0).build();
+    AlignedTimeSeries outer = TimeSeriesAlignment.align(full, late, TimeSeriesAlignmentMode.OUTER);
+    assertThat(LocalDateDoubleTimeSeriesUtils.dailyVolatility(outer, 1))
+        .isCloseTo(LocalDateDoubleTimeSeriesUtils.dailyVolatility(late), TOLERANCE);
+    assertThat(LocalDateDoubleTimeSeriesUtils.dailyVolatility(outer, 0))
+        .isCloseTo(LocalDateDoubleTimeSeriesUtils.dailyVolatility(full), TOLERANCE);
+  }
+
+}
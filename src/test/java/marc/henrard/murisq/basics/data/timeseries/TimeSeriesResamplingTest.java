@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.HolidayCalendars;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+
+/**
+ * Tests {@link BusinessDayGrid} and {@link TimeSeriesResampling}.
+ *
+ * @author Marc Henrard
+ */
+public class TimeSeriesResamplingTest {
+
+  private static final HolidayCalendar CALENDAR = HolidayCalendars.SAT_SUN;
+  // Friday 18 August 2017 to Friday 1 September 2017
+  private static final BusinessDayGrid GRID =
+      BusinessDayGrid.of(CALENDAR, LocalDate.of(2017, 8, 18), LocalDate.of(2017, 9, 1));
+  private static final LocalDateDoubleTimeSeries TS_1 = LocalDateDoubleTimeSeries.builder()
+      .put(LocalDate.of(2017, 8, 17), 1.0)
+      .put(LocalDate.of(2017, 8, 21), 2.0)
+      .put(LocalDate.of(2017, 8, 26), 7.0) // Saturday
+      .put(LocalDate.of(2017, 8, 29), 4.0)
+      .build();
+  private static final LocalDateDoubleTimeSeries TS_2 = LocalDateDoubleTimeSeries.builder()
+      .put(LocalDate.of(2017, 8, 22), 10.0)
+      .put(LocalDate.of(2017, 8, 24), 30.0)
+      .build();
+
+  private static final Offset<Double> TOLERANCE = Offset.offset(1.0E-12);
+
+  @Test
+  public void grid() {
+    assertThat(GRID.size()).isEqualTo(11);
+    assertThat(GRID.getDate(0)).isEqualTo(LocalDate.of(2017, 8, 18));
+    assertThat(GRID.getDate(10)).isEqualTo(LocalDate.of(2017, 9, 1));
+    for (int loopday = 0; loopday < GRID.size(); loopday++) {
+      DayOfWeek day = GRID.getDate(loopday).getDayOfWeek();
+      assertThat(day).isNotIn(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+    }
+  }
+
+  @Test
+  public void forward_fill() {
+    AlignedTimeSeries resampled =
+        TimeSeriesResampling.resample(ImmutableList.of(TS_1, TS_2), GRID, TimeSeriesResamplingMode.FORWARD_FILL);
+    assertThat(resampled.size()).isEqualTo(GRID.size());
+    assertThat(resampled.getValues(0).toArray())
+        .containsExactly(1.0, 2.0, 2.0, 2.0, 2.0, 2.0, 7.0, 4.0, 4.0, 4.0, 4.0);
+    assertThat(resampled.getValues(1).toArray())
+        .containsExactly(Double.NaN, Double.NaN, 10.0, 10.0, 30.0, 30.0, 30.0, 30.0, 30.0, 30.0, 30.0);
+    LocalDateDoubleTimeSeries single = TimeSeriesResampling.resample(TS_2, GRID, TimeSeriesResamplingMode.FORWARD_FILL);
+    assertThat(single).isEqualTo(resampled.toTimeSeries(1));
+    assertThat(single.getEarliestDate()).isEqualTo(LocalDate.of(2017, 8, 22));
+  }
+
+  @Test
+  public void linear() {
+    AlignedTimeSeries resampled =
+        TimeSeriesResampling.resample(ImmutableList.of(TS_1, TS_2), GRID, TimeSeriesResamplingMode.LINEAR);
+    // 18 August between 17 (1.0) and 21 (2.0)
+    assertThat(resampled.getValue(0, 0)).isCloseTo(1.25, TOLERANCE);
+    assertThat(resampled.getValue(0, 1)).isCloseTo(2.0, TOLERANCE);
+    // 22 August between 21 (2.0) and 26 (7.0)
+    assertThat(resampled.getValue(0, 2)).isCloseTo(3.0, TOLERANCE);
+    // 28 August between 26 (7.0) and 29 (4.0)
+    assertThat(resampled.getValue(0, 6)).isCloseTo(5.0, TOLERANCE);
+    assertThat(resampled.getValue(0, 10)).isCloseTo(4.0, TOLERANCE);
+    assertThat(resampled.getValue(1, 3)).isCloseTo(20.0, TOLERANCE);
+    assertThat(resampled.getValue(1, 1)).isNaN();
+  }
+
+  /* Volatility on the common calendar */
+  @Test
+  public void volatility() {
+    AlignedTimeSeries resampled =
+        TimeSeriesResampling.resample(ImmutableList.of(TS_1, TS_2), GRID, TimeSeriesResamplingMode.FORWARD_FILL);
+    assertThat(LocalDateDoubleTimeSeriesUtils.dailyVolatility(resampled, 0))
+        .isCloseTo(LocalDateDoubleTimeSeriesUtils.dailyVolatility(resampled.toTimeSeries(0)), TOLERANCE);
+    // second series starts after the start of the grid
+    assertThat(LocalDateDoubleTimeSeriesUtils.dailyVolatility(resampled, 1))
+        .isCloseTo(LocalDateDoubleTimeSeriesUtils.dailyVolatility(resampled.toTimeSeries(1)), TOLERANCE);
+  }
+
+}
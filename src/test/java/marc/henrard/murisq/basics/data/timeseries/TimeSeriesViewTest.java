@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.data.timeseries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+/**
+ * Tests {@link TimeSeriesView} and the view versions of {@link LocalDateDoubleTimeSeriesUtils}.
+ * <p>
+ * The results on views are compared to the ones on the sub-series.
+ *
+ * @author Marc Henrard
+ */
+public class TimeSeriesViewTest {
+
+  private static final LocalDate START = LocalDate.of(2017, 1, 2);
+  private static final int NB_POINTS = 300;
+  private static final LocalDateDoubleTimeSeries TS_1 = series(1);
+  private static final LocalDateDoubleTimeSeries TS_2 = series(2);
+  private static final LocalDate WINDOW_START = START.plusDays(50);
+  private static final LocalDate WINDOW_END = START.plusDays(250);
+
+  private static final Offset<Double> TOLERANCE = Offset.offset(1.0E-12);
+
+  @Test
+  public void sub_view() {
+    TimeSeriesView view = TimeSeriesView.of(TS_1);
+    assertThat(view.size()).isEqualTo(TS_1.size());
+    assertThat(view.toTimeSeries()).isEqualTo(TS_1);
+    TimeSeriesView window = view.subView(WINDOW_START, WINDOW_END);
+    LocalDateDoubleTimeSeries expected = TS_1.subSeries(WINDOW_START, WINDOW_END);
+    assertThat(window.toTimeSeries()).isEqualTo(expected);
+    assertThat(window.getEarliestDate()).isEqualTo(expected.getEarliestDate());
+    assertThat(window.getLatestDate()).isEqualTo(expected.getLatestDate());
+    TimeSeriesView subWindow = window.subView(10, 20);
+    assertThat(subWindow.size()).isEqualTo(10);
+    assertThat(subWindow.getDate(0)).isEqualTo(window.getDate(10));
+    assertThat(subWindow.getValue(9)).isEqualTo(window.getValue(19));
+    assertThat(window.subView(START, WINDOW_START).isEmpty()).isTrue();
+    assertThatIllegalArgumentException().isThrownBy(() -> window.subView(0, window.size() + 1));
+  }
+
+  @Test
+  public void aligned() {
+    AlignedTimeSeries aligned = TimeSeriesAlignment.align(TS_1, TS_2, TimeSeriesAlignmentMode.INNER);
+    TimeSeriesView view = TimeSeriesView.of(aligned, 1);
+    assertThat(view.toTimeSeries()).isEqualTo(aligned.toTimeSeries(1));
+  }
+
+  @Test
+  public void statistics() {
+    TimeSeriesView view1 = TimeSeriesView.of(TS_1).subView(WINDOW_START, WINDOW_END);
+    TimeSeriesView view2 = TimeSeriesView.of(TS_2).subView(WINDOW_START, WINDOW_END);
+    LocalDateDoubleTimeSeries ts1 = TS_1.subSeries(WINDOW_START, WINDOW_END);
+    LocalDateDoubleTimeSeries ts2 = TS_2.subSeries(WINDOW_START, WINDOW_END);
+    assertThat(LocalDateDoubleTimeSeriesUtils.dailyVolatility(view1))
+        .isCloseTo(LocalDateDoubleTimeSeriesUtils.dailyVolatility(ts1), TOLERANCE);
+    assertThat(LocalDateDoubleTimeSeriesUtils.correlation(view1, view2))
+        .isCloseTo(LocalDateDoubleTimeSeriesUtils.correlation(ts1, ts2), TOLERANCE);
+    assertThat(LocalDateDoubleTimeSeriesUtils.rollingVolatility(view1, 20))
+        .isEqualTo(LocalDateDoubleTimeSeriesUtils.rollingVolatility(ts1, 20));
+    assertThat(LocalDateDoubleTimeSeriesUtils.rollingCorrelation(view1, view2, 20))
+        .isEqualTo(LocalDateDoubleTimeSeriesUtils.rollingCorrelation(ts1, ts2, 20));
+    assertThat(LocalDateDoubleTimeSeriesUtils.ewmaVolatility(view1, 0.94))
+        .isEqualTo(LocalDateDoubleTimeSeriesUtils.ewmaVolatility(ts1, 0.94));
+    assertThat(LocalDateDoubleTimeSeriesUtils.ewmaCorrelation(view1, view2, 0.94))
+        .isEqualTo(LocalDateDoubleTimeSeriesUtils.ewmaCorrelation(ts1, ts2, 0.94));
+    DoubleMatrix covarianceViews = LocalDateDoubleTimeSeriesUtils.covarianceMatrixOfViews(ImmutableList.of(view1, view2));
+    DoubleMatrix covariance = LocalDateDoubleTimeSeriesUtils.covarianceMatrix(ImmutableList.of(ts1, ts2));
+    DoubleMatrix correlationViews = LocalDateDoubleTimeSeriesUtils.correlationMatrixOfViews(ImmutableList.of(view1, view2));
+    DoubleMatrix correlation = LocalDateDoubleTimeSeriesUtils.correlationMatrix(ImmutableList.of(ts1, ts2));
+    for (int loopi = 0; loopi < 2; loopi++) {
+      for (int loopj = 0; loopj < 2; loopj++) {
+        assertThat(covarianceViews.get(loopi, loopj)).isCloseTo(covariance.get(loopi, loopj), TOLERANCE);
+        assertThat(correlationViews.get(loopi, loopj)).isCloseTo(correlation.get(loopi, loopj), TOLERANCE);
+      }
+    }
+  }
+
+  private static LocalDateDoubleTimeSeries series(long seed) {
+    Random random = new Random(seed);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    double value = 1.0;
+    for (int looppt = 0; looppt < NB_POINTS; looppt++) {
+      value += 0.01 * random.nextGaussian();
+      builder.put(START.plusDays(looppt), value);
+    }
+    return builder.build();
+  }
+
+}
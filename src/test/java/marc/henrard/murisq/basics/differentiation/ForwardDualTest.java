@@ -0,0 +1,148 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.differentiation;
+
+import static marc.henrard.murisq.basics.differentiation.ReverseTapeTest.INPUTS;
+import static marc.henrard.murisq.basics.differentiation.ReverseTapeTest.SHIFT_FD;
+import static marc.henrard.murisq.basics.differentiation.ReverseTapeTest.TIMES;
+import static marc.henrard.murisq.basics.differentiation.ReverseTapeTest.TOLERANCE_DERIVATIVE;
+import static marc.henrard.murisq.basics.differentiation.ReverseTapeTest.TOLERANCE_VALUE;
+import static marc.henrard.murisq.basics.differentiation.ReverseTapeTest.TRAPEZIUM_RULE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.basics.currency.Currency;
+
+import marc.henrard.murisq.basics.value.CurrencyAmountDerivatives;
+
+/**
+ * Tests {@link ForwardDual} and {@link ForwardDualPool}.
+ * <p>
+ * The derivatives are compared to the ones obtained by finite difference (bumping) and by {@link ReverseTape},
+ * with the functions and inputs of {@link ReverseTapeTest}.
+ *
+ * @author Marc Henrard
+ */
+public class ForwardDualTest {
+
+  /* Compare to finite difference and reverse mode */
+  @Test
+  public void elementary_operations() {
+    ForwardDualPool pool = ForwardDualPool.of(INPUTS.length);
+    CurrencyAmountDerivatives computed = function(pool, INPUTS);
+    CurrencyAmountDerivatives reverse = ReverseTapeTest.function(ReverseTape.create(), INPUTS);
+    assertThat(computed.getValue()).isCloseTo(ReverseTapeTest.function(INPUTS), TOLERANCE_VALUE);
+    for (int loopinput = 0; loopinput < INPUTS.length; loopinput++) {
+      double[] shiftedP = INPUTS.clone();
+      shiftedP[loopinput] += SHIFT_FD;
+      double[] shiftedM = INPUTS.clone();
+      shiftedM[loopinput] -= SHIFT_FD;
+      double derivativeExpected =
+          (ReverseTapeTest.function(shiftedP) - ReverseTapeTest.function(shiftedM)) / (2 * SHIFT_FD);
+      assertThat(computed.getDerivatives().get(loopinput)).isCloseTo(derivativeExpected, TOLERANCE_DERIVATIVE);
+      assertThat(computed.getDerivatives().get(loopinput))
+          .isCloseTo(reverse.getDerivatives().get(loopinput), TOLERANCE_VALUE);
+    }
+  }
+
+  /* Compare the derivatives of the amalgamation to finite difference and reverse mode */
+  @Test
+  public void amalgamate_times() {
+    ForwardDualPool pool = ForwardDualPool.of(INPUTS.length, 2);
+    CurrencyAmountDerivatives computed = integral(pool, INPUTS);
+    CurrencyAmountDerivatives reverse = ReverseTapeTest.integral(ReverseTape.create(), INPUTS);
+    assertThat(computed.getValue()).isCloseTo(ReverseTapeTest.integral(INPUTS), TOLERANCE_VALUE);
+    for (int loopinput = 0; loopinput < INPUTS.length; loopinput++) {
+      double[] shiftedP = INPUTS.clone();
+      shiftedP[loopinput] += SHIFT_FD;
+      double[] shiftedM = INPUTS.clone();
+      shiftedM[loopinput] -= SHIFT_FD;
+      double derivativeExpected =
+          (ReverseTapeTest.integral(shiftedP) - ReverseTapeTest.integral(shiftedM)) / (2 * SHIFT_FD);
+      assertThat(computed.getDerivatives().get(loopinput)).isCloseTo(derivativeExpected, TOLERANCE_DERIVATIVE);
+      assertThat(computed.getDerivatives().get(loopinput))
+          .isCloseTo(reverse.getDerivatives().get(loopinput), TOLERANCE_VALUE);
+    }
+  }
+
+  /* A reset pool gives the same results without creating new duals */
+  @Test
+  public void reuse() {
+    ForwardDualPool pool = ForwardDualPool.of(INPUTS.length, 2);
+    CurrencyAmountDerivatives computed1 = integral(pool, INPUTS);
+    int nbUsed = pool.getUsedCount();
+    pool.reset();
+    CurrencyAmountDerivatives computed2 = integral(pool, INPUTS);
+    assertThat(pool.getUsedCount()).isEqualTo(nbUsed);
+    assertThat(computed2.getValue()).isEqualTo(computed1.getValue());
+    assertThat(computed2.getDerivatives()).isEqualTo(computed1.getDerivatives());
+  }
+
+  /* Operation with itself as argument */
+  @Test
+  public void self_argument() {
+    ForwardDualPool pool = ForwardDualPool.of(1);
+    ForwardDual x = pool.input(3.0, 0);
+    x.multiply(x);
+    assertThat(x.getValue()).isCloseTo(9.0, TOLERANCE_VALUE);
+    assertThat(x.tangent(0)).isCloseTo(6.0, TOLERANCE_VALUE);
+  }
+
+  /* Input index out of range does not access the tangent of another dual */
+  @Test
+  public void index_out_of_range() {
+    ForwardDualPool pool = ForwardDualPool.of(2);
+    ForwardDual x = pool.input(3.0, 0);
+    pool.input(4.0, 1);
+    assertThatIllegalArgumentException().isThrownBy(() -> x.tangent(2));
+    assertThatIllegalArgumentException().isThrownBy(() -> x.tangent(-1));
+    assertThatIllegalArgumentException().isThrownBy(() -> x.setInput(1.0, 2));
+  }
+
+  /* Operations with a dual of another pool are rejected */
+  @Test
+  public void other_pool() {
+    ForwardDualPool pool = ForwardDualPool.of(2);
+    ForwardDualPool poolOther = ForwardDualPool.of(3);
+    ForwardDual x = pool.input(3.0, 0);
+    ForwardDual y = poolOther.input(4.0, 2);
+    assertThatIllegalArgumentException().isThrownBy(() -> x.set(y));
+    assertThatIllegalArgumentException().isThrownBy(() -> x.add(y));
+    assertThatIllegalArgumentException().isThrownBy(() -> x.multiply(y));
+    assertThatIllegalArgumentException().isThrownBy(() -> x.divide(ForwardDualPool.of(2).input(1.0, 0)));
+    assertThatIllegalArgumentException().isThrownBy(
+        () -> pool.amalgamateTimes(TRAPEZIUM_RULE, new ForwardDual[] {x}, new double[] {0.5}, poolOther.dual()));
+    assertThat(x.getValue()).isEqualTo(3.0);
+    assertThat(x.tangent(0)).isEqualTo(1.0);
+  }
+
+  // the function of ReverseTapeTest
+  private static CurrencyAmountDerivatives function(ForwardDualPool pool, double[] x) {
+    ForwardDual x0 = pool.input(x[0], 0);
+    ForwardDual x1 = pool.input(x[1], 1);
+    ForwardDual x2 = pool.input(x[2], 2);
+    ForwardDual term1 = pool.dual().set(x0).exp().multiply(pool.dual().set(x1).log())
+        .divide(pool.dual().set(x2).sqrt());
+    ForwardDual term3 = pool.dual().set(x2).negate().add(3.0d).divide(x1);
+    ForwardDual output = term1.add(x0.multiply(x1)).subtract(term3);
+    return output.toCurrencyAmountDerivatives(Currency.EUR);
+  }
+
+  // the integral of ReverseTapeTest
+  private static CurrencyAmountDerivatives integral(ForwardDualPool pool, double[] x) {
+    ForwardDual x0 = pool.input(x[0], 0);
+    ForwardDual x1 = pool.input(x[1], 1);
+    ForwardDual x2 = pool.input(x[2], 2);
+    ForwardDual[] values = new ForwardDual[TIMES.length];
+    for (int looptime = 0; looptime < TIMES.length; looptime++) {
+      values[looptime] = pool.dual().set(x1).multiply(-TIMES[looptime]).exp().multiply(x0)
+          .addProduct(TIMES[looptime], x2);
+    }
+    return pool.amalgamateTimes(TRAPEZIUM_RULE, values, TIMES, pool.dual())
+        .toCurrencyAmountDerivatives(Currency.EUR);
+  }
+
+}
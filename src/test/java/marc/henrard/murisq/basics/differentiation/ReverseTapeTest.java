@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.differentiation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+import marc.henrard.murisq.basics.time.ScaledSecondTime;
+import marc.henrard.murisq.basics.time.TrapeziumRuleIntegral;
+import marc.henrard.murisq.basics.value.CurrencyAmountDerivatives;
+
+/**
+ * Tests {@link ReverseTape}.
+ * <p>
+ * The functions and the inputs are also used by {@link ForwardDualTest}.
+ *
+ * @author Marc Henrard
+ */
+public class ReverseTapeTest {
+
+  static final double[] INPUTS = {0.25, 1.5, 2.0};
+  static final double[] TIMES = {0.10, 0.35, 0.60, 0.85, 1.10};
+  static final TrapeziumRuleIntegral TRAPEZIUM_RULE = TrapeziumRuleIntegral.of(ScaledSecondTime.DEFAULT,
+      ZonedDateTime.of(LocalDate.of(2018, 8, 18), LocalTime.of(4, 15), ZoneId.of("Europe/Brussels")));
+
+  static final double SHIFT_FD = 1.0E-6;
+  static final Offset<Double> TOLERANCE_VALUE = Offset.offset(1.0E-12);
+  static final Offset<Double> TOLERANCE_DERIVATIVE = Offset.offset(1.0E-6);
+
+  /* Compare the derivatives to finite difference */
+  @Test
+  public void elementary_operations() {
+    ReverseTape tape = ReverseTape.create();
+    CurrencyAmountDerivatives computed = function(tape, INPUTS);
+    assertThat(computed.getValue()).isCloseTo(function(INPUTS), TOLERANCE_VALUE);
+    assertThat(computed.getCurrency()).isEqualTo(Currency.EUR);
+    assertThat(computed.getDerivatives().size()).isEqualTo(INPUTS.length);
+    for (int loopinput = 0; loopinput < INPUTS.length; loopinput++) {
+      double[] shiftedP = INPUTS.clone();
+      shiftedP[loopinput] += SHIFT_FD;
+      double[] shiftedM = INPUTS.clone();
+      shiftedM[loopinput] -= SHIFT_FD;
+      double derivativeExpected = (function(shiftedP) - function(shiftedM)) / (2 * SHIFT_FD);
+      assertThat(computed.getDerivatives().get(loopinput)).isCloseTo(derivativeExpected, TOLERANCE_DERIVATIVE);
+    }
+  }
+
+  /* Compare the derivatives of the amalgamation to finite difference */
+  @Test
+  public void amalgamate_times() {
+    ReverseTape tape = ReverseTape.create();
+    CurrencyAmountDerivatives computed = integral(tape, INPUTS);
+    assertThat(computed.getValue()).isCloseTo(integral(INPUTS), TOLERANCE_VALUE);
+    for (int loopinput = 0; loopinput < INPUTS.length; loopinput++) {
+      double[] shiftedP = INPUTS.clone();
+      shiftedP[loopinput] += SHIFT_FD;
+      double[] shiftedM = INPUTS.clone();
+      shiftedM[loopinput] -= SHIFT_FD;
+      double derivativeExpected = (integral(shiftedP) - integral(shiftedM)) / (2 * SHIFT_FD);
+      assertThat(computed.getDerivatives().get(loopinput)).isCloseTo(derivativeExpected, TOLERANCE_DERIVATIVE);
+    }
+  }
+
+  /* A reset tape, even with a small initial capacity, gives the same results */
+  @Test
+  public void reuse() {
+    ReverseTape tape = ReverseTape.of(2);
+    CurrencyAmountDerivatives computed1 = integral(tape, INPUTS);
+    tape.reset();
+    CurrencyAmountDerivatives computed2 = integral(tape, INPUTS);
+    assertThat(computed2.getValue()).isEqualTo(computed1.getValue());
+    assertThat(computed2.getDerivatives()).isEqualTo(computed1.getDerivatives());
+    assertThat(tape.getInputCount()).isEqualTo(INPUTS.length);
+  }
+
+  // f(x, y, z) = exp(x) * log(y) / sqrt(z) + x * y - (3 - z) / y
+  static double function(double[] x) {
+    return Math.exp(x[0]) * Math.log(x[1]) / Math.sqrt(x[2]) + x[0] * x[1] - (3.0d - x[2]) / x[1];
+  }
+
+  static CurrencyAmountDerivatives function(ReverseTape tape, double[] x) {
+    int x0 = tape.input(x[0]);
+    int x1 = tape.input(x[1]);
+    int x2 = tape.input(x[2]);
+    int term1 = tape.divide(tape.multiply(tape.exp(x0), tape.log(x1)), tape.sqrt(x2));
+    int term2 = tape.multiply(x0, x1);
+    int term3 = tape.divide(tape.add(tape.negate(x2), 3.0d), x1);
+    int output = tape.subtract(tape.add(term1, term2), term3);
+    return tape.currencyAmountDerivatives(output, Currency.EUR);
+  }
+
+  // integral of a * exp(-b * t) + c * t
+  static double integral(double[] x) {
+    double[] values = new double[TIMES.length];
+    for (int looptime = 0; looptime < TIMES.length; looptime++) {
+      values[looptime] = x[0] * Math.exp(-x[1] * TIMES[looptime]) + x[2] * TIMES[looptime];
+    }
+    return TRAPEZIUM_RULE.amalgamateTimes(DoubleArray.ofUnsafe(values), TIMES);
+  }
+
+  static CurrencyAmountDerivatives integral(ReverseTape tape, double[] x) {
+    int x0 = tape.input(x[0]);
+    int x1 = tape.input(x[1]);
+    int x2 = tape.input(x[2]);
+    int[] values = new int[TIMES.length];
+    for (int looptime = 0; looptime < TIMES.length; looptime++) {
+      values[looptime] = tape.add(
+          tape.multiply(x0, tape.exp(tape.multiply(x1, -TIMES[looptime]))),
+          tape.multiply(x2, TIMES[looptime]));
+    }
+    int output = tape.amalgamateTimes(TRAPEZIUM_RULE, values, TIMES);
+    return tape.currencyAmountDerivatives(output, Currency.EUR);
+  }
+
+}
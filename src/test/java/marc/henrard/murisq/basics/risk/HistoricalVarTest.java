@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.risk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+import marc.henrard.murisq.basics.data.timeseries.AlignedTimeSeries;
+import marc.henrard.murisq.basics.value.CurrencyAmountDerivatives;
+
+/**
+ * Tests {@link HistoricalVar} and {@link HistoricalScenarios}.
+ *
+ * @author Marc Henrard
+ */
+public class HistoricalVarTest {
+
+  private static final int NB_DATES = 501;
+  private static final int NB_FACTORS = 3;
+  private static final AlignedTimeSeries HISTORIES;
+  static {
+    Random random = new Random(7);
+    int[] epochDays = new int[NB_DATES];
+    double[][] values = new double[NB_FACTORS][NB_DATES];
+    double[] levels = {0.01, 0.02, 1.10};
+    for (int loopdate = 0; loopdate < NB_DATES; loopdate++) {
+      epochDays[loopdate] = 17000 + loopdate;
+      for (int loopfactor = 0; loopfactor < NB_FACTORS; loopfactor++) {
+        levels[loopfactor] += 0.001 * random.nextGaussian();
+        values[loopfactor][loopdate] = levels[loopfactor];
+      }
+    }
+    HISTORIES = AlignedTimeSeries.ofUnsafe(epochDays, values);
+  }
+  private static final HistoricalScenarios SCENARIOS = HistoricalScenarios.of(HISTORIES,
+      ImmutableList.of(ScenarioShiftType.ABSOLUTE, ScenarioShiftType.ABSOLUTE, ScenarioShiftType.RELATIVE));
+  private static final CurrencyAmountDerivatives SENSITIVITIES =
+      CurrencyAmountDerivatives.of(0.0, Currency.EUR, DoubleArray.of(-1.0E6, 2.5E5, 3.0E4));
+
+  private static final Offset<Double> TOLERANCE = Offset.offset(1.0E-8);
+
+  /* Shifts applied to the last levels */
+  @Test
+  public void scenarios() {
+    assertThat(SCENARIOS.getScenarioCount()).isEqualTo(NB_DATES - 1);
+    assertThat(SCENARIOS.getScenarioDate(0)).isEqualTo(HISTORIES.getDate(1));
+    double last2 = HISTORIES.getValue(2, NB_DATES - 1);
+    for (int loopsc = 0; loopsc < NB_DATES - 1; loopsc++) {
+      assertThat(SCENARIOS.getLevelShift(loopsc, 0))
+          .isCloseTo(HISTORIES.getValue(0, loopsc + 1) - HISTORIES.getValue(0, loopsc), TOLERANCE);
+      assertThat(SCENARIOS.getShiftedLevels(loopsc).get(2))
+          .isCloseTo(last2 * HISTORIES.getValue(2, loopsc + 1) / HISTORIES.getValue(2, loopsc), TOLERANCE);
+    }
+  }
+
+  /* VaR and ES compared to the sorted P&L; full revaluation of a linear pricer equal to first order */
+  @Test
+  public void var_es() {
+    DoubleArray pnl = HistoricalVar.pnlFirstOrder(SCENARIOS, SENSITIVITIES);
+    DoubleArray base = SCENARIOS.getBaseLevels();
+    DoubleArray pnlFull = HistoricalVar.pnlFullRevaluation(SCENARIOS,
+        levels -> SENSITIVITIES.getDerivatives().multipliedBy(levels.minus(base)).sum());
+    DoubleArray pnlPortfolio = HistoricalVar.pnlFirstOrder(SCENARIOS, ImmutableList.of(SENSITIVITIES, SENSITIVITIES));
+    double[] sorted = pnl.toArray();
+    Arrays.sort(sorted);
+    for (int loopsc = 0; loopsc < pnl.size(); loopsc++) {
+      assertThat(pnlFull.get(loopsc)).isCloseTo(pnl.get(loopsc), TOLERANCE);
+      assertThat(pnlPortfolio.get(loopsc)).isCloseTo(2.0 * pnl.get(loopsc), TOLERANCE);
+    }
+    assertThat(HistoricalVar.valueAtRisk(pnl, 0.99)).isEqualTo(-sorted[4]);
+    double es = -(sorted[0] + sorted[1] + sorted[2] + sorted[3] + sorted[4]) / 5.0;
+    assertThat(HistoricalVar.expectedShortfall(pnl, 0.99)).isCloseTo(es, TOLERANCE);
+  }
+
+  /* Selection compared to full sort, with duplicates */
+  @Test
+  public void select() {
+    Random random = new Random(3);
+    for (int looptest = 0; looptest < 50; looptest++) {
+      double[] values = new double[1 + random.nextInt(200)];
+      for (int loopvalue = 0; loopvalue < values.length; loopvalue++) {
+        values[loopvalue] = random.nextInt(20);
+      }
+      double[] sorted = values.clone();
+      Arrays.sort(sorted);
+      int k = random.nextInt(values.length);
+      HistoricalVar.select(values, k);
+      assertThat(values[k]).isEqualTo(sorted[k]);
+      for (int loopvalue = 0; loopvalue < values.length; loopvalue++) {
+        if (loopvalue < k) {
+          assertThat(values[loopvalue]).isLessThanOrEqualTo(values[k]);
+        } else {
+          assertThat(values[loopvalue]).isGreaterThanOrEqualTo(values[k]);
+        }
+      }
+    }
+  }
+
+}
@@ -17,6 +17,10 @@ import org.junit.jupiter.api.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+import marc.henrard.murisq.basics.data.timeseries.TimeSeriesView;
 
 /**
  * Tests {@link TrapeziumRuleIntegral}.
@@ -114,6 +118,62 @@ public class TrapeziumRuleIntegralTest {
     }
   }
 
+  /* Compare trapezium rule derivatives to finite difference */
+  @Test
+  public void amalgamateTimes_derivatives() {
+    DoubleArray values = DoubleArray.of(1.0, 4.0, 2.0, 3.0);
+    double[] times = {0.10, 0.25, 0.60, 0.75};
+    double[] derivativesComputed = TRAPEZIUM_RULE.amalgamateTimesDerivatives(values, times);
+    double shift = 1.0E-4;
+    for (int i = 0; i < times.length; i++) {
+      double integralShifted = TRAPEZIUM_RULE.amalgamateTimes(values.with(i, values.get(i) + shift), times);
+      double derivativeExpected = (integralShifted - TRAPEZIUM_RULE.amalgamateTimes(values, times)) / shift;
+      assertThat(derivativesComputed[i]).isCloseTo(derivativeExpected, TOLERANCE_INT);
+    }
+  }
+
+  /* Default finite difference derivatives of the interface, compared to the trapezium rule derivatives */
+  @Test
+  public void amalgamateTimes_derivatives_default() {
+    TimeAmalgamation delegating = new TimeAmalgamation() {
+      @Override
+      public double amalgamateDates(DoubleArray values, List<LocalDate> dates) {
+        return TRAPEZIUM_RULE.amalgamateDates(values, dates);
+      }
+      @Override
+      public DoubleArray amalgamateDatesRunning(DoubleArray values, List<LocalDate> dates) {
+        return TRAPEZIUM_RULE.amalgamateDatesRunning(values, dates);
+      }
+      @Override
+      public double amalgamateZonedDates(DoubleArray values, List<ZonedDateTime> dates) {
+        return TRAPEZIUM_RULE.amalgamateZonedDates(values, dates);
+      }
+      @Override
+      public DoubleArray amalgamateZonedDatesRunning(DoubleArray values, List<ZonedDateTime> dates) {
+        return TRAPEZIUM_RULE.amalgamateZonedDatesRunning(values, dates);
+      }
+      @Override
+      public double amalgamateTimes(DoubleArray values, double[] times) {
+        return TRAPEZIUM_RULE.amalgamateTimes(values, times);
+      }
+      @Override
+      public double[] amalgamateTimesRunning(DoubleArray values, double[] times) {
+        return TRAPEZIUM_RULE.amalgamateTimesRunning(values, times);
+      }
+      @Override
+      public TimeMeasurement getTimeMeasurement() {
+        return TIME_MEASURE;
+      }
+    };
+    DoubleArray values = DoubleArray.of(1.0, 4.0, 2.0, 3.0);
+    double[] times = {0.10, 0.25, 0.60, 0.75};
+    double[] derivativesExpected = TRAPEZIUM_RULE.amalgamateTimesDerivatives(values, times);
+    double[] derivativesComputed = delegating.amalgamateTimesDerivatives(values, times);
+    for (int i = 0; i < times.length; i++) {
+      assertThat(derivativesComputed[i]).isCloseTo(derivativesExpected[i], TOLERANCE_INT);
+    }
+  }
+
   /* Check values and dates have same size */
   @Test
   public void amalgamateDates_wrong_size() {
@@ -135,4 +195,38 @@ public class TrapeziumRuleIntegralTest {
     assertThatIllegalArgumentException().isThrownBy(() -> TRAPEZIUM_RULE.amalgamateZonedDates(values, dates));
   }
   
+  /* Compare time series versions to the dates and values versions */
+  @Test
+  public void amalgamateTimeSeries() {
+    DoubleArray values = DoubleArray.of(1.0, 4.0, 2.0, 3.0, 5.0);
+    List<LocalDate> dates = ImmutableList.of(
+        LocalDate.of(2018, 9, 19), LocalDate.of(2018, 10, 20),
+        LocalDate.of(2018, 11, 21), LocalDate.of(2018, 12, 22), LocalDate.of(2019, 1, 23));
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int i = 0; i < dates.size(); i++) {
+      builder.put(dates.get(i), values.get(i));
+    }
+    LocalDateDoubleTimeSeries ts = builder.build();
+    TimeSeriesView view = TimeSeriesView.of(ts);
+    double expected = TRAPEZIUM_RULE.amalgamateDates(values, dates);
+    assertThat(TRAPEZIUM_RULE.amalgamateTimeSeries(ts)).isCloseTo(expected, TOLERANCE_INT);
+    assertThat(TRAPEZIUM_RULE.amalgamateTimeSeries(view)).isCloseTo(expected, TOLERANCE_INT);
+    DoubleArray runningExpected = TRAPEZIUM_RULE.amalgamateDatesRunning(values, dates);
+    LocalDateDoubleTimeSeries running = TRAPEZIUM_RULE.amalgamateTimeSeriesRunning(ts);
+    assertThat(running.dates().toArray()).containsExactly(dates.toArray());
+    assertThat(TRAPEZIUM_RULE.amalgamateTimeSeriesRunning(view)).isEqualTo(running);
+    for (int i = 0; i < dates.size(); i++) {
+      assertThat(running.get(dates.get(i)).getAsDouble()).isCloseTo(runningExpected.get(i), TOLERANCE_INT);
+    }
+    // date range
+    LocalDate start = dates.get(1);
+    LocalDate end = dates.get(4);
+    double expectedRange = TRAPEZIUM_RULE.amalgamateDates(values.subArray(1, 4), dates.subList(1, 4));
+    assertThat(TRAPEZIUM_RULE.amalgamateTimeSeries(ts, start, end)).isCloseTo(expectedRange, TOLERANCE_INT);
+    assertThat(TRAPEZIUM_RULE.amalgamateTimeSeries(view.subView(start, end))).isCloseTo(expectedRange, TOLERANCE_INT);
+    assertThat(TRAPEZIUM_RULE.amalgamateTimeSeriesRunning(ts, start, end))
+        .isEqualTo(TRAPEZIUM_RULE.amalgamateTimeSeriesRunning(ts.subSeries(start, end)));
+    assertThat(TRAPEZIUM_RULE.amalgamateTimeSeries(LocalDateDoubleTimeSeries.empty())).isEqualTo(0.0d);
+  }
+
 }
@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.value;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Tests {@link CurrencyAmountDerivativesFxConverter}.
+ *
+ * @author Marc Henrard
+ */
+public class CurrencyAmountDerivativesFxConverterTest {
+
+  private static final double EUR_USD = 1.10;
+  private static final FxMatrix FX = FxMatrix.of(Currency.EUR, Currency.USD, EUR_USD);
+  private static final CurrencyAmountDerivativesFxConverter CONVERTER =
+      CurrencyAmountDerivativesFxConverter.of(Currency.USD, ImmutableList.of(Currency.EUR), FX);
+  private static final CurrencyAmountDerivatives AMOUNT_EUR =
+      CurrencyAmountDerivatives.of(100.0, Currency.EUR, DoubleArray.of(1.0, 2.0, 3.0));
+  private static final CurrencyAmountDerivatives AMOUNT_USD =
+      CurrencyAmountDerivatives.of(50.0, Currency.USD, DoubleArray.of(4.0, 5.0, 6.0));
+
+  private static final Offset<Double> TOLERANCE = Offset.offset(1.0E-10);
+
+  @Test
+  public void convert_one() {
+    CurrencyAmountDerivatives converted = CONVERTER.convert(AMOUNT_EUR);
+    assertThat(converted.getCurrency()).isEqualTo(Currency.USD);
+    assertThat(converted.getValue()).isCloseTo(100.0 * EUR_USD, TOLERANCE);
+    assertThat(converted.getDerivatives()
+        .equalWithTolerance(DoubleArray.of(1.0 * EUR_USD, 2.0 * EUR_USD, 3.0 * EUR_USD, 100.0), 1.0E-10)).isTrue();
+    assertThat(CONVERTER.fxRate(Currency.USD)).isEqualTo(1.0);
+  }
+
+  /* Total and FX delta compared to finite difference on the FX rate */
+  @Test
+  public void convert_total() {
+    CurrencyAmountDerivatives converted = CONVERTER.convert(ImmutableList.of(AMOUNT_EUR, AMOUNT_USD));
+    assertThat(converted.getValue()).isCloseTo(100.0 * EUR_USD + 50.0, TOLERANCE);
+    assertThat(converted.getDerivatives().get(1)).isCloseTo(2.0 * EUR_USD + 5.0, TOLERANCE);
+    double shift = 1.0E-6;
+    CurrencyAmountDerivativesFxConverter converterShifted = CurrencyAmountDerivativesFxConverter
+        .of(Currency.USD, ImmutableList.of(Currency.EUR), FxMatrix.of(Currency.EUR, Currency.USD, EUR_USD + shift));
+    double fxDeltaExpected =
+        (converterShifted.convert(ImmutableList.of(AMOUNT_EUR, AMOUNT_USD)).getValue() - converted.getValue()) / shift;
+    assertThat(converted.getDerivatives().get(3)).isCloseTo(fxDeltaExpected, Offset.offset(1.0E-6));
+  }
+
+  @Test
+  public void currency_not_available() {
+    CurrencyAmountDerivatives amountGbp = CurrencyAmountDerivatives.of(1.0, Currency.GBP, DoubleArray.of(1.0, 2.0, 3.0));
+    assertThatIllegalArgumentException().isThrownBy(() -> CONVERTER.convert(amountGbp));
+    assertThatIllegalArgumentException().isThrownBy(() -> CurrencyAmountDerivativesFxConverter
+        .of(Currency.USD, ImmutableList.of(Currency.USD), FX));
+  }
+
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.value;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Tests {@link DerivativesCube}.
+ *
+ * @author Marc Henrard
+ */
+public class DerivativesCubeTest {
+
+  private static final Currency CCY = Currency.EUR;
+  private static final int NB_SCENARIOS = 3;
+  private static final int NB_TRADES = 4;
+  private static final int NB_PARAMETERS = 5;
+
+  private static final Offset<Double> TOLERANCE_DOUBLE = Offset.offset(1.0E-12);
+  private static final double TOLERANCE_FLOAT_RELATIVE = 1.0E-7;
+
+  @Test
+  public void double_storage() {
+    DerivativesCube cube = filledCube(StoragePrecision.DOUBLE);
+    for (int s = 0; s < NB_SCENARIOS; s++) {
+      for (int t = 0; t < NB_TRADES; t++) {
+        CurrencyAmountDerivatives expected = amount(s, t);
+        CurrencyAmountDerivatives computed = cube.get(s, t);
+        assertThat(computed.getValue()).isEqualTo(expected.getValue());
+        assertThat(computed.getDerivatives()).isEqualTo(expected.getDerivatives());
+      }
+    }
+    assertThat(cube.sizeInBytes()).isEqualTo(8L * NB_SCENARIOS * NB_TRADES * (NB_PARAMETERS + 1));
+  }
+
+  @Test
+  public void float_storage() {
+    DerivativesCube cube = filledCube(StoragePrecision.FLOAT);
+    for (int s = 0; s < NB_SCENARIOS; s++) {
+      for (int t = 0; t < NB_TRADES; t++) {
+        CurrencyAmountDerivatives expected = amount(s, t);
+        CurrencyAmountDerivatives computed = cube.get(s, t);
+        assertThat(computed.getValue())
+            .isCloseTo(expected.getValue(), Offset.offset(Math.abs(expected.getValue()) * TOLERANCE_FLOAT_RELATIVE));
+        for (int p = 0; p < NB_PARAMETERS; p++) {
+          double derivativeExpected = expected.getDerivatives().get(p);
+          assertThat(cube.getDerivative(s, t, p)).isEqualTo(computed.getDerivatives().get(p));
+          assertThat(computed.getDerivatives().get(p))
+              .isCloseTo(derivativeExpected, Offset.offset(Math.abs(derivativeExpected) * TOLERANCE_FLOAT_RELATIVE));
+        }
+      }
+    }
+    assertThat(cube.sizeInBytes()).isEqualTo(4L * NB_SCENARIOS * NB_TRADES * (NB_PARAMETERS + 1));
+  }
+
+  /* Total is the sum of the trades */
+  @Test
+  public void total() {
+    DerivativesCube cube = filledCube(StoragePrecision.DOUBLE);
+    for (int s = 0; s < NB_SCENARIOS; s++) {
+      CurrencyAmountDerivatives total = cube.total(s);
+      double valueExpected = 0.0;
+      DoubleArray derivativesExpected = DoubleArray.filled(NB_PARAMETERS);
+      for (int t = 0; t < NB_TRADES; t++) {
+        valueExpected += amount(s, t).getValue();
+        derivativesExpected = derivativesExpected.plus(amount(s, t).getDerivatives());
+      }
+      assertThat(total.getValue()).isCloseTo(valueExpected, TOLERANCE_DOUBLE);
+      assertThat(total.getDerivatives().equalWithTolerance(derivativesExpected, 1.0E-12)).isTrue();
+    }
+  }
+
+  @Test
+  public void wrong_currency() {
+    DerivativesCube cube = DerivativesCube.of(CCY, NB_SCENARIOS, NB_TRADES, NB_PARAMETERS, StoragePrecision.FLOAT);
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> cube.set(0, 0, CurrencyAmountDerivatives.of(1.0, Currency.USD, DoubleArray.filled(5))));
+  }
+
+  /* Trade and parameter indices outside of the cube, not read from or written to the next trade */
+  @Test
+  public void index_out_of_range() {
+    DerivativesCube cube = filledCube(StoragePrecision.DOUBLE);
+    assertThatIllegalArgumentException().isThrownBy(() -> cube.getDerivative(0, 0, NB_PARAMETERS));
+    assertThatIllegalArgumentException().isThrownBy(() -> cube.getDerivative(0, 1, -1));
+    assertThatIllegalArgumentException().isThrownBy(() -> cube.getDerivative(0, NB_TRADES, 0));
+    assertThatIllegalArgumentException().isThrownBy(() -> cube.setDerivative(0, 0, NB_PARAMETERS, 1.0));
+    assertThatIllegalArgumentException().isThrownBy(() -> cube.getValue(0, NB_TRADES));
+    assertThatIllegalArgumentException().isThrownBy(() -> cube.setValue(0, -1, 1.0));
+    assertThatIllegalArgumentException().isThrownBy(() -> cube.get(0, NB_TRADES));
+    assertThat(cube.get(0, 1).getDerivatives()).isEqualTo(amount(0, 1).getDerivatives());
+  }
+
+  @Test
+  public void path_matrix() {
+    PathMatrix paths = PathMatrix.of(2, 3, StoragePrecision.FLOAT);
+    paths.setPath(1, new double[] {1.0 / 3.0, 2.0, 3.0});
+    assertThat(paths.get(1, 0)).isEqualTo((double) (float) (1.0 / 3.0));
+    assertThat(paths.getPath(1).get(2)).isEqualTo(3.0);
+    assertThat(paths.getTime(2).get(0)).isEqualTo(0.0);
+    assertThat(paths.sizeInBytes()).isEqualTo(24L);
+  }
+
+  private static DerivativesCube filledCube(StoragePrecision precision) {
+    DerivativesCube cube = DerivativesCube.of(CCY, NB_SCENARIOS, NB_TRADES, NB_PARAMETERS, precision);
+    for (int s = 0; s < NB_SCENARIOS; s++) {
+      for (int t = 0; t < NB_TRADES; t++) {
+        cube.set(s, t, amount(s, t));
+      }
+    }
+    return cube;
+  }
+
+  private static CurrencyAmountDerivatives amount(int scenario, int trade) {
+    double value = 1_000_000.0d / 3.0d * (1 + scenario) + trade * Math.PI;
+    DoubleArray derivatives = DoubleArray.of(NB_PARAMETERS, p -> (p + 1) * Math.E * (trade - 1.5) + scenario / 7.0d);
+    return CurrencyAmountDerivatives.of(value, CCY, derivatives);
+  }
+
+}
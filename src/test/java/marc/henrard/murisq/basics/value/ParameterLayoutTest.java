@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.value;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.param.LabelParameterMetadata;
+import com.opengamma.strata.market.param.ParameterMetadata;
+
+/**
+ * Tests {@link ParameterLayout}.
+ *
+ * @author Marc Henrard
+ */
+public class ParameterLayoutTest {
+
+  private static final CurveName NAME_1 = CurveName.of("EUR-ESTR");
+  private static final CurveName NAME_2 = CurveName.of("EUR-EURIBOR3M");
+  private static final List<ParameterMetadata> METADATA_1 = ImmutableList.of(
+      LabelParameterMetadata.of("1Y"), LabelParameterMetadata.of("2Y"));
+  private static final List<ParameterMetadata> METADATA_2 = ImmutableList.of(
+      LabelParameterMetadata.of("1Y"), LabelParameterMetadata.of("5Y"), LabelParameterMetadata.of("10Y"));
+  private static final ParameterLayout LAYOUT =
+      ParameterLayout.of(ImmutableList.of(NAME_1, NAME_2), ImmutableList.of(METADATA_1, METADATA_2));
+  private static final Currency CCY = Currency.EUR;
+  private static final DoubleArray DERIVATIVES = DoubleArray.of(1.0, 2.0, 3.0, 4.0, 5.0);
+
+  private static final double TOLERANCE = 1.0E-10;
+
+  @Test
+  public void layout() {
+    assertThat(LAYOUT.getNameCount()).isEqualTo(2);
+    assertThat(LAYOUT.getParameterCount()).isEqualTo(5);
+    assertThat(LAYOUT.getOffset(1)).isEqualTo(2);
+    assertThat(LAYOUT.getLength(1)).isEqualTo(3);
+    assertThat(LAYOUT.indexOf(NAME_2)).isEqualTo(1);
+    assertThat(LAYOUT.indexOf(CurveName.of("Other"))).isEqualTo(-1);
+  }
+
+  /* Convert to sensitivities and back */
+  @Test
+  public void round_trip() {
+    CurrencyAmountDerivatives amount = CurrencyAmountDerivatives.of(12.5, CCY, DERIVATIVES);
+    CurrencyParameterSensitivities sensitivities = LAYOUT.toSensitivities(amount);
+    assertThat(sensitivities.size()).isEqualTo(2);
+    CurrencyParameterSensitivity sensitivity2 = sensitivities.getSensitivity(NAME_2, CCY);
+    assertThat(sensitivity2.getSensitivity().equalWithTolerance(DoubleArray.of(3.0, 4.0, 5.0), TOLERANCE)).isTrue();
+    assertThat(sensitivity2.getParameterMetadata()).isEqualTo(METADATA_2);
+    CurrencyAmountDerivatives amountBack = LAYOUT.toCurrencyAmountDerivatives(12.5, sensitivities, CCY);
+    assertThat(amountBack.getDerivatives().equalWithTolerance(DERIVATIVES, TOLERANCE)).isTrue();
+    ParameterLayout layoutTemplate = ParameterLayout.of(sensitivities);
+    assertThat(layoutTemplate.getParameterCount()).isEqualTo(5);
+    assertThat(layoutTemplate.toDerivatives(sensitivities, CCY).equalWithTolerance(DERIVATIVES, TOLERANCE)).isTrue();
+  }
+
+  /* Missing market data have zero derivatives, other currencies are ignored */
+  @Test
+  public void to_derivatives_partial() {
+    CurrencyParameterSensitivities sensitivities = CurrencyParameterSensitivities.of(
+        CurrencyParameterSensitivity.of(NAME_2, METADATA_2, CCY, DoubleArray.of(3.0, 4.0, 5.0)),
+        CurrencyParameterSensitivity.of(NAME_1, METADATA_1, Currency.USD, DoubleArray.of(1.0, 2.0)));
+    DoubleArray derivatives = LAYOUT.toDerivatives(sensitivities, CCY);
+    assertThat(derivatives.equalWithTolerance(DoubleArray.of(0.0, 0.0, 3.0, 4.0, 5.0), TOLERANCE)).isTrue();
+    double[] aggregated = new double[5];
+    LAYOUT.addTo(sensitivities, CCY, aggregated);
+    LAYOUT.addTo(sensitivities, CCY, aggregated);
+    assertThat(DoubleArray.ofUnsafe(aggregated)
+        .equalWithTolerance(DoubleArray.of(0.0, 0.0, 6.0, 8.0, 10.0), TOLERANCE)).isTrue();
+  }
+
+  @Test
+  public void wrong_size() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> LAYOUT.toSensitivities(DoubleArray.of(1.0, 2.0), CCY));
+    CurrencyParameterSensitivities unknown = CurrencyParameterSensitivities.of(
+        CurrencyParameterSensitivity.of(CurveName.of("Other"), CCY, DoubleArray.of(1.0)));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> LAYOUT.toDerivatives(unknown, CCY));
+  }
+
+}
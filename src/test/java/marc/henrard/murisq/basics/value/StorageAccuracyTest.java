@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2026 - present by Marc Henrard.
+ */
+package marc.henrard.murisq.basics.value;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Tests {@link StorageAccuracy}.
+ *
+ * @author Marc Henrard
+ */
+public class StorageAccuracyTest {
+
+  @Test
+  public void exact_values() {
+    StorageAccuracy report = StorageAccuracy.of(new double[] {0.0, 1.0, -0.5, 1024.0});
+    assertThat(report.getCount()).isEqualTo(4);
+    assertThat(report.getMaxAbsoluteError()).isEqualTo(0.0);
+    assertThat(report.getMaxRelativeError()).isEqualTo(0.0);
+    assertThat(report.getSumError()).isEqualTo(0.0);
+    assertThat(report.getMaxAbsoluteValue()).isEqualTo(1024.0);
+  }
+
+  @Test
+  public void rounded_values() {
+    double value = 1.0 / 3.0;
+    StorageAccuracy report = StorageAccuracy.of(new double[] {value, 1.0E+40, 1.0E-50});
+    double errorExpected = Math.abs((float) value - value);
+    assertThat(report.getMaxAbsoluteError()).isEqualTo(errorExpected);
+    assertThat(report.getMaxRelativeError()).isEqualTo(errorExpected / value);
+    assertThat(report.getMaxRelativeError()).isLessThan(Math.ulp(1.0f));
+    assertThat(report.getRootMeanSquareError()).isEqualTo(errorExpected);
+    assertThat(report.getOutOfRangeCount()).isEqualTo(2);
+  }
+
+  /* NaN and infinite values counted separately, subnormal floats flagged */
+  @Test
+  public void special_values() {
+    double subnormal = 1.0E-40;
+    StorageAccuracy report = StorageAccuracy.of(
+        new double[] {Double.NaN, 1.0, Double.POSITIVE_INFINITY, 3.0, subnormal, Double.NaN});
+    assertThat(report.getCount()).isEqualTo(6);
+    assertThat(report.getNotFiniteCount()).isEqualTo(3);
+    assertThat(report.getOutOfRangeCount()).isEqualTo(0);
+    assertThat(report.getSubnormalCount()).isEqualTo(1);
+    assertThat(report.getMaxAbsoluteValue()).isEqualTo(3.0);
+    assertThat(report.getMaxAbsoluteError()).isEqualTo(Math.abs((float) subnormal - subnormal));
+    assertThat(report.getMaxRelativeError()).isGreaterThan(Math.ulp(1.0f));
+    assertThat(report.getSumError()).isNotNaN();
+    assertThat(report.getRootMeanSquareError()).isNotNaN();
+  }
+
+  @Test
+  public void amounts() {
+    StorageAccuracy report = StorageAccuracy.of(ImmutableList.of(
+        CurrencyAmountDerivatives.of(1.0, Currency.EUR, DoubleArray.of(0.1, 0.2)),
+        CurrencyAmountDerivatives.of(2.0, Currency.EUR, DoubleArray.of(0.3, 0.4))));
+    assertThat(report.getCount()).isEqualTo(6);
+    assertThat(report.getMaxAbsoluteError()).isGreaterThan(0.0);
+  }
+
+}